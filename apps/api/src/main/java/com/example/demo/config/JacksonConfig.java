@@ -20,10 +20,11 @@ public class JacksonConfig {
         // Register the JavaTimeModule for Java 8 date/time support
         mapper.registerModule(new JavaTimeModule());
         
-        // Register Hibernate module to handle lazy loading and proxies
+        // Register Hibernate module to handle proxies. Lazy associations are never loaded
+        // while serializing: read endpoints return DTO projections, and an entity's
+        // unloaded association is written as its id.
         Hibernate5JakartaModule hibernateModule = new Hibernate5JakartaModule();
         hibernateModule.disable(Hibernate5JakartaModule.Feature.USE_TRANSIENT_ANNOTATION);
-        hibernateModule.enable(Hibernate5JakartaModule.Feature.FORCE_LAZY_LOADING);
         hibernateModule.enable(Hibernate5JakartaModule.Feature.SERIALIZE_IDENTIFIER_FOR_LAZY_NOT_LOADED_OBJECTS);
         
         mapper.registerModule(hibernateModule);
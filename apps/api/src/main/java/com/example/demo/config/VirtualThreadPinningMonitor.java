@@ -0,0 +1,75 @@
+package com.example.demo.config;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Reports virtual threads pinned to their carrier, typically by a blocking call (JDBC,
+ * SMTP, file I/O) made while holding a {@code synchronized} monitor. A pinned thread holds
+ * one of the few carrier threads for the whole call, so a handful of them stall every
+ * request.
+ *
+ * Listens to the JFR {@code jdk.VirtualThreadPinned} event in-process. Every pin longer
+ * than the threshold is counted; the first one from each call site is logged with its stack.
+ * Only active when requests run on virtual threads.
+ */
+@Component
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+@Slf4j
+public class VirtualThreadPinningMonitor {
+
+    static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    private static final int LOGGED_FRAMES = 12;
+    // Bounds the memory kept for deduplicating logs, not the counting
+    private static final int MAX_LOGGED_SITES = 500;
+
+    private final RecordingStream stream = new RecordingStream();
+    private final Set<String> loggedSites = ConcurrentHashMap.newKeySet();
+    private final Counter pinnedCounter;
+
+    public VirtualThreadPinningMonitor(MeterRegistry meterRegistry,
+            @Value("${app.threads.pinning.threshold-ms:20}") long thresholdMs) {
+        this.pinnedCounter = meterRegistry.counter("jvm.threads.virtual.pinned");
+        stream.enable(PINNED_EVENT).withThreshold(Duration.ofMillis(thresholdMs)).withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::onPinned);
+        stream.startAsync();
+        log.info("Watching for virtual threads pinned longer than {} ms", thresholdMs);
+    }
+
+    void onPinned(RecordedEvent event) {
+        pinnedCounter.increment();
+        if (event.getStackTrace() == null) {
+            return;
+        }
+        List<RecordedFrame> frames = event.getStackTrace().getFrames();
+        String site = frames.stream()
+                .limit(LOGGED_FRAMES)
+                .map(frame -> frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                        + ":" + frame.getLineNumber())
+                .collect(Collectors.joining("\n\tat "));
+        if (loggedSites.size() < MAX_LOGGED_SITES && loggedSites.add(site)) {
+            log.warn("Virtual thread pinned for {} ms\n\tat {}", event.getDuration().toMillis(), site);
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        stream.close();
+    }
+}
@@ -1,5 +1,7 @@
 package com.example.demo.controller;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -21,6 +23,7 @@ import com.example.demo.dto.AuthenticationResponse;
 import com.example.demo.dto.LoginRequest;
 import com.example.demo.model.RefreshToken;
 import com.example.demo.model.User;
+import com.example.demo.security.PasswordHashingBusyException;
 import com.example.demo.security.UserPrincipal;
 import com.example.demo.service.JwtService;
 import com.example.demo.service.RefreshTokenService;
@@ -48,7 +51,14 @@ public class AuthController {
             error.put("error", "Email already in use");
             return ResponseEntity.badRequest().body(error);
         }
-        User savedUser = userService.registerUser(user);
+        User savedUser;
+        try {
+            savedUser = userService.registerUser(user);
+        } catch (PasswordHashingBusyException e) {
+            return ResponseEntity.status(503)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body(Map.of("error", e.getMessage()));
+        }
         logger.info("Saved user - ID: {}, Username: {}, Email: {}", savedUser.getId(), savedUser.getUsername(), savedUser.getEmail());
         
         // Create a clean response object without password
@@ -118,6 +128,11 @@ public class AuthController {
                             .email(user.getEmail())
                             .tokenType("Cookie")
                             .build());
+        } catch (PasswordHashingBusyException e) {
+            logger.warn("Login rejected for email: {} - password hashing saturated", loginRequest.getEmail());
+            return ResponseEntity.status(503)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body(Map.of("error", e.getMessage()));
         } catch (Exception e) {
             logger.error("Login failed for email: {} - Error: {}", loginRequest.getEmail(), e.getMessage(), e);
             Map<String, String> error = new HashMap<>();
@@ -138,32 +153,39 @@ public class AuthController {
                 return ResponseEntity.status(403).body(error);
             }
 
-            return refreshTokenService.findByToken(refreshTokenFromCookie)
-                    .map(refreshTokenService::verifyExpiration)
-                    .map(RefreshToken::getUser)
-                    .map(user -> {
-                        UserPrincipal userPrincipal = new UserPrincipal(user);
-                        String newAccessToken = jwtService.generateToken(userPrincipal);
-
-                        // Create new access token cookie
-                        ResponseCookie jwtCookie = ResponseCookie.from("accessToken", newAccessToken)
-                                .httpOnly(true)
-                                .secure(false) // Set to true in production with HTTPS
-                                .path("/")
-                                .maxAge(24 * 60 * 60) // 24 hours
-                                .sameSite("Lax")
-                                .build();
-
-                        return ResponseEntity.ok()
-                                .header(HttpHeaders.SET_COOKIE, jwtCookie.toString())
-                                .body(AuthenticationResponse.builder()
-                                        .userId(user.getId())
-                                        .username(user.getUsername())
-                                        .email(user.getEmail())
-                                        .tokenType("Cookie")
-                                        .build());
-                    })
-                    .orElseThrow(() -> new RuntimeException("Refresh token is not in database!"));
+            RefreshTokenService.Rotation rotation = refreshTokenService.rotate(refreshTokenFromCookie);
+            User user = rotation.user();
+            UserPrincipal userPrincipal = new UserPrincipal(user);
+            String newAccessToken = jwtService.generateToken(userPrincipal);
+
+            // Create new access token cookie
+            ResponseCookie jwtCookie = ResponseCookie.from("accessToken", newAccessToken)
+                    .httpOnly(true)
+                    .secure(false) // Set to true in production with HTTPS
+                    .path("/")
+                    .maxAge(24 * 60 * 60) // 24 hours
+                    .sameSite("Lax")
+                    .build();
+
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                    .header(HttpHeaders.SET_COOKIE, jwtCookie.toString());
+            if (rotation.token() != null) {
+                // The presented token is used up, the client must send its successor next time
+                ResponseCookie refreshCookie = ResponseCookie.from("refreshToken", rotation.token())
+                        .httpOnly(true)
+                        .secure(false) // Set to true in production with HTTPS
+                        .path("/")
+                        .maxAge(Math.max(0, Duration.between(Instant.now(), rotation.expiryDate()).getSeconds()))
+                        .sameSite("Lax")
+                        .build();
+                response.header(HttpHeaders.SET_COOKIE, refreshCookie.toString());
+            }
+            return response.body(AuthenticationResponse.builder()
+                    .userId(user.getId())
+                    .username(user.getUsername())
+                    .email(user.getEmail())
+                    .tokenType("Cookie")
+                    .build());
         } catch (Exception e) {
             Map<String, String> error = new HashMap<>();
             error.put("error", e.getMessage());
@@ -172,9 +194,15 @@ public class AuthController {
     }
 
     @PostMapping("/logout")
-    public ResponseEntity<?> logout() {
+    public ResponseEntity<?> logout(jakarta.servlet.http.HttpServletRequest request) {
         logger.info("User logout request");
 
+        // Revoke this device's refresh tokens; other devices stay logged in
+        String refreshTokenFromCookie = extractRefreshTokenFromCookies(request);
+        if (refreshTokenFromCookie != null) {
+            refreshTokenService.revoke(refreshTokenFromCookie);
+        }
+
         // Create cookies to clear existing ones
         ResponseCookie jwtCookie = ResponseCookie.from("accessToken", "")
                 .httpOnly(true)
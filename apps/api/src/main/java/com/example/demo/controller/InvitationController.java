@@ -1,5 +1,6 @@
 package com.example.demo.controller;
 
+import java.util.List;
 import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
@@ -13,6 +14,8 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.example.demo.dto.project.InvitationResult;
+import com.example.demo.dto.task.TaskView.ProjectRef;
 import com.example.demo.model.Project;
 import com.example.demo.model.ProjectInvitation;
 import com.example.demo.model.ProjectMember;
@@ -95,13 +98,13 @@ public class InvitationController {
                         inviter.getUsername(),
                         project.getName(),
                         project.getDescription(),
-                        mapRoleToFrench(role),
+                        role.getLabel(),
                         invitation.getToken(),
                         userExists,
                         baseUrl
                 );
 
-                log.info("Invitation email sent successfully to {} for project {}", email, project.getName());
+                log.info("Invitation email queued for {} for project {}", email, project.getName());
 
                 return ResponseEntity.ok(Map.of(
                         "invitation", Map.of(
@@ -137,6 +140,45 @@ public class InvitationController {
         }
     }
 
+    /**
+     * Invite many emails at once (admin only). Body: {@code emails} and {@code role}.
+     * Returns one result per distinct email, in request order.
+     */
+    @PostMapping("/project/{projectId}/bulk")
+    public ResponseEntity<?> inviteAllToProject(
+            @PathVariable Long projectId,
+            @RequestBody Map<String, Object> body,
+            Authentication authentication) {
+
+        try {
+            Project project = projectService.getProject(projectId)
+                    .orElseThrow(() -> new RuntimeException("Project not found"));
+
+            UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
+            User inviter = userPrincipal.getUser();
+
+            if (!projectService.isAdmin(project, inviter)) {
+                return ResponseEntity.status(403).body(Map.of("error", "Only admins can invite members"));
+            }
+
+            if (!(body.get("emails") instanceof List<?> rawEmails)) {
+                return ResponseEntity.badRequest().body(Map.of("error", "emails must be a list of emails"));
+            }
+            List<String> emails = rawEmails.stream()
+                    .map(email -> email != null ? email.toString() : null)
+                    .toList();
+            ProjectMember.ProjectRole role = ProjectMember.ProjectRole.valueOf(String.valueOf(body.get("role")));
+
+            List<InvitationResult> results = invitationService.inviteAll(project, emails, role, inviter);
+            return ResponseEntity.ok(results);
+
+        } catch (Exception e) {
+            log.error("Failed to create invitations: {}", e.getMessage());
+            return ResponseEntity.badRequest()
+                    .body(Map.of("error", "Failed to create invitations: " + e.getMessage()));
+        }
+    }
+
     /**
      * Accept invitation
      */
@@ -173,7 +215,7 @@ public class InvitationController {
 
             return ResponseEntity.ok(Map.of(
                     "member", member,
-                    "project", invitation.getProject(),
+                    "project", ProjectRef.of(invitation.getProject()),
                     "message", "Invitation accepted successfully"
             ));
 
@@ -209,7 +251,7 @@ public class InvitationController {
                             "name", invitation.getProject().getName(),
                             "description", invitation.getProject().getDescription()
                     ),
-                    "role", mapRoleToFrench(invitation.getRole()),
+                    "role", invitation.getRole().getLabel(),
                     "inviterName", invitation.getInviter().getUsername(),
                     "email", invitation.getEmail(),
                     "expiresAt", invitation.getExpiresAt()
@@ -281,18 +323,4 @@ public class InvitationController {
                     .body(Map.of("error", "Failed to cancel invitation"));
         }
     }
-
-    /**
-     * Map ProjectRole enum to French display text
-     */
-    private String mapRoleToFrench(ProjectMember.ProjectRole role) {
-        return switch (role) {
-            case ADMIN ->
-                "Administrateur";
-            case MEMBER ->
-                "Membre";
-            case OBSERVER ->
-                "Observateur";
-        };
-    }
 }
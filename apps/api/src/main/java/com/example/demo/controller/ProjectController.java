@@ -15,9 +15,12 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.example.demo.dto.project.MemberView;
 import com.example.demo.model.Project;
+import com.example.demo.model.ProjectDeletionJob;
 import com.example.demo.model.ProjectInvitation;
 import com.example.demo.model.ProjectMember;
 import com.example.demo.model.User;
@@ -51,16 +54,34 @@ public class ProjectController {
         return ResponseEntity.ok(projects);
     }
 
+    /**
+     * The caller's projects, {@code limit} at a time, with their role and counts.
+     * Pass the returned {@code nextCursor} back as {@code cursor} to get the next page.
+     */
+    @GetMapping("/mine")
+    public ResponseEntity<?> getMyProjects(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + ProjectService.DEFAULT_PAGE_SIZE) int limit,
+            Authentication authentication) {
+        try {
+            UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
+            return ResponseEntity.ok(projectService.getUserProjects(userPrincipal.getUser().getId(), cursor, limit));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
     @PostMapping
     public ResponseEntity<?> createProject(@RequestBody Map<String, String> body, Authentication authentication) {
         String name = body.get("name");
         String description = body.get("description");
         LocalDate startDate = LocalDate.parse(body.get("startDate"));
+        Long templateId = body.get("templateId") != null ? Long.valueOf(body.get("templateId")) : null;
         
         UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
         User creator = userPrincipal.getUser();
         
-        Project project = projectService.createProject(name, description, startDate, creator);
+        Project project = projectService.createProject(name, description, startDate, creator, templateId);
         return ResponseEntity.ok(project);
     }
 
@@ -72,7 +93,7 @@ public class ProjectController {
     }
 
     @GetMapping("/{id}/members")
-    public ResponseEntity<List<ProjectMember>> getProjectMembers(@PathVariable Long id) {
+    public ResponseEntity<List<MemberView>> getProjectMembers(@PathVariable Long id) {
         Project project = projectService.getProject(id)
                 .orElseThrow(() -> new RuntimeException("Project not found"));
         return ResponseEntity.ok(projectService.getProjectMembers(project));
@@ -120,13 +141,13 @@ public class ProjectController {
                     admin.getUsername(),
                     project.getName(),
                     project.getDescription(),
-                    mapRoleToFrench(role),
+                    role.getLabel(),
                     invitation.getToken(),
                     userExists,
                     baseUrl
                 );
                 
-                log.info("Invitation email sent successfully to {} for project {}", email, project.getName());
+                log.info("Invitation email queued for {} for project {}", email, project.getName());
                 
                 return ResponseEntity.ok(Map.of(
                     "invitation", Map.of(
@@ -162,18 +183,6 @@ public class ProjectController {
         }
     }
     
-    /**
-     * Map ProjectRole enum to French display text
-     */
-    private String mapRoleToFrench(ProjectMember.ProjectRole role) {
-        return switch (role) {
-            case ADMIN -> "Administrateur";
-            case MEMBER -> "Membre";
-            case OBSERVER -> "Observateur";
-            default -> role.toString();
-        };
-    }
-
     @PostMapping("/{id}/members/{userId}/role")
     public ResponseEntity<?> changeMemberRole(@PathVariable Long id, @PathVariable Long userId, @RequestBody Map<String, String> body, Authentication authentication) {
         Project project = projectService.getProject(id)
@@ -189,7 +198,7 @@ public class ProjectController {
                 .orElseThrow(() -> new RuntimeException("User not found"));
         ProjectMember.ProjectRole newRole = ProjectMember.ProjectRole.valueOf(body.get("role"));
         ProjectMember member = projectService.changeMemberRole(project, user, newRole);
-        return ResponseEntity.ok(member);
+        return ResponseEntity.ok(MemberView.of(member));
     }
 
     @PutMapping("/{id}")
@@ -253,9 +262,14 @@ public class ProjectController {
                     .body(Map.of("error", "Project name confirmation does not match"));
             }
             
-            // Pass only the project ID to avoid detached entity issues
-            projectService.deleteProject(id);
-            return ResponseEntity.ok(Map.of("message", "Project deleted successfully"));
+            // The project disappears now, its data is purged in the background
+            ProjectDeletionJob job = projectService.deleteProject(id, user);
+            return ResponseEntity.accepted().body(Map.of(
+                "message", "Project deleted successfully",
+                "jobId", job.getId(),
+                "status", job.getStatus(),
+                "statusUrl", "/api/projects/deletions/" + job.getId()
+            ));
             
         } catch (Exception e) {
             log.error("Failed to delete project: {}", e.getMessage());
@@ -263,4 +277,19 @@ public class ProjectController {
                 .body(Map.of("error", "Failed to delete project: " + e.getMessage()));
         }
     }
+
+    /**
+     * Progress of a project deletion, only visible to the user who requested it
+     */
+    @GetMapping("/deletions/{jobId}")
+    public ResponseEntity<?> getDeletionStatus(@PathVariable Long jobId, Authentication authentication) {
+        UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
+        User user = userPrincipal.getUser();
+
+        return projectService.getDeletionJob(jobId)
+                .<ResponseEntity<?>>map(job -> user.getId().equals(job.getRequestedBy())
+                        ? ResponseEntity.ok(job)
+                        : ResponseEntity.status(403).body(Map.of("error", "Only the user who deleted the project can follow its deletion")))
+                .orElse(ResponseEntity.notFound().build());
+    }
 }
@@ -1,9 +1,10 @@
 package com.example.demo.controller;
 
-import java.util.List;
 import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -15,12 +16,17 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.example.demo.dto.task.PriorityView;
+import com.example.demo.dto.task.StatusView;
 import com.example.demo.model.Project;
 import com.example.demo.model.TaskPriority;
 import com.example.demo.model.TaskStatus;
 import com.example.demo.model.User;
+import com.example.demo.security.ProjectAuthorization;
 import com.example.demo.security.UserPrincipal;
 import com.example.demo.service.ProjectService;
+import com.example.demo.service.ProjectSettingsCache;
+import com.example.demo.service.ProjectSettingsCache.SettingsJson;
 import com.example.demo.service.ProjectSettingsService;
 
 @RestController
@@ -33,22 +39,24 @@ public class ProjectSettingsController {
     @Autowired
     private ProjectSettingsService projectSettingsService;
     
+    @Autowired
+    private ProjectAuthorization projectAuthorization;
+    
+    @Autowired
+    private ProjectSettingsCache projectSettingsCache;
+    
     // Task Status endpoints
     @GetMapping("/statuses")
-    public ResponseEntity<List<TaskStatus>> getProjectStatuses(@PathVariable Long projectId, Authentication authentication) {
-        Project project = projectService.getProject(projectId)
-                .orElseThrow(() -> new RuntimeException("Projet non trouvé"));
-        
+    public ResponseEntity<byte[]> getProjectStatuses(@PathVariable Long projectId, Authentication authentication) {
         UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
         User user = userPrincipal.getUser();
         
         // Check if user has access to the project
-        if (!projectService.isAdmin(project, user) && !projectService.isMember(project, user)) {
+        if (!projectAuthorization.isMember(projectId, user.getId())) {
             return ResponseEntity.status(403).build();
         }
         
-        List<TaskStatus> statuses = projectSettingsService.getProjectStatuses(project);
-        return ResponseEntity.ok(statuses);
+        return settingsResponse(projectSettingsCache.statuses(projectId));
     }
     
     @PostMapping("/statuses")
@@ -60,7 +68,7 @@ public class ProjectSettingsController {
         User user = userPrincipal.getUser();
         
         // Only admins can modify project settings
-        if (!projectService.isAdmin(project, user)) {
+        if (!projectAuthorization.isAdmin(projectId, user.getId())) {
             return ResponseEntity.status(403).body("Seuls les administrateurs peuvent modifier les paramètres du projet");
         }
         
@@ -71,7 +79,7 @@ public class ProjectSettingsController {
             Integer orderIndex = body.get("orderIndex") != null ? (Integer) body.get("orderIndex") : null;
             
             TaskStatus taskStatus = projectSettingsService.createTaskStatus(project, name, description, color, orderIndex);
-            return ResponseEntity.ok(taskStatus);
+            return ResponseEntity.ok(StatusView.of(taskStatus));
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
@@ -80,13 +88,10 @@ public class ProjectSettingsController {
     @PutMapping("/statuses/{statusId}")
     public ResponseEntity<?> updateTaskStatus(@PathVariable Long projectId, @PathVariable Long statusId, 
                                             @RequestBody Map<String, Object> body, Authentication authentication) {
-        Project project = projectService.getProject(projectId)
-                .orElseThrow(() -> new RuntimeException("Projet non trouvé"));
-        
         UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
         User user = userPrincipal.getUser();
         
-        if (!projectService.isAdmin(project, user)) {
+        if (!projectAuthorization.isAdmin(projectId, user.getId())) {
             return ResponseEntity.status(403).body("Seuls les administrateurs peuvent modifier les paramètres du projet");
         }
         
@@ -97,7 +102,7 @@ public class ProjectSettingsController {
             Integer orderIndex = body.get("orderIndex") != null ? (Integer) body.get("orderIndex") : null;
             
             TaskStatus taskStatus = projectSettingsService.updateTaskStatus(statusId, name, description, color, orderIndex);
-            return ResponseEntity.ok(taskStatus);
+            return ResponseEntity.ok(StatusView.of(taskStatus));
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
@@ -105,13 +110,10 @@ public class ProjectSettingsController {
     
     @DeleteMapping("/statuses/{statusId}")
     public ResponseEntity<?> deleteTaskStatus(@PathVariable Long projectId, @PathVariable Long statusId, Authentication authentication) {
-        Project project = projectService.getProject(projectId)
-                .orElseThrow(() -> new RuntimeException("Projet non trouvé"));
-        
         UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
         User user = userPrincipal.getUser();
         
-        if (!projectService.isAdmin(project, user)) {
+        if (!projectAuthorization.isAdmin(projectId, user.getId())) {
             return ResponseEntity.status(403).body("Seuls les administrateurs peuvent modifier les paramètres du projet");
         }
         
@@ -125,19 +127,16 @@ public class ProjectSettingsController {
     
     @PostMapping("/statuses/{statusId}/default")
     public ResponseEntity<?> setDefaultStatus(@PathVariable Long projectId, @PathVariable Long statusId, Authentication authentication) {
-        Project project = projectService.getProject(projectId)
-                .orElseThrow(() -> new RuntimeException("Projet non trouvé"));
-        
         UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
         User user = userPrincipal.getUser();
         
-        if (!projectService.isAdmin(project, user)) {
+        if (!projectAuthorization.isAdmin(projectId, user.getId())) {
             return ResponseEntity.status(403).body("Seuls les administrateurs peuvent modifier les paramètres du projet");
         }
         
         try {
             TaskStatus taskStatus = projectSettingsService.setDefaultStatus(statusId);
-            return ResponseEntity.ok(taskStatus);
+            return ResponseEntity.ok(StatusView.of(taskStatus));
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
@@ -145,19 +144,15 @@ public class ProjectSettingsController {
     
     // Task Priority endpoints
     @GetMapping("/priorities")
-    public ResponseEntity<List<TaskPriority>> getProjectPriorities(@PathVariable Long projectId, Authentication authentication) {
-        Project project = projectService.getProject(projectId)
-                .orElseThrow(() -> new RuntimeException("Projet non trouvé"));
-        
+    public ResponseEntity<byte[]> getProjectPriorities(@PathVariable Long projectId, Authentication authentication) {
         UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
         User user = userPrincipal.getUser();
         
-        if (!projectService.isAdmin(project, user) && !projectService.isMember(project, user)) {
+        if (!projectAuthorization.isMember(projectId, user.getId())) {
             return ResponseEntity.status(403).build();
         }
         
-        List<TaskPriority> priorities = projectSettingsService.getProjectPriorities(project);
-        return ResponseEntity.ok(priorities);
+        return settingsResponse(projectSettingsCache.priorities(projectId));
     }
     
     @PostMapping("/priorities")
@@ -168,7 +163,7 @@ public class ProjectSettingsController {
         UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
         User user = userPrincipal.getUser();
         
-        if (!projectService.isAdmin(project, user)) {
+        if (!projectAuthorization.isAdmin(projectId, user.getId())) {
             return ResponseEntity.status(403).body("Seuls les administrateurs peuvent modifier les paramètres du projet");
         }
         
@@ -183,7 +178,7 @@ public class ProjectSettingsController {
             
             TaskPriority taskPriority = projectSettingsService.createTaskPriority(
                 project, name, description, color, level, todoState, doingState, finishState);
-            return ResponseEntity.ok(taskPriority);
+            return ResponseEntity.ok(PriorityView.of(taskPriority));
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
@@ -192,13 +187,10 @@ public class ProjectSettingsController {
     @PutMapping("/priorities/{priorityId}")
     public ResponseEntity<?> updateTaskPriority(@PathVariable Long projectId, @PathVariable Long priorityId, 
                                                @RequestBody Map<String, Object> body, Authentication authentication) {
-        Project project = projectService.getProject(projectId)
-                .orElseThrow(() -> new RuntimeException("Projet non trouvé"));
-        
         UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
         User user = userPrincipal.getUser();
         
-        if (!projectService.isAdmin(project, user)) {
+        if (!projectAuthorization.isAdmin(projectId, user.getId())) {
             return ResponseEntity.status(403).body("Seuls les administrateurs peuvent modifier les paramètres du projet");
         }
         
@@ -213,7 +205,7 @@ public class ProjectSettingsController {
             
             TaskPriority taskPriority = projectSettingsService.updateTaskPriority(
                 priorityId, name, description, color, level, todoState, doingState, finishState);
-            return ResponseEntity.ok(taskPriority);
+            return ResponseEntity.ok(PriorityView.of(taskPriority));
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
@@ -221,13 +213,10 @@ public class ProjectSettingsController {
     
     @DeleteMapping("/priorities/{priorityId}")
     public ResponseEntity<?> deleteTaskPriority(@PathVariable Long projectId, @PathVariable Long priorityId, Authentication authentication) {
-        Project project = projectService.getProject(projectId)
-                .orElseThrow(() -> new RuntimeException("Projet non trouvé"));
-        
         UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
         User user = userPrincipal.getUser();
         
-        if (!projectService.isAdmin(project, user)) {
+        if (!projectAuthorization.isAdmin(projectId, user.getId())) {
             return ResponseEntity.status(403).body("Seuls les administrateurs peuvent modifier les paramètres du projet");
         }
         
@@ -241,21 +230,30 @@ public class ProjectSettingsController {
     
     @PostMapping("/priorities/{priorityId}/default")
     public ResponseEntity<?> setDefaultPriority(@PathVariable Long projectId, @PathVariable Long priorityId, Authentication authentication) {
-        Project project = projectService.getProject(projectId)
-                .orElseThrow(() -> new RuntimeException("Projet non trouvé"));
-        
         UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
         User user = userPrincipal.getUser();
         
-        if (!projectService.isAdmin(project, user)) {
+        if (!projectAuthorization.isAdmin(projectId, user.getId())) {
             return ResponseEntity.status(403).body("Seuls les administrateurs peuvent modifier les paramètres du projet");
         }
         
         try {
             TaskPriority taskPriority = projectSettingsService.setDefaultPriority(priorityId);
-            return ResponseEntity.ok(taskPriority);
+            return ResponseEntity.ok(PriorityView.of(taskPriority));
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
     }
+    
+    /**
+     * The cached JSON with the settings version as ETag: a matching If-None-Match gets
+     * 304 Not Modified, and clients revalidate instead of re-downloading.
+     */
+    private static ResponseEntity<byte[]> settingsResponse(SettingsJson settings) {
+        return ResponseEntity.ok()
+                .eTag(settings.etag())
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(settings.json());
+    }
 }
@@ -0,0 +1,69 @@
+package com.example.demo.controller;
+
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.demo.dto.project.TemplateView;
+import com.example.demo.model.ProjectTemplate;
+import com.example.demo.model.User;
+import com.example.demo.security.ProjectAuthorization;
+import com.example.demo.security.UserPrincipal;
+import com.example.demo.service.ProjectTemplateService;
+
+@RestController
+@RequestMapping("/api/project-templates")
+public class ProjectTemplateController {
+
+    @Autowired
+    private ProjectTemplateService projectTemplateService;
+
+    @Autowired
+    private ProjectAuthorization projectAuthorization;
+
+    @GetMapping
+    public ResponseEntity<List<TemplateView>> getTemplates() {
+        return ResponseEntity.ok(projectTemplateService.getTemplates());
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<?> getTemplate(@PathVariable Long id) {
+        try {
+            return ResponseEntity.ok(projectTemplateService.getTemplate(id).orElseThrow());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    /**
+     * Save the statuses and priorities of a project as a template (project admins only).
+     */
+    @PostMapping
+    public ResponseEntity<?> createTemplate(@RequestBody Map<String, Object> body, Authentication authentication) {
+        try {
+            Long projectId = Long.valueOf(body.get("projectId").toString());
+            String name = (String) body.get("name");
+            String description = (String) body.get("description");
+
+            UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
+            User user = userPrincipal.getUser();
+            if (!projectAuthorization.isAdmin(projectId, user.getId())) {
+                return ResponseEntity.status(403).body("Permission denied: Only project admins can save a template");
+            }
+
+            ProjectTemplate template = projectTemplateService.createFromProject(projectId, name, description);
+            return ResponseEntity.ok(template);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+}
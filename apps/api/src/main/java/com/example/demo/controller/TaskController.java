@@ -1,20 +1,34 @@
 package com.example.demo.controller;
 
+import com.example.demo.dto.CursorPage;
+import com.example.demo.dto.task.BulkTaskResult;
+import com.example.demo.dto.task.TaskFilter;
+import com.example.demo.dto.task.TaskPatch;
+import com.example.demo.dto.task.TaskSort;
+import com.example.demo.dto.task.TaskView;
 import com.example.demo.model.Task;
 import com.example.demo.model.User;
+import com.example.demo.search.TaskSearchService;
+import com.example.demo.security.ProjectAuthorization;
 import com.example.demo.service.EmailService;
+import com.example.demo.service.ProjectTaskStatsService;
 import com.example.demo.service.TaskService;
 import com.example.demo.service.UserService;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import lombok.extern.slf4j.Slf4j;
-import jakarta.mail.MessagingException;
 
 import java.security.Principal;
+import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.Map;
@@ -31,9 +45,11 @@ public class TaskController {
     @Autowired
     private EmailService emailService;
     @Autowired
-    private com.example.demo.service.ProjectService projectService;
+    private ProjectAuthorization projectAuthorization;
     @Autowired
-    private com.example.demo.repository.ProjectMemberRepository projectMemberRepository;
+    private ProjectTaskStatsService projectTaskStatsService;
+    @Autowired
+    private TaskSearchService taskSearchService;
 
     @Value("${spring.application.base-url:http://localhost:4200}")
     private String baseUrl;
@@ -50,10 +66,8 @@ public class TaskController {
             Long assigneeId = body.get("assigneeId") != null ? Long.valueOf(body.get("assigneeId").toString()) : null;
             
             User user = userService.findByEmail(principal.getName()).orElseThrow(() -> new RuntimeException("User not found"));
-            var project = projectService.getProject(projectId).orElseThrow(() -> new RuntimeException("Project not found"));
-            var memberOpt = projectMemberRepository.findByProjectAndUser(project, user);
             
-            if (memberOpt.isEmpty() || memberOpt.get().getRole() == com.example.demo.model.ProjectMember.ProjectRole.OBSERVER) {
+            if (!projectAuthorization.canEditTasks(projectId, user.getId())) {
                 return ResponseEntity.status(403).body("Permission denied: Only project members or admins can create tasks");
             }
             
@@ -65,7 +79,7 @@ public class TaskController {
                     User assignee = userService.findById(assigneeId)
                         .orElseThrow(() -> new RuntimeException("Assignee not found"));
                     
-                    sendTaskAssignmentEmail(task, assignee, user, project.getName());
+                    sendTaskAssignmentEmail(task, assignee, user, task.getProject().getName());
                     
                 } catch (Exception emailException) {
                     // Log the email error but don't fail the task creation
@@ -74,17 +88,25 @@ public class TaskController {
                 }
             }
             
-            return ResponseEntity.ok(task);
+            return ResponseEntity.ok(TaskView.of(task));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
     }
 
+    /**
+     * A task with its ETag. A request whose If-None-Match carries the current ETag gets
+     * 304 Not Modified, answered before the task is serialized.
+     */
     @GetMapping("/{id}")
     public ResponseEntity<?> getTask(@PathVariable Long id) {
         try {
-            return taskService.getTask(id)
-                    .map(ResponseEntity::ok)
+            return taskService.getTaskView(id)
+                    .map(view -> ResponseEntity.ok()
+                            .eTag(view.etag())
+                            // Stored but revalidated on each use, not served stale
+                            .cacheControl(CacheControl.noCache().cachePrivate())
+                            .body(view))
                     .orElse(ResponseEntity.notFound().build());
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(e.getMessage());
@@ -92,7 +114,7 @@ public class TaskController {
     }
 
     @GetMapping("/project/{projectId}")
-    public ResponseEntity<List<Task>> getTasksByProject(@PathVariable Long projectId) {
+    public ResponseEntity<List<TaskView>> getTasksByProject(@PathVariable Long projectId) {
         try {
             return ResponseEntity.ok(taskService.getTasksByProject(projectId));
         } catch (Exception e) {
@@ -100,8 +122,148 @@ public class TaskController {
         }
     }
 
+    /**
+     * Kanban board: per status column, its task count and first {@code perColumn} tasks.
+     */
+    @GetMapping("/project/{projectId}/board")
+    public ResponseEntity<?> getBoard(
+            @PathVariable Long projectId,
+            @RequestParam(defaultValue = "" + TaskService.DEFAULT_BOARD_COLUMN_SIZE) int perColumn,
+            Principal principal) {
+        try {
+            User user = userService.findByEmail(principal.getName()).orElseThrow(() -> new RuntimeException("User not found"));
+            if (!projectAuthorization.isMember(projectId, user.getId())) {
+                return ResponseEntity.status(403).body("Permission denied: You are not a member of this project");
+            }
+            return ResponseEntity.ok(taskService.getBoard(projectId, perColumn));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    /**
+     * "Load more" for one board column: pass the column's {@code nextCursor} as {@code cursor}.
+     * Without {@code statusId}, pages through the tasks that have no status.
+     */
+    @GetMapping("/project/{projectId}/board/column")
+    public ResponseEntity<?> getBoardColumn(
+            @PathVariable Long projectId,
+            @RequestParam(required = false) Long statusId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + TaskService.DEFAULT_BOARD_COLUMN_SIZE) int limit,
+            Principal principal) {
+        try {
+            User user = userService.findByEmail(principal.getName()).orElseThrow(() -> new RuntimeException("User not found"));
+            if (!projectAuthorization.isMember(projectId, user.getId())) {
+                return ResponseEntity.status(403).body("Permission denied: You are not a member of this project");
+            }
+            return ResponseEntity.ok(taskService.getBoardColumn(projectId, statusId, cursor, limit));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    /**
+     * Task counts of a project by status, priority, assignee and due date, read from the
+     * maintained counters rather than from the tasks.
+     */
+    @GetMapping("/project/{projectId}/stats")
+    public ResponseEntity<?> getTaskStats(@PathVariable Long projectId, Principal principal) {
+        try {
+            User user = userService.findByEmail(principal.getName()).orElseThrow(() -> new RuntimeException("User not found"));
+            if (!projectAuthorization.isMember(projectId, user.getId())) {
+                return ResponseEntity.status(403).body("Permission denied: You are not a member of this project");
+            }
+            return ResponseEntity.ok(projectTaskStatsService.getStats(projectId));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    /**
+     * Full-text search over the names and descriptions of a project's tasks, with prefix
+     * and typo-tolerant matching; optionally restricted to a status, priority or assignee.
+     */
+    @GetMapping("/project/{projectId}/search")
+    public ResponseEntity<?> searchTasks(
+            @PathVariable Long projectId,
+            @RequestParam String q,
+            @RequestParam(required = false) Long statusId,
+            @RequestParam(required = false) Long priorityId,
+            @RequestParam(required = false) Long assigneeId,
+            @RequestParam(defaultValue = "" + TaskSearchService.DEFAULT_LIMIT) int limit,
+            Principal principal) {
+        try {
+            User user = userService.findByEmail(principal.getName()).orElseThrow(() -> new RuntimeException("User not found"));
+            if (!projectAuthorization.isMember(projectId, user.getId())) {
+                return ResponseEntity.status(403).body("Permission denied: You are not a member of this project");
+            }
+            return ResponseEntity.ok(taskSearchService.search(projectId, q, statusId, priorityId, assigneeId, limit));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    /**
+     * Rebuild the search index entries of a project from the database (project admins only).
+     */
+    @PostMapping("/project/{projectId}/search/reindex")
+    public ResponseEntity<?> reindexTasks(@PathVariable Long projectId, Principal principal) {
+        try {
+            User user = userService.findByEmail(principal.getName()).orElseThrow(() -> new RuntimeException("User not found"));
+            if (!projectAuthorization.isAdmin(projectId, user.getId())) {
+                return ResponseEntity.status(403).body("Permission denied: Only project admins can rebuild the search index");
+            }
+            return ResponseEntity.ok(Map.of("indexed", taskSearchService.rebuildProject(projectId)));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    /**
+     * Keyset-paginated listing of a project's tasks.
+     * Pass the returned {@code nextCursor} back as {@code cursor} to get the next page.
+     */
+    @GetMapping("/project/{projectId}/page")
+    public ResponseEntity<?> getTasksPageByProject(
+            @PathVariable Long projectId,
+            @RequestParam(required = false) Long statusId,
+            @RequestParam(required = false) Long priorityId,
+            @RequestParam(required = false) Long assigneeId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueTo,
+            @RequestParam(defaultValue = "id") String sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + TaskService.DEFAULT_PAGE_SIZE) int limit,
+            Principal principal) {
+        try {
+            User user = userService.findByEmail(principal.getName()).orElseThrow(() -> new RuntimeException("User not found"));
+            if (!projectAuthorization.isMember(projectId, user.getId())) {
+                return ResponseEntity.status(403).body("Permission denied: You are not a member of this project");
+            }
+
+            TaskFilter filter = TaskFilter.builder()
+                    .statusId(statusId)
+                    .priorityId(priorityId)
+                    .assigneeId(assigneeId)
+                    .dueFrom(dueFrom)
+                    .dueTo(dueTo)
+                    .build();
+            CursorPage<TaskView> page = taskService.getTasksPage(projectId, filter, TaskSort.fromParam(sort), cursor, limit);
+            return ResponseEntity.ok(page);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    /**
+     * Update a task. With an If-Match header, the update only applies while the task still
+     * has that ETag (412 Precondition Failed otherwise); without one, an update racing
+     * another one fails with 409 Conflict rather than overwriting it.
+     */
     @PutMapping("/{id}")
-    public ResponseEntity<?> updateTask(@PathVariable Long id, @RequestBody Map<String, Object> body, Principal principal) {
+    public ResponseEntity<?> updateTask(@PathVariable Long id, @RequestBody Map<String, Object> body,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch, Principal principal) {
         try {
             String name = (String) body.get("name");
             String description = (String) body.get("description");
@@ -111,13 +273,55 @@ public class TaskController {
             Long assigneeId = body.get("assigneeId") != null ? Long.valueOf(body.get("assigneeId").toString()) : null;
             User user = userService.findByEmail(principal.getName()).orElseThrow(() -> new RuntimeException("User not found"));
             Task task = taskService.getTask(id).orElseThrow(() -> new RuntimeException("Task not found"));
-            var project = task.getProject();
-            var memberOpt = projectMemberRepository.findByProjectAndUser(project, user);
-            if (memberOpt.isEmpty() || memberOpt.get().getRole() == com.example.demo.model.ProjectMember.ProjectRole.OBSERVER) {
+            if (!projectAuthorization.canEditTasks(task.getProject().getId(), user.getId())) {
                 return ResponseEntity.status(403).body("Permission denied: Only project members or admins can update tasks");
             }
-            Task updated = taskService.updateTask(id, name, description, dueDate, priorityId, statusId, assigneeId, user);
-            return ResponseEntity.ok(updated);
+            Long expectedVersion = null;
+            if (ifMatch != null) {
+                if (!etagMatches(ifMatch, TaskView.of(task).etag())) {
+                    return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body("Task was modified since it was read");
+                }
+                expectedVersion = task.getVersion();
+            }
+            Task updated = taskService.updateTask(id, name, description, dueDate, priorityId, statusId, assigneeId, user,
+                    expectedVersion);
+            TaskView view = TaskView.of(updated);
+            return ResponseEntity.ok().eTag(view.etag()).body(view);
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(ifMatch != null ? HttpStatus.PRECONDITION_FAILED : HttpStatus.CONFLICT)
+                    .body("Task was modified by another request, reload it and retry");
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    /**
+     * Apply one change (status, priority, assignee and/or due date) to many tasks at once.
+     * Body: {@code taskIds} plus the fields to set; an explicit null {@code assigneeId} or
+     * {@code dueDate} clears the field. Returns the task ids grouped by outcome.
+     */
+    @PatchMapping("/bulk")
+    public ResponseEntity<?> bulkUpdateTasks(@RequestBody Map<String, Object> body, Principal principal) {
+        try {
+            if (!(body.get("taskIds") instanceof List<?> rawIds)) {
+                return ResponseEntity.badRequest().body("taskIds must be a list of task ids");
+            }
+            List<Long> taskIds = rawIds.stream()
+                    .map(id -> id != null ? Long.valueOf(id.toString()) : null)
+                    .toList();
+            TaskPatch patch = TaskPatch.builder()
+                    .statusId(body.get("statusId") != null ? Long.valueOf(body.get("statusId").toString()) : null)
+                    .priorityId(body.get("priorityId") != null ? Long.valueOf(body.get("priorityId").toString()) : null)
+                    .assigneeId(body.get("assigneeId") != null ? Long.valueOf(body.get("assigneeId").toString()) : null)
+                    .unassign(body.containsKey("assigneeId") && body.get("assigneeId") == null)
+                    .dueDate(body.get("dueDate") != null ? LocalDate.parse(body.get("dueDate").toString()) : null)
+                    .clearDueDate(body.containsKey("dueDate") && body.get("dueDate") == null)
+                    .build();
+            User user = userService.findByEmail(principal.getName()).orElseThrow(() -> new RuntimeException("User not found"));
+
+            // Permissions are checked per task's project by the service
+            BulkTaskResult result = taskService.bulkUpdate(taskIds, patch, user);
+            return ResponseEntity.ok(result);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
@@ -128,9 +332,7 @@ public class TaskController {
         try {
             User user = userService.findByEmail(principal.getName()).orElseThrow(() -> new RuntimeException("User not found"));
             Task task = taskService.getTask(id).orElseThrow(() -> new RuntimeException("Task not found"));
-            var project = task.getProject();
-            var memberOpt = projectMemberRepository.findByProjectAndUser(project, user);
-            if (memberOpt.isEmpty() || memberOpt.get().getRole() != com.example.demo.model.ProjectMember.ProjectRole.ADMIN) {
+            if (!projectAuthorization.isAdmin(task.getProject().getId(), user.getId())) {
                 return ResponseEntity.status(403).body("Permission denied: Only project admins can delete tasks");
             }
             taskService.deleteTask(id, user);
@@ -140,6 +342,19 @@ public class TaskController {
         }
     }
 
+    /**
+     * Strong comparison of an If-Match header (a list of ETags, or "*") with the current ETag.
+     */
+    static boolean etagMatches(String ifMatch, String etag) {
+        for (String candidate : ifMatch.split(",")) {
+            String trimmed = candidate.trim();
+            if (trimmed.equals("*") || trimmed.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * Send task assignment email notification
      */
@@ -202,16 +417,12 @@ public class TaskController {
             htmlContent.append("</div>");
             htmlContent.append("</div>");
             
-            // Send the email
-            emailService.sendHtmlEmail(assignee.getEmail(), subject, htmlContent.toString());
+            // Queue the email, the outbox worker sends it
+            emailService.queueHtmlEmail(assignee.getEmail(), subject, htmlContent.toString());
             
-            log.info("Task assignment email sent successfully to {} for task {}", 
+            log.info("Task assignment email queued for {} for task {}", 
                 assignee.getEmail(), task.getId());
                 
-        } catch (MessagingException e) {
-            log.error("Failed to send task assignment email to {} due to messaging error: {}", 
-                assignee.getEmail(), e.getMessage());
-            // Don't re-throw as this is called from createTask - we don't want to fail task creation
         } catch (Exception e) {
             log.error("Failed to send task assignment email to {} due to unexpected error: {}", 
                 assignee.getEmail(), e.getMessage());
@@ -4,21 +4,22 @@ import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
-import com.example.demo.model.Project;
-import com.example.demo.model.Task;
-import com.example.demo.model.TaskHistory;
+import com.example.demo.dto.task.TaskActivity;
 import com.example.demo.model.User;
-import com.example.demo.repository.ProjectMemberRepository;
+import com.example.demo.security.ProjectAuthorization;
 import com.example.demo.security.UserPrincipal;
-import com.example.demo.service.ProjectService;
+import com.example.demo.service.ProjectActivityFeed;
 import com.example.demo.service.TaskHistoryService;
 import com.example.demo.service.TaskService;
 
@@ -33,10 +34,10 @@ public class TaskHistoryController {
     private TaskService taskService;
     
     @Autowired
-    private ProjectService projectService;
+    private ProjectAuthorization projectAuthorization;
     
     @Autowired
-    private ProjectMemberRepository projectMemberRepository;
+    private ProjectActivityFeed activityFeed;
     
     /**
      * Get history for a specific task
@@ -54,24 +55,21 @@ public class TaskHistoryController {
             UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
             User user = userPrincipal.getUser();
             
-            // Get task and verify user has access
-            Task task = taskService.getTask(taskId)
+            // Get the task's project and verify user has access
+            Long projectId = taskService.getProjectId(taskId)
                     .orElseThrow(() -> new RuntimeException("Task not found"));
             
-            Project project = task.getProject();
-            
             // Check if user is a member of the project (admin, member, or observer)
-            var memberOpt = projectMemberRepository.findByProjectAndUser(project, user);
-            if (memberOpt.isEmpty()) {
+            if (!projectAuthorization.isMember(projectId, user.getId())) {
                 return ResponseEntity.status(403).body("Permission denied: You are not a member of this project");
             }
             
             // Get task history
             if (size > 0) {
-                Page<TaskHistory> historyPage = taskHistoryService.getTaskHistory(taskId, page, size);
+                Page<TaskActivity> historyPage = taskHistoryService.getTaskHistory(taskId, page, size);
                 return ResponseEntity.ok(historyPage);
             } else {
-                List<TaskHistory> history = taskHistoryService.getTaskHistory(taskId);
+                List<TaskActivity> history = taskHistoryService.getTaskHistory(taskId);
                 return ResponseEntity.ok(history);
             }
             
@@ -95,22 +93,17 @@ public class TaskHistoryController {
             UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
             User user = userPrincipal.getUser();
             
-            // Get project and verify user has access
-            Project project = projectService.getProject(projectId)
-                    .orElseThrow(() -> new RuntimeException("Project not found"));
-            
             // Check if user is a member of the project
-            var memberOpt = projectMemberRepository.findByProjectAndUser(project, user);
-            if (memberOpt.isEmpty()) {
+            if (!projectAuthorization.isMember(projectId, user.getId())) {
                 return ResponseEntity.status(403).body("Permission denied: You are not a member of this project");
             }
             
             // Get project task history
             if (size > 0) {
-                Page<TaskHistory> historyPage = taskHistoryService.getProjectHistory(projectId, page, size);
+                Page<TaskActivity> historyPage = taskHistoryService.getProjectHistory(projectId, page, size);
                 return ResponseEntity.ok(historyPage);
             } else {
-                List<TaskHistory> history = taskHistoryService.getProjectHistory(projectId);
+                List<TaskActivity> history = taskHistoryService.getProjectHistory(projectId);
                 return ResponseEntity.ok(history);
             }
             
@@ -132,22 +125,48 @@ public class TaskHistoryController {
             UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
             User user = userPrincipal.getUser();
             
-            // Get project and verify user has access
-            Project project = projectService.getProject(projectId)
-                    .orElseThrow(() -> new RuntimeException("Project not found"));
-            
             // Check if user is a member of the project
-            var memberOpt = projectMemberRepository.findByProjectAndUser(project, user);
-            if (memberOpt.isEmpty()) {
+            if (!projectAuthorization.isMember(projectId, user.getId())) {
                 return ResponseEntity.status(403).body("Permission denied: You are not a member of this project");
             }
             
             // Get recent activity
-            List<TaskHistory> recentActivity = taskHistoryService.getRecentProjectActivity(projectId);
+            List<TaskActivity> recentActivity = taskHistoryService.getRecentProjectActivity(projectId);
             return ResponseEntity.ok(recentActivity);
             
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
     }
+    
+    /**
+     * Live project activity as server-sent events ("activity" events carrying the history id).
+     * A reconnecting client sends the last id it received in Last-Event-ID (or as
+     * {@code lastEventId}) and gets the entries it missed first.
+     */
+    @GetMapping(value = "/projects/{projectId}/activity/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<?> streamProjectActivity(
+            @PathVariable Long projectId,
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventIdHeader,
+            @RequestParam(value = "lastEventId", required = false) Long lastEventIdParam,
+            Authentication authentication) {
+        
+        try {
+            UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
+            User user = userPrincipal.getUser();
+            
+            if (!projectAuthorization.isMember(projectId, user.getId())) {
+                return ResponseEntity.status(403).body("Permission denied: You are not a member of this project");
+            }
+            
+            Long lastEventId = lastEventIdHeader != null ? lastEventIdHeader : lastEventIdParam;
+            SseEmitter emitter = activityFeed.subscribe(projectId, lastEventId);
+            return ResponseEntity.ok()
+                    .header("X-Accel-Buffering", "no")
+                    .body(emitter);
+            
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
 }
@@ -0,0 +1,13 @@
+package com.example.demo.dto;
+
+import com.example.demo.model.User;
+
+/**
+ * The public part of a user, as embedded in tasks, members, history and invitations.
+ */
+public record UserRef(Long id, String username, String email) {
+
+    public static UserRef of(User user) {
+        return user != null ? new UserRef(user.getId(), user.getUsername(), user.getEmail()) : null;
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.demo.dto.project;
+
+/**
+ * Outcome of a bulk invite for one of the requested emails.
+ *
+ * @param email        the email as requested, trimmed
+ * @param outcome      what happened to it
+ * @param invitationId the new invitation ({@code INVITED}) or the one already pending
+ *                     ({@code ALREADY_INVITED}), otherwise null
+ * @param userExists   whether an account already uses the email
+ */
+public record InvitationResult(String email, Outcome outcome, Long invitationId, boolean userExists) {
+
+    public enum Outcome {
+        INVITED,
+        ALREADY_INVITED,
+        ALREADY_MEMBER,
+        INVALID_EMAIL
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.demo.dto.project;
+
+import java.time.LocalDateTime;
+
+import com.example.demo.dto.UserRef;
+import com.example.demo.model.ProjectInvitation.InvitationStatus;
+import com.example.demo.model.ProjectMember.ProjectRole;
+
+/**
+ * A project invitation as listed to the project admins. The token is left out: it is
+ * the credential that accepts the invitation and only goes out in the email.
+ */
+public record InvitationView(
+        Long id,
+        String email,
+        ProjectRole role,
+        InvitationStatus status,
+        LocalDateTime createdAt,
+        LocalDateTime expiresAt,
+        LocalDateTime acceptedAt,
+        UserRef inviter,
+        UserRef acceptedByUser) {
+
+    /**
+     * Used by the JPQL constructor expression in ProjectInvitationRepository.
+     */
+    public InvitationView(Long id, String email, ProjectRole role, InvitationStatus status,
+            LocalDateTime createdAt, LocalDateTime expiresAt, LocalDateTime acceptedAt,
+            Long inviterId, String inviterUsername, String inviterEmail,
+            Long acceptedById, String acceptedByUsername, String acceptedByEmail) {
+        this(id, email, role, status, createdAt, expiresAt, acceptedAt,
+                new UserRef(inviterId, inviterUsername, inviterEmail),
+                acceptedById != null ? new UserRef(acceptedById, acceptedByUsername, acceptedByEmail) : null);
+    }
+}
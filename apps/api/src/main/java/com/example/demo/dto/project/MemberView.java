@@ -0,0 +1,22 @@
+package com.example.demo.dto.project;
+
+import com.example.demo.dto.UserRef;
+import com.example.demo.model.ProjectMember;
+import com.example.demo.model.ProjectMember.ProjectRole;
+
+/**
+ * A project member as returned by the member endpoints.
+ */
+public record MemberView(Long id, UserRef user, ProjectRole role) {
+
+    /**
+     * Used by the JPQL constructor expression in ProjectMemberRepository.
+     */
+    public MemberView(Long id, Long userId, String username, String email, ProjectRole role) {
+        this(id, new UserRef(userId, username, email), role);
+    }
+
+    public static MemberView of(ProjectMember member) {
+        return new MemberView(member.getId(), UserRef.of(member.getUser()), member.getRole());
+    }
+}
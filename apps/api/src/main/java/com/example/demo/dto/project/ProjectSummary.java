@@ -0,0 +1,21 @@
+package com.example.demo.dto.project;
+
+import java.time.LocalDate;
+
+import com.example.demo.model.ProjectMember.ProjectRole;
+
+/**
+ * A project as listed on the caller's landing page, with the caller's role and counts
+ * read in the same query (see ProjectMemberRepository.findSummariesByUserId).
+ * Open tasks are the tasks not in the last status of the project's workflow.
+ */
+public record ProjectSummary(
+        Long id,
+        String name,
+        String description,
+        LocalDate startDate,
+        ProjectRole role,
+        Long memberCount,
+        Long taskCount,
+        Long openTaskCount) {
+}
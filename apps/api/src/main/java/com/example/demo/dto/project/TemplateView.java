@@ -0,0 +1,7 @@
+package com.example.demo.dto.project;
+
+/**
+ * A project template as listed for the project creation form.
+ */
+public record TemplateView(Long id, String name, String description, Boolean isDefault) {
+}
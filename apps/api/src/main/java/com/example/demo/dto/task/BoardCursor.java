@@ -0,0 +1,55 @@
+package com.example.demo.dto.task;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Objects;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Position of the last task returned in a board column.
+ * Encoded as an opaque URL-safe string: {@code base64(statusId|level|dueDate|id)},
+ * with an empty status id for the column of tasks without a status.
+ */
+@Data
+@AllArgsConstructor
+public class BoardCursor {
+    private static final String SEPARATOR = "|";
+
+    private Long statusId;
+    private int level;
+    private LocalDate dueDate;
+    private Long id;
+
+    public static BoardCursor after(TaskView task) {
+        return new BoardCursor(task.status() != null ? task.status().id() : null,
+                TaskBoard.levelOf(task), TaskBoard.dueDateOf(task), task.id());
+    }
+
+    public String encode() {
+        String raw = (statusId != null ? statusId : "") + SEPARATOR + level + SEPARATOR + dueDate + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static BoardCursor decode(String cursor, Long expectedStatusId) {
+        BoardCursor decoded;
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", -1);
+            if (parts.length != 4) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            decoded = new BoardCursor(parts[0].isEmpty() ? null : Long.valueOf(parts[0]),
+                    Integer.parseInt(parts[1]), LocalDate.parse(parts[2]), Long.valueOf(parts[3]));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+        if (!Objects.equals(decoded.getStatusId(), expectedStatusId)) {
+            throw new IllegalArgumentException("Cursor does not match the requested column");
+        }
+        return decoded;
+    }
+}
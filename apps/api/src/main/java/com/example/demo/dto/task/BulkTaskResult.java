@@ -0,0 +1,25 @@
+package com.example.demo.dto.task;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of a bulk task update, every requested id in exactly one list.
+ *
+ * @param updated   tasks the change was applied to
+ * @param unchanged tasks that already had the requested values
+ * @param notFound  ids of tasks that do not exist
+ * @param forbidden tasks in projects where the caller cannot edit tasks
+ * @param invalid   tasks of another project than the requested status or priority
+ */
+public record BulkTaskResult(
+        List<Long> updated,
+        List<Long> unchanged,
+        List<Long> notFound,
+        List<Long> forbidden,
+        List<Long> invalid) {
+
+    public BulkTaskResult() {
+        this(new ArrayList<>(), new ArrayList<>(), new ArrayList<>(), new ArrayList<>(), new ArrayList<>());
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.demo.dto.task;
+
+import com.example.demo.dto.task.TaskView.ProjectRef;
+import com.example.demo.model.TaskPriority;
+
+/**
+ * A task priority as returned by the project settings endpoints, with its project inlined.
+ * Same JSON shape as the serialized {@link TaskPriority} entity.
+ */
+public record PriorityView(Long id, String name, String description, String color, Integer level,
+        Boolean isDefault, TaskPriority.State todoState, TaskPriority.State doingState,
+        TaskPriority.State finishState, Long version, ProjectRef project) {
+
+    /**
+     * Snapshot a priority; its project is loaded if it is not already.
+     */
+    public static PriorityView of(TaskPriority priority) {
+        return new PriorityView(priority.getId(), priority.getName(), priority.getDescription(),
+                priority.getColor(), priority.getLevel(), priority.getIsDefault(), priority.getTodoState(),
+                priority.getDoingState(), priority.getFinishState(), priority.getVersion(),
+                ProjectRef.of(priority.getProject()));
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.demo.dto.task;
+
+import com.example.demo.dto.task.TaskView.ProjectRef;
+import com.example.demo.model.TaskStatus;
+
+/**
+ * A task status as returned by the project settings endpoints, with its project inlined.
+ * Same JSON shape as the serialized {@link TaskStatus} entity.
+ */
+public record StatusView(Long id, String name, String description, String color, Integer orderIndex,
+        Boolean isDefault, Long version, ProjectRef project) {
+
+    /**
+     * Snapshot a status; its project is loaded if it is not already.
+     */
+    public static StatusView of(TaskStatus status) {
+        return new StatusView(status.getId(), status.getName(), status.getDescription(), status.getColor(),
+                status.getOrderIndex(), status.getIsDefault(), status.getVersion(), ProjectRef.of(status.getProject()));
+    }
+}
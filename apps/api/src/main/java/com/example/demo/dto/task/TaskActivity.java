@@ -0,0 +1,62 @@
+package com.example.demo.dto.task;
+
+import java.time.LocalDateTime;
+
+import com.example.demo.dto.UserRef;
+import com.example.demo.model.TaskHistory;
+import com.example.demo.model.TaskHistory.HistoryAction;
+
+/**
+ * A task history entry as returned by the history endpoints and pushed on the project
+ * activity stream. Same JSON shape as a serialized {@link TaskHistory}, limited to what
+ * the client shows.
+ */
+public record TaskActivity(
+        Long id,
+        TaskRef task,
+        UserRef modifiedBy,
+        HistoryAction action,
+        String fieldName,
+        String oldValue,
+        String newValue,
+        LocalDateTime timestamp,
+        String comment) {
+
+    public record TaskRef(Long id, String name) {
+    }
+
+    /**
+     * Flat form for JPQL constructor expressions, see TaskHistoryRepository.
+     */
+    public TaskActivity(Long id, Long taskId, String taskName, Long userId, String username, String email,
+            HistoryAction action, String fieldName, String oldValue, String newValue,
+            LocalDateTime timestamp, String comment) {
+        this(id, new TaskRef(taskId, taskName), new UserRef(userId, username, email),
+                action, fieldName, oldValue, newValue, timestamp, comment);
+    }
+
+    /**
+     * Snapshot a history row. The task and user must be loaded (or still in memory from
+     * the change that produced the row).
+     */
+    public static TaskActivity of(TaskHistory history) {
+        return of(history, history.getTask().getName());
+    }
+
+    /**
+     * Snapshot a history row whose task is only a reference, with the task name known
+     * to the caller.
+     */
+    public static TaskActivity of(TaskHistory history, String taskName) {
+        return new TaskActivity(
+                history.getId(),
+                new TaskRef(history.getTask().getId(), taskName),
+                UserRef.of(history.getModifiedBy()),
+                history.getAction(),
+                history.getFieldName(),
+                history.getOldValue(),
+                history.getNewValue(),
+                history.getTimestamp(),
+                history.getComment());
+    }
+}
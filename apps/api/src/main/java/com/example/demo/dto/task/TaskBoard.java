@@ -0,0 +1,38 @@
+package com.example.demo.dto.task;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import com.example.demo.model.TaskStatus;
+
+/**
+ * The kanban board of a project: one column per status, in {@code orderIndex} order,
+ * each with its task count and first tasks. Tasks in a column are ordered by priority
+ * level (highest first), then due date (undated last), then id. Tasks without a status
+ * get a trailing column with a null status when there are any.
+ */
+public record TaskBoard(Long projectId, List<Column> columns) {
+
+    /** Stands in for a missing due date so that undated tasks sort last. */
+    public static final LocalDate UNDATED = LocalDate.of(9999, 12, 31);
+    /** Stands in for a missing priority so that such tasks sort after every level. */
+    public static final int NO_LEVEL = 0;
+
+    public record Column(TaskView.StatusRef status, long count, List<TaskView> tasks,
+            String nextCursor, boolean hasMore) {
+
+        public static Column of(TaskStatus status, long count, List<TaskView> tasks) {
+            boolean hasMore = !tasks.isEmpty() && count > tasks.size();
+            String nextCursor = hasMore ? BoardCursor.after(tasks.get(tasks.size() - 1)).encode() : null;
+            return new Column(TaskView.StatusRef.of(status), count, tasks, nextCursor, hasMore);
+        }
+    }
+
+    static int levelOf(TaskView task) {
+        return task.priority() != null && task.priority().level() != null ? task.priority().level() : NO_LEVEL;
+    }
+
+    static LocalDate dueDateOf(TaskView task) {
+        return task.dueDate() != null ? task.dueDate() : UNDATED;
+    }
+}
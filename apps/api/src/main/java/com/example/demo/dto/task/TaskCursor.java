@@ -0,0 +1,48 @@
+package com.example.demo.dto.task;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Position of the last task returned by a paginated listing.
+ * Encoded as an opaque URL-safe string: {@code base64(sort|value|id)}.
+ * An empty value on a {@link TaskSort#DUE_DATE} cursor means the listing
+ * has moved on to the tasks without a due date.
+ */
+@Data
+@AllArgsConstructor
+public class TaskCursor {
+    private static final String SEPARATOR = "|";
+
+    private TaskSort sort;
+    private String value;
+    private Long id;
+
+    public String encode() {
+        String raw = sort.name() + SEPARATOR + (value != null ? value : "") + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static TaskCursor decode(String cursor, TaskSort expectedSort) {
+        TaskCursor decoded;
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", -1);
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            decoded = new TaskCursor(TaskSort.valueOf(parts[0]),
+                    parts[1].isEmpty() ? null : parts[1], Long.valueOf(parts[2]));
+        } catch (IllegalArgumentException e) {
+            // Covers bad base64, unknown sort names and NumberFormatException
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+        if (decoded.getSort() != expectedSort) {
+            throw new IllegalArgumentException("Cursor does not match the requested sort");
+        }
+        return decoded;
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.demo.dto.task;
+
+import java.time.LocalDate;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Optional filters for the paginated task listing. A null field means "no filter".
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class TaskFilter {
+    private Long statusId;
+    private Long priorityId;
+    private Long assigneeId;
+    private LocalDate dueFrom;
+    private LocalDate dueTo;
+}
@@ -0,0 +1,30 @@
+package com.example.demo.dto.task;
+
+import java.time.LocalDate;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The change applied by a bulk task update. A null field is left unchanged;
+ * {@code unassign} and {@code clearDueDate} set the field to null.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class TaskPatch {
+    private Long statusId;
+    private Long priorityId;
+    private Long assigneeId;
+    private boolean unassign;
+    private LocalDate dueDate;
+    private boolean clearDueDate;
+
+    public boolean isEmpty() {
+        return statusId == null && priorityId == null && assigneeId == null && !unassign
+                && dueDate == null && !clearDueDate;
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.demo.dto.task;
+
+import java.util.List;
+
+/**
+ * Tasks matching a search, best first. {@code total} counts every match, {@code hits}
+ * holds the first ones. In each hit, {@code name} and {@code snippet} are HTML-escaped
+ * excerpts with the matched words wrapped in {@code <mark>}; they are null when the
+ * name, respectively the description, did not match.
+ */
+public record TaskSearchResult(long total, List<Hit> hits) {
+
+    public record Hit(TaskView task, float score, String name, String snippet) {
+    }
+}
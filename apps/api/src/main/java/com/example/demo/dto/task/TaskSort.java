@@ -0,0 +1,33 @@
+package com.example.demo.dto.task;
+
+/**
+ * Sort orders supported by the paginated task listing.
+ * Every order ends with the task id so that the keyset is unique.
+ */
+public enum TaskSort {
+    ID("id"),                 // id ASC
+    UPDATED_AT("updatedAt"),  // updatedAt DESC, id DESC
+    DUE_DATE("dueDate");      // dueDate ASC (tasks without due date last), id ASC
+
+    private final String param;
+
+    TaskSort(String param) {
+        this.param = param;
+    }
+
+    public String getParam() {
+        return param;
+    }
+
+    public static TaskSort fromParam(String value) {
+        if (value == null || value.isBlank()) {
+            return ID;
+        }
+        for (TaskSort sort : values()) {
+            if (sort.param.equalsIgnoreCase(value) || sort.name().equalsIgnoreCase(value)) {
+                return sort;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported sort: " + value);
+    }
+}
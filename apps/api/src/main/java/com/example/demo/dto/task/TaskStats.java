@@ -0,0 +1,19 @@
+package com.example.demo.dto.task;
+
+import java.util.Map;
+
+/**
+ * Task counts of a project, read from its maintained counters. The maps are keyed by
+ * status, priority and user id; overdue tasks have a due date before today.
+ */
+public record TaskStats(
+        Long projectId,
+        long total,
+        Map<Long, Long> byStatus,
+        Map<Long, Long> byPriority,
+        Map<Long, Long> byAssignee,
+        long unassigned,
+        long withoutDueDate,
+        long overdue,
+        long dueToday) {
+}
@@ -0,0 +1,86 @@
+package com.example.demo.dto.task;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import com.example.demo.dto.UserRef;
+import com.example.demo.model.Project;
+import com.example.demo.model.Task;
+import com.example.demo.model.TaskPriority;
+import com.example.demo.model.TaskStatus;
+import com.example.demo.model.User;
+
+/**
+ * A task as returned by the task endpoints, with its priority, status, project and
+ * assignee inlined. Same JSON shape as the serialized {@link Task} entity.
+ */
+public record TaskView(
+        Long id,
+        String name,
+        String description,
+        LocalDate dueDate,
+        PriorityRef priority,
+        StatusRef status,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt,
+        Long version,
+        ProjectRef project,
+        UserRef assignee) {
+
+    public record PriorityRef(Long id, String name, String description, String color, Integer level,
+            Boolean isDefault, TaskPriority.State todoState, TaskPriority.State doingState,
+            TaskPriority.State finishState, Long version) {
+
+        static PriorityRef of(TaskPriority priority) {
+            return priority == null ? null : new PriorityRef(priority.getId(), priority.getName(),
+                    priority.getDescription(), priority.getColor(), priority.getLevel(), priority.getIsDefault(),
+                    priority.getTodoState(), priority.getDoingState(), priority.getFinishState(),
+                    priority.getVersion());
+        }
+    }
+
+    public record StatusRef(Long id, String name, String description, String color, Integer orderIndex,
+            Boolean isDefault, Long version) {
+
+        public static StatusRef of(TaskStatus status) {
+            return status == null ? null : new StatusRef(status.getId(), status.getName(),
+                    status.getDescription(), status.getColor(), status.getOrderIndex(), status.getIsDefault(),
+                    status.getVersion());
+        }
+    }
+
+    public record ProjectRef(Long id, String name, String description, LocalDate startDate) {
+
+        public static ProjectRef of(Project project) {
+            return project == null ? null : new ProjectRef(project.getId(), project.getName(),
+                    project.getDescription(), project.getStartDate());
+        }
+    }
+
+    /**
+     * Used by the JPQL constructor expressions in TaskRepository, which join the
+     * associations so they arrive with the task in one statement.
+     */
+    public TaskView(Task task, TaskPriority priority, TaskStatus status, Project project, User assignee) {
+        this(task.getId(), task.getName(), task.getDescription(), task.getDueDate(),
+                PriorityRef.of(priority), StatusRef.of(status), task.getCreatedAt(), task.getUpdatedAt(),
+                task.getVersion(), ProjectRef.of(project), UserRef.of(assignee));
+    }
+
+    /**
+     * Snapshot a task whose associations are already loaded (fetch-joined or just set).
+     */
+    public static TaskView of(Task task) {
+        return new TaskView(task, task.getPriority(), task.getStatus(), task.getProject(), task.getAssignee());
+    }
+
+    /**
+     * Strong ETag of this representation. It changes with the task and with the status
+     * and priority embedded in it; renaming the project or the assignee does not change it.
+     */
+    public String etag() {
+        return "\"" + version
+                + "." + (status != null ? status.version() : "-")
+                + "." + (priority != null ? priority.version() : "-") + "\"";
+    }
+}
@@ -1,9 +1,12 @@
 package com.example.demo.model;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.Set;
 
+import org.hibernate.annotations.SQLRestriction;
+
 import com.fasterxml.jackson.annotation.JsonIgnore;
 
 import jakarta.persistence.CascadeType;
@@ -17,7 +20,12 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+/**
+ * A deleted project keeps its row (with {@code deletedAt} set) until ProjectPurgeWorker
+ * has removed its data; the restriction hides it from every entity query meanwhile.
+ */
 @Entity
+@SQLRestriction("deleted_at IS NULL")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -33,6 +41,9 @@ public class Project {
 
     private LocalDate startDate;
 
+    @JsonIgnore
+    private LocalDateTime deletedAt;
+
     @OneToMany(mappedBy = "project", cascade = CascadeType.ALL, orphanRemoval = true)
     @JsonIgnore
     private Set<ProjectMember> members = new HashSet<>();
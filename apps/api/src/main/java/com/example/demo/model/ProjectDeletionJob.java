@@ -0,0 +1,105 @@
+package com.example.demo.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Background removal of a soft-deleted project (see ProjectPurgeWorker).
+ */
+@Entity
+@Table(name = "project_deletion_job")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProjectDeletionJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "project_id", nullable = false)
+    private Long projectId;
+
+    @Column(name = "project_name", nullable = false)
+    private String projectName;
+
+    @Column(name = "requested_by")
+    private Long requestedBy;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    @Builder.Default
+    private Status status = Status.PENDING;
+
+    @Column(name = "tasks_total", nullable = false)
+    private long tasksTotal;
+
+    @Column(name = "history_total", nullable = false)
+    private long historyTotal;
+
+    @Column(name = "members_total", nullable = false)
+    private long membersTotal;
+
+    @Column(name = "tasks_deleted", nullable = false)
+    private long tasksDeleted;
+
+    @Column(name = "history_deleted", nullable = false)
+    private long historyDeleted;
+
+    @Column(name = "members_deleted", nullable = false)
+    private long membersDeleted;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    public enum Status {
+        PENDING,
+        RUNNING,
+        DONE
+    }
+
+    /**
+     * Percentage of rows removed so far, 100 once the job is done
+     */
+    public int getProgress() {
+        if (status == Status.DONE) {
+            return 100;
+        }
+        long total = tasksTotal + historyTotal + membersTotal;
+        if (total == 0) {
+            return 0;
+        }
+        long deleted = tasksDeleted + historyDeleted + membersDeleted;
+        return (int) Math.min(99, deleted * 100 / total);
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        if (createdAt == null) {
+            createdAt = LocalDateTime.now();
+        }
+    }
+}
@@ -14,6 +14,7 @@ import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
 import lombok.Data;
 
 @Entity
@@ -21,8 +22,12 @@ import lombok.Data;
 @Data
 public class ProjectInvitation {
     
+    // Pooled ids so the invitations of a bulk invite are inserted in batches
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "project_invitation_id")
+    @TableGenerator(name = "project_invitation_id", table = "id_generator",
+            pkColumnName = "sequence_name", valueColumnName = "next_val",
+            pkColumnValue = "project_invitations", allocationSize = 50)
     private Long id;
     
     @ManyToOne
@@ -40,8 +40,21 @@ public class ProjectMember {
     private ProjectRole role;
 
     public enum ProjectRole {
-        ADMIN,
-        MEMBER,
-        OBSERVER
+        ADMIN("Administrateur"),
+        MEMBER("Membre"),
+        OBSERVER("Observateur");
+
+        private final String label;
+
+        ProjectRole(String label) {
+            this.label = label;
+        }
+
+        /**
+         * French display name, as shown in invitation emails and pages
+         */
+        public String getLabel() {
+            return label;
+        }
     }
 }
@@ -0,0 +1,73 @@
+package com.example.demo.model;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Number of tasks of a project having one value of one dimension, e.g. the tasks of
+ * project 4 in status 12. Maintained by ProjectTaskStatsService.
+ */
+@Entity
+@Table(name = "project_task_stats")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProjectTaskStat {
+
+    @EmbeddedId
+    private Key id;
+
+    @Column(name = "task_count", nullable = false)
+    private long taskCount;
+
+    public enum Dimension {
+        TOTAL,      // key 0
+        STATUS,     // key = status id
+        PRIORITY,   // key = priority id
+        ASSIGNEE,   // key = user id
+        DUE_DATE    // key = yyyymmdd, see dayKey
+    }
+
+    @Embeddable
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable, Comparable<Key> {
+        @Column(name = "project_id", nullable = false)
+        private Long projectId;
+
+        @Enumerated(EnumType.STRING)
+        @Column(nullable = false, length = 20)
+        private Dimension dimension;
+
+        @Column(name = "dimension_key", nullable = false)
+        private Long dimensionKey;
+
+        @Override
+        public int compareTo(Key other) {
+            int order = projectId.compareTo(other.projectId);
+            if (order == 0) {
+                order = dimension.compareTo(other.dimension);
+            }
+            return order != 0 ? order : dimensionKey.compareTo(other.dimensionKey);
+        }
+    }
+
+    /**
+     * Ordered key of a due date, the same as computed by the V14 backfill.
+     */
+    public static long dayKey(LocalDate date) {
+        return date.getYear() * 10000L + date.getMonthValue() * 100L + date.getDayOfMonth();
+    }
+}
@@ -0,0 +1,150 @@
+package com.example.demo.model;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.annotations.Fetch;
+import org.hibernate.annotations.FetchMode;
+
+import jakarta.persistence.CollectionTable;
+import jakarta.persistence.Column;
+import jakarta.persistence.ElementCollection;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.OrderBy;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The statuses and priorities a new project starts with. The template marked as
+ * default is applied when a project is created without choosing one.
+ */
+@Entity
+@Table(name = "project_template")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProjectTemplate {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, unique = true, length = 100)
+    private String name;
+
+    private String description;
+
+    @Column(nullable = false)
+    private Boolean isDefault = false;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    // Loaded by their own selects, two lists cannot be join-fetched together
+    @ElementCollection(fetch = FetchType.EAGER)
+    @Fetch(FetchMode.SELECT)
+    @CollectionTable(name = "project_template_status", joinColumns = @JoinColumn(name = "template_id"))
+    @OrderBy("orderIndex")
+    private List<StatusDefinition> statuses = new ArrayList<>();
+
+    @ElementCollection(fetch = FetchType.EAGER)
+    @Fetch(FetchMode.SELECT)
+    @CollectionTable(name = "project_template_priority", joinColumns = @JoinColumn(name = "template_id"))
+    @OrderBy("level")
+    private List<PriorityDefinition> priorities = new ArrayList<>();
+
+    @PrePersist
+    protected void onCreate() {
+        if (createdAt == null) {
+            createdAt = LocalDateTime.now();
+        }
+    }
+
+    @Embeddable
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class StatusDefinition {
+        @Column(nullable = false, length = 50)
+        private String name;
+        private String description;
+        @Column(nullable = false)
+        private String color;
+        @Column(nullable = false)
+        private Integer orderIndex;
+        @Column(nullable = false)
+        private Boolean isDefault;
+
+        public static StatusDefinition of(TaskStatus status) {
+            return new StatusDefinition(status.getName(), status.getDescription(), status.getColor(),
+                    status.getOrderIndex(), status.getIsDefault());
+        }
+
+        public TaskStatus toStatus(Project project) {
+            TaskStatus status = new TaskStatus();
+            status.setProject(project);
+            status.setName(name);
+            status.setDescription(description);
+            status.setColor(color);
+            status.setOrderIndex(orderIndex);
+            status.setIsDefault(isDefault);
+            return status;
+        }
+    }
+
+    @Embeddable
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class PriorityDefinition {
+        @Column(nullable = false, length = 50)
+        private String name;
+        private String description;
+        @Column(nullable = false)
+        private String color;
+        @Column(nullable = false)
+        private Integer level;
+        @Column(nullable = false)
+        private Boolean isDefault;
+        @Enumerated(EnumType.STRING)
+        @Column(nullable = false)
+        private TaskPriority.State todoState;
+        @Enumerated(EnumType.STRING)
+        @Column(nullable = false)
+        private TaskPriority.State doingState;
+        @Enumerated(EnumType.STRING)
+        @Column(nullable = false)
+        private TaskPriority.State finishState;
+
+        public static PriorityDefinition of(TaskPriority priority) {
+            return new PriorityDefinition(priority.getName(), priority.getDescription(), priority.getColor(),
+                    priority.getLevel(), priority.getIsDefault(), priority.getTodoState(),
+                    priority.getDoingState(), priority.getFinishState());
+        }
+
+        public TaskPriority toPriority(Project project) {
+            TaskPriority priority = new TaskPriority();
+            priority.setProject(project);
+            priority.setName(name);
+            priority.setDescription(description);
+            priority.setColor(color);
+            priority.setLevel(level);
+            priority.setIsDefault(isDefault);
+            priority.setTodoState(todoState);
+            priority.setDoingState(doingState);
+            priority.setFinishState(finishState);
+            return priority;
+        }
+    }
+}
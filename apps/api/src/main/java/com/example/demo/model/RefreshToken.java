@@ -8,6 +8,10 @@ import lombok.NoArgsConstructor;
 
 import java.time.Instant;
 
+/**
+ * One refresh token of a login's family (see RefreshTokenService). Only the SHA-256 of
+ * the token is stored; the token itself is only known to the client.
+ */
 @Entity
 @Data
 @Builder
@@ -18,13 +22,26 @@ public class RefreshToken {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @Column(nullable = false, unique = true)
-    private String token;
+    @Column(name = "token_hash", nullable = false, unique = true, length = 32)
+    private byte[] tokenHash;
+
+    @Column(name = "family_id", nullable = false)
+    private Long familyId;
+
+    @Column(nullable = false)
+    private Instant createdAt;
 
     @Column(nullable = false)
     private Instant expiryDate;
 
+    // Set when the token is exchanged for its successor
+    private Instant usedAt;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", referencedColumnName = "id")
     private User user;
+
+    // The token itself, only set on a token just issued
+    @Transient
+    private String token;
 }
@@ -16,6 +16,7 @@ import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -27,8 +28,12 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 public class TaskHistory {
     
+    // Pooled table ids (see V8) so that history rows can be inserted in JDBC batches
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "task_history_id")
+    @TableGenerator(name = "task_history_id", table = "id_generator",
+            pkColumnName = "sequence_name", valueColumnName = "next_val",
+            pkColumnValue = "task_history", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -36,6 +41,10 @@ public class TaskHistory {
     @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
     private Task task;
 
+    // Copy of task.project_id so project-wide queries need no join (see V12)
+    @Column(name = "project_id", nullable = false)
+    private Long projectId;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "modified_by", nullable = false)
     @JsonIgnoreProperties({"projectMemberships", "password", "hibernateLazyInitializer", "handler"})
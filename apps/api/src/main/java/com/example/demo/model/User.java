@@ -36,6 +36,11 @@ public class User {
     @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
     private String password;
 
+    // Incremented whenever previously issued access tokens must stop working
+    @Column(name = "token_version", nullable = false)
+    @JsonIgnore
+    private int tokenVersion = 0;
+
     @OneToMany(mappedBy = "user", cascade = CascadeType.ALL, orphanRemoval = true)
     @JsonIgnore
     private java.util.Set<ProjectMember> projectMemberships = new java.util.HashSet<>();
@@ -52,6 +57,10 @@ public class User {
 
     public String getPassword() { return password; }
     public void setPassword(String password) { this.password = password; }
+
+    @JsonIgnore
+    public int getTokenVersion() { return tokenVersion; }
+    public void setTokenVersion(int tokenVersion) { this.tokenVersion = tokenVersion; }
     
     @JsonIgnore
     public java.util.Set<ProjectMember> getProjectMemberships() { return projectMemberships; }
@@ -0,0 +1,55 @@
+package com.example.demo.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.example.demo.model.EmailOutbox;
+
+@Repository
+public interface EmailOutboxRepository extends JpaRepository<EmailOutbox, Long> {
+
+    /**
+     * Ids of emails ready to be sent: pending ones whose retry time has come, and
+     * ones claimed by a worker whose lease ran out (e.g. the instance died mid-send)
+     */
+    @Query("SELECT e.id FROM EmailOutbox e " +
+           "WHERE (e.status = com.example.demo.model.EmailOutbox.Status.PENDING AND e.nextAttemptAt <= :now) " +
+           "OR (e.status = com.example.demo.model.EmailOutbox.Status.SENDING AND e.lockedUntil < :now) " +
+           "ORDER BY e.nextAttemptAt, e.id")
+    List<Long> findDueIds(@Param("now") LocalDateTime now, Pageable pageable);
+
+    /**
+     * Claim due emails for one worker run. Rows claimed concurrently by another
+     * instance no longer match the condition and are skipped.
+     */
+    @Modifying
+    @Query("UPDATE EmailOutbox e SET e.status = com.example.demo.model.EmailOutbox.Status.SENDING, " +
+           "e.claimToken = :claimToken, e.lockedUntil = :lockedUntil " +
+           "WHERE e.id IN :ids AND ((e.status = com.example.demo.model.EmailOutbox.Status.PENDING AND e.nextAttemptAt <= :now) " +
+           "OR (e.status = com.example.demo.model.EmailOutbox.Status.SENDING AND e.lockedUntil < :now))")
+    int claim(@Param("ids") List<Long> ids, @Param("claimToken") String claimToken,
+              @Param("lockedUntil") LocalDateTime lockedUntil, @Param("now") LocalDateTime now);
+
+    List<EmailOutbox> findByClaimToken(String claimToken);
+
+    @Modifying
+    @Query("UPDATE EmailOutbox e SET e.status = com.example.demo.model.EmailOutbox.Status.SENT, " +
+           "e.attempts = e.attempts + 1, e.sentAt = :sentAt, e.claimToken = NULL, e.lockedUntil = NULL " +
+           "WHERE e.id IN :ids")
+    int markSent(@Param("ids") List<Long> ids, @Param("sentAt") LocalDateTime sentAt);
+
+    @Modifying
+    @Query("UPDATE EmailOutbox e SET e.status = :status, e.attempts = :attempts, e.nextAttemptAt = :nextAttemptAt, " +
+           "e.lastError = :lastError, e.claimToken = NULL, e.lockedUntil = NULL WHERE e.id = :id")
+    int markFailed(@Param("id") Long id, @Param("status") EmailOutbox.Status status, @Param("attempts") int attempts,
+                   @Param("nextAttemptAt") LocalDateTime nextAttemptAt, @Param("lastError") String lastError);
+
+    long countByStatus(EmailOutbox.Status status);
+}
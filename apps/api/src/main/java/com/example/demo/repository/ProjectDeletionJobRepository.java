@@ -0,0 +1,45 @@
+package com.example.demo.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.example.demo.model.ProjectDeletionJob;
+
+@Repository
+public interface ProjectDeletionJobRepository extends JpaRepository<ProjectDeletionJob, Long> {
+
+    List<ProjectDeletionJob> findByStatusInOrderByIdAsc(Collection<ProjectDeletionJob.Status> statuses);
+
+    @Modifying
+    @Query("UPDATE ProjectDeletionJob j SET j.status = com.example.demo.model.ProjectDeletionJob.Status.RUNNING, " +
+           "j.tasksTotal = :tasksTotal, j.historyTotal = :historyTotal, j.membersTotal = :membersTotal, " +
+           "j.startedAt = :startedAt WHERE j.id = :id")
+    int markRunning(@Param("id") Long id, @Param("tasksTotal") long tasksTotal, @Param("historyTotal") long historyTotal,
+                    @Param("membersTotal") long membersTotal, @Param("startedAt") LocalDateTime startedAt);
+
+    /**
+     * Add the rows removed by one chunk to the job counters
+     */
+    @Modifying
+    @Query("UPDATE ProjectDeletionJob j SET j.tasksDeleted = j.tasksDeleted + :tasks, " +
+           "j.historyDeleted = j.historyDeleted + :history, j.membersDeleted = j.membersDeleted + :members, " +
+           "j.lastError = NULL WHERE j.id = :id")
+    int addProgress(@Param("id") Long id, @Param("tasks") long tasks, @Param("history") long history,
+                    @Param("members") long members);
+
+    @Modifying
+    @Query("UPDATE ProjectDeletionJob j SET j.status = com.example.demo.model.ProjectDeletionJob.Status.DONE, " +
+           "j.finishedAt = :finishedAt, j.lastError = NULL WHERE j.id = :id")
+    int markDone(@Param("id") Long id, @Param("finishedAt") LocalDateTime finishedAt);
+
+    @Modifying
+    @Query("UPDATE ProjectDeletionJob j SET j.lastError = :lastError WHERE j.id = :id")
+    int recordError(@Param("id") Long id, @Param("lastError") String lastError);
+}
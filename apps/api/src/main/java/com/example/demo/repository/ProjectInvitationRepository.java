@@ -1,15 +1,18 @@
 package com.example.demo.repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.example.demo.dto.project.InvitationView;
 import com.example.demo.model.ProjectInvitation;
 
 @Repository
@@ -23,12 +26,47 @@ public interface ProjectInvitationRepository extends JpaRepository<ProjectInvita
     @Query("SELECT pi FROM ProjectInvitation pi WHERE pi.project.id = :projectId ORDER BY pi.createdAt DESC")
     List<ProjectInvitation> findByProjectId(@Param("projectId") Long projectId);
 
+    @Query("SELECT new com.example.demo.dto.project.InvitationView(pi.id, pi.email, pi.role, pi.status, " +
+           "pi.createdAt, pi.expiresAt, pi.acceptedAt, inv.id, inv.username, inv.email, acc.id, acc.username, acc.email) " +
+           "FROM ProjectInvitation pi JOIN pi.inviter inv LEFT JOIN pi.acceptedByUser acc " +
+           "WHERE pi.project.id = :projectId ORDER BY pi.createdAt DESC")
+    List<InvitationView> findViewsByProjectId(@Param("projectId") Long projectId);
+
+    /**
+     * The pending invitations of a project to any of the given emails, expired or not
+     */
+    @Query("SELECT new com.example.demo.dto.project.InvitationView(pi.id, pi.email, pi.role, pi.status, " +
+           "pi.createdAt, pi.expiresAt, pi.acceptedAt, inv.id, inv.username, inv.email, acc.id, acc.username, acc.email) " +
+           "FROM ProjectInvitation pi JOIN pi.inviter inv LEFT JOIN pi.acceptedByUser acc " +
+           "WHERE pi.project.id = :projectId AND pi.email IN :emails AND pi.status = 'PENDING'")
+    List<InvitationView> findPendingViewsByProjectIdAndEmailIn(@Param("projectId") Long projectId,
+            @Param("emails") Collection<String> emails);
+
     @Query("SELECT pi FROM ProjectInvitation pi WHERE pi.email = :email AND pi.status = 'PENDING' AND pi.expiresAt > :now")
     List<ProjectInvitation> findActiveInvitationsByEmail(@Param("email") String email, @Param("now") LocalDateTime now);
 
+    /*
+     * Expiry of pending invitations, in chunks (see ExpirySweeper)
+     */
+
+    @Query("SELECT pi.id FROM ProjectInvitation pi WHERE pi.status = 'PENDING' AND pi.expiresAt < :now")
+    List<Long> findExpiredPendingIds(@Param("now") LocalDateTime now, Pageable pageable);
+
+    /**
+     * Already expired invitations to the same project and email as the given ones: (project, email, status)
+     * is unique, so they have to go before the given ones can become EXPIRED
+     */
+    @Query("SELECT old.id FROM ProjectInvitation old, ProjectInvitation pi WHERE pi.id IN :ids " +
+           "AND old.project = pi.project AND old.email = pi.email AND old.status = 'EXPIRED'")
+    List<Long> findExpiredDuplicateIds(@Param("ids") List<Long> ids);
+
+    @Modifying
+    @Query("UPDATE ProjectInvitation pi SET pi.status = 'EXPIRED' WHERE pi.id IN :ids AND pi.status = 'PENDING'")
+    int expireByIdIn(@Param("ids") List<Long> ids);
+
     @Modifying
-    @Query("UPDATE ProjectInvitation pi SET pi.status = 'EXPIRED' WHERE pi.expiresAt < :now AND pi.status = 'PENDING'")
-    int expireOldInvitations(@Param("now") LocalDateTime now);
+    @Query("DELETE FROM ProjectInvitation pi WHERE pi.id IN :ids")
+    int deleteByIdIn(@Param("ids") List<Long> ids);
 
     boolean existsByProjectIdAndEmailAndStatus(Long projectId, String email, ProjectInvitation.InvitationStatus status);
 }
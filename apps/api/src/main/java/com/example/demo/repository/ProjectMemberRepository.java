@@ -1,14 +1,17 @@
 package com.example.demo.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
-import org.springframework.transaction.annotation.Transactional;
 
+import com.example.demo.dto.project.MemberView;
+import com.example.demo.dto.project.ProjectSummary;
 import com.example.demo.model.Project;
 import com.example.demo.model.ProjectMember;
 import com.example.demo.model.User;
@@ -16,9 +19,43 @@ import com.example.demo.model.User;
 public interface ProjectMemberRepository extends JpaRepository<ProjectMember, Long> {
     List<ProjectMember> findByProject(Project project);
     Optional<ProjectMember> findByProjectAndUser(Project project, User user);
-    
+
+    @Query("SELECT new com.example.demo.dto.project.MemberView(pm.id, u.id, u.username, u.email, pm.role) " +
+           "FROM ProjectMember pm JOIN pm.user u WHERE pm.project.id = :projectId ORDER BY pm.id")
+    List<MemberView> findViewsByProjectId(@Param("projectId") Long projectId);
+
+    @Query("SELECT u.email FROM ProjectMember pm JOIN pm.user u WHERE pm.project.id = :projectId AND u.email IN :emails")
+    List<String> findMemberEmailsByProjectIdAndEmailIn(@Param("projectId") Long projectId,
+            @Param("emails") Collection<String> emails);
+
+    @Query("SELECT pm.role FROM ProjectMember pm WHERE pm.project.id = :projectId AND pm.user.id = :userId " +
+           "AND pm.project.deletedAt IS NULL")
+    Optional<ProjectMember.ProjectRole> findRoleByProjectIdAndUserId(@Param("projectId") Long projectId, @Param("userId") Long userId);
+
+    /**
+     * The projects of a user after {@code afterId}, in id order, each with the user's role,
+     * its member count and its task counts from the maintained counters: one statement
+     * per page, walking the user's memberships by index.
+     */
+    @Query("SELECT new com.example.demo.dto.project.ProjectSummary(p.id, p.name, p.description, p.startDate, pm.role, " +
+           "(SELECT COUNT(m) FROM ProjectMember m WHERE m.project.id = p.id), " +
+           "(SELECT COALESCE(SUM(t.taskCount), 0) FROM ProjectTaskStat t WHERE t.id.projectId = p.id " +
+           "AND t.id.dimension = com.example.demo.model.ProjectTaskStat.Dimension.TOTAL), " +
+           "(SELECT COALESCE(SUM(t.taskCount), 0) FROM ProjectTaskStat t WHERE t.id.projectId = p.id " +
+           "AND t.id.dimension = com.example.demo.model.ProjectTaskStat.Dimension.TOTAL) - " +
+           "(SELECT COALESCE(SUM(t.taskCount), 0) FROM ProjectTaskStat t, TaskStatus s WHERE t.id.projectId = p.id " +
+           "AND t.id.dimension = com.example.demo.model.ProjectTaskStat.Dimension.STATUS AND t.id.dimensionKey = s.id " +
+           "AND s.project.id = p.id AND s.orderIndex = (SELECT MAX(l.orderIndex) FROM TaskStatus l WHERE l.project.id = p.id))) " +
+           "FROM ProjectMember pm JOIN pm.project p " +
+           "WHERE pm.user.id = :userId AND p.deletedAt IS NULL AND (:afterId IS NULL OR p.id > :afterId) ORDER BY p.id")
+    List<ProjectSummary> findSummariesByUserId(@Param("userId") Long userId, @Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT pm.id FROM ProjectMember pm WHERE pm.project.id = :projectId ORDER BY pm.id")
+    List<Long> findIdsByProjectId(@Param("projectId") Long projectId, Pageable pageable);
+
+    long countByProjectId(Long projectId);
+
     @Modifying
-    @Transactional
-    @Query("DELETE FROM ProjectMember pm WHERE pm.project.id = :projectId")
-    void deleteByProjectId(@Param("projectId") Long projectId);
+    @Query("DELETE FROM ProjectMember pm WHERE pm.id IN :ids")
+    int deleteByIdIn(@Param("ids") List<Long> ids);
 }
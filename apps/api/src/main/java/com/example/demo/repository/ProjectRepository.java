@@ -1,5 +1,10 @@
 package com.example.demo.repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -10,6 +15,29 @@ import com.example.demo.model.Project;
 
 public interface ProjectRepository extends JpaRepository<Project, Long> {
     boolean existsByName(String name);
+
+    @Query("SELECT p.id FROM Project p WHERE p.id > :afterId ORDER BY p.id")
+    List<Long> findIdsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    /*
+     * Settings version (see ProjectSettingsCache). Not mapped on Project, so saving a
+     * stale Project entity can never write an older value back.
+     */
+
+    @Query(value = "SELECT settings_version FROM project WHERE id = :projectId AND deleted_at IS NULL", nativeQuery = true)
+    Optional<Long> findSettingsVersion(@Param("projectId") Long projectId);
+
+    @Modifying
+    @Query(value = "UPDATE project SET settings_version = settings_version + 1 WHERE id = :projectId", nativeQuery = true)
+    int incrementSettingsVersion(@Param("projectId") Long projectId);
+
+    /**
+     * Hide a project and free its name for new projects; its data is purged later
+     */
+    @Modifying
+    @Query(value = "UPDATE project SET deleted_at = :deletedAt, name = :tombstoneName WHERE id = :projectId AND deleted_at IS NULL", nativeQuery = true)
+    int softDelete(@Param("projectId") Long projectId, @Param("tombstoneName") String tombstoneName,
+                   @Param("deletedAt") LocalDateTime deletedAt);
     
     @Modifying
     @Transactional
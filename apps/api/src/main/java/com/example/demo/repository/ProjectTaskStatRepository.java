@@ -0,0 +1,81 @@
+package com.example.demo.repository;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.example.demo.model.ProjectTaskStat;
+import com.example.demo.model.ProjectTaskStat.Dimension;
+
+import jakarta.persistence.LockModeType;
+
+public interface ProjectTaskStatRepository extends JpaRepository<ProjectTaskStat, ProjectTaskStat.Key> {
+
+    /**
+     * The project's rows whose key is one of {@code keys}, in any dimension: a small
+     * superset of the rows a delta touches, filtered by the caller.
+     */
+    @Query("SELECT s.id FROM ProjectTaskStat s WHERE s.id.projectId = :projectId AND s.id.dimensionKey IN :keys")
+    List<ProjectTaskStat.Key> findKeys(@Param("projectId") Long projectId, @Param("keys") Collection<Long> keys);
+
+    /**
+     * Create a counter at zero unless it exists (MySQL). A writer racing on the same
+     * counter waits for the first insert to commit, then leaves the row alone.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO project_task_stats (project_id, dimension, dimension_key, task_count) " +
+           "VALUES (:projectId, :dimension, :dimensionKey, 0) ON DUPLICATE KEY UPDATE task_count = task_count",
+           nativeQuery = true)
+    int createIfAbsentMySql(@Param("projectId") Long projectId, @Param("dimension") String dimension,
+            @Param("dimensionKey") Long dimensionKey);
+
+    /**
+     * Same as {@link #createIfAbsentMySql} for H2, which has no ON DUPLICATE KEY UPDATE
+     * outside its MySQL mode.
+     */
+    @Modifying
+    @Query(value = "MERGE INTO project_task_stats s USING (SELECT CAST(:projectId AS BIGINT) AS project_id, " +
+           "CAST(:dimension AS VARCHAR(20)) AS dimension, CAST(:dimensionKey AS BIGINT) AS dimension_key) n " +
+           "ON s.project_id = n.project_id AND s.dimension = n.dimension AND s.dimension_key = n.dimension_key " +
+           "WHEN NOT MATCHED THEN INSERT (project_id, dimension, dimension_key, task_count) " +
+           "VALUES (n.project_id, n.dimension, n.dimension_key, 0)",
+           nativeQuery = true)
+    int createIfAbsentH2(@Param("projectId") Long projectId, @Param("dimension") String dimension,
+            @Param("dimensionKey") Long dimensionKey);
+
+    @Modifying
+    @Query("UPDATE ProjectTaskStat s SET s.taskCount = s.taskCount + :delta WHERE s.id.projectId = :projectId " +
+           "AND s.id.dimension = :dimension AND s.id.dimensionKey = :dimensionKey")
+    int increment(@Param("projectId") Long projectId, @Param("dimension") Dimension dimension,
+            @Param("dimensionKey") Long dimensionKey, @Param("delta") long delta);
+
+    @Query("SELECT s FROM ProjectTaskStat s WHERE s.id.projectId = :projectId AND s.id.dimension <> :excluded")
+    List<ProjectTaskStat> findByProjectIdExcept(@Param("projectId") Long projectId, @Param("excluded") Dimension excluded);
+
+    /**
+     * Due-date rows summed as {@code [before day, on day, all]}.
+     */
+    @Query("SELECT COALESCE(SUM(CASE WHEN s.id.dimensionKey < :dayKey THEN s.taskCount ELSE 0 END), 0), " +
+           "COALESCE(SUM(CASE WHEN s.id.dimensionKey = :dayKey THEN s.taskCount ELSE 0 END), 0), " +
+           "COALESCE(SUM(s.taskCount), 0) " +
+           "FROM ProjectTaskStat s WHERE s.id.projectId = :projectId AND s.id.dimension = :dimension")
+    List<Object[]> sumAroundDay(@Param("projectId") Long projectId, @Param("dimension") Dimension dimension,
+            @Param("dayKey") long dayKey);
+
+    /**
+     * Locks the project's rows: deltas of concurrent task writes wait until the
+     * reconciliation that holds them commits.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM ProjectTaskStat s WHERE s.id.projectId = :projectId")
+    List<ProjectTaskStat> lockByProjectId(@Param("projectId") Long projectId);
+
+    @Modifying
+    @Query("DELETE FROM ProjectTaskStat s WHERE s.id.projectId = :projectId")
+    int deleteByProjectId(@Param("projectId") Long projectId);
+}
@@ -0,0 +1,23 @@
+package com.example.demo.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import com.example.demo.dto.project.TemplateView;
+import com.example.demo.model.ProjectTemplate;
+
+@Repository
+public interface ProjectTemplateRepository extends JpaRepository<ProjectTemplate, Long> {
+
+    @Query("SELECT t.id FROM ProjectTemplate t WHERE t.isDefault = true ORDER BY t.id")
+    List<Long> findDefaultIds();
+
+    boolean existsByName(String name);
+
+    @Query("SELECT new com.example.demo.dto.project.TemplateView(t.id, t.name, t.description, t.isDefault) " +
+           "FROM ProjectTemplate t ORDER BY t.name")
+    List<TemplateView> findAllViews();
+}
@@ -1,8 +1,14 @@
 package com.example.demo.repository;
 
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.example.demo.model.RefreshToken;
@@ -10,7 +16,29 @@ import com.example.demo.model.User;
 
 @Repository
 public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
-    Optional<RefreshToken> findByToken(String token);
-    Optional<RefreshToken> findByUser(User user);
-    void deleteByUser(User user);
-}
\ No newline at end of file
+
+    @Query("SELECT t FROM RefreshToken t JOIN FETCH t.user WHERE t.tokenHash = :tokenHash")
+    Optional<RefreshToken> findByTokenHash(@Param("tokenHash") byte[] tokenHash);
+
+    /**
+     * Mark the token used, unless a concurrent refresh already did
+     */
+    @Modifying
+    @Query("UPDATE RefreshToken t SET t.usedAt = :usedAt WHERE t.id = :id AND t.usedAt IS NULL")
+    int markUsed(@Param("id") Long id, @Param("usedAt") Instant usedAt);
+
+    @Modifying
+    @Query("DELETE FROM RefreshToken t WHERE t.familyId = :familyId")
+    int deleteByFamilyId(@Param("familyId") Long familyId);
+
+    @Modifying
+    @Query("DELETE FROM RefreshToken t WHERE t.user = :user")
+    int deleteByUser(@Param("user") User user);
+
+    @Query("SELECT t.id FROM RefreshToken t WHERE t.expiryDate < :now")
+    List<Long> findExpiredIds(@Param("now") Instant now, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM RefreshToken t WHERE t.id IN :ids")
+    int deleteByIdIn(@Param("ids") List<Long> ids);
+}
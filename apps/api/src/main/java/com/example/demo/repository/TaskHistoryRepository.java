@@ -10,32 +10,41 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.example.demo.dto.task.TaskActivity;
 import com.example.demo.model.TaskHistory;
 
 @Repository
 public interface TaskHistoryRepository extends JpaRepository<TaskHistory, Long> {
+
+    String ACTIVITY_SELECT = "SELECT new com.example.demo.dto.task.TaskActivity(th.id, t.id, t.name, " +
+            "u.id, u.username, u.email, th.action, th.fieldName, th.oldValue, th.newValue, th.timestamp, th.comment) " +
+            "FROM TaskHistory th JOIN th.task t JOIN th.modifiedBy u ";
     
     /**
      * Find all history entries for a specific task, ordered by timestamp descending
      */
-    List<TaskHistory> findByTaskIdOrderByTimestampDesc(Long taskId);
+    @Query(ACTIVITY_SELECT + "WHERE th.task.id = :taskId ORDER BY th.timestamp DESC, th.id")
+    List<TaskActivity> findByTaskIdOrderByTimestampDesc(@Param("taskId") Long taskId);
     
     /**
      * Find paginated history entries for a specific task
      */
-    Page<TaskHistory> findByTaskIdOrderByTimestampDesc(Long taskId, Pageable pageable);
+    @Query(value = ACTIVITY_SELECT + "WHERE th.task.id = :taskId ORDER BY th.timestamp DESC, th.id",
+           countQuery = "SELECT COUNT(th) FROM TaskHistory th WHERE th.task.id = :taskId")
+    Page<TaskActivity> findByTaskIdOrderByTimestampDesc(@Param("taskId") Long taskId, Pageable pageable);
     
     /**
      * Find all history entries for tasks in a specific project
      */
-    @Query("SELECT th FROM TaskHistory th WHERE th.task.project.id = :projectId ORDER BY th.timestamp DESC")
-    List<TaskHistory> findByProjectIdOrderByTimestampDesc(@Param("projectId") Long projectId);
+    @Query(ACTIVITY_SELECT + "WHERE th.projectId = :projectId ORDER BY th.timestamp DESC, th.id")
+    List<TaskActivity> findByProjectIdOrderByTimestampDesc(@Param("projectId") Long projectId);
     
     /**
      * Find paginated history entries for tasks in a specific project
      */
-    @Query("SELECT th FROM TaskHistory th WHERE th.task.project.id = :projectId ORDER BY th.timestamp DESC")
-    Page<TaskHistory> findByProjectIdOrderByTimestampDesc(@Param("projectId") Long projectId, Pageable pageable);
+    @Query(value = ACTIVITY_SELECT + "WHERE th.projectId = :projectId ORDER BY th.timestamp DESC, th.id",
+           countQuery = "SELECT COUNT(th) FROM TaskHistory th WHERE th.projectId = :projectId")
+    Page<TaskActivity> findByProjectIdOrderByTimestampDesc(@Param("projectId") Long projectId, Pageable pageable);
     
     /**
      * Find history entries by specific action type for a task
@@ -59,16 +68,29 @@ public interface TaskHistoryRepository extends JpaRepository<TaskHistory, Long>
     @Query("DELETE FROM TaskHistory th WHERE th.task.id = :taskId")
     void deleteByTaskId(@Param("taskId") Long taskId);
     
+    long countByProjectId(Long projectId);
+
     /**
-     * Delete all history entries for tasks in a specific project
+     * Ids of a project's history entries, used to delete them in chunks
      */
+    @Query("SELECT th.id FROM TaskHistory th WHERE th.projectId = :projectId")
+    List<Long> findIdsByProjectId(@Param("projectId") Long projectId, Pageable pageable);
+
     @Modifying
-    @Query("DELETE FROM TaskHistory th WHERE th.task.project.id = :projectId")
-    void deleteByProjectId(@Param("projectId") Long projectId);
+    @Query("DELETE FROM TaskHistory th WHERE th.id IN :ids")
+    int deleteByIdIn(@Param("ids") List<Long> ids);
+    
+    /**
+     * History entries of a project newer than the given id, with their task and author,
+     * for the activity stream. Sort and limit through the Pageable.
+     */
+    @Query("SELECT th FROM TaskHistory th JOIN FETCH th.task t JOIN FETCH th.modifiedBy " +
+           "WHERE th.projectId = :projectId AND th.id > :afterId")
+    List<TaskHistory> findActivityAfter(@Param("projectId") Long projectId, @Param("afterId") Long afterId, Pageable pageable);
     
     /**
      * Find recent history entries for a project (last N entries)
      */
-    @Query("SELECT th FROM TaskHistory th WHERE th.task.project.id = :projectId ORDER BY th.timestamp DESC")
-    List<TaskHistory> findRecentHistoryByProjectId(@Param("projectId") Long projectId, Pageable pageable);
+    @Query(ACTIVITY_SELECT + "WHERE th.projectId = :projectId ORDER BY th.timestamp DESC, th.id")
+    List<TaskActivity> findRecentHistoryByProjectId(@Param("projectId") Long projectId, Pageable pageable);
 }
@@ -1,16 +1,22 @@
 package com.example.demo.repository;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
-import org.springframework.transaction.annotation.Transactional;
 
+import com.example.demo.dto.task.TaskView;
 import com.example.demo.model.Project;
 import com.example.demo.model.Task;
+import com.example.demo.model.TaskPriority;
+import com.example.demo.model.TaskStatus;
 import com.example.demo.model.User;
 
 public interface TaskRepository extends JpaRepository<Task, Long> {
@@ -18,19 +24,194 @@ public interface TaskRepository extends JpaRepository<Task, Long> {
     List<Task> findByProjectId(Long projectId);
     List<Task> findByAssignee(User assignee);
     
-    @Query("SELECT t FROM Task t LEFT JOIN FETCH t.project LEFT JOIN FETCH t.assignee WHERE t.id = :id")
+    @Query("SELECT t FROM Task t LEFT JOIN FETCH t.project LEFT JOIN FETCH t.assignee " +
+           "LEFT JOIN FETCH t.priority LEFT JOIN FETCH t.status WHERE t.id = :id")
     Optional<Task> findByIdWithRelationships(@Param("id") Long id);
     
     @Query("SELECT t FROM Task t LEFT JOIN FETCH t.project LEFT JOIN FETCH t.assignee WHERE t.project = :project")
     List<Task> findByProjectWithRelationships(@Param("project") Project project);
+
+    /*
+     * Read projections: the task and its associations in a single statement,
+     * nothing left to load lazily while the response is written.
+     */
+
+    String VIEW_SELECT = "SELECT new com.example.demo.dto.task.TaskView(t, pr, st, p, a) FROM Task t " +
+            "JOIN t.project p LEFT JOIN t.priority pr LEFT JOIN t.status st LEFT JOIN t.assignee a ";
+
+    @Query(VIEW_SELECT + "WHERE t.id = :id")
+    Optional<TaskView> findViewById(@Param("id") Long id);
+
+    @Query(VIEW_SELECT + "WHERE p.id = :projectId ORDER BY t.id")
+    List<TaskView> findViewsByProjectId(@Param("projectId") Long projectId);
     
+    /*
+     * Keyset-paginated listing queries. Each one filters on the optional
+     * status / priority / assignee / due-date range and seeks past the cursor
+     * instead of using OFFSET, so the cost of a page does not depend on its depth.
+     * Callers pass a Pageable of (0, limit + 1) to detect whether more rows exist.
+     */
+
+    String PAGE_SELECT = "SELECT t FROM Task t LEFT JOIN FETCH t.project LEFT JOIN FETCH t.status " +
+            "LEFT JOIN FETCH t.priority LEFT JOIN FETCH t.assignee ";
+    String PAGE_FILTERS = "WHERE t.project.id = :projectId " +
+            "AND (:statusId IS NULL OR t.status.id = :statusId) " +
+            "AND (:priorityId IS NULL OR t.priority.id = :priorityId) " +
+            "AND (:assigneeId IS NULL OR t.assignee.id = :assigneeId) " +
+            "AND (:dueFrom IS NULL OR t.dueDate >= :dueFrom) " +
+            "AND (:dueTo IS NULL OR t.dueDate <= :dueTo) ";
+
+    @Query(PAGE_SELECT + PAGE_FILTERS +
+            "AND (:afterId IS NULL OR t.id > :afterId) " +
+            "ORDER BY t.id ASC")
+    List<Task> findPageOrderById(@Param("projectId") Long projectId,
+            @Param("statusId") Long statusId, @Param("priorityId") Long priorityId,
+            @Param("assigneeId") Long assigneeId, @Param("dueFrom") LocalDate dueFrom,
+            @Param("dueTo") LocalDate dueTo, @Param("afterId") Long afterId, Pageable pageable);
+
+    @Query(PAGE_SELECT + PAGE_FILTERS +
+            "AND (:afterId IS NULL OR t.updatedAt < :afterUpdatedAt " +
+            "OR (t.updatedAt = :afterUpdatedAt AND t.id < :afterId)) " +
+            "ORDER BY t.updatedAt DESC, t.id DESC")
+    List<Task> findPageOrderByUpdatedAt(@Param("projectId") Long projectId,
+            @Param("statusId") Long statusId, @Param("priorityId") Long priorityId,
+            @Param("assigneeId") Long assigneeId, @Param("dueFrom") LocalDate dueFrom,
+            @Param("dueTo") LocalDate dueTo, @Param("afterUpdatedAt") LocalDateTime afterUpdatedAt,
+            @Param("afterId") Long afterId, Pageable pageable);
+
+    @Query(PAGE_SELECT + PAGE_FILTERS +
+            "AND t.dueDate IS NOT NULL " +
+            "AND (:afterId IS NULL OR t.dueDate > :afterDueDate " +
+            "OR (t.dueDate = :afterDueDate AND t.id > :afterId)) " +
+            "ORDER BY t.dueDate ASC, t.id ASC")
+    List<Task> findPageOrderByDueDate(@Param("projectId") Long projectId,
+            @Param("statusId") Long statusId, @Param("priorityId") Long priorityId,
+            @Param("assigneeId") Long assigneeId, @Param("dueFrom") LocalDate dueFrom,
+            @Param("dueTo") LocalDate dueTo, @Param("afterDueDate") LocalDate afterDueDate,
+            @Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Tail of the due-date ordering: tasks without a due date, by id.
+     */
+    @Query(PAGE_SELECT +
+            "WHERE t.project.id = :projectId AND t.dueDate IS NULL " +
+            "AND (:statusId IS NULL OR t.status.id = :statusId) " +
+            "AND (:priorityId IS NULL OR t.priority.id = :priorityId) " +
+            "AND (:assigneeId IS NULL OR t.assignee.id = :assigneeId) " +
+            "AND (:afterId IS NULL OR t.id > :afterId) " +
+            "ORDER BY t.id ASC")
+    List<Task> findPageWithoutDueDate(@Param("projectId") Long projectId,
+            @Param("statusId") Long statusId, @Param("priorityId") Long priorityId,
+            @Param("assigneeId") Long assigneeId, @Param("afterId") Long afterId, Pageable pageable);
+
+    /*
+     * Board queries. Columns are ordered by priority level (highest first), due date
+     * (undated last, via the :undated stand-in) and id; see TaskBoard.
+     */
+
+    /**
+     * The first {@code perColumn} task ids of every status column of a project, ranked
+     * with a window function, as {@code [id, status_id, column_size]} rows ordered by
+     * column then rank. The column size is the count of the whole column.
+     */
+    @Query(value = "SELECT ranked.id, ranked.status_id, ranked.column_size FROM (" +
+            "SELECT t.id, t.status_id, " +
+            "ROW_NUMBER() OVER (PARTITION BY t.status_id " +
+            "ORDER BY COALESCE(pr.level, 0) DESC, COALESCE(t.due_date, :undated), t.id) AS column_rank, " +
+            "COUNT(*) OVER (PARTITION BY t.status_id) AS column_size " +
+            "FROM task t LEFT JOIN task_priority pr ON pr.id = t.priority_id " +
+            "WHERE t.project_id = :projectId) ranked " +
+            "WHERE ranked.column_rank <= :perColumn " +
+            "ORDER BY ranked.status_id, ranked.column_rank", nativeQuery = true)
+    List<Object[]> findBoardSlots(@Param("projectId") Long projectId, @Param("perColumn") int perColumn,
+            @Param("undated") LocalDate undated);
+
+    /**
+     * Next slice of one board column (a null status id selects tasks without a status).
+     */
+    @Query(VIEW_SELECT +
+            "WHERE p.id = :projectId AND (st.id = :statusId OR (:statusId IS NULL AND st.id IS NULL)) " +
+            "AND (:afterId IS NULL OR COALESCE(pr.level, 0) < :afterLevel " +
+            "OR (COALESCE(pr.level, 0) = :afterLevel AND (COALESCE(t.dueDate, :undated) > :afterDueDate " +
+            "OR (COALESCE(t.dueDate, :undated) = :afterDueDate AND t.id > :afterId)))) " +
+            "ORDER BY COALESCE(pr.level, 0) DESC, COALESCE(t.dueDate, :undated) ASC, t.id ASC")
+    List<TaskView> findBoardColumnPage(@Param("projectId") Long projectId, @Param("statusId") Long statusId,
+            @Param("afterLevel") Integer afterLevel, @Param("afterDueDate") LocalDate afterDueDate,
+            @Param("afterId") Long afterId, @Param("undated") LocalDate undated, Pageable pageable);
+
+    /**
+     * Keyset walk over every task, or those of one project, for the search index rebuild.
+     */
+    @Query(VIEW_SELECT + "WHERE (:projectId IS NULL OR p.id = :projectId) AND t.id > :afterId ORDER BY t.id")
+    List<TaskView> findViewsAfter(@Param("projectId") Long projectId, @Param("afterId") Long afterId, Pageable pageable);
+
+    @Query(VIEW_SELECT + "WHERE t.id IN :ids")
+    List<TaskView> findViewsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /*
+     * Set-based updates for TaskService.bulkUpdate. They bypass the persistence
+     * context, @PreUpdate and the @Version check, so updatedAt is set by the caller
+     * and the version is bumped here to invalidate the tasks' ETags.
+     */
+
     @Modifying
-    @Transactional
-    @Query("DELETE FROM Task t WHERE t.project.id = :projectId")
-    void deleteByProjectId(@Param("projectId") Long projectId);
-    
+    @Query("UPDATE Task t SET t.status = :status, t.updatedAt = :now, t.version = t.version + 1 WHERE t.id IN :ids")
+    int updateStatus(@Param("ids") Collection<Long> ids, @Param("status") TaskStatus status,
+            @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE Task t SET t.priority = :priority, t.updatedAt = :now, t.version = t.version + 1 WHERE t.id IN :ids")
+    int updatePriority(@Param("ids") Collection<Long> ids, @Param("priority") TaskPriority priority,
+            @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE Task t SET t.assignee = :assignee, t.updatedAt = :now, t.version = t.version + 1 WHERE t.id IN :ids")
+    int updateAssignee(@Param("ids") Collection<Long> ids, @Param("assignee") User assignee,
+            @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE Task t SET t.assignee = NULL, t.updatedAt = :now, t.version = t.version + 1 WHERE t.id IN :ids")
+    int clearAssignee(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE Task t SET t.dueDate = :dueDate, t.updatedAt = :now, t.version = t.version + 1 WHERE t.id IN :ids")
+    int updateDueDate(@Param("ids") Collection<Long> ids, @Param("dueDate") LocalDate dueDate,
+            @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE Task t SET t.dueDate = NULL, t.updatedAt = :now, t.version = t.version + 1 WHERE t.id IN :ids")
+    int clearDueDate(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    @Query("SELECT t.project.id FROM Task t WHERE t.id = :id")
+    Optional<Long> findProjectIdById(@Param("id") Long id);
+
+    @Query("SELECT t.id FROM Task t WHERE t.project.id = :projectId ORDER BY t.id")
+    List<Long> findIdsByProjectId(@Param("projectId") Long projectId, Pageable pageable);
+
+    long countByProjectId(Long projectId);
+
+    /*
+     * Per-dimension counts of a project's tasks, as [key, count] rows, recomputed from
+     * scratch by ProjectTaskStatsService.reconcile.
+     */
+
+    @Query("SELECT t.status.id, COUNT(t) FROM Task t WHERE t.project.id = :projectId " +
+           "AND t.status IS NOT NULL GROUP BY t.status.id")
+    List<Object[]> countByStatus(@Param("projectId") Long projectId);
+
+    @Query("SELECT t.priority.id, COUNT(t) FROM Task t WHERE t.project.id = :projectId " +
+           "AND t.priority IS NOT NULL GROUP BY t.priority.id")
+    List<Object[]> countByPriority(@Param("projectId") Long projectId);
+
+    @Query("SELECT t.assignee.id, COUNT(t) FROM Task t WHERE t.project.id = :projectId " +
+           "AND t.assignee IS NOT NULL GROUP BY t.assignee.id")
+    List<Object[]> countByAssignee(@Param("projectId") Long projectId);
+
+    @Query("SELECT t.dueDate, COUNT(t) FROM Task t WHERE t.project.id = :projectId " +
+           "AND t.dueDate IS NOT NULL GROUP BY t.dueDate")
+    List<Object[]> countByDueDate(@Param("projectId") Long projectId);
+
     @Modifying
-    @Transactional
-    @Query("UPDATE Task t SET t.assignee = null WHERE t.project.id = :projectId")
-    void clearAssigneesByProjectId(@Param("projectId") Long projectId);
+    @Query("DELETE FROM Task t WHERE t.id IN :ids")
+    int deleteByIdIn(@Param("ids") List<Long> ids);
 }
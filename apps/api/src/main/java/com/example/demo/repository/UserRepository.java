@@ -2,9 +2,26 @@ package com.example.demo.repository;
 
 import com.example.demo.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
     boolean existsByEmail(String email);
+
+    @Query("SELECT u.email FROM User u WHERE u.email IN :emails")
+    List<String> findEmailsByEmailIn(@Param("emails") Collection<String> emails);
+
+    /**
+     * Replace the password hash unless it changed since {@code currentPassword} was read
+     */
+    @Modifying
+    @Query("UPDATE User u SET u.password = :newPassword WHERE u.id = :userId AND u.password = :currentPassword")
+    int updatePasswordIfUnchanged(@Param("userId") Long userId, @Param("currentPassword") String currentPassword,
+            @Param("newPassword") String newPassword);
 }
@@ -0,0 +1,24 @@
+package com.example.demo.search;
+
+import com.example.demo.dto.task.TaskView;
+
+/**
+ * The fields of a task kept in the search index: its text and the ids it can be
+ * filtered on.
+ */
+public record TaskDocument(
+        Long id,
+        Long projectId,
+        String name,
+        String description,
+        Long statusId,
+        Long priorityId,
+        Long assigneeId) {
+
+    public static TaskDocument of(TaskView task) {
+        return new TaskDocument(task.id(), task.project().id(), task.name(), task.description(),
+                task.status() != null ? task.status().id() : null,
+                task.priority() != null ? task.priority().id() : null,
+                task.assignee() != null ? task.assignee().id() : null);
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.demo.search;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Rebuilds the task search index from the database at startup when it is asked for with
+ * {@code --rebuild-task-index} (recovery), or when the index does not hold as many tasks
+ * as the database (first start, lost disk, crash before a commit).
+ *
+ * An explicit rebuild runs before the application starts serving; an automatic one runs
+ * in the background, searches return partial results meanwhile.
+ */
+@Component
+@Slf4j
+public class TaskIndexRebuildRunner implements ApplicationRunner {
+    static final String REBUILD_OPTION = "rebuild-task-index";
+
+    private final TaskSearchService taskSearchService;
+    private final boolean checkOnStart;
+
+    public TaskIndexRebuildRunner(TaskSearchService taskSearchService,
+            @Value("${app.search.check-on-start:true}") boolean checkOnStart) {
+        this.taskSearchService = taskSearchService;
+        this.checkOnStart = checkOnStart;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (args.containsOption(REBUILD_OPTION)) {
+            taskSearchService.rebuild();
+        } else if (checkOnStart && !taskSearchService.isComplete()) {
+            log.info("Task search index is out of date, rebuilding it in the background");
+            Thread.ofVirtual().name("task-index-rebuild").start(() -> {
+                try {
+                    taskSearchService.rebuild();
+                } catch (RuntimeException e) {
+                    log.error("Task search index rebuild failed: {}", e.getMessage());
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,308 @@
+package com.example.demo.search;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.LowerCaseFilter;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.miscellaneous.ASCIIFoldingFilter;
+import org.apache.lucene.analysis.standard.StandardTokenizer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause.Occur;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.FuzzyQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.highlight.Highlighter;
+import org.apache.lucene.search.highlight.InvalidTokenOffsetsException;
+import org.apache.lucene.search.highlight.QueryScorer;
+import org.apache.lucene.search.highlight.SimpleFragmenter;
+import org.apache.lucene.search.highlight.SimpleHTMLEncoder;
+import org.apache.lucene.search.highlight.SimpleHTMLFormatter;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Lucene index of task names and descriptions, on the local disk of this instance.
+ *
+ * Writes are buffered by the IndexWriter and visible to the next search (near-real-time
+ * reader); they are made durable by the periodic commit.
+ * Whatever a crash loses is restored by TaskIndexRebuildRunner, which rebuilds the index
+ * from the database when it does not hold every task.
+ */
+@Component
+@Slf4j
+public class TaskSearchIndex {
+
+    static final String ID = "id";
+    static final String PROJECT = "projectId";
+    static final String STATUS = "statusId";
+    static final String PRIORITY = "priorityId";
+    static final String ASSIGNEE = "assigneeId";
+    static final String NAME = "name";
+    static final String DESCRIPTION = "description";
+
+    private static final int SNIPPET_SIZE = 160;
+    // Terms shorter than this are only matched exactly or as a prefix
+    private static final int FUZZY_MIN_LENGTH = 4;
+
+    private final Analyzer analyzer = new TaskAnalyzer();
+    private final Directory directory;
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+
+    public TaskSearchIndex(@Value("${app.search.index-dir:data/task-index}") Path indexDir) throws IOException {
+        this.directory = FSDirectory.open(indexDir);
+        this.writer = new IndexWriter(directory, new IndexWriterConfig(analyzer)
+                .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND));
+        this.searcherManager = new SearcherManager(writer, null);
+        log.info("Task search index opened in {} ({} documents)", indexDir.toAbsolutePath(), size());
+    }
+
+    /**
+     * Letters are lower-cased and stripped of their accents: "Tâche" matches "tache".
+     */
+    static class TaskAnalyzer extends Analyzer {
+        @Override
+        protected TokenStreamComponents createComponents(String fieldName) {
+            StandardTokenizer source = new StandardTokenizer();
+            TokenStream filtered = new ASCIIFoldingFilter(new LowerCaseFilter(source));
+            return new TokenStreamComponents(source, filtered);
+        }
+
+        @Override
+        protected TokenStream normalize(String fieldName, TokenStream in) {
+            return new ASCIIFoldingFilter(new LowerCaseFilter(in));
+        }
+    }
+
+    /**
+     * One match: the task id, its score and its name and description with the matched
+     * terms wrapped in {@code <mark>} (HTML-escaped; null when the field did not match).
+     */
+    public record Hit(Long taskId, float score, String name, String snippet) {
+    }
+
+    public record Hits(long total, List<Hit> hits) {
+    }
+
+    public void index(TaskDocument task) {
+        try {
+            writer.updateDocument(new Term(ID, task.id().toString()), toDocument(task));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public void delete(Long taskId) {
+        try {
+            writer.deleteDocuments(new Term(ID, taskId.toString()));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public void deleteProject(Long projectId) {
+        try {
+            writer.deleteDocuments(new Term(PROJECT, projectId.toString()));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public void deleteAll() {
+        try {
+            writer.deleteAll();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Number of tasks in the index, including writes not committed yet.
+     */
+    public int size() {
+        try {
+            // The writer's own count ignores buffered deletes, a refreshed reader does not
+            searcherManager.maybeRefresh();
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                return searcher.getIndexReader().numDocs();
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Tasks of a project matching every word of {@code text}, exactly, as a prefix or,
+     * for longer words, with a typo or two. Name matches rank above description matches.
+     * The optional ids restrict the results to one status, priority or assignee.
+     */
+    public Hits search(Long projectId, String text, Long statusId, Long priorityId, Long assigneeId, int limit) {
+        List<String> terms = analyze(text);
+        if (terms.isEmpty()) {
+            return new Hits(0, List.of());
+        }
+        BooleanQuery.Builder textQuery = new BooleanQuery.Builder();
+        for (String term : terms) {
+            textQuery.add(termQuery(term), Occur.MUST);
+        }
+        Query matching = textQuery.build();
+
+        BooleanQuery.Builder query = new BooleanQuery.Builder()
+                .add(matching, Occur.MUST)
+                .add(new TermQuery(new Term(PROJECT, projectId.toString())), Occur.FILTER);
+        filter(query, STATUS, statusId);
+        filter(query, PRIORITY, priorityId);
+        filter(query, ASSIGNEE, assigneeId);
+
+        try {
+            // Cheap when nothing changed since the last search
+            searcherManager.maybeRefresh();
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                TopDocs top = searcher.search(query.build(), limit);
+                StoredFields stored = searcher.storedFields();
+                Highlighter nameHighlighter = highlighter(matching, NAME);
+                Highlighter descriptionHighlighter = highlighter(matching, DESCRIPTION);
+                List<Hit> hits = new ArrayList<>(top.scoreDocs.length);
+                for (ScoreDoc scoreDoc : top.scoreDocs) {
+                    Document document = stored.document(scoreDoc.doc);
+                    hits.add(new Hit(Long.valueOf(document.get(ID)), scoreDoc.score,
+                            highlight(nameHighlighter, NAME, document.get(NAME)),
+                            highlight(descriptionHighlighter, DESCRIPTION, document.get(DESCRIPTION))));
+                }
+                return new Hits(top.totalHits.value, hits);
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Make recent writes durable.
+     */
+    @Scheduled(fixedDelayString = "${app.search.commit-ms:30000}")
+    public void commit() {
+        try {
+            if (writer.hasUncommittedChanges()) {
+                writer.commit();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        searcherManager.close();
+        writer.close();
+        directory.close();
+    }
+
+    private Query termQuery(String term) {
+        BooleanQuery.Builder alternatives = new BooleanQuery.Builder();
+        for (String field : List.of(NAME, DESCRIPTION)) {
+            float boost = NAME.equals(field) ? 3f : 1f;
+            alternatives.add(new BoostQuery(new TermQuery(new Term(field, term)), 2f * boost), Occur.SHOULD);
+            alternatives.add(new BoostQuery(new PrefixQuery(new Term(field, term)), boost), Occur.SHOULD);
+            if (term.length() >= FUZZY_MIN_LENGTH) {
+                int maxEdits = term.length() >= 8 ? 2 : 1;
+                alternatives.add(new BoostQuery(new FuzzyQuery(new Term(field, term), maxEdits, 1), 0.5f * boost),
+                        Occur.SHOULD);
+            }
+        }
+        return alternatives.build();
+    }
+
+    private static void filter(BooleanQuery.Builder query, String field, Long value) {
+        if (value != null) {
+            query.add(new TermQuery(new Term(field, value.toString())), Occur.FILTER);
+        }
+    }
+
+    private static Highlighter highlighter(Query query, String field) {
+        Highlighter highlighter = new Highlighter(new SimpleHTMLFormatter("<mark>", "</mark>"),
+                new SimpleHTMLEncoder(), new QueryScorer(query, field));
+        highlighter.setTextFragmenter(new SimpleFragmenter(SNIPPET_SIZE));
+        return highlighter;
+    }
+
+    private String highlight(Highlighter highlighter, String field, String text) throws IOException {
+        if (text == null || text.isEmpty()) {
+            return null;
+        }
+        try {
+            return highlighter.getBestFragment(analyzer, field, text);
+        } catch (InvalidTokenOffsetsException e) {
+            return null;
+        }
+    }
+
+    private List<String> analyze(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null) {
+            return terms;
+        }
+        try (TokenStream stream = analyzer.tokenStream(NAME, text)) {
+            CharTermAttribute term = stream.addAttribute(CharTermAttribute.class);
+            stream.reset();
+            while (stream.incrementToken()) {
+                terms.add(term.toString());
+            }
+            stream.end();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return terms;
+    }
+
+    private static Document toDocument(TaskDocument task) {
+        Document document = new Document();
+        document.add(new StringField(ID, task.id().toString(), Field.Store.YES));
+        document.add(new StringField(PROJECT, task.projectId().toString(), Field.Store.NO));
+        addId(document, STATUS, task.statusId());
+        addId(document, PRIORITY, task.priorityId());
+        addId(document, ASSIGNEE, task.assigneeId());
+        document.add(new TextField(NAME, task.name() != null ? task.name() : "", Field.Store.YES));
+        if (task.description() != null) {
+            document.add(new TextField(DESCRIPTION, task.description(), Field.Store.YES));
+        }
+        return document;
+    }
+
+    private static void addId(Document document, String field, Long value) {
+        if (value != null) {
+            document.add(new StringField(field, value.toString(), Field.Store.NO));
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.demo.search;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.example.demo.dto.task.TaskSearchResult;
+import com.example.demo.dto.task.TaskView;
+import com.example.demo.model.Task;
+import com.example.demo.repository.TaskRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps the task search index in step with the database and serves searches.
+ *
+ * Task writes hand their changes over with the {@code ...AfterCommit} methods: the index
+ * is only touched once the transaction has committed, and a failure there is logged, never
+ * propagated to the request (a rebuild repairs the index). Search hits are resolved
+ * against the database, so a task the index still holds after its deletion is not returned.
+ */
+@Service
+@Slf4j
+public class TaskSearchService {
+    public static final int DEFAULT_LIMIT = 20;
+    public static final int MAX_LIMIT = 100;
+    private static final int REBUILD_CHUNK_SIZE = 500;
+
+    private final TaskSearchIndex index;
+    private final TaskRepository taskRepository;
+    private final Counter indexErrors;
+
+    public TaskSearchService(TaskSearchIndex index, TaskRepository taskRepository, MeterRegistry meterRegistry) {
+        this.index = index;
+        this.taskRepository = taskRepository;
+        this.indexErrors = meterRegistry.counter("task.search.index.errors");
+    }
+
+    public void indexAfterCommit(Task task) {
+        TaskDocument document = TaskDocument.of(TaskView.of(task));
+        afterCommit(() -> index.index(document));
+    }
+
+    public void indexAfterCommit(List<TaskDocument> documents) {
+        if (!documents.isEmpty()) {
+            afterCommit(() -> documents.forEach(index::index));
+        }
+    }
+
+    public void removeAfterCommit(Long taskId) {
+        afterCommit(() -> index.delete(taskId));
+    }
+
+    public void removeProject(Long projectId) {
+        afterCommit(() -> index.deleteProject(projectId));
+    }
+
+    public TaskSearchResult search(Long projectId, String text, Long statusId, Long priorityId, Long assigneeId, int limit) {
+        if (text == null || text.isBlank()) {
+            throw new IllegalArgumentException("Search text is required");
+        }
+        TaskSearchIndex.Hits found = index.search(projectId, text, statusId, priorityId, assigneeId,
+                Math.max(1, Math.min(limit, MAX_LIMIT)));
+        if (found.hits().isEmpty()) {
+            return new TaskSearchResult(found.total(), List.of());
+        }
+        Map<Long, TaskView> tasks = new HashMap<>();
+        taskRepository.findViewsByIdIn(found.hits().stream().map(TaskSearchIndex.Hit::taskId).toList())
+                .forEach(task -> tasks.put(task.id(), task));
+        List<TaskSearchResult.Hit> hits = found.hits().stream()
+                .filter(hit -> tasks.containsKey(hit.taskId()))
+                .map(hit -> new TaskSearchResult.Hit(tasks.get(hit.taskId()), hit.score(), hit.name(), hit.snippet()))
+                .toList();
+        return new TaskSearchResult(found.total(), hits);
+    }
+
+    /**
+     * Replace the whole index with the tasks in the database.
+     *
+     * @return the number of tasks indexed
+     */
+    public long rebuild() {
+        index.deleteAll();
+        long count = reindex(null);
+        log.info("Task search index rebuilt: {} tasks", count);
+        return count;
+    }
+
+    /**
+     * Replace the index entries of one project with its tasks in the database.
+     */
+    public long rebuildProject(Long projectId) {
+        index.deleteProject(projectId);
+        return reindex(projectId);
+    }
+
+    public boolean isComplete() {
+        return index.size() == taskRepository.count();
+    }
+
+    private long reindex(Long projectId) {
+        long count = 0;
+        long afterId = 0;
+        List<TaskView> chunk;
+        while (!(chunk = taskRepository.findViewsAfter(projectId, afterId, PageRequest.of(0, REBUILD_CHUNK_SIZE))).isEmpty()) {
+            chunk.forEach(task -> index.index(TaskDocument.of(task)));
+            count += chunk.size();
+            afterId = chunk.get(chunk.size() - 1).id();
+        }
+        index.commit();
+        return count;
+    }
+
+    private void afterCommit(Runnable action) {
+        Runnable guarded = () -> {
+            try {
+                action.run();
+            } catch (RuntimeException e) {
+                indexErrors.increment();
+                log.error("Task search index update failed: {}", e.getMessage());
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    guarded.run();
+                }
+            });
+        } else {
+            guarded.run();
+        }
+    }
+}
@@ -3,6 +3,7 @@ package com.example.demo.security;
 import java.io.IOException;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -14,6 +15,7 @@ import org.springframework.web.filter.OncePerRequestFilter;
 import com.example.demo.service.CustomUserDetailsService;
 import com.example.demo.service.JwtService;
 
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.MalformedJwtException;
 import jakarta.servlet.FilterChain;
@@ -31,6 +33,13 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     @Autowired
     private CustomUserDetailsService userDetailsService;
 
+    @Autowired
+    private UserCache userCache;
+
+    // Authenticate from token claims + user cache instead of loading the user by email
+    @Value("${app.security.stateless-auth:true}")
+    private boolean statelessAuth;
+
     @Override
     protected void doFilterInternal(
             @NonNull HttpServletRequest request,
@@ -67,12 +76,14 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
         
         try {
-            userEmail = jwtService.extractUsername(jwt);
+            // Verify the token once; validation below reuses the parsed claims
+            Claims claims = jwtService.parseToken(jwt);
+            userEmail = claims.getSubject();
             
             if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                UserDetails userDetails = this.userDetailsService.loadUserByUsername(userEmail);
+                UserDetails userDetails = loadUser(claims, userEmail);
                 
-                if (jwtService.isTokenValid(jwt, userDetails)) {
+                if (userDetails != null && jwtService.isTokenValid(claims, userDetails)) {
                     UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                             userDetails,
                             null,
@@ -91,6 +102,30 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
     
+    /**
+     * Resolve the user a token belongs to, or null once the user's token version has moved
+     * on. Tokens carrying the id claim are served from the user cache; older tokens (or
+     * stateless mode disabled) fall back to the database lookup by email. A token without
+     * the version claim was issued before versions existed and counts as version 0.
+     */
+    private UserDetails loadUser(Claims claims, String userEmail) {
+        Long userId = claims.get(JwtService.CLAIM_USER_ID, Long.class);
+        Integer claimedVersion = claims.get(JwtService.CLAIM_TOKEN_VERSION, Integer.class);
+        int tokenVersion = claimedVersion != null ? claimedVersion : 0;
+        if (!statelessAuth || userId == null) {
+            UserDetails userDetails = this.userDetailsService.loadUserByUsername(userEmail);
+            if (userDetails instanceof UserPrincipal principal
+                    && principal.getUser().getTokenVersion() != tokenVersion) {
+                return null;
+            }
+            return userDetails;
+        }
+        return userCache.get(userId)
+                .filter(user -> user.getTokenVersion() == tokenVersion)
+                .map(UserPrincipal::new)
+                .orElse(null);
+    }
+
     /**
      * Extract access token from cookies
      */
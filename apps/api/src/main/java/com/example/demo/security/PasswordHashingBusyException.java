@@ -0,0 +1,16 @@
+package com.example.demo.security;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown when too many password hashes are already waiting (see OffloadedPasswordEncoder).
+ * The client should retry a moment later.
+ */
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class PasswordHashingBusyException extends RuntimeException {
+
+    public PasswordHashingBusyException() {
+        super("Too many password checks in progress, try again shortly");
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.demo.security;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.example.demo.model.ProjectMember.ProjectRole;
+import com.example.demo.repository.ProjectMemberRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Central place for project permission checks.
+ *
+ * The role of a user in a project is cached per (projectId, userId), including the
+ * "not a member" answer. Every change to memberships must call {@link #evict(Long, Long)}
+ * or {@link #evictProject(Long)}; the TTL only bounds staleness if one is missed.
+ */
+@Component
+public class ProjectAuthorization {
+
+    private final ProjectMemberRepository projectMemberRepository;
+    private final Cache<MemberKey, Optional<ProjectRole>> roles;
+    private final Counter cacheHits;
+    private final Counter cacheMisses;
+
+    public ProjectAuthorization(ProjectMemberRepository projectMemberRepository,
+            MeterRegistry meterRegistry,
+            @Value("${app.security.role-cache.max-size:50000}") long maxSize,
+            @Value("${app.security.role-cache.ttl-seconds:600}") long ttlSeconds) {
+        this.projectMemberRepository = projectMemberRepository;
+        this.roles = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+        this.cacheHits = meterRegistry.counter("project.role.cache", "result", "hit");
+        this.cacheMisses = meterRegistry.counter("project.role.cache", "result", "miss");
+    }
+
+    public Optional<ProjectRole> getRole(Long projectId, Long userId) {
+        if (projectId == null || userId == null) {
+            return Optional.empty();
+        }
+        MemberKey key = new MemberKey(projectId, userId);
+        Optional<ProjectRole> role = roles.getIfPresent(key);
+        if (role != null) {
+            cacheHits.increment();
+            return role;
+        }
+        cacheMisses.increment();
+        role = projectMemberRepository.findRoleByProjectIdAndUserId(projectId, userId);
+        roles.put(key, role);
+        return role;
+    }
+
+    /**
+     * Any role (admin, member or observer) grants read access.
+     */
+    public boolean isMember(Long projectId, Long userId) {
+        return getRole(projectId, userId).isPresent();
+    }
+
+    public boolean isAdmin(Long projectId, Long userId) {
+        return getRole(projectId, userId).map(role -> role == ProjectRole.ADMIN).orElse(false);
+    }
+
+    /**
+     * Admins and members can create and update tasks, observers cannot.
+     */
+    public boolean canEditTasks(Long projectId, Long userId) {
+        return getRole(projectId, userId).map(role -> role != ProjectRole.OBSERVER).orElse(false);
+    }
+
+    public void evict(Long projectId, Long userId) {
+        MemberKey key = new MemberKey(projectId, userId);
+        runNowAndAfterCommit(() -> roles.invalidate(key));
+    }
+
+    public void evictProject(Long projectId) {
+        runNowAndAfterCommit(() -> roles.asMap().keySet().removeIf(key -> key.projectId().equals(projectId)));
+    }
+
+    // A reader running before the commit could cache the old role again, so evict twice
+    private void runNowAndAfterCommit(Runnable eviction) {
+        eviction.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    eviction.run();
+                }
+            });
+        }
+    }
+
+    private record MemberKey(Long projectId, Long userId) {
+    }
+}
@@ -1,6 +1,9 @@
 package com.example.demo.security;
 
+import java.util.Map;
+
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -11,7 +14,9 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
@@ -19,6 +24,9 @@ import org.springframework.web.cors.CorsConfigurationSource;
 
 import com.example.demo.service.CustomUserDetailsService;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
+
 @Configuration
 @EnableWebSecurity
 public class SecurityConfig {
@@ -32,12 +40,30 @@ public class SecurityConfig {
     @Autowired
     private CorsConfigurationSource corsConfigurationSource;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.security.password.encoder:bcrypt}")
+    private String passwordEncoderId;
+    @Value("${app.security.password.bcrypt-strength:10}")
+    private int bcryptStrength;
+    @Value("${app.security.password.argon2.memory-kb:19456}")
+    private int argon2MemoryKb;
+    @Value("${app.security.password.argon2.iterations:2}")
+    private int argon2Iterations;
+    @Value("${app.security.password.hash-threads:0}")
+    private int hashThreads;
+    @Value("${app.security.password.queue-capacity:64}")
+    private int hashQueueCapacity;
+
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
         http
                 .cors(cors -> cors.configurationSource(corsConfigurationSource))
                 .csrf(AbstractHttpConfigurer::disable)
                 .authorizeHttpRequests(authz -> authz
+                        // Async dispatches of streaming responses (SSE) were authorized on the initial request
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         .requestMatchers("/api/auth/**").permitAll()
                         .requestMatchers("/api/public/**").permitAll()
                         .requestMatchers("/actuator/health").permitAll()
@@ -54,7 +80,26 @@ public class SecurityConfig {
 
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new OffloadedPasswordEncoder(
+                hashingEncoder(passwordEncoderId, bcryptStrength, argon2MemoryKb, argon2Iterations),
+                hashThreads, hashQueueCapacity, meterRegistry);
+    }
+
+    /**
+     * New hashes are prefixed with the id of the encoder that made them, e.g. {@code {bcrypt}$2a$10$...};
+     * hashes stored without a prefix are bcrypt. A hash from another encoder or with a lower
+     * cost than configured is reported by {@code upgradeEncoding}, so it gets replaced at the
+     * user's next successful login.
+     */
+    static DelegatingPasswordEncoder hashingEncoder(String idForEncode, int bcryptStrength,
+            int argon2MemoryKb, int argon2Iterations) {
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(bcryptStrength);
+        Map<String, PasswordEncoder> encoders = Map.of(
+                "bcrypt", bcrypt,
+                "argon2", new Argon2PasswordEncoder(16, 32, 1, argon2MemoryKb, argon2Iterations));
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder(idForEncode, encoders);
+        encoder.setDefaultPasswordEncoderForMatches(bcrypt);
+        return encoder;
     }
 
     @Bean
@@ -62,6 +107,8 @@ public class SecurityConfig {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
         authProvider.setUserDetailsService(userDetailsService);
         authProvider.setPasswordEncoder(passwordEncoder());
+        // Rehash outdated passwords after a successful login
+        authProvider.setUserDetailsPasswordService(userDetailsService);
         return authProvider;
     }
 
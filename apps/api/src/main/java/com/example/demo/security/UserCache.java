@@ -0,0 +1,105 @@
+package com.example.demo.security;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.example.demo.model.User;
+import com.example.demo.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Small in-process cache of the user fields needed to authenticate a request.
+ *
+ * Only immutable snapshots are cached; every lookup returns a fresh, detached {@link User}
+ * so request code can never modify a shared instance. Entries must be evicted whenever
+ * the user's profile or credentials change (see {@link #evict(Long)}).
+ *
+ * As in ProjectSettingsCache, an eviction bumps the user's generation and a reader only
+ * stores what it loaded if the generation has not moved meanwhile: a load that raced a
+ * password change cannot put the old token version back for the rest of the TTL.
+ */
+@Component
+public class UserCache {
+
+    private static final int GENERATIONS = 1024;
+
+    private final UserRepository userRepository;
+    private final Cache<Long, CachedUser> users;
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATIONS);
+
+    public UserCache(UserRepository userRepository,
+            @Value("${app.security.user-cache.max-size:10000}") long maxSize,
+            @Value("${app.security.user-cache.ttl-seconds:300}") long ttlSeconds) {
+        this.userRepository = userRepository;
+        this.users = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+    }
+
+    public Optional<User> get(Long userId) {
+        CachedUser cached = users.getIfPresent(userId);
+        if (cached == null) {
+            int generationIndex = generationIndex(userId);
+            long generation = generations.get(generationIndex);
+            Optional<User> user = userRepository.findById(userId);
+            if (user.isEmpty()) {
+                return Optional.empty();
+            }
+            CachedUser loaded = CachedUser.of(user.get());
+            // Under the key's lock: an eviction either moved the generation before, and the
+            // entry is not stored, or invalidates it after
+            users.asMap().compute(userId, (id, current) ->
+                    generations.get(generationIndex) == generation ? loaded : current);
+            cached = loaded;
+        }
+        return Optional.of(cached.toUser());
+    }
+
+    /**
+     * Evict now and again after the surrounding transaction (if any) commits: a reader
+     * running before the commit would otherwise cache the old row again.
+     */
+    public void evict(Long userId) {
+        Runnable eviction = () -> {
+            generations.incrementAndGet(generationIndex(userId));
+            users.invalidate(userId);
+        };
+        eviction.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    eviction.run();
+                }
+            });
+        }
+    }
+
+    private static int generationIndex(Long userId) {
+        return Long.hashCode(userId) & (GENERATIONS - 1);
+    }
+
+    private record CachedUser(Long id, String username, String email, int tokenVersion) {
+
+        static CachedUser of(User user) {
+            return new CachedUser(user.getId(), user.getUsername(), user.getEmail(), user.getTokenVersion());
+        }
+
+        User toUser() {
+            User user = new User();
+            user.setId(id);
+            user.setUsername(username);
+            user.setEmail(email);
+            user.setTokenVersion(tokenVersion);
+            return user;
+        }
+    }
+}
@@ -4,16 +4,18 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.example.demo.model.User;
 import com.example.demo.repository.UserRepository;
 import com.example.demo.security.UserPrincipal;
 
 @Service
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     private static final Logger logger = LoggerFactory.getLogger(CustomUserDetailsService.class);
 
@@ -22,7 +24,7 @@ public class CustomUserDetailsService implements UserDetailsService {
 
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
-        logger.info("Loading user by email: {}", email);
+        logger.debug("Loading user by email: {}", email);
 
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> {
@@ -30,9 +32,24 @@ public class CustomUserDetailsService implements UserDetailsService {
                     return new UsernameNotFoundException("User not found with email: " + email);
                 });
 
-        logger.info("User found - ID: {}, Username: {}, Email: {}", user.getId(), user.getUsername(), user.getEmail());
+        logger.debug("User found - ID: {}, Username: {}, Email: {}", user.getId(), user.getUsername(), user.getEmail());
         logger.debug("User password hash preview: {}", user.getPassword().substring(0, Math.min(10, user.getPassword().length())) + "...");
 
         return new UserPrincipal(user);
     }
+
+    /**
+     * Store the rehash of a password that was just verified with an outdated encoding.
+     * Skipped if the password was changed meanwhile.
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        User user = ((UserPrincipal) userDetails).getUser();
+        if (userRepository.updatePasswordIfUnchanged(user.getId(), user.getPassword(), newPassword) == 1) {
+            logger.info("Password hash upgraded for user ID: {}", user.getId());
+            user.setPassword(newPassword);
+        }
+        return userDetails;
+    }
 }
@@ -0,0 +1,234 @@
+package com.example.demo.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.demo.model.EmailOutbox;
+import com.example.demo.repository.EmailOutboxRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Delivers queued emails from the outbox.
+ *
+ * Each run claims a batch of due rows, splits it between a few workers running on
+ * virtual threads, and each worker sends its share through one SMTP connection
+ * ({@code JavaMailSender.send(MimeMessage...)} reuses the transport for the whole array).
+ * Failed emails are retried with exponential backoff and marked DEAD after the last attempt.
+ */
+@Component
+@Slf4j
+public class EmailOutboxWorker {
+
+    private static final Duration MAX_BACKOFF = Duration.ofHours(1);
+
+    private final EmailOutboxRepository emailOutboxRepository;
+    private final EmailService emailService;
+    private final JavaMailSender mailSender;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final int batchSize;
+    private final int workers;
+    private final int maxAttempts;
+    private final Duration baseBackoff;
+    private final Duration lease;
+
+    private final Timer sendTimer;
+    private final Counter sentCounter;
+    private final Counter retriedCounter;
+    private final Counter deadCounter;
+
+    public EmailOutboxWorker(EmailOutboxRepository emailOutboxRepository,
+            EmailService emailService,
+            JavaMailSender mailSender,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${app.mail.outbox.batch-size:100}") int batchSize,
+            @Value("${app.mail.outbox.workers:4}") int workers,
+            @Value("${app.mail.outbox.max-attempts:6}") int maxAttempts,
+            @Value("${app.mail.outbox.backoff-seconds:30}") long backoffSeconds,
+            @Value("${app.mail.outbox.lease-seconds:300}") long leaseSeconds) {
+        this.emailOutboxRepository = emailOutboxRepository;
+        this.emailService = emailService;
+        this.mailSender = mailSender;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.workers = Math.max(1, workers);
+        this.maxAttempts = maxAttempts;
+        this.baseBackoff = Duration.ofSeconds(backoffSeconds);
+        this.lease = Duration.ofSeconds(leaseSeconds);
+
+        this.sendTimer = meterRegistry.timer("email.outbox.send");
+        this.sentCounter = meterRegistry.counter("email.outbox.sent");
+        this.retriedCounter = meterRegistry.counter("email.outbox.retried");
+        this.deadCounter = meterRegistry.counter("email.outbox.dead");
+    }
+
+    /**
+     * Send everything that is due, one batch after the other.
+     */
+    @Scheduled(fixedDelayString = "${app.mail.outbox.poll-interval-ms:2000}")
+    public void drain() {
+        int claimed;
+        do {
+            claimed = processBatch();
+        } while (claimed == batchSize);
+    }
+
+    /**
+     * Claim and send one batch.
+     *
+     * @return the number of emails claimed
+     */
+    int processBatch() {
+        List<EmailOutbox> batch = claimBatch();
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        int chunkSize = (batch.size() + workers - 1) / workers;
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < batch.size(); i += chunkSize) {
+            List<EmailOutbox> chunk = batch.subList(i, Math.min(i + chunkSize, batch.size()));
+            futures.add(executor.submit(() -> sendTimer.record(() -> send(chunk))));
+        }
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (ExecutionException e) {
+                // Unsent rows keep their lease and are picked up again once it expires
+                log.error("Email worker failed", e.getCause());
+            }
+        }
+        return batch.size();
+    }
+
+    private List<EmailOutbox> claimBatch() {
+        String claimToken = UUID.randomUUID().toString();
+        LocalDateTime now = LocalDateTime.now();
+        return transactionTemplate.execute(status -> {
+            List<Long> ids = emailOutboxRepository.findDueIds(now, PageRequest.of(0, batchSize));
+            if (ids.isEmpty()) {
+                return List.of();
+            }
+            emailOutboxRepository.claim(ids, claimToken, now.plus(lease), now);
+            return emailOutboxRepository.findByClaimToken(claimToken);
+        });
+    }
+
+    private void send(List<EmailOutbox> emails) {
+        Map<MimeMessage, EmailOutbox> byMessage = new IdentityHashMap<>();
+        Map<EmailOutbox, Exception> failures = new IdentityHashMap<>();
+        for (EmailOutbox email : emails) {
+            try {
+                byMessage.put(emailService.createHtmlMessage(email.getRecipient(), email.getSubject(), email.getHtmlBody()), email);
+            } catch (Exception e) {
+                failures.put(email, e);
+            }
+        }
+
+        if (!byMessage.isEmpty()) {
+            try {
+                mailSender.send(byMessage.keySet().toArray(new MimeMessage[0]));
+            } catch (MailSendException e) {
+                if (e.getFailedMessages().isEmpty()) {
+                    byMessage.values().forEach(email -> failures.put(email, e));
+                } else {
+                    e.getFailedMessages().forEach((message, cause) -> {
+                        EmailOutbox email = byMessage.get(message);
+                        if (email != null) {
+                            failures.put(email, cause);
+                        }
+                    });
+                }
+            } catch (MailException e) {
+                // Connection or authentication problem: nothing was sent
+                byMessage.values().forEach(email -> failures.put(email, e));
+            }
+        }
+
+        recordOutcome(emails, failures);
+    }
+
+    private void recordOutcome(List<EmailOutbox> emails, Map<EmailOutbox, Exception> failures) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> sentIds = emails.stream()
+                .filter(email -> !failures.containsKey(email))
+                .map(EmailOutbox::getId)
+                .toList();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!sentIds.isEmpty()) {
+                emailOutboxRepository.markSent(sentIds, now);
+            }
+            failures.forEach((email, error) -> {
+                int attempts = email.getAttempts() + 1;
+                boolean dead = attempts >= maxAttempts;
+                emailOutboxRepository.markFailed(email.getId(),
+                        dead ? EmailOutbox.Status.DEAD : EmailOutbox.Status.PENDING,
+                        attempts,
+                        now.plus(backoff(attempts)),
+                        truncate(error.getMessage()));
+                if (dead) {
+                    log.error("Giving up on email {} to {} after {} attempts: {}",
+                            email.getId(), email.getRecipient(), attempts, error.getMessage());
+                } else {
+                    log.warn("Email {} to {} failed (attempt {}), retrying later: {}",
+                            email.getId(), email.getRecipient(), attempts, error.getMessage());
+                }
+            });
+        });
+
+        sentCounter.increment(sentIds.size());
+        failures.keySet().forEach(email -> (email.getAttempts() + 1 >= maxAttempts ? deadCounter : retriedCounter).increment());
+    }
+
+    Duration backoff(int attempts) {
+        Duration delay = baseBackoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+        return delay.compareTo(MAX_BACKOFF) > 0 ? MAX_BACKOFF : delay;
+    }
+
+    private static String truncate(String message) {
+        if (message == null) {
+            return null;
+        }
+        return message.length() <= 1000 ? message : message.substring(0, 1000);
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -1,17 +1,18 @@
 package com.example.demo.service;
 
-import java.io.IOException;
 import java.io.UnsupportedEncodingException;
 import java.nio.charset.StandardCharsets;
+import java.util.List;
 import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.io.ClassPathResource;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
 
 import com.example.demo.dto.email.EmailRequest;
+import com.example.demo.model.EmailOutbox;
+import com.example.demo.repository.EmailOutboxRepository;
 
 import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
@@ -24,6 +25,8 @@ import lombok.extern.slf4j.Slf4j;
 public class EmailService {
 
     private final JavaMailSender mailSender;
+    private final EmailOutboxRepository emailOutboxRepository;
+    private final EmailTemplateEngine emailTemplateEngine;
 
     @Value("${app.mail.from}")
     private String fromEmail;
@@ -32,29 +35,50 @@ public class EmailService {
     private String fromName;
 
     /**
-     * Send email using template
+     * Render a template and queue the email for delivery
      */
     public void sendTemplateEmail(EmailRequest emailRequest) {
-        try {
-            String htmlContent = loadAndProcessTemplate(
-                    emailRequest.getTemplateName(),
-                    emailRequest.getTemplateData()
-            );
-
-            sendHtmlEmail(emailRequest.getTo(), emailRequest.getSubject(), htmlContent);
-
-            log.info("Email sent successfully to: {}", emailRequest.getTo());
-        } catch (IOException | MessagingException e) {
-            log.error("Failed to send email to: {}", emailRequest.getTo(), e);
-            throw new RuntimeException("Failed to send email", e);
+        String htmlContent = emailTemplateEngine.render(
+                emailRequest.getTemplateName(),
+                emailRequest.getTemplateData()
+        );
+
+        queueHtmlEmail(emailRequest.getTo(), emailRequest.getSubject(), htmlContent);
+    }
+
+    /**
+     * Queue an HTML email in the outbox. It is sent by EmailOutboxWorker, and only if
+     * the surrounding transaction (if any) commits.
+     */
+    public EmailOutbox queueHtmlEmail(String to, String subject, String htmlContent) {
+        return queue(outboxEmail(to, subject, htmlContent));
+    }
+
+    /**
+     * Queue emails built with the {@code build...} methods, in one batch of inserts
+     */
+    public List<EmailOutbox> queueAll(List<EmailOutbox> emails) {
+        if (emails.isEmpty()) {
+            return emails;
         }
+        List<EmailOutbox> queued = emailOutboxRepository.saveAll(emails);
+        log.info("{} emails queued", queued.size());
+        return queued;
     }
 
     /**
-     * Send simple HTML email
+     * Send simple HTML email right away, bypassing the outbox
      */
     public void sendHtmlEmail(String to, String subject, String htmlContent)
             throws MessagingException, UnsupportedEncodingException {
+        mailSender.send(createHtmlMessage(to, subject, htmlContent));
+    }
+
+    /**
+     * Build the MIME message for an HTML email with the application sender
+     */
+    public MimeMessage createHtmlMessage(String to, String subject, String htmlContent)
+            throws MessagingException, UnsupportedEncodingException {
         MimeMessage message = mailSender.createMimeMessage();
         MimeMessageHelper helper = new MimeMessageHelper(message, true, StandardCharsets.UTF_8.name());
 
@@ -62,35 +86,7 @@ public class EmailService {
         helper.setTo(to);
         helper.setSubject(subject);
         helper.setText(htmlContent, true);
-
-        mailSender.send(message);
-    }
-
-    /**
-     * Load template from resources and replace placeholders
-     */
-    private String loadAndProcessTemplate(String templateName, Map<String, Object> templateData)
-            throws IOException {
-
-        String templatePath = "templates/email/" + templateName + ".html";
-        ClassPathResource resource = new ClassPathResource(templatePath);
-
-        if (!resource.exists()) {
-            throw new IllegalArgumentException("Template not found: " + templatePath);
-        }
-
-        String content = new String(resource.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
-
-        // Replace placeholders with actual data
-        if (templateData != null) {
-            for (Map.Entry<String, Object> entry : templateData.entrySet()) {
-                String placeholder = "{{" + entry.getKey() + "}}";
-                String value = entry.getValue() != null ? entry.getValue().toString() : "";
-                content = content.replace(placeholder, value);
-            }
-        }
-
-        return content;
+        return message;
     }
 
     /**
@@ -157,6 +153,17 @@ public class EmailService {
             String projectName, String projectDescription,
             String roleAssigned, String invitationToken,
             boolean userExists, String baseUrl) {
+        queue(buildProjectInvitationSmart(recipientEmail, inviterName, projectName, projectDescription,
+                roleAssigned, invitationToken, userExists, baseUrl));
+    }
+
+    /**
+     * Render the smart project invitation email without queueing it (see {@link #queueAll(List)})
+     */
+    public EmailOutbox buildProjectInvitationSmart(String recipientEmail, String inviterName,
+            String projectName, String projectDescription,
+            String roleAssigned, String invitationToken,
+            boolean userExists, String baseUrl) {
 
         String invitationLink = userExists
                 ? baseUrl + "/invitations/accept/" + invitationToken
@@ -180,13 +187,20 @@ public class EmailService {
                 ? "Invitation au projet: " + projectName
                 : "Créez votre compte et rejoignez le projet: " + projectName;
 
-        EmailRequest emailRequest = EmailRequest.builder()
-                .to(recipientEmail)
+        return outboxEmail(recipientEmail, subject, emailTemplateEngine.render(templateName, templateData));
+    }
+
+    private EmailOutbox queue(EmailOutbox email) {
+        email = emailOutboxRepository.save(email);
+        log.info("Email to {} queued (outbox id {})", email.getRecipient(), email.getId());
+        return email;
+    }
+
+    private static EmailOutbox outboxEmail(String to, String subject, String htmlContent) {
+        return EmailOutbox.builder()
+                .recipient(to)
                 .subject(subject)
-                .templateName(templateName)
-                .templateData(templateData)
+                .htmlBody(htmlContent)
                 .build();
-
-        sendTemplateEmail(emailRequest);
     }
 }
@@ -0,0 +1,181 @@
+package com.example.demo.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Renders the HTML email templates under {@code templates/email/}.
+ *
+ * Every template is parsed once into literal and placeholder segments, so rendering is a
+ * single pass into a pre-sized builder. Values are HTML-escaped. Placeholders without a
+ * value (and block syntax such as {@code {{#if ...}}}) are written out unchanged, as the
+ * previous string-replace implementation did. With hot reload enabled, a template is
+ * parsed again whenever its file changes.
+ */
+@Component
+@Slf4j
+public class EmailTemplateEngine {
+
+    static final String TEMPLATE_LOCATION = "classpath*:templates/email/*.html";
+
+    // Room reserved per placeholder when sizing the output buffer
+    private static final int VALUE_SIZE_HINT = 32;
+
+    private final Map<String, CompiledTemplate> templates = new ConcurrentHashMap<>();
+    private final PathMatchingResourcePatternResolver resolver = new PathMatchingResourcePatternResolver();
+
+    @Value("${app.mail.templates.hot-reload:false}")
+    private boolean hotReload;
+
+    @PostConstruct
+    public void loadTemplates() throws IOException {
+        for (Resource resource : resolver.getResources(TEMPLATE_LOCATION)) {
+            String filename = resource.getFilename();
+            if (filename != null) {
+                String name = filename.substring(0, filename.length() - ".html".length());
+                templates.put(name, compile(resource));
+            }
+        }
+        log.info("Loaded {} email templates", templates.size());
+    }
+
+    /**
+     * Render a template with the given values.
+     *
+     * @throws IllegalArgumentException if no template with this name exists
+     */
+    public String render(String templateName, Map<String, ?> data) {
+        CompiledTemplate template = templates.get(templateName);
+        if (template == null) {
+            throw new IllegalArgumentException("Template not found: templates/email/" + templateName + ".html");
+        }
+        if (hotReload) {
+            template = reloadIfModified(templateName, template);
+        }
+        return template.render(data != null ? data : Map.of());
+    }
+
+    private CompiledTemplate reloadIfModified(String name, CompiledTemplate template) {
+        try {
+            if (template.resource().lastModified() != template.lastModified()) {
+                CompiledTemplate reloaded = compile(template.resource());
+                templates.put(name, reloaded);
+                log.info("Reloaded email template {}", name);
+                return reloaded;
+            }
+        } catch (IOException e) {
+            log.warn("Could not reload email template {}, keeping the loaded version: {}", name, e.getMessage());
+        }
+        return template;
+    }
+
+    private static CompiledTemplate compile(Resource resource) throws IOException {
+        long lastModified = lastModified(resource);
+        try (InputStream in = resource.getInputStream()) {
+            return parse(new String(in.readAllBytes(), StandardCharsets.UTF_8), resource, lastModified);
+        }
+    }
+
+    private static long lastModified(Resource resource) {
+        try {
+            return resource.lastModified();
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Split a template into segments. Odd-indexed segments are placeholder names,
+     * even-indexed ones are literal text.
+     */
+    static CompiledTemplate parse(String content, Resource resource, long lastModified) {
+        List<String> segments = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+        int literalLength = 0;
+        int position = 0;
+        while (position < content.length()) {
+            int start = content.indexOf("{{", position);
+            int end = start < 0 ? -1 : content.indexOf("}}", start + 2);
+            if (end < 0) {
+                literal.append(content, position, content.length());
+                break;
+            }
+            String key = content.substring(start + 2, end).trim();
+            if (isPlaceholderName(key)) {
+                literal.append(content, position, start);
+                literalLength += literal.length();
+                segments.add(literal.toString());
+                segments.add(key);
+                literal.setLength(0);
+            } else {
+                // Not a simple placeholder (e.g. a block helper), keep it as text
+                literal.append(content, position, end + 2);
+            }
+            position = end + 2;
+        }
+        literalLength += literal.length();
+        segments.add(literal.toString());
+        return new CompiledTemplate(segments.toArray(new String[0]), literalLength, resource, lastModified);
+    }
+
+    private static boolean isPlaceholderName(String key) {
+        if (key.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < key.length(); i++) {
+            char c = key.charAt(i);
+            if (!Character.isLetterOrDigit(c) && c != '_' && c != '.') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static void appendEscaped(StringBuilder out, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '&' -> out.append("&amp;");
+                case '<' -> out.append("&lt;");
+                case '>' -> out.append("&gt;");
+                case '"' -> out.append("&quot;");
+                case '\'' -> out.append("&#39;");
+                default -> out.append(c);
+            }
+        }
+    }
+
+    record CompiledTemplate(String[] segments, int literalLength, Resource resource, long lastModified) {
+
+        String render(Map<String, ?> data) {
+            int placeholders = segments.length / 2;
+            StringBuilder out = new StringBuilder(literalLength + placeholders * VALUE_SIZE_HINT);
+            for (int i = 0; i < segments.length; i++) {
+                if (i % 2 == 0) {
+                    out.append(segments[i]);
+                } else if (data.containsKey(segments[i])) {
+                    Object value = data.get(segments[i]);
+                    if (value != null) {
+                        appendEscaped(out, value.toString());
+                    }
+                } else {
+                    out.append("{{").append(segments[i]).append("}}");
+                }
+            }
+            return out.toString();
+        }
+    }
+}
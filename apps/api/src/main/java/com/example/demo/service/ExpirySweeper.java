@@ -0,0 +1,136 @@
+package com.example.demo.service;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.IntSupplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.demo.repository.ProjectInvitationRepository;
+import com.example.demo.repository.RefreshTokenRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Periodically marks pending invitations past their expiry as EXPIRED and deletes expired
+ * refresh tokens, so neither table keeps growing.
+ *
+ * Rows are handled {@code chunkSize} at a time, each chunk in its own short transaction,
+ * with a pause between full chunks so a large backlog does not hog the database. Chunks
+ * only touch rows that still qualify, so instances sweeping at the same time or a sweep
+ * interrupted halfway do no harm.
+ */
+@Component
+@Slf4j
+public class ExpirySweeper {
+
+    static final String INVITATIONS = "project_invitations";
+    static final String REFRESH_TOKENS = "refresh_token";
+
+    private final ProjectInvitationRepository invitationRepository;
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final ReentrantLock runLock = new ReentrantLock();
+
+    private final int chunkSize;
+    private final long pauseMs;
+
+    public ExpirySweeper(ProjectInvitationRepository invitationRepository,
+            RefreshTokenRepository refreshTokenRepository,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${app.maintenance.chunk-size:500}") int chunkSize,
+            @Value("${app.maintenance.pause-ms:100}") long pauseMs) {
+        this.invitationRepository = invitationRepository;
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+        this.chunkSize = chunkSize;
+        this.pauseMs = pauseMs;
+    }
+
+    @Scheduled(fixedDelayString = "${app.maintenance.sweep-interval-ms:600000}",
+            initialDelayString = "${app.maintenance.initial-delay-ms:60000}")
+    public void run() {
+        if (!runLock.tryLock()) {
+            return;
+        }
+        try {
+            expireInvitations();
+            deleteExpiredRefreshTokens();
+        } finally {
+            runLock.unlock();
+        }
+    }
+
+    /**
+     * @return the number of invitations marked EXPIRED
+     */
+    public int expireInvitations() {
+        LocalDateTime now = LocalDateTime.now();
+        return sweep(INVITATIONS, () -> {
+            List<Long> ids = invitationRepository.findExpiredPendingIds(now, PageRequest.of(0, chunkSize));
+            if (ids.isEmpty()) {
+                return 0;
+            }
+            List<Long> duplicates = invitationRepository.findExpiredDuplicateIds(ids);
+            if (!duplicates.isEmpty()) {
+                invitationRepository.deleteByIdIn(duplicates);
+            }
+            invitationRepository.expireByIdIn(ids);
+            return ids.size();
+        });
+    }
+
+    /**
+     * @return the number of refresh tokens deleted
+     */
+    public int deleteExpiredRefreshTokens() {
+        Instant now = Instant.now();
+        return sweep(REFRESH_TOKENS, () -> {
+            List<Long> ids = refreshTokenRepository.findExpiredIds(now, PageRequest.of(0, chunkSize));
+            return ids.isEmpty() ? 0 : refreshTokenRepository.deleteByIdIn(ids);
+        });
+    }
+
+    /**
+     * Run chunks until one comes back short of a full chunk.
+     */
+    private int sweep(String table, IntSupplier chunk) {
+        long start = System.nanoTime();
+        int total = 0;
+        int processed;
+        do {
+            processed = transactionTemplate.execute(status -> chunk.getAsInt());
+            total += processed;
+            meterRegistry.counter("maintenance.sweep.rows", "table", table).increment(processed);
+        } while (processed >= chunkSize && pause());
+        meterRegistry.timer("maintenance.sweep.duration", "table", table)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        if (total > 0) {
+            log.info("Swept {} expired rows of {}", total, table);
+        }
+        return total;
+    }
+
+    private boolean pause() {
+        try {
+            Thread.sleep(pauseMs);
+            return true;
+        } catch (InterruptedException e) {
+            // Shutting down: the remaining rows are swept by the next run
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.demo.service;
+
+/**
+ * Thrown when a refresh token cannot be exchanged: unknown, expired or reused.
+ * The client has to log in again.
+ */
+public class InvalidRefreshTokenException extends RuntimeException {
+
+    public InvalidRefreshTokenException(String message) {
+        super(message);
+    }
+}
@@ -1,31 +1,65 @@
 package com.example.demo.service;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.example.demo.dto.project.InvitationResult;
+import com.example.demo.dto.project.InvitationResult.Outcome;
+import com.example.demo.dto.project.InvitationView;
+import com.example.demo.model.EmailOutbox;
 import com.example.demo.model.Project;
 import com.example.demo.model.ProjectInvitation;
 import com.example.demo.model.ProjectMember;
 import com.example.demo.model.User;
 import com.example.demo.repository.ProjectInvitationRepository;
+import com.example.demo.repository.ProjectMemberRepository;
+import com.example.demo.repository.UserRepository;
 
 import lombok.extern.slf4j.Slf4j;
 
 @Service
 @Slf4j
 public class InvitationService {
+
+    public static final int MAX_BULK_SIZE = 500;
+
+    private static final Pattern EMAIL = Pattern.compile("[^@\\s]+@[^@\\s]+\\.[^@\\s]+");
     
     @Autowired
     private ProjectInvitationRepository invitationRepository;
+
+    @Autowired
+    private ProjectMemberRepository projectMemberRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EmailService emailService;
     
     @Autowired
     private ProjectService projectService;
+
+    @Autowired
+    private ExpirySweeper expirySweeper;
+
+    @Value("${spring.application.base-url:http://localhost:4200}")
+    private String baseUrl;
     
     /**
      * Create a new project invitation
@@ -52,6 +86,134 @@ public class InvitationService {
         return invitationRepository.save(invitation);
     }
     
+    /**
+     * Invite many emails to a project at once. Accounts, memberships and pending
+     * invitations of all the emails are read with one query each; the new invitations
+     * and their emails (queued in the outbox, sent by EmailOutboxWorker once this
+     * commits) are inserted in batches. Emails that are already members or already
+     * have an active invitation are reported and left alone.
+     *
+     * @return one result per distinct email (case-insensitive), in request order
+     */
+    @Transactional
+    public List<InvitationResult> inviteAll(Project project, List<String> emails,
+                                            ProjectMember.ProjectRole role, User inviter) {
+        if (emails == null || emails.isEmpty()) {
+            throw new IllegalArgumentException("No emails given");
+        }
+        if (role == null) {
+            throw new IllegalArgumentException("Role is required");
+        }
+        Map<String, String> requested = new LinkedHashMap<>();
+        for (String email : emails) {
+            String trimmed = email == null ? "" : email.trim();
+            requested.putIfAbsent(key(trimmed), trimmed);
+        }
+        if (requested.size() > MAX_BULK_SIZE) {
+            throw new IllegalArgumentException("At most " + MAX_BULK_SIZE + " emails can be invited at once");
+        }
+
+        List<String> valid = requested.values().stream()
+                .filter(email -> email.length() <= 255 && EMAIL.matcher(email).matches())
+                .toList();
+        Set<String> accounts = Set.of();
+        Set<String> members = Set.of();
+        Map<String, InvitationView> pending = new HashMap<>();
+        if (!valid.isEmpty()) {
+            accounts = keys(userRepository.findEmailsByEmailIn(valid));
+            members = keys(projectMemberRepository.findMemberEmailsByProjectIdAndEmailIn(project.getId(), valid));
+            invitationRepository.findPendingViewsByProjectIdAndEmailIn(project.getId(), valid)
+                    .forEach(invitation -> pending.put(key(invitation.email()), invitation));
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> stale = new ArrayList<>();
+        List<ProjectInvitation> created = new ArrayList<>();
+        for (String email : valid) {
+            InvitationView existing = pending.get(key(email));
+            if (existing != null && existing.expiresAt().isAfter(now)) {
+                continue;
+            }
+            if (existing != null) {
+                stale.add(existing.id());
+            }
+            if (!members.contains(key(email))) {
+                created.add(newInvitation(project, email, role, inviter, now));
+            }
+        }
+
+        // Expired invitations still PENDING until the next sweep would clash with the new ones
+        if (!stale.isEmpty()) {
+            List<Long> duplicates = invitationRepository.findExpiredDuplicateIds(stale);
+            if (!duplicates.isEmpty()) {
+                invitationRepository.deleteByIdIn(duplicates);
+            }
+            invitationRepository.expireByIdIn(stale);
+        }
+        invitationRepository.saveAll(created);
+
+        Map<String, ProjectInvitation> invited = new HashMap<>();
+        List<EmailOutbox> emailsToQueue = new ArrayList<>(created.size());
+        for (ProjectInvitation invitation : created) {
+            invited.put(key(invitation.getEmail()), invitation);
+            emailsToQueue.add(emailService.buildProjectInvitationSmart(
+                    invitation.getEmail(),
+                    inviter.getUsername(),
+                    project.getName(),
+                    project.getDescription(),
+                    role.getLabel(),
+                    invitation.getToken(),
+                    accounts.contains(key(invitation.getEmail())),
+                    baseUrl
+            ));
+        }
+        emailService.queueAll(emailsToQueue);
+        log.info("Invited {} of {} emails to project {} with role {}",
+                created.size(), requested.size(), project.getName(), role);
+
+        List<InvitationResult> results = new ArrayList<>(requested.size());
+        for (String email : requested.values()) {
+            String key = key(email);
+            boolean userExists = accounts.contains(key);
+            InvitationView existing = pending.get(key);
+            if (invited.containsKey(key)) {
+                results.add(new InvitationResult(email, Outcome.INVITED, invited.get(key).getId(), userExists));
+            } else if (existing != null && existing.expiresAt().isAfter(now)) {
+                results.add(new InvitationResult(email, Outcome.ALREADY_INVITED, existing.id(), userExists));
+            } else if (members.contains(key)) {
+                results.add(new InvitationResult(email, Outcome.ALREADY_MEMBER, null, userExists));
+            } else {
+                results.add(new InvitationResult(email, Outcome.INVALID_EMAIL, null, false));
+            }
+        }
+        return results;
+    }
+
+    private ProjectInvitation newInvitation(Project project, String email, ProjectMember.ProjectRole role,
+                                            User inviter, LocalDateTime now) {
+        ProjectInvitation invitation = new ProjectInvitation();
+        invitation.setProject(project);
+        invitation.setEmail(email);
+        invitation.setRole(role);
+        invitation.setInviter(inviter);
+        invitation.setToken(UUID.randomUUID().toString());
+        invitation.setCreatedAt(now);
+        invitation.setExpiresAt(now.plusDays(7)); // 7 days expiry
+        invitation.setStatus(ProjectInvitation.InvitationStatus.PENDING);
+        return invitation;
+    }
+
+    /**
+     * Emails compare case-insensitively in the database, so they do here too
+     */
+    private static String key(String email) {
+        return email.toLowerCase(Locale.ROOT);
+    }
+
+    private static Set<String> keys(List<String> emails) {
+        return emails.stream().map(InvitationService::key).collect(Collectors.toSet());
+    }
+
     /**
      * Accept an invitation
      */
@@ -122,8 +284,8 @@ public class InvitationService {
     /**
      * Get all invitations for a project
      */
-    public List<ProjectInvitation> getProjectInvitations(Long projectId) {
-        return invitationRepository.findByProjectId(projectId);
+    public List<InvitationView> getProjectInvitations(Long projectId) {
+        return invitationRepository.findViewsByProjectId(projectId);
     }
     
     /**
@@ -134,14 +296,9 @@ public class InvitationService {
     }
     
     /**
-     * Cleanup expired invitations
+     * Cleanup expired invitations, in chunks (also run periodically by ExpirySweeper)
      */
-    @Transactional
     public int cleanupExpiredInvitations() {
-        int count = invitationRepository.expireOldInvitations(LocalDateTime.now());
-        if (count > 0) {
-            log.info("Expired {} old invitations", count);
-        }
-        return count;
+        return expirySweeper.expireInvitations();
     }
 }
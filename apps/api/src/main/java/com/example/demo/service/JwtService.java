@@ -1,28 +1,50 @@
 package com.example.demo.service;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
 import javax.crypto.SecretKey;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
+import com.example.demo.model.User;
+import com.example.demo.security.UserPrincipal;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.annotation.PostConstruct;
 
 @Service
 public class JwtService {
 
     private static final Logger logger = LoggerFactory.getLogger(JwtService.class);
 
+    // Claims that let the filter authenticate a request without loading the user by email
+    public static final String CLAIM_USER_ID = "uid";
+    public static final String CLAIM_USERNAME = "name";
+    public static final String CLAIM_TOKEN_VERSION = "tv";
+
     @Value("${jwt.secret:404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970}")
     private String secretKey;
 
@@ -32,6 +54,35 @@ public class JwtService {
     @Value("${jwt.refresh-expiration:604800000}")
     private long refreshExpiration;
 
+    @Value("${jwt.cache.max-size:10000}")
+    private long claimsCacheSize;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // Derived once from the secret; both are immutable and thread-safe
+    private SecretKey signInKey;
+    private JwtParser jwtParser;
+
+    // Claims of tokens whose signature was already verified, keyed by SHA-256 of the token.
+    // Entries expire together with the token itself.
+    private Cache<String, Claims> verifiedClaims;
+    private Counter cacheHits;
+    private Counter cacheMisses;
+
+    @PostConstruct
+    void init() {
+        signInKey = getSignInKey();
+        jwtParser = Jwts.parser().verifyWith(signInKey).build();
+        verifiedClaims = Caffeine.newBuilder()
+                .maximumSize(claimsCacheSize)
+                .expireAfter(new TokenExpiry())
+                .build();
+        cacheHits = meterRegistry.counter("jwt.claims.cache", "result", "hit");
+        cacheMisses = meterRegistry.counter("jwt.claims.cache", "result", "miss");
+        meterRegistry.gaugeMapSize("jwt.claims.cache.size", Tags.empty(), verifiedClaims.asMap());
+    }
+
     public String extractUsername(String token) {
         return extractClaim(token, Claims::getSubject);
     }
@@ -41,8 +92,23 @@ public class JwtService {
         return claimsResolver.apply(claims);
     }
 
+    /**
+     * Verify a token and return its claims. The signature is checked once per token;
+     * later calls are served from the cache until the token expires.
+     */
+    public Claims parseToken(String token) {
+        return extractAllClaims(token);
+    }
+
     public String generateToken(UserDetails userDetails) {
-        return generateToken(new HashMap<>(), userDetails);
+        Map<String, Object> claims = new HashMap<>();
+        if (userDetails instanceof UserPrincipal principal) {
+            User user = principal.getUser();
+            claims.put(CLAIM_USER_ID, user.getId());
+            claims.put(CLAIM_USERNAME, user.getUsername());
+            claims.put(CLAIM_TOKEN_VERSION, user.getTokenVersion());
+        }
+        return generateToken(claims, userDetails);
     }
 
     public String generateToken(Map<String, Object> extraClaims, UserDetails userDetails) {
@@ -60,38 +126,79 @@ public class JwtService {
                 .subject(userDetails.getUsername())
                 .issuedAt(new Date(System.currentTimeMillis()))
                 .expiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSignInKey())
+                .signWith(signInKey)
                 .compact();
     }
 
     public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername())) && !isTokenExpired(token);
+        return isTokenValid(extractAllClaims(token), userDetails);
     }
 
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    /**
+     * Validate already parsed claims against the user, without touching the token again.
+     */
+    public boolean isTokenValid(Claims claims, UserDetails userDetails) {
+        final String username = claims.getSubject();
+        return (username.equals(userDetails.getUsername())) && !isTokenExpired(claims);
     }
 
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+    private boolean isTokenExpired(Claims claims) {
+        return claims.getExpiration().before(new Date());
     }
 
     private Claims extractAllClaims(String token) {
+        String cacheKey = hash(token);
+        Claims cached = verifiedClaims.getIfPresent(cacheKey);
+        if (cached != null) {
+            cacheHits.increment();
+            return cached;
+        }
+        cacheMisses.increment();
         try {
             logger.debug("Extracting claims from JWT token");
-            return Jwts
-                    .parser()
-                    .verifyWith(getSignInKey())
-                    .build()
+            Claims claims = jwtParser
                     .parseSignedClaims(token)
                     .getPayload();
+            if (claims.getExpiration() != null) {
+                verifiedClaims.put(cacheKey, claims);
+            }
+            return claims;
         } catch (io.jsonwebtoken.JwtException | IllegalArgumentException e) {
             logger.error("Failed to parse JWT token: {}", e.getMessage());
             throw e;
         }
     }
 
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Evicts cached claims when the token they belong to expires.
+     */
+    private static class TokenExpiry implements Expiry<String, Claims> {
+        @Override
+        public long expireAfterCreate(String key, Claims claims, long currentTime) {
+            long remainingMillis = claims.getExpiration().getTime() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(remainingMillis, 0));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Claims claims, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, claims, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+
     private SecretKey getSignInKey() {
         try {
             logger.debug("Decoding JWT secret key");
@@ -0,0 +1,429 @@
+package com.example.demo.service;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.example.demo.dto.task.TaskActivity;
+import com.example.demo.model.TaskHistory;
+import com.example.demo.repository.TaskHistoryRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Live task activity per project, pushed to clients over server-sent events.
+ *
+ * Each project has a ring buffer of its latest history entries, filled from the database
+ * once and then by TaskHistoryWriter as rows are written. Clients reconnecting with
+ * {@code Last-Event-ID} (a history id) get what they missed from the buffer; only a client
+ * that fell further behind than the buffer triggers a query. Events are sent to each
+ * client in order on a virtual thread, so a slow client never holds up the writer.
+ *
+ * The buffer only sees history written by this instance.
+ */
+@Component
+@Slf4j
+public class ProjectActivityFeed {
+
+    static final String EVENT_ACTIVITY = "activity";
+    static final String EVENT_TASK_DELETED = "task-deleted";
+    static final String EVENT_RESET = "reset";
+
+    private final TaskHistoryRepository taskHistoryRepository;
+    private final Map<Long, Channel> channels = new ConcurrentHashMap<>();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+
+    private final int bufferSize;
+    private final int maxReplay;
+    private final int maxPending;
+    private final long timeoutMs;
+    private final long idleMs;
+
+    private final Counter bufferReplays;
+    private final Counter databaseReplays;
+
+    public ProjectActivityFeed(TaskHistoryRepository taskHistoryRepository,
+            MeterRegistry meterRegistry,
+            @Value("${app.activity.buffer-size:200}") int bufferSize,
+            @Value("${app.activity.max-replay:500}") int maxReplay,
+            @Value("${app.activity.max-pending:1000}") int maxPending,
+            @Value("${app.activity.timeout-ms:1800000}") long timeoutMs,
+            @Value("${app.activity.idle-ms:600000}") long idleMs) {
+        this.taskHistoryRepository = taskHistoryRepository;
+        this.bufferSize = bufferSize;
+        this.maxReplay = maxReplay;
+        this.maxPending = maxPending;
+        this.timeoutMs = timeoutMs;
+        this.idleMs = idleMs;
+
+        meterRegistry.gauge("activity.stream.subscribers", subscriberCount);
+        this.bufferReplays = meterRegistry.counter("activity.stream.replay", "source", "buffer");
+        this.databaseReplays = meterRegistry.counter("activity.stream.replay", "source", "database");
+    }
+
+    /**
+     * Open a stream of a project's activity.
+     *
+     * @param lastEventId id of the last entry the client received, or null to only get new ones
+     */
+    public SseEmitter subscribe(Long projectId, Long lastEventId) {
+        Channel channel = seededChannel(projectId);
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Subscriber subscriber = new Subscriber(emitter);
+
+        // The client fell behind the buffer, read what it missed before going live
+        List<TaskActivity> missed = null;
+        if (lastEventId != null && !channel.covers(lastEventId)) {
+            missed = taskHistoryRepository.findActivityAfter(projectId, lastEventId,
+                            PageRequest.of(0, maxReplay + 1, Sort.by("id")))
+                    .stream()
+                    .map(TaskActivity::of)
+                    .toList();
+            databaseReplays.increment();
+        } else if (lastEventId != null) {
+            bufferReplays.increment();
+        }
+
+        synchronized (channel) {
+            if (lastEventId != null) {
+                long after = lastEventId;
+                if (missed != null && missed.size() > maxReplay) {
+                    // Too much to replay, the client reloads the history and continues from now
+                    subscriber.enqueue(SseEmitter.event().name(EVENT_RESET).data(""));
+                    after = Long.MAX_VALUE;
+                } else if (missed != null) {
+                    for (TaskActivity activity : missed) {
+                        subscriber.enqueue(toEvent(activity));
+                        after = Math.max(after, activity.id());
+                    }
+                }
+                for (TaskActivity activity : channel.entriesAfter(after)) {
+                    subscriber.enqueue(toEvent(activity));
+                }
+            }
+            channel.subscribers.add(subscriber);
+            channel.touch();
+        }
+        subscriberCount.incrementAndGet();
+
+        Runnable remove = () -> {
+            if (channel.subscribers.remove(subscriber)) {
+                subscriberCount.decrementAndGet();
+            }
+        };
+        emitter.onCompletion(remove);
+        emitter.onTimeout(remove);
+        emitter.onError(error -> remove.run());
+        return emitter;
+    }
+
+    /**
+     * Push freshly written history rows to the buffers and their subscribers.
+     * Rows must have their id, and their task and author loaded.
+     */
+    public void publish(List<TaskHistory> rows) {
+        publish(rows, TaskActivity::of);
+    }
+
+    /**
+     * Same, with the pushed entries built by {@code snapshot}, only for followed projects.
+     */
+    public void publish(List<TaskHistory> rows, Function<TaskHistory, TaskActivity> snapshot) {
+        for (TaskHistory row : rows) {
+            Channel channel = channels.get(row.getProjectId());
+            if (channel == null) {
+                continue; // nobody follows this project, its buffer is seeded on first use
+            }
+            TaskActivity activity = snapshot.apply(row);
+            synchronized (channel) {
+                if (channel.add(activity)) {
+                    channel.subscribers.forEach(subscriber -> subscriber.enqueue(toEvent(activity)));
+                }
+            }
+        }
+    }
+
+    /**
+     * Publish rows written inside the current transaction once it commits.
+     */
+    public void publishAfterCommit(List<TaskHistory> rows) {
+        afterCommit(() -> publish(rows));
+    }
+
+    public void publishAfterCommit(List<TaskHistory> rows, Function<TaskHistory, TaskActivity> snapshot) {
+        afterCommit(() -> publish(rows, snapshot));
+    }
+
+    /**
+     * Forget a deleted task: its history goes with it. Applied after the current
+     * transaction commits.
+     */
+    public void taskDeleted(Long projectId, Long taskId) {
+        afterCommit(() -> {
+            Channel channel = channels.get(projectId);
+            if (channel == null) {
+                return;
+            }
+            synchronized (channel) {
+                channel.removeTask(taskId);
+                channel.subscribers.forEach(subscriber -> subscriber.enqueue(
+                        SseEmitter.event().name(EVENT_TASK_DELETED).data(Map.of("taskId", taskId), MediaType.APPLICATION_JSON)));
+            }
+        });
+    }
+
+    /**
+     * Close the streams of a deleted project and drop its buffer.
+     */
+    public void closeProject(Long projectId) {
+        afterCommit(() -> {
+            Channel channel = channels.remove(projectId);
+            if (channel != null) {
+                channel.subscribers.forEach(Subscriber::complete);
+            }
+        });
+    }
+
+    /**
+     * Keep idle connections open through proxies, detect dead clients and drop the
+     * buffers of projects nobody has followed for a while.
+     */
+    @Scheduled(fixedDelayString = "${app.activity.heartbeat-ms:25000}")
+    public void heartbeat() {
+        long now = System.currentTimeMillis();
+        channels.forEach((projectId, channel) -> {
+            if (channel.subscribers.isEmpty()) {
+                if (now - channel.lastUsed > idleMs) {
+                    channels.remove(projectId, channel);
+                }
+                return;
+            }
+            channel.touch();
+            channel.subscribers.forEach(subscriber -> subscriber.enqueue(SseEmitter.event().comment("keepalive")));
+        });
+    }
+
+    private Channel seededChannel(Long projectId) {
+        Channel channel = channels.computeIfAbsent(projectId, id -> new Channel(bufferSize));
+        if (!channel.seeded) {
+            // Registered before the query: rows written meanwhile are published into the
+            // buffer, rows written before are in the result; add() drops the overlap.
+            List<TaskHistory> latest = taskHistoryRepository.findActivityAfter(projectId, Long.MIN_VALUE,
+                    PageRequest.of(0, bufferSize, Sort.by(Sort.Direction.DESC, "id")));
+            synchronized (channel) {
+                if (!channel.seeded) {
+                    for (int i = latest.size() - 1; i >= 0; i--) {
+                        channel.add(TaskActivity.of(latest.get(i)));
+                    }
+                    channel.complete = latest.size() < bufferSize;
+                    if (!channel.complete) {
+                        // Older rows were left in the database
+                        long oldest = latest.get(latest.size() - 1).getId();
+                        channel.evictedUpTo = Math.max(channel.evictedUpTo, oldest - 1);
+                    }
+                    channel.seeded = true;
+                }
+            }
+        }
+        return channel;
+    }
+
+    private static SseEmitter.SseEventBuilder toEvent(TaskActivity activity) {
+        return SseEmitter.event()
+                .id(String.valueOf(activity.id()))
+                .name(EVENT_ACTIVITY)
+                .data(activity, MediaType.APPLICATION_JSON);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        channels.values().forEach(channel -> channel.subscribers.forEach(Subscriber::complete));
+        executor.shutdown();
+        if (!executor.awaitTermination(5, TimeUnit.SECONDS)) {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Ring buffer of one project's latest entries plus its subscribers.
+     * Buffer methods are called with the channel's monitor held.
+     */
+    static final class Channel {
+        private final TaskActivity[] ring;
+        private int head;
+        private int size;
+        private long evictedUpTo = Long.MIN_VALUE;
+        final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+        volatile boolean seeded;
+        // True while the buffer holds the project's whole history
+        boolean complete;
+        volatile long lastUsed = System.currentTimeMillis();
+
+        Channel(int capacity) {
+            this.ring = new TaskActivity[capacity];
+        }
+
+        void touch() {
+            lastUsed = System.currentTimeMillis();
+        }
+
+        /**
+         * @return false if the entry was already buffered
+         */
+        boolean add(TaskActivity activity) {
+            for (int i = 0; i < size; i++) {
+                if (ring[(head + i) % ring.length].id().equals(activity.id())) {
+                    return false;
+                }
+            }
+            if (size == ring.length) {
+                evictedUpTo = Math.max(evictedUpTo, ring[head].id());
+                complete = false;
+                ring[head] = activity;
+                head = (head + 1) % ring.length;
+            } else {
+                ring[(head + size) % ring.length] = activity;
+                size++;
+            }
+            return true;
+        }
+
+        synchronized boolean covers(long lastEventId) {
+            if (complete) {
+                return true;
+            }
+            if (size == 0) {
+                return false;
+            }
+            // Every entry newer than the last one left out (evicted, or not seeded) is buffered
+            return lastEventId >= evictedUpTo;
+        }
+
+        synchronized List<TaskActivity> entriesAfter(long id) {
+            List<TaskActivity> entries = new ArrayList<>();
+            for (int i = 0; i < size; i++) {
+                TaskActivity activity = ring[(head + i) % ring.length];
+                if (activity.id() > id) {
+                    entries.add(activity);
+                }
+            }
+            return entries;
+        }
+
+        void removeTask(Long taskId) {
+            List<TaskActivity> kept = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                TaskActivity activity = ring[(head + i) % ring.length];
+                if (!taskId.equals(activity.task().id())) {
+                    kept.add(activity);
+                }
+            }
+            Arrays.fill(ring, null);
+            head = 0;
+            size = kept.size();
+            for (int i = 0; i < size; i++) {
+                ring[i] = kept.get(i);
+            }
+        }
+    }
+
+    /**
+     * One connected client. Events are queued and sent in order by a single drain task
+     * at a time; a client that lets too many pile up is disconnected and resumes later
+     * with Last-Event-ID.
+     */
+    final class Subscriber {
+        private final SseEmitter emitter;
+        private final Queue<SseEmitter.SseEventBuilder> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger pendingCount = new AtomicInteger();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean closed;
+
+        Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        void enqueue(SseEmitter.SseEventBuilder event) {
+            if (closed) {
+                return;
+            }
+            if (pendingCount.incrementAndGet() > maxPending) {
+                log.debug("Activity stream client too slow, disconnecting it");
+                complete();
+                return;
+            }
+            pending.add(event);
+            scheduleDrain();
+        }
+
+        private void scheduleDrain() {
+            if (draining.compareAndSet(false, true)) {
+                executor.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                SseEmitter.SseEventBuilder event;
+                while (!closed && (event = pending.poll()) != null) {
+                    pendingCount.decrementAndGet();
+                    emitter.send(event);
+                }
+            } catch (IOException | IllegalStateException e) {
+                // Client gone, the emitter callbacks unregister it
+                closed = true;
+                emitter.completeWithError(e);
+            } finally {
+                draining.set(false);
+            }
+            if (!closed && !pending.isEmpty()) {
+                scheduleDrain();
+            }
+        }
+
+        void complete() {
+            closed = true;
+            pending.clear();
+            emitter.complete();
+        }
+    }
+}
@@ -27,6 +27,7 @@ public class ProjectInvitationService {
     private final ProjectService projectService;
     private final UserService userService;
     private final EmailService emailService;
+    private final ExpirySweeper expirySweeper;
 
     @Value("${spring.application.base-url:http://localhost:4200}")
     private String baseUrl;
@@ -83,7 +84,7 @@ public class ProjectInvitationService {
     private void sendInvitationEmail(ProjectInvitation invitation) {
         try {
             boolean userExists = userService.findByEmail(invitation.getEmail()).isPresent();
-            String roleDisplay = mapRoleToFrench(invitation.getRole());
+            String roleDisplay = invitation.getRole().getLabel();
 
             emailService.sendProjectInvitationSmart(
                     invitation.getEmail(),
@@ -96,7 +97,7 @@ public class ProjectInvitationService {
                     baseUrl
             );
 
-            log.info("Invitation email sent to {} for project {}",
+            log.info("Invitation email queued for {} for project {}",
                     invitation.getEmail(), invitation.getProject().getName());
 
         } catch (Exception e) {
@@ -176,26 +177,9 @@ public class ProjectInvitationService {
     }
 
     /**
-     * Clean up expired invitations
+     * Clean up expired invitations, in chunks (also run periodically by ExpirySweeper)
      */
-    @Transactional
     public int cleanupExpiredInvitations() {
-        return invitationRepository.expireOldInvitations(LocalDateTime.now());
-    }
-
-    /**
-     * Map ProjectRole enum to French display text
-     */
-    private String mapRoleToFrench(ProjectMember.ProjectRole role) {
-        switch (role) {
-            case ADMIN:
-                return "Administrateur";
-            case MEMBER:
-                return "Membre";
-            case OBSERVER:
-                return "Observateur";
-            default:
-                return role.toString();
-        }
+        return expirySweeper.expireInvitations();
     }
 }
@@ -0,0 +1,177 @@
+package com.example.demo.service;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.demo.model.ProjectDeletionJob;
+import com.example.demo.repository.ProjectDeletionJobRepository;
+import com.example.demo.repository.ProjectMemberRepository;
+import com.example.demo.repository.ProjectRepository;
+import com.example.demo.repository.ProjectTaskStatRepository;
+import com.example.demo.repository.TaskHistoryRepository;
+import com.example.demo.repository.TaskRepository;
+import com.example.demo.security.ProjectAuthorization;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Removes the data of soft-deleted projects.
+ *
+ * Work is done in chunks, each in its own short transaction: the project's history, then
+ * its tasks, then its members, and finally the settings, task counters and the project row.
+ * Every step only deletes rows that still exist, so a job interrupted by a failure or a
+ * restart simply resumes on the next run.
+ */
+@Component
+@Slf4j
+public class ProjectPurgeWorker {
+
+    private final ProjectDeletionJobRepository projectDeletionJobRepository;
+    private final ProjectRepository projectRepository;
+    private final ProjectMemberRepository projectMemberRepository;
+    private final TaskRepository taskRepository;
+    private final TaskHistoryRepository taskHistoryRepository;
+    private final ProjectTaskStatRepository projectTaskStatRepository;
+    private final ProjectSettingsService projectSettingsService;
+    private final ProjectAuthorization projectAuthorization;
+    private final TransactionTemplate transactionTemplate;
+    private final ReentrantLock runLock = new ReentrantLock();
+
+    private final int taskChunkSize;
+    private final int historyChunkSize;
+
+    private final Counter deletedRows;
+    private final Counter completedJobs;
+
+    public ProjectPurgeWorker(ProjectDeletionJobRepository projectDeletionJobRepository,
+            ProjectRepository projectRepository,
+            ProjectMemberRepository projectMemberRepository,
+            TaskRepository taskRepository,
+            TaskHistoryRepository taskHistoryRepository,
+            ProjectTaskStatRepository projectTaskStatRepository,
+            ProjectSettingsService projectSettingsService,
+            ProjectAuthorization projectAuthorization,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${app.projects.purge.task-chunk-size:200}") int taskChunkSize,
+            @Value("${app.projects.purge.history-chunk-size:1000}") int historyChunkSize) {
+        this.projectDeletionJobRepository = projectDeletionJobRepository;
+        this.projectRepository = projectRepository;
+        this.projectMemberRepository = projectMemberRepository;
+        this.taskRepository = taskRepository;
+        this.taskHistoryRepository = taskHistoryRepository;
+        this.projectTaskStatRepository = projectTaskStatRepository;
+        this.projectSettingsService = projectSettingsService;
+        this.projectAuthorization = projectAuthorization;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.taskChunkSize = taskChunkSize;
+        this.historyChunkSize = historyChunkSize;
+
+        this.deletedRows = meterRegistry.counter("project.purge.rows");
+        this.completedJobs = meterRegistry.counter("project.purge.jobs");
+    }
+
+    /**
+     * Process every unfinished deletion job, oldest first.
+     */
+    @Scheduled(fixedDelayString = "${app.projects.purge.poll-interval-ms:5000}")
+    public void run() {
+        if (!runLock.tryLock()) {
+            return;
+        }
+        try {
+            List<ProjectDeletionJob> jobs = projectDeletionJobRepository.findByStatusInOrderByIdAsc(
+                    EnumSet.of(ProjectDeletionJob.Status.PENDING, ProjectDeletionJob.Status.RUNNING));
+            for (ProjectDeletionJob job : jobs) {
+                try {
+                    purge(job);
+                } catch (Exception e) {
+                    // The job stays RUNNING and is resumed on the next run
+                    log.error("Purge of project {} (job {}) failed: {}", job.getProjectId(), job.getId(), e.getMessage());
+                    transactionTemplate.executeWithoutResult(status ->
+                            projectDeletionJobRepository.recordError(job.getId(), truncate(e.getMessage())));
+                }
+            }
+        } finally {
+            runLock.unlock();
+        }
+    }
+
+    void purge(ProjectDeletionJob job) {
+        Long jobId = job.getId();
+        Long projectId = job.getProjectId();
+
+        if (job.getStatus() == ProjectDeletionJob.Status.PENDING) {
+            transactionTemplate.executeWithoutResult(status -> projectDeletionJobRepository.markRunning(jobId,
+                    taskRepository.countByProjectId(projectId),
+                    taskHistoryRepository.countByProjectId(projectId),
+                    projectMemberRepository.countByProjectId(projectId),
+                    LocalDateTime.now()));
+            log.info("Purging project {} (job {})", projectId, jobId);
+        }
+
+        deleteHistory(jobId, projectId);
+
+        List<Long> taskIds;
+        while (!(taskIds = taskRepository.findIdsByProjectId(projectId, PageRequest.of(0, taskChunkSize))).isEmpty()) {
+            List<Long> chunk = taskIds;
+            transactionTemplate.executeWithoutResult(status ->
+                    record(jobId, taskRepository.deleteByIdIn(chunk), 0, 0));
+        }
+
+        List<Long> memberIds;
+        while (!(memberIds = projectMemberRepository.findIdsByProjectId(projectId, PageRequest.of(0, taskChunkSize))).isEmpty()) {
+            List<Long> chunk = memberIds;
+            transactionTemplate.executeWithoutResult(status ->
+                    record(jobId, 0, 0, projectMemberRepository.deleteByIdIn(chunk)));
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            projectSettingsService.deleteByProjectId(projectId);
+            projectTaskStatRepository.deleteByProjectId(projectId);
+            projectRepository.deleteProjectById(projectId);
+            projectDeletionJobRepository.markDone(jobId, LocalDateTime.now());
+        });
+        projectAuthorization.evictProject(projectId);
+        completedJobs.increment();
+        log.info("Project {} purged (job {})", projectId, jobId);
+    }
+
+    private void deleteHistory(Long jobId, Long projectId) {
+        int deleted;
+        do {
+            deleted = transactionTemplate.execute(status -> {
+                List<Long> ids = taskHistoryRepository.findIdsByProjectId(projectId, PageRequest.of(0, historyChunkSize));
+                if (ids.isEmpty()) {
+                    return 0;
+                }
+                int count = taskHistoryRepository.deleteByIdIn(ids);
+                record(jobId, 0, count, 0);
+                return count;
+            });
+        } while (deleted > 0);
+    }
+
+    private void record(Long jobId, int tasks, int history, int members) {
+        projectDeletionJobRepository.addProgress(jobId, tasks, history, members);
+        deletedRows.increment(tasks + history + members);
+    }
+
+    private static String truncate(String message) {
+        if (message == null) {
+            return null;
+        }
+        return message.length() <= 1000 ? message : message.substring(0, 1000);
+    }
+}
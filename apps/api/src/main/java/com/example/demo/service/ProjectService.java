@@ -1,25 +1,40 @@
 package com.example.demo.service;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Base64;
 import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
+import com.example.demo.dto.CursorPage;
+import com.example.demo.dto.project.MemberView;
+import com.example.demo.dto.project.ProjectSummary;
 import com.example.demo.model.Project;
+import com.example.demo.model.ProjectDeletionJob;
 import com.example.demo.model.ProjectMember;
 import com.example.demo.model.User;
+import com.example.demo.repository.ProjectDeletionJobRepository;
 import com.example.demo.repository.ProjectMemberRepository;
 import com.example.demo.repository.ProjectRepository;
-import com.example.demo.repository.TaskHistoryRepository;
-import com.example.demo.repository.TaskRepository;
 import com.example.demo.repository.UserRepository;
+import com.example.demo.search.TaskSearchService;
+import com.example.demo.security.ProjectAuthorization;
 
 import jakarta.transaction.Transactional;
+import lombok.extern.slf4j.Slf4j;
 
 @Service
+@Slf4j
 public class ProjectService {
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+
     @Autowired
     private ProjectRepository projectRepository;
     @Autowired
@@ -29,16 +44,59 @@ public class ProjectService {
     @Autowired
     private ProjectSettingsService projectSettingsService;
     @Autowired
-    private TaskHistoryRepository taskHistoryRepository;
+    private ProjectDeletionJobRepository projectDeletionJobRepository;
+    @Autowired
+    private ProjectAuthorization projectAuthorization;
+    @Autowired
+    private ProjectActivityFeed activityFeed;
     @Autowired
-    private TaskRepository taskRepository;
+    private TaskSearchService taskSearchService;
 
     public List<Project> getAllProjects() {
         return projectRepository.findAll();
     }
 
+    /**
+     * Keyset-paginated listing of the projects the user is a member of, with their counts.
+     * Fetches {@code limit + 1} rows to know whether another page exists.
+     */
+    public CursorPage<ProjectSummary> getUserProjects(Long userId, String cursor, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        Long afterId = cursor != null && !cursor.isBlank() ? decodeCursor(cursor) : null;
+        List<ProjectSummary> rows = projectMemberRepository.findSummariesByUserId(userId, afterId,
+                PageRequest.of(0, pageSize + 1));
+
+        boolean hasMore = rows.size() > pageSize;
+        List<ProjectSummary> items = hasMore ? rows.subList(0, pageSize) : rows;
+        String nextCursor = hasMore ? encodeCursor(items.get(items.size() - 1).id()) : null;
+        return new CursorPage<>(items, nextCursor, hasMore);
+    }
+
+    private static String encodeCursor(Long projectId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(projectId.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Long decodeCursor(String cursor) {
+        try {
+            return Long.valueOf(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException e) {
+            // Covers bad base64 and NumberFormatException
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+
     @Transactional
     public Project createProject(String name, String description, LocalDate startDate, User creator) {
+        return createProject(name, description, startDate, creator, null);
+    }
+
+    /**
+     * Create a project with its creator as admin, its statuses and priorities copied from
+     * the given template (the default one when {@code templateId} is null).
+     */
+    @Transactional
+    public Project createProject(String name, String description, LocalDate startDate, User creator, Long templateId) {
         if (projectRepository.existsByName(name)) {
             throw new IllegalArgumentException("Project name already exists");
         }
@@ -55,8 +113,8 @@ public class ProjectService {
         member.setRole(ProjectMember.ProjectRole.ADMIN);
         projectMemberRepository.save(member);
         
-        // Initialize default project settings
-        projectSettingsService.initializeDefaultProjectSettings(project);
+        // Copy the template's statuses and priorities
+        projectSettingsService.initializeProjectSettings(project, templateId);
         
         return project;
     }
@@ -65,8 +123,8 @@ public class ProjectService {
         return projectRepository.findById(id);
     }
 
-    public List<ProjectMember> getProjectMembers(Project project) {
-        return projectMemberRepository.findByProject(project);
+    public List<MemberView> getProjectMembers(Project project) {
+        return projectMemberRepository.findViewsByProjectId(project.getId());
     }
 
     public ProjectMember inviteMember(Project project, String email, ProjectMember.ProjectRole role) {
@@ -79,25 +137,26 @@ public class ProjectService {
         member.setProject(project);
         member.setUser(user);
         member.setRole(role);
-        return projectMemberRepository.save(member);
+        ProjectMember saved = projectMemberRepository.save(member);
+        projectAuthorization.evict(project.getId(), user.getId());
+        return saved;
     }
 
     public ProjectMember changeMemberRole(Project project, User user, ProjectMember.ProjectRole newRole) {
         ProjectMember member = projectMemberRepository.findByProjectAndUser(project, user)
                 .orElseThrow(() -> new IllegalArgumentException("Member not found"));
         member.setRole(newRole);
-        return projectMemberRepository.save(member);
+        ProjectMember saved = projectMemberRepository.save(member);
+        projectAuthorization.evict(project.getId(), user.getId());
+        return saved;
     }
 
     public boolean isAdmin(Project project, User user) {
-        return projectMemberRepository.findByProjectAndUser(project, user)
-                .map(m -> m.getRole() == ProjectMember.ProjectRole.ADMIN)
-                .orElse(false);
+        return projectAuthorization.isAdmin(project.getId(), user.getId());
     }
 
     public boolean isMember(Project project, User user) {
-        return projectMemberRepository.findByProjectAndUser(project, user)
-                .isPresent();
+        return projectAuthorization.isMember(project.getId(), user.getId());
     }
 
     /**
@@ -123,7 +182,9 @@ public class ProjectService {
         member.setProject(project);
         member.setUser(user);
         member.setRole(role);
-        return projectMemberRepository.save(member);
+        ProjectMember saved = projectMemberRepository.save(member);
+        projectAuthorization.evict(project.getId(), user.getId());
+        return saved;
     }
 
     /**
@@ -142,50 +203,39 @@ public class ProjectService {
     }
 
     /**
-     * Delete a project and all its associated data
-     * This includes: ProjectMembers, Tasks, TaskHistories, TaskStatus, TaskPriority
+     * Delete a project.
+     *
+     * The project is hidden and its name released right away; its history, tasks, members
+     * and settings are removed in the background by ProjectPurgeWorker. Follow the returned
+     * job to see the progress.
      */
     @Transactional
-    public void deleteProject(Long projectId) {
+    public ProjectDeletionJob deleteProject(Long projectId, User requestedBy) {
         try {
-            // Verify the project exists before deletion
-            if (!projectRepository.existsById(projectId)) {
-                throw new RuntimeException("Project with ID " + projectId + " does not exist");
+            Project project = projectRepository.findById(projectId)
+                    .orElseThrow(() -> new RuntimeException("Project with ID " + projectId + " does not exist"));
+
+            if (projectRepository.softDelete(projectId, "deleted-" + projectId + "-" + UUID.randomUUID(), LocalDateTime.now()) == 0) {
+                throw new RuntimeException("Project with ID " + projectId + " is already being deleted");
             }
-            
-            System.out.println("Starting deletion of project ID: " + projectId);
-            
-            // Step 1: Delete task histories first to avoid foreign key constraint violations
-            System.out.println("Deleting task histories for project: " + projectId);
-            taskHistoryRepository.deleteByProjectId(projectId);
-            
-            // Step 2: Clear task assignees to break Task -> User relationships
-            System.out.println("Clearing task assignees");
-            taskRepository.clearAssigneesByProjectId(projectId);
-            
-            // Step 2.1: Delete tasks associated with the project
-            // This is optional, as clearing assignees should suffice for most cases
-            System.out.println("Deleting tasks for project: " + projectId);
-            taskRepository.deleteByProjectId(projectId);
-            
-            // Step 2.2: Delete project members
-            System.out.println("Deleting project members for project: " + projectId);
-            projectMemberRepository.deleteByProjectId(projectId);
-            
-            // Step 2.3: Delete project settings if applicable
-            // Assuming there's a method to delete project settings
-            System.out.println("Deleting project settings for project: " + projectId);
-            projectSettingsService.deleteByProjectId(projectId);
-            
-            // Step 3: Use native SQL deletion to avoid Hibernate cascade issues
-            // This bypasses Hibernate's entity loading and cascade management
-            System.out.println("Deleting project entity with ID: " + projectId);
-            projectRepository.deleteProjectById(projectId);
-            
-            System.out.println("Successfully deleted project ID: " + projectId);
+            ProjectDeletionJob job = projectDeletionJobRepository.save(ProjectDeletionJob.builder()
+                    .projectId(projectId)
+                    .projectName(project.getName())
+                    .requestedBy(requestedBy != null ? requestedBy.getId() : null)
+                    .build());
+            projectAuthorization.evictProject(projectId);
+            activityFeed.closeProject(projectId);
+            taskSearchService.removeProject(projectId);
+
+            log.info("Project {} marked as deleted, purge job {} queued", projectId, job.getId());
+            return job;
         } catch (Exception e) {
-            System.err.println("Error deleting project with ID: " + projectId + " - " + e.getMessage());
+            log.error("Error deleting project with ID {}: {}", projectId, e.getMessage());
             throw new RuntimeException("Failed to delete project: " + e.getMessage(), e);
         }
     }
+
+    public Optional<ProjectDeletionJob> getDeletionJob(Long jobId) {
+        return projectDeletionJobRepository.findById(jobId);
+    }
 }
@@ -0,0 +1,160 @@
+package com.example.demo.service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.demo.dto.task.PriorityView;
+import com.example.demo.dto.task.StatusView;
+import com.example.demo.repository.ProjectRepository;
+import com.example.demo.repository.TaskPriorityRepository;
+import com.example.demo.repository.TaskStatusRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Serialized JSON of a project's statuses and priorities, tagged with the project's
+ * settings version. A hit costs neither a query nor a serialization. A miss loads the
+ * list and the project the entries share, inside a read-only transaction.
+ *
+ * ProjectSettingsService bumps the version and calls {@link #evictProject(Long)} on every
+ * change; the TTL bounds staleness on the other instances, which are not told.
+ *
+ * An eviction also bumps the project's generation (one of a fixed set of counters the
+ * projects hash to). A reader only stores what it loaded if the generation has not moved
+ * since it started, so a load that raced an eviction cannot put the old JSON back.
+ */
+@Component
+public class ProjectSettingsCache {
+
+    private static final int GENERATIONS = 1024;
+
+    private enum Kind {
+        STATUSES, PRIORITIES
+    }
+
+    /**
+     * The JSON body of a settings list and the version it was read at.
+     */
+    public record SettingsJson(long version, byte[] json) {
+
+        public String etag() {
+            return "\"" + version + "\"";
+        }
+    }
+
+    private final ProjectRepository projectRepository;
+    private final TaskStatusRepository taskStatusRepository;
+    private final TaskPriorityRepository taskPriorityRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readTransaction;
+    private final Cache<SettingsKey, SettingsJson> entries;
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATIONS);
+    private final Counter cacheHits;
+    private final Counter cacheMisses;
+
+    public ProjectSettingsCache(ProjectRepository projectRepository,
+            TaskStatusRepository taskStatusRepository,
+            TaskPriorityRepository taskPriorityRepository,
+            ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${app.settings.cache.max-size:10000}") long maxSize,
+            @Value("${app.settings.cache.ttl-seconds:300}") long ttlSeconds) {
+        this.projectRepository = projectRepository;
+        this.taskStatusRepository = taskStatusRepository;
+        this.taskPriorityRepository = taskPriorityRepository;
+        this.objectMapper = objectMapper;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+        this.cacheHits = meterRegistry.counter("project.settings.cache", "result", "hit");
+        this.cacheMisses = meterRegistry.counter("project.settings.cache", "result", "miss");
+    }
+
+    public SettingsJson statuses(Long projectId) {
+        return get(projectId, Kind.STATUSES);
+    }
+
+    public SettingsJson priorities(Long projectId) {
+        return get(projectId, Kind.PRIORITIES);
+    }
+
+    public void evictProject(Long projectId) {
+        runNowAndAfterCommit(() -> {
+            generations.incrementAndGet(generationIndex(projectId));
+            entries.invalidate(new SettingsKey(projectId, Kind.STATUSES));
+            entries.invalidate(new SettingsKey(projectId, Kind.PRIORITIES));
+        });
+    }
+
+    private SettingsJson get(Long projectId, Kind kind) {
+        SettingsKey key = new SettingsKey(projectId, kind);
+        SettingsJson cached = entries.getIfPresent(key);
+        if (cached != null) {
+            cacheHits.increment();
+            return cached;
+        }
+        cacheMisses.increment();
+        int generationIndex = generationIndex(projectId);
+        long generation = generations.get(generationIndex);
+        SettingsJson loaded = readTransaction.execute(status -> load(projectId, kind));
+        // Under the key's lock: an eviction either moved the generation before, and the
+        // entry is not stored, or invalidates it after
+        entries.asMap().compute(key, (k, current) ->
+                generations.get(generationIndex) == generation ? loaded : current);
+        return loaded;
+    }
+
+    private static int generationIndex(Long projectId) {
+        return Long.hashCode(projectId) & (GENERATIONS - 1);
+    }
+
+    // The version is read before the list: a concurrent change can only make the
+    // entry's content newer than its version, never older
+    private SettingsJson load(Long projectId, Kind kind) {
+        long version = projectRepository.findSettingsVersion(projectId)
+                .orElseThrow(() -> new IllegalArgumentException("Projet non trouvé"));
+        List<?> settings = kind == Kind.STATUSES
+                ? taskStatusRepository.findByProjectIdOrderByOrderIndexAsc(projectId).stream()
+                        .map(StatusView::of).toList()
+                : taskPriorityRepository.findByProjectIdOrderByLevelDesc(projectId).stream()
+                        .map(PriorityView::of).toList();
+        try {
+            return new SettingsJson(version, objectMapper.writeValueAsBytes(settings));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize the settings of project " + projectId, e);
+        }
+    }
+
+    // A reader running before the commit could cache the old settings again, so evict twice
+    private void runNowAndAfterCommit(Runnable eviction) {
+        eviction.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    eviction.run();
+                }
+            });
+        }
+    }
+
+    private record SettingsKey(Long projectId, Kind kind) {
+    }
+}
@@ -8,13 +8,18 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.example.demo.model.Project;
+import com.example.demo.model.ProjectTemplate;
 import com.example.demo.model.TaskPriority;
 import com.example.demo.model.TaskStatus;
+import com.example.demo.repository.ProjectRepository;
 import com.example.demo.repository.TaskPriorityRepository;
 import com.example.demo.repository.TaskStatusRepository;
 
+import lombok.extern.slf4j.Slf4j;
+
 @Service
 @Transactional
+@Slf4j
 public class ProjectSettingsService {
 
     @Autowired
@@ -23,6 +28,15 @@ public class ProjectSettingsService {
     @Autowired
     private TaskPriorityRepository taskPriorityRepository;
 
+    @Autowired
+    private ProjectTemplateService projectTemplateService;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private ProjectSettingsCache projectSettingsCache;
+
     // Task Status Management
     public List<TaskStatus> getProjectStatuses(Project project) {
         return taskStatusRepository.findByProjectOrderByOrderIndexAsc(project);
@@ -45,6 +59,7 @@ public class ProjectSettingsService {
         taskStatus.setOrderIndex(orderIndex != null ? orderIndex : getNextStatusOrder(project));
         taskStatus.setIsDefault(false);
 
+        settingsChanged(project.getId());
         return taskStatusRepository.save(taskStatus);
     }
 
@@ -69,6 +84,7 @@ public class ProjectSettingsService {
             taskStatus.setOrderIndex(orderIndex);
         }
 
+        settingsChanged(taskStatus.getProject().getId());
         return taskStatusRepository.save(taskStatus);
     }
 
@@ -80,6 +96,7 @@ public class ProjectSettingsService {
             throw new IllegalArgumentException("Impossible de supprimer le statut par défaut");
         }
 
+        settingsChanged(taskStatus.getProject().getId());
         taskStatusRepository.delete(taskStatus);
     }
 
@@ -96,6 +113,7 @@ public class ProjectSettingsService {
 
         // Set this status as default
         taskStatus.setIsDefault(true);
+        settingsChanged(taskStatus.getProject().getId());
         return taskStatusRepository.save(taskStatus);
     }
 
@@ -133,6 +151,7 @@ public class ProjectSettingsService {
             taskPriority.setFinishState(TaskPriority.State.valueOf(finishState));
         }
 
+        settingsChanged(taskPriority.getProject().getId());
         return taskPriorityRepository.save(taskPriority);
     }
 
@@ -169,6 +188,7 @@ public class ProjectSettingsService {
             taskPriority.setFinishState(TaskPriority.State.valueOf(finishState));
         }
 
+        settingsChanged(taskPriority.getProject().getId());
         return taskPriorityRepository.save(taskPriority);
     }
 
@@ -180,6 +200,7 @@ public class ProjectSettingsService {
             throw new IllegalArgumentException("Impossible de supprimer la priorité par défaut");
         }
 
+        settingsChanged(taskPriority.getProject().getId());
         taskPriorityRepository.delete(taskPriority);
     }
 
@@ -196,10 +217,21 @@ public class ProjectSettingsService {
 
         // Set this priority as default
         taskPriority.setIsDefault(true);
+        settingsChanged(taskPriority.getProject().getId());
         return taskPriorityRepository.save(taskPriority);
     }
 
     // Helper methods
+
+    /**
+     * Every change to a project's statuses or priorities goes through here: it changes
+     * the ETag of the settings endpoints and drops their cached JSON.
+     */
+    private void settingsChanged(Long projectId) {
+        projectRepository.incrementSettingsVersion(projectId);
+        projectSettingsCache.evictProject(projectId);
+    }
+
     private Integer getNextStatusOrder(Project project) {
         List<TaskStatus> statuses = taskStatusRepository.findByProjectOrderByOrderIndexAsc(project);
         return statuses.isEmpty() ? 1 : statuses.get(statuses.size() - 1).getOrderIndex() + 1;
@@ -210,33 +242,24 @@ public class ProjectSettingsService {
         return priorities.isEmpty() ? 1 : priorities.get(0).getLevel() + 1;
     }
 
-    // Initialize default statuses and priorities for new projects
-    public void initializeDefaultProjectSettings(Project project) {
-        // Create default statuses
-        if (taskStatusRepository.countByProjectId(project.getId()) == 0) {
-            createTaskStatus(project, "À faire", "Tâches qui doivent être commencées", "#6B7280", 1);
-            createTaskStatus(project, "En cours", "Tâches actuellement en développement", "#F59E0B", 2);
-            createTaskStatus(project, "Terminé", "Tâches complètement achevées", "#10B981", 3);
-
-            // Set first status as default
-            Optional<TaskStatus> firstStatus = taskStatusRepository.findByProjectAndName(project, "À faire");
-            if (firstStatus.isPresent()) {
-                setDefaultStatus(firstStatus.get().getId());
-            }
-        }
-
-        // Create default priorities
-        if (taskPriorityRepository.countByProjectId(project.getId()) == 0) {
-            createTaskPriority(project, "Basse", "Priorité faible - peut être fait plus tard", "#6B7280", 1, "TODO", "DOING", "FINISH");
-            createTaskPriority(project, "Normale", "Priorité normale - travail standard", "#3B82F6", 2, "TODO", "DOING", "FINISH");
-            createTaskPriority(project, "Haute", "Priorité élevée - doit être fait rapidement", "#EF4444", 3, "TODO", "DOING", "FINISH");
-
-            // Set normal priority as default
-            Optional<TaskPriority> normalPriority = taskPriorityRepository.findByProjectAndName(project, "Normale");
-            if (normalPriority.isPresent()) {
-                setDefaultPriority(normalPriority.get().getId());
-            }
+    /**
+     * Give a new project the statuses and priorities of a template, the default one when
+     * {@code templateId} is null. With pooled ids each list goes out as a single JDBC batch
+     * (a multi-row INSERT once the MySQL driver rewrites it).
+     */
+    public void initializeProjectSettings(Project project, Long templateId) {
+        // A project being created has nothing cached and keeps version 0
+        Optional<ProjectTemplate> template = projectTemplateService.getTemplate(templateId);
+        if (template.isEmpty()) {
+            log.warn("No default project template, project {} starts without statuses and priorities", project.getId());
+            return;
         }
+        taskStatusRepository.saveAll(template.get().getStatuses().stream()
+                .map(status -> status.toStatus(project))
+                .toList());
+        taskPriorityRepository.saveAll(template.get().getPriorities().stream()
+                .map(priority -> priority.toPriority(project))
+                .toList());
     }
 
     @Transactional
@@ -244,6 +267,7 @@ public class ProjectSettingsService {
        try {
             taskStatusRepository.deleteByProjectId(projectId);
             taskPriorityRepository.deleteByProjectId(projectId);
+            projectSettingsCache.evictProject(projectId);
         } catch (Exception e) {
             throw new RuntimeException("Failed to delete project settings for project ID: " + projectId, e);
         }
@@ -0,0 +1,68 @@
+package com.example.demo.service;
+
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.example.demo.repository.ProjectRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Periodically recomputes every project's task counters (see ProjectTaskStatsService),
+ * one project per transaction. Counters only drift through writes that bypass the
+ * services (manual SQL, a failed deploy), so a nightly run is enough.
+ */
+@Component
+@Slf4j
+public class ProjectTaskStatsReconciler {
+
+    private final ProjectRepository projectRepository;
+    private final ProjectTaskStatsService projectTaskStatsService;
+    private final ReentrantLock runLock = new ReentrantLock();
+    private final int chunkSize;
+
+    private final Counter corrections;
+
+    public ProjectTaskStatsReconciler(ProjectRepository projectRepository,
+            ProjectTaskStatsService projectTaskStatsService,
+            MeterRegistry meterRegistry,
+            @Value("${app.stats.reconcile-chunk-size:100}") int chunkSize) {
+        this.projectRepository = projectRepository;
+        this.projectTaskStatsService = projectTaskStatsService;
+        this.chunkSize = chunkSize;
+        this.corrections = meterRegistry.counter("project.stats.corrections");
+    }
+
+    @Scheduled(cron = "${app.stats.reconcile-cron:0 30 3 * * *}")
+    public void run() {
+        if (!runLock.tryLock()) {
+            return;
+        }
+        try {
+            int projects = 0;
+            long afterId = 0;
+            List<Long> projectIds;
+            while (!(projectIds = projectRepository.findIdsAfter(afterId, PageRequest.of(0, chunkSize))).isEmpty()) {
+                for (Long projectId : projectIds) {
+                    try {
+                        corrections.increment(projectTaskStatsService.reconcile(projectId));
+                    } catch (Exception e) {
+                        log.error("Reconciliation of the task counters of project {} failed: {}", projectId, e.getMessage());
+                    }
+                }
+                projects += projectIds.size();
+                afterId = projectIds.get(projectIds.size() - 1);
+            }
+            log.info("Task counters of {} projects reconciled", projects);
+        } finally {
+            runLock.unlock();
+        }
+    }
+}
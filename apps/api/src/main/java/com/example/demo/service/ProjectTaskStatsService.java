@@ -0,0 +1,272 @@
+package com.example.demo.service;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.demo.dto.task.TaskStats;
+import com.example.demo.model.ProjectTaskStat;
+import com.example.demo.model.ProjectTaskStat.Dimension;
+import com.example.demo.model.Task;
+import com.example.demo.repository.ProjectRepository;
+import com.example.demo.repository.ProjectTaskStatRepository;
+import com.example.demo.repository.TaskRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Per-project task counters (project_task_stats).
+ *
+ * Task writes call {@link #apply} with the +/- changes they cause, inside their own
+ * transaction, so the counters commit or roll back with the task. A missing counter row
+ * is first created at zero by a native insert-if-absent, in the same transaction so a
+ * write never holds a second pool connection; concurrent writers creating the same row
+ * do not fail. The increment itself is a single atomic UPDATE.
+ * {@link #reconcile} recomputes a project's counters from the task table.
+ */
+@Service
+@Slf4j
+public class ProjectTaskStatsService {
+
+    private final ProjectTaskStatRepository statRepository;
+    private final TaskRepository taskRepository;
+    private final ProjectRepository projectRepository;
+    private final boolean mysql;
+
+    @Autowired
+    public ProjectTaskStatsService(ProjectTaskStatRepository statRepository,
+            TaskRepository taskRepository,
+            ProjectRepository projectRepository,
+            DataSource dataSource) throws SQLException {
+        this(statRepository, taskRepository, projectRepository, isMySql(dataSource));
+    }
+
+    ProjectTaskStatsService(ProjectTaskStatRepository statRepository,
+            TaskRepository taskRepository,
+            ProjectRepository projectRepository,
+            boolean mysql) {
+        this.statRepository = statRepository;
+        this.taskRepository = taskRepository;
+        this.projectRepository = projectRepository;
+        this.mysql = mysql;
+    }
+
+    private static boolean isMySql(DataSource dataSource) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            return connection.getMetaData().getDatabaseProductName().toLowerCase().contains("mysql");
+        }
+    }
+
+    /**
+     * Changes to the counters of one project. Opposite changes cancel out.
+     */
+    public static class Delta {
+        private final Long projectId;
+        // Sorted so that concurrent writers lock the rows in the same order
+        private final Map<ProjectTaskStat.Key, Long> changes = new TreeMap<>();
+
+        public Delta(Long projectId) {
+            this.projectId = projectId;
+        }
+
+        public Delta addTask(Task task, int sign) {
+            change(Dimension.TOTAL, 0L, sign);
+            change(Dimension.STATUS, statusId(task), sign);
+            change(Dimension.PRIORITY, priorityId(task), sign);
+            change(Dimension.ASSIGNEE, assigneeId(task), sign);
+            change(Dimension.DUE_DATE, dayKey(task.getDueDate()), sign);
+            return this;
+        }
+
+        public Delta updateTask(Task before, Task after) {
+            move(Dimension.STATUS, statusId(before), statusId(after));
+            move(Dimension.PRIORITY, priorityId(before), priorityId(after));
+            move(Dimension.ASSIGNEE, assigneeId(before), assigneeId(after));
+            return moveDueDate(before.getDueDate(), after.getDueDate());
+        }
+
+        /**
+         * One task leaving {@code from} for {@code to} in a dimension (either may be null).
+         */
+        public Delta move(Dimension dimension, Long from, Long to) {
+            if (!Objects.equals(from, to)) {
+                change(dimension, from, -1);
+                change(dimension, to, 1);
+            }
+            return this;
+        }
+
+        public Delta moveDueDate(LocalDate from, LocalDate to) {
+            return move(Dimension.DUE_DATE, dayKey(from), dayKey(to));
+        }
+
+        private void change(Dimension dimension, Long key, long amount) {
+            if (key != null) {
+                changes.merge(new ProjectTaskStat.Key(projectId, dimension, key), amount, Long::sum);
+            }
+        }
+
+        Map<ProjectTaskStat.Key, Long> changes() {
+            changes.values().removeIf(amount -> amount == 0);
+            return changes;
+        }
+
+        Long projectId() {
+            return projectId;
+        }
+    }
+
+    public void taskCreated(Task task) {
+        apply(new Delta(task.getProject().getId()).addTask(task, 1));
+    }
+
+    public void taskDeleted(Task task) {
+        apply(new Delta(task.getProject().getId()).addTask(task, -1));
+    }
+
+    public void taskUpdated(Task before, Task after) {
+        apply(new Delta(after.getProject().getId()).updateTask(before, after));
+    }
+
+    /**
+     * Apply the changes in the caller's transaction (one UPDATE per changed counter).
+     */
+    public void apply(Delta delta) {
+        Map<ProjectTaskStat.Key, Long> changes = delta.changes();
+        if (changes.isEmpty()) {
+            return;
+        }
+        // Create missing rows before any UPDATE, so that every UPDATE hits its row
+        Set<Long> keys = new HashSet<>();
+        changes.keySet().forEach(key -> keys.add(key.getDimensionKey()));
+        Set<ProjectTaskStat.Key> existing = new HashSet<>(statRepository.findKeys(delta.projectId(), keys));
+        for (ProjectTaskStat.Key key : changes.keySet()) {
+            if (!existing.contains(key)) {
+                createRow(key);
+            }
+        }
+        changes.forEach((key, amount) -> {
+            if (statRepository.increment(key.getProjectId(), key.getDimension(), key.getDimensionKey(), amount) == 0) {
+                statRepository.save(new ProjectTaskStat(key, amount));
+            }
+        });
+    }
+
+    private void createRow(ProjectTaskStat.Key key) {
+        if (mysql) {
+            statRepository.createIfAbsentMySql(key.getProjectId(), key.getDimension().name(), key.getDimensionKey());
+        } else {
+            statRepository.createIfAbsentH2(key.getProjectId(), key.getDimension().name(), key.getDimensionKey());
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public TaskStats getStats(Long projectId) {
+        if (!projectRepository.existsById(projectId)) {
+            throw new IllegalArgumentException("Project not found");
+        }
+        long total = 0;
+        Map<Long, Long> byStatus = new HashMap<>();
+        Map<Long, Long> byPriority = new HashMap<>();
+        Map<Long, Long> byAssignee = new HashMap<>();
+        for (ProjectTaskStat stat : statRepository.findByProjectIdExcept(projectId, Dimension.DUE_DATE)) {
+            if (stat.getTaskCount() == 0) {
+                continue;
+            }
+            Long key = stat.getId().getDimensionKey();
+            switch (stat.getId().getDimension()) {
+                case TOTAL -> total = stat.getTaskCount();
+                case STATUS -> byStatus.put(key, stat.getTaskCount());
+                case PRIORITY -> byPriority.put(key, stat.getTaskCount());
+                case ASSIGNEE -> byAssignee.put(key, stat.getTaskCount());
+                default -> { }
+            }
+        }
+        Object[] due = statRepository.sumAroundDay(projectId, Dimension.DUE_DATE,
+                ProjectTaskStat.dayKey(LocalDate.now())).get(0);
+        long assigned = byAssignee.values().stream().mapToLong(Long::longValue).sum();
+        return new TaskStats(projectId, total, byStatus, byPriority, byAssignee,
+                total - assigned, total - ((Number) due[2]).longValue(),
+                ((Number) due[0]).longValue(), ((Number) due[1]).longValue());
+    }
+
+    /**
+     * Recompute the project's counters from its tasks and fix the rows that drifted.
+     * The project's counter rows are locked first, so writes that commit meanwhile apply
+     * their deltas on top of the corrected values.
+     *
+     * @return the number of counters corrected
+     */
+    @Transactional
+    public int reconcile(Long projectId) {
+        Map<ProjectTaskStat.Key, ProjectTaskStat> rows = new HashMap<>();
+        statRepository.lockByProjectId(projectId).forEach(row -> rows.put(row.getId(), row));
+
+        Map<ProjectTaskStat.Key, Long> actual = new HashMap<>();
+        actual.put(new ProjectTaskStat.Key(projectId, Dimension.TOTAL, 0L), taskRepository.countByProjectId(projectId));
+        collect(actual, projectId, Dimension.STATUS, taskRepository.countByStatus(projectId));
+        collect(actual, projectId, Dimension.PRIORITY, taskRepository.countByPriority(projectId));
+        collect(actual, projectId, Dimension.ASSIGNEE, taskRepository.countByAssignee(projectId));
+        for (Object[] row : taskRepository.countByDueDate(projectId)) {
+            actual.put(new ProjectTaskStat.Key(projectId, Dimension.DUE_DATE, ProjectTaskStat.dayKey((LocalDate) row[0])),
+                    ((Number) row[1]).longValue());
+        }
+
+        int corrected = 0;
+        // Rows are zeroed rather than deleted, a writer may be waiting on them
+        for (ProjectTaskStat row : rows.values()) {
+            long expected = actual.getOrDefault(row.getId(), 0L);
+            if (row.getTaskCount() != expected) {
+                row.setTaskCount(expected);
+                corrected++;
+            }
+        }
+        for (Map.Entry<ProjectTaskStat.Key, Long> entry : actual.entrySet()) {
+            if (!rows.containsKey(entry.getKey()) && entry.getValue() != 0) {
+                statRepository.save(new ProjectTaskStat(entry.getKey(), entry.getValue()));
+                corrected++;
+            }
+        }
+        if (corrected > 0) {
+            log.warn("Corrected {} task counters of project {}", corrected, projectId);
+        }
+        return corrected;
+    }
+
+    private static void collect(Map<ProjectTaskStat.Key, Long> actual, Long projectId, Dimension dimension,
+            List<Object[]> counts) {
+        for (Object[] row : counts) {
+            actual.put(new ProjectTaskStat.Key(projectId, dimension, ((Number) row[0]).longValue()),
+                    ((Number) row[1]).longValue());
+        }
+    }
+
+    private static Long statusId(Task task) {
+        return task.getStatus() != null ? task.getStatus().getId() : null;
+    }
+
+    private static Long priorityId(Task task) {
+        return task.getPriority() != null ? task.getPriority().getId() : null;
+    }
+
+    private static Long assigneeId(Task task) {
+        return task.getAssignee() != null ? task.getAssignee().getId() : null;
+    }
+
+    private static Long dayKey(LocalDate date) {
+        return date != null ? ProjectTaskStat.dayKey(date) : null;
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.demo.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.demo.dto.project.TemplateView;
+import com.example.demo.model.ProjectTemplate;
+import com.example.demo.model.ProjectTemplate.PriorityDefinition;
+import com.example.demo.model.ProjectTemplate.StatusDefinition;
+import com.example.demo.repository.ProjectTemplateRepository;
+import com.example.demo.repository.TaskPriorityRepository;
+import com.example.demo.repository.TaskStatusRepository;
+
+/**
+ * Project templates. A stored template is never modified, so once loaded it is kept in
+ * memory and creating a project from it reads nothing.
+ */
+@Service
+public class ProjectTemplateService {
+
+    private final ProjectTemplateRepository templateRepository;
+    private final TaskStatusRepository taskStatusRepository;
+    private final TaskPriorityRepository taskPriorityRepository;
+
+    private final Map<Long, ProjectTemplate> templates = new ConcurrentHashMap<>();
+    private volatile Long defaultTemplateId;
+
+    public ProjectTemplateService(ProjectTemplateRepository templateRepository,
+            TaskStatusRepository taskStatusRepository,
+            TaskPriorityRepository taskPriorityRepository) {
+        this.templateRepository = templateRepository;
+        this.taskStatusRepository = taskStatusRepository;
+        this.taskPriorityRepository = taskPriorityRepository;
+    }
+
+    public List<TemplateView> getTemplates() {
+        return templateRepository.findAllViews();
+    }
+
+    /**
+     * The template with this id, or the default template when {@code templateId} is null.
+     * Empty only when no default template is stored.
+     *
+     * @throws IllegalArgumentException if no template has this id
+     */
+    public Optional<ProjectTemplate> getTemplate(Long templateId) {
+        Long id = templateId != null ? templateId : getDefaultTemplateId();
+        if (id == null) {
+            return Optional.empty();
+        }
+        ProjectTemplate template = templates.get(id);
+        if (template == null) {
+            // Both lists are eagerly loaded, the cached copy is complete
+            template = templateRepository.findById(id)
+                    .orElseThrow(() -> new IllegalArgumentException("Template not found"));
+            templates.put(id, template);
+        }
+        return Optional.of(template);
+    }
+
+    private Long getDefaultTemplateId() {
+        Long id = defaultTemplateId;
+        if (id == null) {
+            id = templateRepository.findDefaultIds().stream().findFirst().orElse(null);
+            defaultTemplateId = id;
+        }
+        return id;
+    }
+
+    /**
+     * Store the current statuses and priorities of a project as a new template.
+     */
+    @Transactional
+    public ProjectTemplate createFromProject(Long projectId, String name, String description) {
+        if (name == null || name.isBlank()) {
+            throw new IllegalArgumentException("Template name is required");
+        }
+        if (templateRepository.existsByName(name)) {
+            throw new IllegalArgumentException("Template name already exists");
+        }
+        ProjectTemplate template = new ProjectTemplate();
+        template.setName(name);
+        template.setDescription(description);
+        template.setStatuses(new ArrayList<>(taskStatusRepository.findByProjectIdOrderByOrderIndexAsc(projectId).stream()
+                .map(StatusDefinition::of)
+                .toList()));
+        template.setPriorities(new ArrayList<>(taskPriorityRepository.findByProjectIdOrderByLevelDesc(projectId).stream()
+                .map(PriorityDefinition::of)
+                .toList()));
+        return templateRepository.save(template);
+    }
+}
@@ -1,8 +1,13 @@
 package com.example.demo.service;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
 import java.time.Instant;
-import java.util.Optional;
-import java.util.UUID;
+import java.util.Base64;
+import java.util.HexFormat;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
@@ -11,50 +16,153 @@ import org.springframework.transaction.annotation.Transactional;
 import com.example.demo.model.RefreshToken;
 import com.example.demo.model.User;
 import com.example.demo.repository.RefreshTokenRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
 
+/**
+ * Refresh tokens are random, stored as their SHA-256 and usable once. Each login starts a
+ * family; a refresh marks the presented token used and issues its successor in the same
+ * family, with the same expiry. A user has as many families as devices logged in.
+ *
+ * A used token presented again means it was copied: the whole family is revoked, so
+ * neither the thief nor the client can refresh any more. The exception is a token used
+ * less than the grace period ago, which is what concurrent refreshes from one client look
+ * like; those get an access token but no successor.
+ *
+ * Tokens found invalid are remembered for a while, so clients retrying with a dead token
+ * are answered without a query.
+ */
 @Service
-@RequiredArgsConstructor
+@Slf4j
 public class RefreshTokenService {
-    
+
+    /**
+     * The user to issue an access token for, and the token replacing the presented one
+     * ({@code null} when it was already replaced by a concurrent refresh).
+     */
+    public record Rotation(User user, String token, Instant expiryDate) {
+    }
+
+    private static final int TOKEN_BYTES = 32;
+
     private final RefreshTokenRepository refreshTokenRepository;
-    
-    @Value("${jwt.refresh-expiration:604800000}")
-    private long refreshTokenDurationMs;
-    
-    public RefreshToken createRefreshToken(User user) {
-        // Delete existing refresh token for this user
-        refreshTokenRepository.findByUser(user).ifPresent(refreshTokenRepository::delete);
-        
-        RefreshToken refreshToken = RefreshToken.builder()
-                .user(user)
-                .token(UUID.randomUUID().toString())
-                .expiryDate(Instant.now().plusMillis(refreshTokenDurationMs))
+    private final MeterRegistry meterRegistry;
+    private final SecureRandom random = new SecureRandom();
+    private final Cache<String, Boolean> invalidTokens;
+    private final long refreshTokenDurationMs;
+    private final Duration reuseGrace;
+
+    public RefreshTokenService(RefreshTokenRepository refreshTokenRepository,
+            MeterRegistry meterRegistry,
+            @Value("${jwt.refresh-expiration:604800000}") long refreshTokenDurationMs,
+            @Value("${app.auth.refresh.reuse-grace-seconds:10}") long reuseGraceSeconds,
+            @Value("${app.auth.refresh.invalid-cache.max-size:10000}") long invalidCacheMaxSize,
+            @Value("${app.auth.refresh.invalid-cache.ttl-seconds:600}") long invalidCacheTtlSeconds) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.meterRegistry = meterRegistry;
+        this.refreshTokenDurationMs = refreshTokenDurationMs;
+        this.reuseGrace = Duration.ofSeconds(reuseGraceSeconds);
+        this.invalidTokens = Caffeine.newBuilder()
+                .maximumSize(invalidCacheMaxSize)
+                .expireAfterWrite(Duration.ofSeconds(invalidCacheTtlSeconds))
                 .build();
-                
-        return refreshTokenRepository.save(refreshToken);
-    }
-    
-    public Optional<RefreshToken> findByToken(String token) {
-        return refreshTokenRepository.findByToken(token);
-    }
-    
-    public RefreshToken verifyExpiration(RefreshToken token) {
-        if (token.getExpiryDate().compareTo(Instant.now()) < 0) {
-            refreshTokenRepository.delete(token);
-            throw new RuntimeException("Refresh token was expired. Please make a new signin request");
+    }
+
+    /**
+     * Start a new family for a login. The returned token carries the raw value in {@code token}.
+     */
+    @Transactional
+    public RefreshToken createRefreshToken(User user) {
+        return issue(user, random.nextLong(), Instant.now().plusMillis(refreshTokenDurationMs));
+    }
+
+    /**
+     * Exchange a token for its successor.
+     *
+     * @throws InvalidRefreshTokenException if the token is unknown, expired or reused
+     */
+    @Transactional(noRollbackFor = InvalidRefreshTokenException.class)
+    public Rotation rotate(String rawToken) {
+        byte[] hash = hash(rawToken);
+        String key = HexFormat.of().formatHex(hash);
+        if (invalidTokens.getIfPresent(key) != null) {
+            throw reject(key, "cached", "Refresh token is not valid");
+        }
+        RefreshToken current = refreshTokenRepository.findByTokenHash(hash).orElse(null);
+        if (current == null) {
+            throw reject(key, "unknown", "Refresh token is not in database!");
+        }
+
+        Instant now = Instant.now();
+        if (current.getExpiryDate().isBefore(now)) {
+            refreshTokenRepository.deleteByFamilyId(current.getFamilyId());
+            throw reject(key, "expired", "Refresh token was expired. Please make a new signin request");
+        }
+        if (current.getUsedAt() != null && current.getUsedAt().plus(reuseGrace).isBefore(now)) {
+            int revoked = refreshTokenRepository.deleteByFamilyId(current.getFamilyId());
+            log.warn("Refresh token reused for user ID: {}, revoked the {} tokens of its family",
+                    current.getUser().getId(), revoked);
+            throw reject(key, "reused", "Refresh token was already used. Please make a new signin request");
+        }
+        if (current.getUsedAt() != null || refreshTokenRepository.markUsed(current.getId(), now) == 0) {
+            count("concurrent");
+            return new Rotation(current.getUser(), null, current.getExpiryDate());
         }
-        return token;
+
+        RefreshToken next = issue(current.getUser(), current.getFamilyId(), current.getExpiryDate());
+        count("rotated");
+        return new Rotation(current.getUser(), next.getToken(), next.getExpiryDate());
     }
-    
+
+    /**
+     * Revoke the family of a token, e.g. on logout. Unknown tokens are ignored.
+     */
+    @Transactional
+    public void revoke(String rawToken) {
+        refreshTokenRepository.findByTokenHash(hash(rawToken))
+                .ifPresent(token -> refreshTokenRepository.deleteByFamilyId(token.getFamilyId()));
+    }
+
     @Transactional
     public void deleteByUser(User user) {
         refreshTokenRepository.deleteByUser(user);
     }
-    
-    @Transactional
-    public void deleteByToken(String token) {
-        refreshTokenRepository.findByToken(token).ifPresent(refreshTokenRepository::delete);
+
+    private RefreshToken issue(User user, Long familyId, Instant expiryDate) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        random.nextBytes(bytes);
+        String rawToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        RefreshToken refreshToken = RefreshToken.builder()
+                .user(user)
+                .tokenHash(hash(rawToken))
+                .familyId(familyId)
+                .createdAt(Instant.now())
+                .expiryDate(expiryDate)
+                .build();
+        refreshToken = refreshTokenRepository.save(refreshToken);
+        refreshToken.setToken(rawToken);
+        return refreshToken;
+    }
+
+    private InvalidRefreshTokenException reject(String key, String outcome, String message) {
+        invalidTokens.put(key, Boolean.TRUE);
+        count(outcome);
+        return new InvalidRefreshTokenException(message);
+    }
+
+    private void count(String outcome) {
+        meterRegistry.counter("auth.refresh", "outcome", outcome).increment();
+    }
+
+    static byte[] hash(String rawToken) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(rawToken.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
     }
-}
\ No newline at end of file
+}
@@ -1,7 +1,9 @@
 package com.example.demo.service;
 
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
 import org.springframework.beans.factory.annotation.Autowired;
@@ -11,6 +13,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.example.demo.dto.task.TaskActivity;
 import com.example.demo.model.Task;
 import com.example.demo.model.TaskHistory;
 import com.example.demo.model.TaskHistory.HistoryAction;
@@ -24,6 +27,12 @@ public class TaskHistoryService {
     @Autowired
     private TaskHistoryRepository taskHistoryRepository;
 
+    @Autowired
+    private TaskHistoryWriter taskHistoryWriter;
+
+    @Autowired
+    private ProjectActivityFeed activityFeed;
+
     /**
      * Record a task creation event
      */
@@ -37,30 +46,33 @@ public class TaskHistoryService {
             "Task created", 
             "New task created with initial data"
         );
-        taskHistoryRepository.save(history);
+        history.setProjectId(task.getProject().getId());
+        taskHistoryWriter.enqueue(List.of(history));
     }
 
     /**
      * Record task field changes by comparing old and new values
      */
     public void recordTaskUpdate(Task oldTask, Task newTask, User modifiedBy) {
+        List<TaskHistory> changes = new ArrayList<>();
+
         // Record name changes
         if (!Objects.equals(oldTask.getName(), newTask.getName())) {
-            recordFieldChange(newTask, modifiedBy, HistoryAction.UPDATE, "name", 
-                            oldTask.getName(), newTask.getName());
+            changes.add(fieldChange(newTask, modifiedBy, HistoryAction.UPDATE, "name", 
+                            oldTask.getName(), newTask.getName()));
         }
 
         // Record description changes
         if (!Objects.equals(oldTask.getDescription(), newTask.getDescription())) {
-            recordFieldChange(newTask, modifiedBy, HistoryAction.UPDATE, "description", 
-                            oldTask.getDescription(), newTask.getDescription());
+            changes.add(fieldChange(newTask, modifiedBy, HistoryAction.UPDATE, "description", 
+                            oldTask.getDescription(), newTask.getDescription()));
         }
 
         // Record due date changes
         if (!Objects.equals(oldTask.getDueDate(), newTask.getDueDate())) {
             String oldDate = oldTask.getDueDate() != null ? oldTask.getDueDate().toString() : null;
             String newDate = newTask.getDueDate() != null ? newTask.getDueDate().toString() : null;
-            recordFieldChange(newTask, modifiedBy, HistoryAction.UPDATE, "dueDate", oldDate, newDate);
+            changes.add(fieldChange(newTask, modifiedBy, HistoryAction.UPDATE, "dueDate", oldDate, newDate));
         }
 
         // Record assignee changes
@@ -68,45 +80,57 @@ public class TaskHistoryService {
             String oldAssignee = getAssigneeName(oldTask);
             String newAssignee = getAssigneeName(newTask);
             HistoryAction action = newTask.getAssignee() != null ? HistoryAction.ASSIGN : HistoryAction.UNASSIGN;
-            recordFieldChange(newTask, modifiedBy, action, "assignee", oldAssignee, newAssignee);
+            changes.add(fieldChange(newTask, modifiedBy, action, "assignee", oldAssignee, newAssignee));
         }
 
         // Record status changes
         if (!Objects.equals(getStatusId(oldTask), getStatusId(newTask))) {
             String oldStatus = getStatusName(oldTask);
             String newStatus = getStatusName(newTask);
-            recordFieldChange(newTask, modifiedBy, HistoryAction.STATUS_CHANGE, "status", oldStatus, newStatus);
+            changes.add(fieldChange(newTask, modifiedBy, HistoryAction.STATUS_CHANGE, "status", oldStatus, newStatus));
         }
 
         // Record priority changes
         if (!Objects.equals(getPriorityId(oldTask), getPriorityId(newTask))) {
             String oldPriority = getPriorityName(oldTask);
             String newPriority = getPriorityName(newTask);
-            recordFieldChange(newTask, modifiedBy, HistoryAction.PRIORITY_CHANGE, "priority", oldPriority, newPriority);
+            changes.add(fieldChange(newTask, modifiedBy, HistoryAction.PRIORITY_CHANGE, "priority", oldPriority, newPriority));
         }
+
+        // One batch for all changed fields, written after commit
+        taskHistoryWriter.enqueue(changes);
     }
 
     /**
-     * Record task deletion
+     * Record the changes of a bulk update. Unlike single edits they are written in the
+     * caller's transaction (batch-inserted, ids are pooled), so they commit or roll back
+     * with the set-based task updates, and reach the activity feed after commit.
+     * The rows only reference their task, so the feed takes the names from {@code taskNames}.
      */
-    public void recordTaskDeletion(Task task, User deletedBy) {
-        TaskHistory history = new TaskHistory(
-            task, 
-            deletedBy, 
-            HistoryAction.DELETE, 
-            "task",
-            "Task existed", 
-            null, 
-            "Task deleted"
-        );
-        taskHistoryRepository.save(history);
+    public void recordBulkChanges(List<TaskHistory> changes, Map<Long, String> taskNames) {
+        if (changes.isEmpty()) {
+            return;
+        }
+        activityFeed.publishAfterCommit(taskHistoryRepository.saveAll(changes),
+                row -> TaskActivity.of(row, taskNames.get(row.getTask().getId())));
+    }
+
+    /**
+     * Forget the history of a task about to be deleted. No DELETE row is written: the
+     * task's history goes with it (ON DELETE CASCADE), and a pending row pointing at the
+     * removed task would fail the next flush.
+     */
+    public void taskDeleted(Task task) {
+        // Rows still queued for this task would fail once it is gone
+        taskHistoryWriter.discardPending(task.getId());
+        activityFeed.taskDeleted(task.getProject().getId(), task.getId());
     }
 
     /**
      * Get complete history for a task
      */
     @Transactional(readOnly = true)
-    public List<TaskHistory> getTaskHistory(Long taskId) {
+    public List<TaskActivity> getTaskHistory(Long taskId) {
         return taskHistoryRepository.findByTaskIdOrderByTimestampDesc(taskId);
     }
 
@@ -114,7 +138,7 @@ public class TaskHistoryService {
      * Get paginated history for a task
      */
     @Transactional(readOnly = true)
-    public Page<TaskHistory> getTaskHistory(Long taskId, int page, int size) {
+    public Page<TaskActivity> getTaskHistory(Long taskId, int page, int size) {
         Pageable pageable = PageRequest.of(page, size);
         return taskHistoryRepository.findByTaskIdOrderByTimestampDesc(taskId, pageable);
     }
@@ -123,7 +147,7 @@ public class TaskHistoryService {
      * Get project-wide task history
      */
     @Transactional(readOnly = true)
-    public List<TaskHistory> getProjectHistory(Long projectId) {
+    public List<TaskActivity> getProjectHistory(Long projectId) {
         return taskHistoryRepository.findByProjectIdOrderByTimestampDesc(projectId);
     }
 
@@ -131,7 +155,7 @@ public class TaskHistoryService {
      * Get paginated project-wide task history
      */
     @Transactional(readOnly = true)
-    public Page<TaskHistory> getProjectHistory(Long projectId, int page, int size) {
+    public Page<TaskActivity> getProjectHistory(Long projectId, int page, int size) {
         Pageable pageable = PageRequest.of(page, size);
         return taskHistoryRepository.findByProjectIdOrderByTimestampDesc(projectId, pageable);
     }
@@ -140,14 +164,14 @@ public class TaskHistoryService {
      * Get recent activity for a project (last 50 entries)
      */
     @Transactional(readOnly = true)
-    public List<TaskHistory> getRecentProjectActivity(Long projectId) {
+    public List<TaskActivity> getRecentProjectActivity(Long projectId) {
         Pageable pageable = PageRequest.of(0, 50);
         return taskHistoryRepository.findRecentHistoryByProjectId(projectId, pageable);
     }
 
     // Helper methods for safe field access
 
-    private void recordFieldChange(Task task, User modifiedBy, HistoryAction action, 
+    private TaskHistory fieldChange(Task task, User modifiedBy, HistoryAction action, 
                                  String fieldName, String oldValue, String newValue) {
         TaskHistory history = new TaskHistory(
             task, 
@@ -158,7 +182,8 @@ public class TaskHistoryService {
             newValue, 
             null
         );
-        taskHistoryRepository.save(history);
+        history.setProjectId(task.getProject().getId());
+        return history;
     }
 
     private Long getAssigneeId(Task task) {
@@ -0,0 +1,310 @@
+package com.example.demo.service;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.demo.model.TaskHistory;
+import com.example.demo.model.TaskHistory.HistoryAction;
+import com.example.demo.repository.TaskHistoryRepository;
+import com.example.demo.repository.TaskRepository;
+import com.example.demo.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Buffers task history rows and writes them in JDBC batches.
+ *
+ * Rows are queued once the business transaction commits and flushed on a fixed delay
+ * by the scheduler. When the queue is full the caller writes its rows itself, so
+ * history is never dropped under load. Rows that cannot be written
+ * are appended to a local spool file and replayed at the next startup.
+ */
+@Component
+@Slf4j
+public class TaskHistoryWriter {
+
+    private final TaskHistoryRepository taskHistoryRepository;
+    private final TaskRepository taskRepository;
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final ProjectActivityFeed activityFeed;
+
+    private final BlockingQueue<TaskHistory> queue;
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final int batchSize;
+    private final Path spoolFile;
+
+    private final Timer flushTimer;
+    private final Counter writtenCounter;
+    private final Counter spooledCounter;
+
+    public TaskHistoryWriter(TaskHistoryRepository taskHistoryRepository,
+            TaskRepository taskRepository,
+            UserRepository userRepository,
+            PlatformTransactionManager transactionManager,
+            ObjectMapper objectMapper,
+            ProjectActivityFeed activityFeed,
+            MeterRegistry meterRegistry,
+            @Value("${app.history.queue-capacity:10000}") int queueCapacity,
+            @Value("${app.history.batch-size:50}") int batchSize,
+            @Value("${app.history.spool-file:data/task-history.spool}") String spoolFile) {
+        this.taskHistoryRepository = taskHistoryRepository;
+        this.taskRepository = taskRepository;
+        this.userRepository = userRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.objectMapper = objectMapper;
+        this.activityFeed = activityFeed;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.spoolFile = Path.of(spoolFile);
+
+        meterRegistry.gauge("task.history.queue.depth", queue, BlockingQueue::size);
+        this.flushTimer = meterRegistry.timer("task.history.flush");
+        this.writtenCounter = meterRegistry.counter("task.history.written");
+        this.spooledCounter = meterRegistry.counter("task.history.spooled");
+    }
+
+    /**
+     * Queue history rows for writing. Inside a transaction the rows are only queued
+     * after it commits, so a rolled back change leaves no history behind.
+     */
+    public void enqueue(List<TaskHistory> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    offer(rows);
+                }
+            });
+        } else {
+            offer(rows);
+        }
+    }
+
+    /**
+     * Drop queued rows of a task that is being deleted; they would be removed with it anyway.
+     */
+    public void discardPending(Long taskId) {
+        queue.removeIf(row -> row.getTask() != null && taskId.equals(row.getTask().getId()));
+    }
+
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    private void offer(List<TaskHistory> rows) {
+        List<TaskHistory> overflow = new ArrayList<>();
+        for (TaskHistory row : rows) {
+            if (!queue.offer(row)) {
+                overflow.add(row);
+            }
+        }
+        if (!overflow.isEmpty()) {
+            // Back-pressure: the queue is full, write on the caller's thread
+            log.warn("Task history queue full, writing {} rows synchronously", overflow.size());
+            publish(write(overflow));
+        }
+    }
+
+    /**
+     * Write everything currently queued, one batch at a time.
+     */
+    @Scheduled(fixedDelayString = "${app.history.flush-interval-ms:500}")
+    public void flush() {
+        if (!flushLock.tryLock()) {
+            return; // another thread is already flushing
+        }
+        try {
+            List<TaskHistory> batch = new ArrayList<>(batchSize);
+            while (queue.drainTo(batch, batchSize) > 0) {
+                List<TaskHistory> rows = batch;
+                flushTimer.record(() -> publish(write(rows)));
+                batch = new ArrayList<>(batchSize);
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * @return the rows actually written
+     */
+    private List<TaskHistory> write(List<TaskHistory> rows) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> taskHistoryRepository.saveAll(rows));
+            writtenCounter.increment(rows.size());
+            return rows;
+        } catch (DataIntegrityViolationException e) {
+            // Typically a task deleted while its history was queued; isolate the offending rows
+            return writeOneByOne(rows);
+        } catch (RuntimeException e) {
+            log.error("Failed to write {} task history rows, spooling them", rows.size(), e);
+            spool(rows);
+            return List.of();
+        }
+    }
+
+    private List<TaskHistory> writeOneByOne(List<TaskHistory> rows) {
+        List<TaskHistory> written = new ArrayList<>();
+        List<TaskHistory> failed = new ArrayList<>();
+        for (TaskHistory row : rows) {
+            // Ids were assigned by the rolled back batch, start over with a fresh one
+            row.setId(null);
+            try {
+                transactionTemplate.executeWithoutResult(status -> taskHistoryRepository.save(row));
+                writtenCounter.increment();
+                written.add(row);
+            } catch (DataIntegrityViolationException e) {
+                log.warn("Dropping task history row for missing task/user: {}", e.getMostSpecificCause().getMessage());
+            } catch (RuntimeException e) {
+                failed.add(row);
+            }
+        }
+        if (!failed.isEmpty()) {
+            spool(failed);
+        }
+        return written;
+    }
+
+    private void publish(List<TaskHistory> rows) {
+        if (rows.isEmpty()) {
+            return; // nothing was written, e.g. the batch was spooled
+        }
+        try {
+            activityFeed.publish(rows);
+        } catch (RuntimeException e) {
+            // The rows are stored, the feed only misses them
+            log.warn("Could not publish {} task history rows to the activity feed: {}", rows.size(), e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        try {
+            if (flushLock.tryLock(10, TimeUnit.SECONDS)) {
+                flushLock.unlock();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+        if (!queue.isEmpty()) {
+            // The scheduler kept the lock; never lose rows on shutdown
+            List<TaskHistory> remaining = new ArrayList<>();
+            queue.drainTo(remaining);
+            spool(remaining);
+        }
+    }
+
+    // Spool file: one JSON line per row, written when the database cannot take them
+
+    private void spool(List<TaskHistory> rows) {
+        try {
+            if (spoolFile.getParent() != null) {
+                Files.createDirectories(spoolFile.getParent());
+            }
+            try (BufferedWriter writer = Files.newBufferedWriter(spoolFile, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                for (TaskHistory row : rows) {
+                    writer.write(objectMapper.writeValueAsString(SpooledRow.of(row)));
+                    writer.newLine();
+                }
+            }
+            spooledCounter.increment(rows.size());
+        } catch (IOException e) {
+            log.error("Could not spool {} task history rows, they are lost", rows.size(), e);
+        }
+    }
+
+    /**
+     * Replay rows spooled by a previous run once the application is up.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void replaySpool() {
+        if (!Files.exists(spoolFile)) {
+            return;
+        }
+        Path replaying = spoolFile.resolveSibling(spoolFile.getFileName() + ".replaying");
+        try {
+            Files.move(spoolFile, replaying);
+            List<TaskHistory> rows = new ArrayList<>();
+            try (BufferedReader reader = Files.newBufferedReader(replaying, StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (!line.isBlank()) {
+                        rows.add(toEntity(objectMapper.readValue(line, SpooledRow.class)));
+                    }
+                }
+            }
+            log.info("Replaying {} spooled task history rows", rows.size());
+            for (int i = 0; i < rows.size(); i += batchSize) {
+                write(rows.subList(i, Math.min(i + batchSize, rows.size())));
+            }
+            Files.delete(replaying);
+        } catch (IOException e) {
+            log.error("Could not replay task history spool {}", spoolFile, e);
+        }
+    }
+
+    private TaskHistory toEntity(SpooledRow row) {
+        TaskHistory history = new TaskHistory(
+            taskRepository.getReferenceById(row.taskId()),
+            userRepository.getReferenceById(row.modifiedById()),
+            row.action(),
+            row.fieldName(),
+            row.oldValue(),
+            row.newValue(),
+            row.comment()
+        );
+        history.setTimestamp(row.timestamp());
+        // Rows spooled before project_id existed do not carry it
+        history.setProjectId(row.projectId() != null
+                ? row.projectId()
+                : taskRepository.findProjectIdById(row.taskId()).orElse(null));
+        return history;
+    }
+
+    record SpooledRow(Long taskId, Long projectId, Long modifiedById, HistoryAction action, String fieldName,
+            String oldValue, String newValue, String comment, LocalDateTime timestamp) {
+
+        static SpooledRow of(TaskHistory history) {
+            return new SpooledRow(history.getTask().getId(), history.getProjectId(), history.getModifiedBy().getId(),
+                    history.getAction(), history.getFieldName(), history.getOldValue(),
+                    history.getNewValue(), history.getComment(), history.getTimestamp());
+        }
+    }
+}
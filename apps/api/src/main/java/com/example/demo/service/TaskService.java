@@ -1,13 +1,38 @@
 package com.example.demo.service;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.example.demo.dto.CursorPage;
+import com.example.demo.dto.task.BoardCursor;
+import com.example.demo.dto.task.BulkTaskResult;
+import com.example.demo.dto.task.TaskBoard;
+import com.example.demo.dto.task.TaskCursor;
+import com.example.demo.dto.task.TaskFilter;
+import com.example.demo.dto.task.TaskPatch;
+import com.example.demo.dto.task.TaskSort;
+import com.example.demo.dto.task.TaskView;
 import com.example.demo.model.Project;
+import com.example.demo.model.ProjectTaskStat.Dimension;
 import com.example.demo.model.Task;
+import com.example.demo.model.TaskHistory;
+import com.example.demo.model.TaskHistory.HistoryAction;
 import com.example.demo.model.TaskPriority;
 import com.example.demo.model.TaskStatus;
 import com.example.demo.model.User;
@@ -16,9 +41,20 @@ import com.example.demo.repository.TaskRepository;
 import com.example.demo.repository.TaskPriorityRepository;
 import com.example.demo.repository.TaskStatusRepository;
 import com.example.demo.repository.UserRepository;
+import com.example.demo.search.TaskDocument;
+import com.example.demo.search.TaskSearchService;
+import com.example.demo.security.ProjectAuthorization;
 
 @Service
 public class TaskService {
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 200;
+    public static final int DEFAULT_BOARD_COLUMN_SIZE = 20;
+    public static final int MAX_BOARD_COLUMN_SIZE = 50;
+    public static final int MAX_BULK_SIZE = 5000;
+    // Ids per IN list, well below what MySQL and H2 accept
+    private static final int BULK_CHUNK_SIZE = 1000;
+
     @Autowired
     private TaskRepository taskRepository;
     @Autowired
@@ -31,7 +67,14 @@ public class TaskService {
     private TaskStatusRepository taskStatusRepository;
     @Autowired
     private TaskHistoryService taskHistoryService;
+    @Autowired
+    private ProjectAuthorization projectAuthorization;
+    @Autowired
+    private ProjectTaskStatsService projectTaskStatsService;
+    @Autowired
+    private TaskSearchService taskSearchService;
 
+    @Transactional
     public Task createTask(Long projectId, String name, String description, String dueDate, Long priorityId, Long statusId, Long assigneeId, User createdBy) {
         Project project = projectRepository.findById(projectId).orElseThrow(() -> new IllegalArgumentException("Project not found"));
         User assignee = null;
@@ -71,6 +114,8 @@ public class TaskService {
         
         task.setAssignee(assignee);
         task = taskRepository.save(task);
+        projectTaskStatsService.taskCreated(task);
+        taskSearchService.indexAfterCommit(task);
         
         // Record task creation in history
         taskHistoryService.recordTaskCreation(task, createdBy);
@@ -82,13 +127,163 @@ public class TaskService {
         return taskRepository.findByIdWithRelationships(id);
     }
 
-    public List<Task> getTasksByProject(Long projectId) {
-        Project project = projectRepository.findById(projectId).orElseThrow(() -> new IllegalArgumentException("Project not found"));
-        return taskRepository.findByProjectWithRelationships(project);
+    public Optional<Long> getProjectId(Long taskId) {
+        return taskRepository.findProjectIdById(taskId);
+    }
+
+    public Optional<TaskView> getTaskView(Long id) {
+        return taskRepository.findViewById(id);
+    }
+
+    public List<TaskView> getTasksByProject(Long projectId) {
+        if (!projectRepository.existsById(projectId)) {
+            throw new IllegalArgumentException("Project not found");
+        }
+        return taskRepository.findViewsByProjectId(projectId);
+    }
+
+    /**
+     * Keyset-paginated, filterable listing of a project's tasks.
+     * Fetches {@code limit + 1} rows to know whether another page exists.
+     */
+    public CursorPage<TaskView> getTasksPage(Long projectId, TaskFilter filter, TaskSort sort, String cursor, int limit) {
+        if (!projectRepository.existsById(projectId)) {
+            throw new IllegalArgumentException("Project not found");
+        }
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        TaskFilter f = filter != null ? filter : new TaskFilter();
+        TaskCursor after = cursor != null && !cursor.isBlank() ? TaskCursor.decode(cursor, sort) : null;
+        Pageable window = PageRequest.of(0, pageSize + 1);
+
+        List<Task> rows;
+        switch (sort) {
+            case UPDATED_AT -> rows = taskRepository.findPageOrderByUpdatedAt(projectId,
+                    f.getStatusId(), f.getPriorityId(), f.getAssigneeId(), f.getDueFrom(), f.getDueTo(),
+                    after != null ? LocalDateTime.parse(after.getValue()) : null,
+                    after != null ? after.getId() : null, window);
+            case DUE_DATE -> rows = getDueDatePage(projectId, f, after, pageSize);
+            default -> rows = taskRepository.findPageOrderById(projectId,
+                    f.getStatusId(), f.getPriorityId(), f.getAssigneeId(), f.getDueFrom(), f.getDueTo(),
+                    after != null ? after.getId() : null, window);
+        }
+
+        boolean hasMore = rows.size() > pageSize;
+        List<Task> items = hasMore ? rows.subList(0, pageSize) : rows;
+        String nextCursor = hasMore ? toCursor(items.get(items.size() - 1), sort).encode() : null;
+        return new CursorPage<>(items.stream().map(TaskView::of).toList(), nextCursor, hasMore);
+    }
+
+    /**
+     * Due-date order is served in two index-friendly phases: dated tasks first,
+     * then tasks without a due date (unless a due-date range excludes them).
+     */
+    private List<Task> getDueDatePage(Long projectId, TaskFilter f, TaskCursor after, int pageSize) {
+        boolean inUndatedPhase = after != null && after.getValue() == null;
+        List<Task> rows = new ArrayList<>();
+        if (!inUndatedPhase) {
+            rows.addAll(taskRepository.findPageOrderByDueDate(projectId,
+                    f.getStatusId(), f.getPriorityId(), f.getAssigneeId(), f.getDueFrom(), f.getDueTo(),
+                    after != null ? LocalDate.parse(after.getValue()) : null,
+                    after != null ? after.getId() : null, PageRequest.of(0, pageSize + 1)));
+        }
+        boolean rangeFiltered = f.getDueFrom() != null || f.getDueTo() != null;
+        if (rows.size() <= pageSize && !rangeFiltered) {
+            Long afterId = inUndatedPhase ? after.getId() : null;
+            rows.addAll(taskRepository.findPageWithoutDueDate(projectId,
+                    f.getStatusId(), f.getPriorityId(), f.getAssigneeId(), afterId,
+                    PageRequest.of(0, pageSize + 1 - rows.size())));
+        }
+        return rows;
+    }
+
+    private TaskCursor toCursor(Task last, TaskSort sort) {
+        return switch (sort) {
+            case UPDATED_AT -> new TaskCursor(sort, last.getUpdatedAt().toString(), last.getId());
+            case DUE_DATE -> new TaskCursor(sort,
+                    last.getDueDate() != null ? last.getDueDate().toString() : null, last.getId());
+            default -> new TaskCursor(sort, null, last.getId());
+        };
     }
 
+    /**
+     * The project's board with the first {@code perColumn} tasks of every column, in three
+     * statements whatever the project size: statuses, ranked ids with counts, task views.
+     */
+    public TaskBoard getBoard(Long projectId, int perColumn) {
+        if (!projectRepository.existsById(projectId)) {
+            throw new IllegalArgumentException("Project not found");
+        }
+        int columnSize = Math.max(1, Math.min(perColumn, MAX_BOARD_COLUMN_SIZE));
+        List<TaskStatus> statuses = taskStatusRepository.findByProjectIdOrderByOrderIndexAsc(projectId);
+        List<Object[]> slots = taskRepository.findBoardSlots(projectId, columnSize, TaskBoard.UNDATED);
+
+        Map<Long, TaskView> views = new HashMap<>();
+        if (!slots.isEmpty()) {
+            List<Long> ids = slots.stream().map(slot -> ((Number) slot[0]).longValue()).toList();
+            taskRepository.findViewsByIdIn(ids).forEach(view -> views.put(view.id(), view));
+        }
+        // Rows come ranked within each column; a null key collects the tasks without a status
+        Map<Long, List<TaskView>> tasksByStatus = new HashMap<>();
+        Map<Long, Long> countByStatus = new HashMap<>();
+        for (Object[] slot : slots) {
+            Long statusId = slot[1] != null ? ((Number) slot[1]).longValue() : null;
+            countByStatus.put(statusId, ((Number) slot[2]).longValue());
+            TaskView view = views.get(((Number) slot[0]).longValue());
+            if (view != null) {
+                tasksByStatus.computeIfAbsent(statusId, key -> new ArrayList<>()).add(view);
+            }
+        }
+
+        List<TaskBoard.Column> columns = new ArrayList<>();
+        for (TaskStatus status : statuses) {
+            columns.add(TaskBoard.Column.of(status, countByStatus.getOrDefault(status.getId(), 0L),
+                    tasksByStatus.getOrDefault(status.getId(), List.of())));
+        }
+        if (countByStatus.containsKey(null)) {
+            columns.add(TaskBoard.Column.of(null, countByStatus.get(null), tasksByStatus.getOrDefault(null, List.of())));
+        }
+        return new TaskBoard(projectId, columns);
+    }
+
+    /**
+     * Next tasks of one board column, after the column's {@code nextCursor}.
+     * A null status id is the column of tasks without a status.
+     */
+    public CursorPage<TaskView> getBoardColumn(Long projectId, Long statusId, String cursor, int limit) {
+        if (!projectRepository.existsById(projectId)) {
+            throw new IllegalArgumentException("Project not found");
+        }
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        BoardCursor after = cursor != null && !cursor.isBlank() ? BoardCursor.decode(cursor, statusId) : null;
+        List<TaskView> rows = taskRepository.findBoardColumnPage(projectId, statusId,
+                after != null ? after.getLevel() : null,
+                after != null ? after.getDueDate() : null,
+                after != null ? after.getId() : null,
+                TaskBoard.UNDATED, PageRequest.of(0, pageSize + 1));
+
+        boolean hasMore = rows.size() > pageSize;
+        List<TaskView> items = hasMore ? rows.subList(0, pageSize) : rows;
+        String nextCursor = hasMore ? BoardCursor.after(items.get(items.size() - 1)).encode() : null;
+        return new CursorPage<>(items, nextCursor, hasMore);
+    }
+
+    @Transactional
     public Task updateTask(Long taskId, String name, String description, String dueDate, Long priorityId, Long statusId, Long assigneeId, User modifiedBy) {
+        return updateTask(taskId, name, description, dueDate, priorityId, statusId, assigneeId, modifiedBy, null);
+    }
+
+    /**
+     * Update a task the caller read at {@code expectedVersion} (null: whatever its version).
+     * A task changed in between, before or during this update, fails with an
+     * OptimisticLockingFailureException instead of being overwritten.
+     */
+    @Transactional
+    public Task updateTask(Long taskId, String name, String description, String dueDate, Long priorityId, Long statusId,
+            Long assigneeId, User modifiedBy, Long expectedVersion) {
         Task oldTask = taskRepository.findByIdWithRelationships(taskId).orElseThrow(() -> new IllegalArgumentException("Task not found"));
+        if (expectedVersion != null && !expectedVersion.equals(oldTask.getVersion())) {
+            throw new ObjectOptimisticLockingFailureException(Task.class, taskId);
+        }
         
         // Create a copy of the old task for history comparison
         Task taskCopy = new Task();
@@ -123,7 +318,11 @@ public class TaskService {
             oldTask.setAssignee(assignee);
         }
         
-        Task updatedTask = taskRepository.save(oldTask);
+        // Flushed now so a concurrent update fails here, before the history and counters
+        // are written, and the returned task carries its new version
+        Task updatedTask = taskRepository.saveAndFlush(oldTask);
+        projectTaskStatsService.taskUpdated(taskCopy, updatedTask);
+        taskSearchService.indexAfterCommit(updatedTask);
         
         // Record changes in history
         taskHistoryService.recordTaskUpdate(taskCopy, updatedTask, modifiedBy);
@@ -131,12 +330,183 @@ public class TaskService {
         return updatedTask;
     }
 
+    @Transactional
     public void deleteTask(Long taskId, User deletedBy) {
         Task task = taskRepository.findByIdWithRelationships(taskId).orElseThrow(() -> new IllegalArgumentException("Task not found"));
         
-        // Record deletion in history before deleting
-        taskHistoryService.recordTaskDeletion(task, deletedBy);
+        taskHistoryService.taskDeleted(task);
         
         taskRepository.deleteById(taskId);
+        projectTaskStatsService.taskDeleted(task);
+        taskSearchService.removeAfterCommit(taskId);
+    }
+
+    /**
+     * Apply the same change to many tasks in one transaction. The tasks are read with one
+     * projection query and updated with one set-based UPDATE per changed field (per chunk
+     * of ids); their history is batch-inserted in the same transaction.
+     * Tasks the caller cannot edit, or that belong to another project than the requested
+     * status or priority, are reported and left untouched.
+     */
+    @Transactional
+    public BulkTaskResult bulkUpdate(List<Long> taskIds, TaskPatch patch, User modifiedBy) {
+        List<Long> ids = taskIds == null ? List.of() : taskIds.stream().filter(Objects::nonNull).distinct().toList();
+        if (ids.isEmpty()) {
+            throw new IllegalArgumentException("No task ids given");
+        }
+        if (ids.size() > MAX_BULK_SIZE) {
+            throw new IllegalArgumentException("At most " + MAX_BULK_SIZE + " tasks can be updated at once");
+        }
+        if (patch == null || patch.isEmpty()) {
+            throw new IllegalArgumentException("Nothing to update");
+        }
+        TaskStatus status = patch.getStatusId() == null ? null : taskStatusRepository.findById(patch.getStatusId())
+                .orElseThrow(() -> new IllegalArgumentException("Status not found"));
+        TaskPriority priority = patch.getPriorityId() == null ? null : taskPriorityRepository.findById(patch.getPriorityId())
+                .orElseThrow(() -> new IllegalArgumentException("Priority not found"));
+        User assignee = patch.getAssigneeId() == null ? null : userRepository.findById(patch.getAssigneeId())
+                .orElseThrow(() -> new IllegalArgumentException("User not found"));
+
+        Map<Long, TaskView> found = new HashMap<>();
+        for (List<Long> chunk : chunks(ids)) {
+            taskRepository.findViewsByIdIn(chunk).forEach(task -> found.put(task.id(), task));
+        }
+
+        BulkTaskResult result = new BulkTaskResult();
+        Map<Long, Boolean> editableProjects = new HashMap<>();
+        List<TaskView> tasks = new ArrayList<>();
+        for (Long id : ids) {
+            TaskView task = found.get(id);
+            if (task == null) {
+                result.notFound().add(id);
+                continue;
+            }
+            Long projectId = task.project().id();
+            if (!editableProjects.computeIfAbsent(projectId,
+                    project -> projectAuthorization.canEditTasks(project, modifiedBy.getId()))) {
+                result.forbidden().add(id);
+            } else if ((status != null && !projectId.equals(status.getProject().getId()))
+                    || (priority != null && !projectId.equals(priority.getProject().getId()))) {
+                result.invalid().add(id);
+            } else {
+                tasks.add(task);
+            }
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<TaskHistory> changes = new ArrayList<>();
+        Set<Long> changed = new HashSet<>();
+        Map<Long, ProjectTaskStatsService.Delta> stats = new HashMap<>();
+
+        if (status != null) {
+            List<TaskView> moved = tasks.stream()
+                    .filter(task -> task.status() == null || !status.getId().equals(task.status().id()))
+                    .toList();
+            update(moved, chunk -> taskRepository.updateStatus(chunk, status, now));
+            for (TaskView task : moved) {
+                changes.add(change(task, modifiedBy, HistoryAction.STATUS_CHANGE, "status",
+                        task.status() != null ? task.status().name() : null, status.getName()));
+                statsOf(stats, task).move(Dimension.STATUS, task.status() != null ? task.status().id() : null, status.getId());
+                changed.add(task.id());
+            }
+        }
+        if (priority != null) {
+            List<TaskView> moved = tasks.stream()
+                    .filter(task -> task.priority() == null || !priority.getId().equals(task.priority().id()))
+                    .toList();
+            update(moved, chunk -> taskRepository.updatePriority(chunk, priority, now));
+            for (TaskView task : moved) {
+                changes.add(change(task, modifiedBy, HistoryAction.PRIORITY_CHANGE, "priority",
+                        task.priority() != null ? task.priority().name() : null, priority.getName()));
+                statsOf(stats, task).move(Dimension.PRIORITY, task.priority() != null ? task.priority().id() : null, priority.getId());
+                changed.add(task.id());
+            }
+        }
+        if (assignee != null || patch.isUnassign()) {
+            Long assigneeId = assignee != null ? assignee.getId() : null;
+            List<TaskView> moved = tasks.stream()
+                    .filter(task -> !Objects.equals(assigneeId, task.assignee() != null ? task.assignee().id() : null))
+                    .toList();
+            if (assignee != null) {
+                update(moved, chunk -> taskRepository.updateAssignee(chunk, assignee, now));
+            } else {
+                update(moved, chunk -> taskRepository.clearAssignee(chunk, now));
+            }
+            HistoryAction action = assignee != null ? HistoryAction.ASSIGN : HistoryAction.UNASSIGN;
+            for (TaskView task : moved) {
+                changes.add(change(task, modifiedBy, action, "assignee",
+                        task.assignee() != null ? task.assignee().username() : null,
+                        assignee != null ? assignee.getUsername() : null));
+                statsOf(stats, task).move(Dimension.ASSIGNEE, task.assignee() != null ? task.assignee().id() : null, assigneeId);
+                changed.add(task.id());
+            }
+        }
+        if (patch.getDueDate() != null || patch.isClearDueDate()) {
+            LocalDate dueDate = patch.getDueDate();
+            List<TaskView> moved = tasks.stream()
+                    .filter(task -> !Objects.equals(dueDate, task.dueDate()))
+                    .toList();
+            if (dueDate != null) {
+                update(moved, chunk -> taskRepository.updateDueDate(chunk, dueDate, now));
+            } else {
+                update(moved, chunk -> taskRepository.clearDueDate(chunk, now));
+            }
+            for (TaskView task : moved) {
+                changes.add(change(task, modifiedBy, HistoryAction.UPDATE, "dueDate",
+                        task.dueDate() != null ? task.dueDate().toString() : null,
+                        dueDate != null ? dueDate.toString() : null));
+                statsOf(stats, task).moveDueDate(task.dueDate(), dueDate);
+                changed.add(task.id());
+            }
+        }
+
+        stats.values().forEach(projectTaskStatsService::apply);
+        Map<Long, String> taskNames = new HashMap<>();
+        tasks.forEach(task -> taskNames.put(task.id(), task.name()));
+        taskHistoryService.recordBulkChanges(changes, taskNames);
+
+        List<TaskDocument> reindexed = new ArrayList<>();
+        for (TaskView task : tasks) {
+            if (changed.contains(task.id())) {
+                result.updated().add(task.id());
+                TaskDocument before = TaskDocument.of(task);
+                reindexed.add(new TaskDocument(before.id(), before.projectId(), before.name(), before.description(),
+                        status != null ? status.getId() : before.statusId(),
+                        priority != null ? priority.getId() : before.priorityId(),
+                        assignee != null ? assignee.getId() : patch.isUnassign() ? null : before.assigneeId()));
+            } else {
+                result.unchanged().add(task.id());
+            }
+        }
+        taskSearchService.indexAfterCommit(reindexed);
+        return result;
+    }
+
+    private static ProjectTaskStatsService.Delta statsOf(Map<Long, ProjectTaskStatsService.Delta> stats, TaskView task) {
+        return stats.computeIfAbsent(task.project().id(), ProjectTaskStatsService.Delta::new);
+    }
+
+    private void update(List<TaskView> tasks, Consumer<List<Long>> statement) {
+        chunks(tasks.stream().map(TaskView::id).toList()).forEach(statement);
+    }
+
+    private static List<List<Long>> chunks(List<Long> ids) {
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i += BULK_CHUNK_SIZE) {
+            chunks.add(ids.subList(i, Math.min(i + BULK_CHUNK_SIZE, ids.size())));
+        }
+        return chunks;
+    }
+
+    /**
+     * A history row for one field of a bulk-updated task. The task is only referenced
+     * by id, nothing is loaded.
+     */
+    private TaskHistory change(TaskView task, User modifiedBy, HistoryAction action,
+            String fieldName, String oldValue, String newValue) {
+        TaskHistory history = new TaskHistory(taskRepository.getReferenceById(task.id()), modifiedBy, action,
+                fieldName, oldValue, newValue, null);
+        history.setProjectId(task.project().id());
+        return history;
     }
 }
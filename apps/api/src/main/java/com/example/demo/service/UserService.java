@@ -7,9 +7,11 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.example.demo.model.User;
 import com.example.demo.repository.UserRepository;
+import com.example.demo.security.UserCache;
 
 @Service
 public class UserService {
@@ -18,11 +20,16 @@ public class UserService {
     
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final UserCache userCache;
+    private final RefreshTokenService refreshTokenService;
 
     @Autowired
-    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder) {
+    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder, UserCache userCache,
+            RefreshTokenService refreshTokenService) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
+        this.userCache = userCache;
+        this.refreshTokenService = refreshTokenService;
     }
 
     public User registerUser(User user) {
@@ -72,4 +79,45 @@ public class UserService {
     public Optional<User> findById(Long id) {
         return userRepository.findById(id);
     }
+
+    /**
+     * Change the password and revoke every access token issued so far, and the refresh
+     * tokens of all the user's logins, so none can mint an access token with the new version.
+     */
+    @Transactional
+    public User changePassword(Long userId, String currentPassword, String newPassword) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new IllegalArgumentException("User not found"));
+        if (!passwordEncoder.matches(currentPassword, user.getPassword())) {
+            throw new IllegalArgumentException("Current password is incorrect");
+        }
+        if (newPassword == null || newPassword.length() < 6) {
+            throw new IllegalArgumentException("Password must be at least 6 characters");
+        }
+
+        user.setPassword(passwordEncoder.encode(newPassword));
+        user.setTokenVersion(user.getTokenVersion() + 1);
+        User savedUser = userRepository.save(user);
+        refreshTokenService.deleteByUser(savedUser);
+        userCache.evict(userId);
+
+        logger.info("Password changed for user ID: {}", userId);
+        return savedUser;
+    }
+
+    /**
+     * Update the profile fields; existing tokens stay valid but pick up the new values.
+     */
+    public User updateProfile(Long userId, String username) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new IllegalArgumentException("User not found"));
+        if (username == null || username.isBlank() || username.length() < 3 || username.length() > 50) {
+            throw new IllegalArgumentException("Username must be between 3 and 50 characters");
+        }
+
+        user.setUsername(username);
+        User savedUser = userRepository.save(user);
+        userCache.evict(userId);
+        return savedUser;
+    }
 }
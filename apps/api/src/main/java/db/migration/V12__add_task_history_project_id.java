@@ -0,0 +1,81 @@
+package db.migration;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+/**
+ * Copies task.project_id onto task_history so project-wide history queries can be
+ * served from a (project_id, timestamp DESC, id) index without joining task.
+ *
+ * The backfill walks the table by id ranges and commits after each range, so a large
+ * history table is never locked by one long UPDATE. It only touches rows still missing
+ * their project, so an interrupted run can simply be started again.
+ */
+public class V12__add_task_history_project_id extends BaseJavaMigration {
+
+    private static final int BATCH_SIZE = 10_000;
+
+    @Override
+    public boolean canExecuteInTransaction() {
+        return false;
+    }
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        boolean mysql = connection.getMetaData().getDatabaseProductName().toLowerCase().contains("mysql");
+
+        try (Statement statement = connection.createStatement()) {
+            if (!columnExists(connection)) {
+                statement.execute("ALTER TABLE task_history ADD COLUMN project_id BIGINT NULL");
+            }
+        }
+
+        long maxId;
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT COALESCE(MAX(id), 0) FROM task_history")) {
+            rs.next();
+            maxId = rs.getLong(1);
+        }
+
+        try (PreparedStatement backfill = connection.prepareStatement(
+                "UPDATE task_history SET project_id = (SELECT t.project_id FROM task t WHERE t.id = task_history.task_id) " +
+                "WHERE id > ? AND id <= ? AND project_id IS NULL")) {
+            for (long from = 0; from < maxId; from += BATCH_SIZE) {
+                backfill.setLong(1, from);
+                backfill.setLong(2, from + BATCH_SIZE);
+                backfill.executeUpdate();
+                if (!connection.getAutoCommit()) {
+                    connection.commit();
+                }
+            }
+        }
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(mysql
+                    ? "ALTER TABLE task_history MODIFY project_id BIGINT NOT NULL"
+                    : "ALTER TABLE task_history ALTER COLUMN project_id SET NOT NULL");
+            statement.execute("ALTER TABLE task_history ADD CONSTRAINT fk_task_history_project " +
+                    "FOREIGN KEY (project_id) REFERENCES project(id) ON DELETE CASCADE");
+            statement.execute("CREATE INDEX idx_task_history_project_timestamp " +
+                    "ON task_history (project_id, timestamp DESC, id)");
+        }
+    }
+
+    private static boolean columnExists(Connection connection) throws Exception {
+        try (ResultSet rs = connection.getMetaData().getColumns(connection.getCatalog(), null, "task_history", "project_id")) {
+            if (rs.next()) {
+                return true;
+            }
+        }
+        // H2 reports unquoted identifiers in upper case
+        try (ResultSet rs = connection.getMetaData().getColumns(connection.getCatalog(), null, "TASK_HISTORY", "PROJECT_ID")) {
+            return rs.next();
+        }
+    }
+}
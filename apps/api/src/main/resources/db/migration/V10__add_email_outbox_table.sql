@@ -0,0 +1,23 @@
+-- Outbound email queue
+-- Requests store the rendered message here and return; EmailOutboxWorker sends them
+-- in batches, retries failures with backoff and marks exhausted rows as DEAD.
+
+CREATE TABLE email_outbox (
+    id BIGINT NOT NULL PRIMARY KEY,
+    recipient VARCHAR(255) NOT NULL,
+    subject VARCHAR(500) NOT NULL,
+    html_body TEXT NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    attempts INT NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP NOT NULL,
+    claim_token VARCHAR(36),
+    locked_until TIMESTAMP NULL,
+    last_error VARCHAR(1000),
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    sent_at TIMESTAMP NULL
+);
+
+CREATE INDEX idx_email_outbox_status_next ON email_outbox (status, next_attempt_at);
+CREATE INDEX idx_email_outbox_claim ON email_outbox (claim_token);
+
+INSERT INTO id_generator (sequence_name, next_val) VALUES ('email_outbox', 100);
@@ -0,0 +1,25 @@
+-- Asynchronous project deletion
+-- Deleting a project only marks it (deleted_at) and records a job; ProjectPurgeWorker
+-- then removes its history, tasks and members in small chunks and reports progress here.
+
+ALTER TABLE project ADD COLUMN deleted_at TIMESTAMP NULL;
+
+CREATE TABLE project_deletion_job (
+    id BIGINT PRIMARY KEY AUTO_INCREMENT,
+    project_id BIGINT NOT NULL,
+    project_name VARCHAR(255) NOT NULL,
+    requested_by BIGINT NULL,
+    status VARCHAR(20) NOT NULL,
+    tasks_total BIGINT NOT NULL DEFAULT 0,
+    history_total BIGINT NOT NULL DEFAULT 0,
+    members_total BIGINT NOT NULL DEFAULT 0,
+    tasks_deleted BIGINT NOT NULL DEFAULT 0,
+    history_deleted BIGINT NOT NULL DEFAULT 0,
+    members_deleted BIGINT NOT NULL DEFAULT 0,
+    last_error VARCHAR(1000),
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    started_at TIMESTAMP NULL,
+    finished_at TIMESTAMP NULL
+);
+
+CREATE INDEX idx_project_deletion_job_status ON project_deletion_job (status);
@@ -0,0 +1,59 @@
+-- Project templates and batched project bootstrap
+-- Statuses and priorities draw ids from id_generator (see V8) so the rows cloned
+-- from a template go out as one JDBC batch per table.
+
+INSERT INTO id_generator (sequence_name, next_val)
+SELECT 'task_status', COALESCE(MAX(id), 0) + 100 FROM task_status;
+
+INSERT INTO id_generator (sequence_name, next_val)
+SELECT 'task_priority', COALESCE(MAX(id), 0) + 100 FROM task_priority;
+
+CREATE TABLE project_template (
+    id BIGINT PRIMARY KEY AUTO_INCREMENT,
+    name VARCHAR(100) NOT NULL,
+    description VARCHAR(255),
+    is_default BOOLEAN NOT NULL DEFAULT FALSE,
+    created_at TIMESTAMP NOT NULL,
+    CONSTRAINT uq_project_template_name UNIQUE (name)
+);
+
+CREATE TABLE project_template_status (
+    template_id BIGINT NOT NULL,
+    name VARCHAR(50) NOT NULL,
+    description VARCHAR(255),
+    color VARCHAR(7) NOT NULL DEFAULT '#6B7280',
+    order_index INT NOT NULL DEFAULT 0,
+    is_default BOOLEAN NOT NULL DEFAULT FALSE,
+    CONSTRAINT fk_template_status_template FOREIGN KEY (template_id) REFERENCES project_template(id) ON DELETE CASCADE
+);
+
+CREATE TABLE project_template_priority (
+    template_id BIGINT NOT NULL,
+    name VARCHAR(50) NOT NULL,
+    description VARCHAR(255),
+    color VARCHAR(7) NOT NULL DEFAULT '#6B7280',
+    level INT NOT NULL DEFAULT 1,
+    is_default BOOLEAN NOT NULL DEFAULT FALSE,
+    todo_state VARCHAR(20) NOT NULL DEFAULT 'TODO',
+    doing_state VARCHAR(20) NOT NULL DEFAULT 'DOING',
+    finish_state VARCHAR(20) NOT NULL DEFAULT 'FINISH',
+    CONSTRAINT fk_template_priority_template FOREIGN KEY (template_id) REFERENCES project_template(id) ON DELETE CASCADE
+);
+
+-- The settings every new project used to get
+INSERT INTO project_template (name, description, is_default, created_at)
+VALUES ('Par défaut', 'Statuts et priorités par défaut', TRUE, CURRENT_TIMESTAMP);
+
+INSERT INTO project_template_status (template_id, name, description, color, order_index, is_default)
+SELECT id, 'À faire', 'Tâches qui doivent être commencées', '#6B7280', 1, TRUE FROM project_template WHERE name = 'Par défaut';
+INSERT INTO project_template_status (template_id, name, description, color, order_index, is_default)
+SELECT id, 'En cours', 'Tâches actuellement en développement', '#F59E0B', 2, FALSE FROM project_template WHERE name = 'Par défaut';
+INSERT INTO project_template_status (template_id, name, description, color, order_index, is_default)
+SELECT id, 'Terminé', 'Tâches complètement achevées', '#10B981', 3, FALSE FROM project_template WHERE name = 'Par défaut';
+
+INSERT INTO project_template_priority (template_id, name, description, color, level, is_default, todo_state, doing_state, finish_state)
+SELECT id, 'Basse', 'Priorité faible - peut être fait plus tard', '#6B7280', 1, FALSE, 'TODO', 'DOING', 'FINISH' FROM project_template WHERE name = 'Par défaut';
+INSERT INTO project_template_priority (template_id, name, description, color, level, is_default, todo_state, doing_state, finish_state)
+SELECT id, 'Normale', 'Priorité normale - travail standard', '#3B82F6', 2, TRUE, 'TODO', 'DOING', 'FINISH' FROM project_template WHERE name = 'Par défaut';
+INSERT INTO project_template_priority (template_id, name, description, color, level, is_default, todo_state, doing_state, finish_state)
+SELECT id, 'Haute', 'Priorité élevée - doit être fait rapidement', '#EF4444', 3, FALSE, 'TODO', 'DOING', 'FINISH' FROM project_template WHERE name = 'Par défaut';
@@ -0,0 +1,37 @@
+-- Per-project task counters (see ProjectTaskStatsService)
+-- One row per (project, dimension, key): TOTAL (key 0), STATUS / PRIORITY / ASSIGNEE
+-- (key = the referenced id) and DUE_DATE (key = yyyymmdd). Tasks without a status,
+-- priority, assignee or due date have no row in that dimension.
+-- Task writes apply +/- deltas in their own transaction; a nightly job reconciles.
+-- No foreign key to project: missing rows are created from a separate transaction,
+-- which must not wait on a project row the writer has not committed yet.
+-- ProjectPurgeWorker deletes the rows of purged projects.
+
+CREATE TABLE project_task_stats (
+    project_id BIGINT NOT NULL,
+    dimension VARCHAR(20) NOT NULL,
+    dimension_key BIGINT NOT NULL,
+    task_count BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (project_id, dimension, dimension_key)
+);
+
+INSERT INTO project_task_stats (project_id, dimension, dimension_key, task_count)
+SELECT project_id, 'TOTAL', 0, COUNT(*) FROM task GROUP BY project_id;
+
+INSERT INTO project_task_stats (project_id, dimension, dimension_key, task_count)
+SELECT project_id, 'STATUS', status_id, COUNT(*) FROM task
+WHERE status_id IS NOT NULL GROUP BY project_id, status_id;
+
+INSERT INTO project_task_stats (project_id, dimension, dimension_key, task_count)
+SELECT project_id, 'PRIORITY', priority_id, COUNT(*) FROM task
+WHERE priority_id IS NOT NULL GROUP BY project_id, priority_id;
+
+INSERT INTO project_task_stats (project_id, dimension, dimension_key, task_count)
+SELECT project_id, 'ASSIGNEE', assignee_id, COUNT(*) FROM task
+WHERE assignee_id IS NOT NULL GROUP BY project_id, assignee_id;
+
+INSERT INTO project_task_stats (project_id, dimension, dimension_key, task_count)
+SELECT project_id, 'DUE_DATE', day_key, COUNT(*) FROM (
+    SELECT project_id, YEAR(due_date) * 10000 + MONTH(due_date) * 100 + DAY(due_date) AS day_key
+    FROM task WHERE due_date IS NOT NULL
+) dated GROUP BY project_id, day_key;
@@ -0,0 +1,7 @@
+-- Optimistic locking: JPA @Version columns, checked by every entity UPDATE.
+-- The task version is also the ETag of the task endpoints, together with the
+-- versions of the status and priority embedded in the task representation.
+
+ALTER TABLE task ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE task_status ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE task_priority ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
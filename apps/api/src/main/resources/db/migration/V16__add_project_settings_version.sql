@@ -0,0 +1,4 @@
+-- Version of a project's statuses and priorities, bumped by every change to them.
+-- It is the ETag of the settings endpoints and tags their cached JSON.
+
+ALTER TABLE project ADD COLUMN settings_version BIGINT NOT NULL DEFAULT 0;
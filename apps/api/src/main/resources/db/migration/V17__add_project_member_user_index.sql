@@ -0,0 +1,4 @@
+-- Backs the caller's project listing: the user's memberships are read as an index range
+-- in project id order, with the role, so a page stops after LIMIT rows.
+
+CREATE INDEX idx_project_member_user_project ON project_member (user_id, project_id, role);
@@ -0,0 +1,22 @@
+-- Refresh tokens are stored as the SHA-256 digest of the token, in a fixed-size binary
+-- column. Each login starts a family of tokens: a refresh marks the presented token used
+-- and adds its successor to the family, so a user has one family per device.
+-- Tokens stored in clear so far cannot be converted here; those sessions log in again.
+
+DROP TABLE refresh_token;
+
+CREATE TABLE refresh_token (
+    id BIGINT PRIMARY KEY AUTO_INCREMENT,
+    token_hash BINARY(32) NOT NULL,
+    family_id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    expiry_date TIMESTAMP NOT NULL,
+    used_at TIMESTAMP NULL,
+    CONSTRAINT uq_refresh_token_hash UNIQUE (token_hash),
+    CONSTRAINT fk_refresh_token_user FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_refresh_token_family ON refresh_token(family_id);
+CREATE INDEX idx_refresh_token_user_id ON refresh_token(user_id);
+CREATE INDEX idx_refresh_token_expiry ON refresh_token(expiry_date);
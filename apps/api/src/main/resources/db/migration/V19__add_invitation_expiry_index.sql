@@ -0,0 +1,4 @@
+-- Backs the expiry sweep: the pending invitations past their expiry are one index range,
+-- so each chunk stops after LIMIT rows instead of filtering every pending invitation.
+
+CREATE INDEX idx_project_invitations_status_expires ON project_invitations (status, expires_at);
@@ -0,0 +1,5 @@
+-- Project invitations draw ids from id_generator (see V8), so a bulk invite inserts its
+-- invitations as JDBC batches instead of one statement per row.
+
+INSERT INTO id_generator (sequence_name, next_val)
+SELECT 'project_invitations', COALESCE(MAX(id), 0) + 100 FROM project_invitations;
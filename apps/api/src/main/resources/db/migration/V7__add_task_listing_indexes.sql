@@ -0,0 +1,9 @@
+-- Composite indexes backing the keyset-paginated task listing
+-- Each index starts with project_id and ends with id so that a filtered page
+-- is an index range scan that stops after LIMIT rows, whatever the project size.
+
+CREATE INDEX idx_task_project_updated ON task (project_id, updated_at, id);
+CREATE INDEX idx_task_project_due ON task (project_id, due_date, id);
+CREATE INDEX idx_task_project_status ON task (project_id, status_id, id);
+CREATE INDEX idx_task_project_priority ON task (project_id, priority_id, id);
+CREATE INDEX idx_task_project_assignee ON task (project_id, assignee_id, id);
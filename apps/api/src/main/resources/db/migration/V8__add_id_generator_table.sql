@@ -0,0 +1,13 @@
+-- Pooled id generator table
+-- Entities written in JDBC batches cannot use IDENTITY ids (Hibernate must insert
+-- them one by one to read the generated key back). They draw ids from this table
+-- in blocks instead; one row per entity, next_val is the high end of the last block.
+
+CREATE TABLE id_generator (
+    sequence_name VARCHAR(64) NOT NULL PRIMARY KEY,
+    next_val BIGINT NOT NULL
+);
+
+-- Start above the existing ids, leaving room for a full allocation block
+INSERT INTO id_generator (sequence_name, next_val)
+SELECT 'task_history', COALESCE(MAX(id), 0) + 100 FROM task_history;
@@ -0,0 +1,4 @@
+-- Token version carried in access tokens as the "tv" claim.
+-- Bumping it (e.g. on password change) invalidates every token issued before.
+
+ALTER TABLE users ADD COLUMN token_version INT NOT NULL DEFAULT 0;
@@ -0,0 +1,87 @@
+package com.example.demo.benchmark;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.core.io.ClassPathResource;
+
+import com.example.demo.service.EmailTemplateEngine;
+
+/**
+ * Compares the precompiled {@link EmailTemplateEngine} with the previous
+ * read-and-String.replace rendering of EmailService.
+ *
+ * Run with:
+ * mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.example.demo.benchmark.EmailTemplateBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EmailTemplateBenchmark {
+
+    private static final String TEMPLATE = "task-assignment";
+
+    private EmailTemplateEngine engine;
+    private Map<String, Object> data;
+
+    @Setup
+    public void setUp() throws IOException {
+        engine = new EmailTemplateEngine();
+        engine.loadTemplates();
+        data = Map.of(
+                "assigneeName", "Jane Doe",
+                "projectName", "Website redesign",
+                "taskName", "Update the landing page",
+                "taskDescription", "Replace the hero section and refresh the screenshots",
+                "dueDate", "31/12/2025",
+                "priorityLevel", "high",
+                "priorityName", "Haute",
+                "assignedBy", "John Smith",
+                "taskLink", "http://localhost:4200/projects/1/tasks/42"
+        );
+    }
+
+    @Benchmark
+    public String precompiled() {
+        return engine.render(TEMPLATE, data);
+    }
+
+    @Benchmark
+    public String legacyStringReplace() throws IOException {
+        // Former EmailService.loadAndProcessTemplate
+        ClassPathResource resource = new ClassPathResource("templates/email/" + TEMPLATE + ".html");
+        String content = new String(resource.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+        for (Map.Entry<String, Object> entry : data.entrySet()) {
+            String placeholder = "{{" + entry.getKey() + "}}";
+            String value = entry.getValue() != null ? entry.getValue().toString() : "";
+            content = content.replace(placeholder, value);
+        }
+        return content;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(EmailTemplateBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.demo.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.example.demo.security.OffloadedPasswordEncoder;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Logins per second (one password check each) for the cost settings of
+ * {@code app.security.password.*}: bcrypt strengths, and argon2 as
+ * {@code memory-kb/iterations}. Runs with more callers than cores, as during a login burst,
+ * through the hashing pool as in the application.
+ *
+ * Run with:
+ * mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.example.demo.benchmark.PasswordHashingBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Threads(32)
+@Fork(1)
+public class PasswordHashingBenchmark {
+
+    private static final String PASSWORD = "correct horse battery staple";
+
+    @Param({"bcrypt:10", "bcrypt:11", "bcrypt:12", "argon2:19456/2", "argon2:47104/1"})
+    private String cost;
+
+    private OffloadedPasswordEncoder encoder;
+    private String hash;
+
+    @Setup
+    public void setUp() {
+        String[] setting = cost.split(":");
+        PasswordEncoder delegate;
+        if (setting[0].equals("bcrypt")) {
+            delegate = new BCryptPasswordEncoder(Integer.parseInt(setting[1]));
+        } else {
+            String[] params = setting[1].split("/");
+            delegate = new Argon2PasswordEncoder(16, 32, 1, Integer.parseInt(params[0]), Integer.parseInt(params[1]));
+        }
+        // Queue large enough for every benchmark thread: this measures the hashing, not the admission
+        encoder = new OffloadedPasswordEncoder(delegate, 0, 64, new SimpleMeterRegistry());
+        hash = delegate.encode(PASSWORD);
+    }
+
+    @TearDown
+    public void tearDown() {
+        encoder.close();
+    }
+
+    @Benchmark
+    public boolean login() {
+        return encoder.matches(PASSWORD, hash);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(PasswordHashingBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
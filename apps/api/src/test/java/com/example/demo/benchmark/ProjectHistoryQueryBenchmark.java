@@ -0,0 +1,229 @@
+package com.example.demo.benchmark;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Project history queries before (join through task) and after (task_history.project_id
+ * with its (project_id, timestamp DESC, id) index, see V12).
+ *
+ * Runs against a scratch MySQL database migrated by the application. When it holds fewer
+ * than {@code bench.rows} history rows (default 5,000,000) the missing ones are generated
+ * first, spread over {@code bench.projects} projects.
+ *
+ * Run with:
+ * mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.example.demo.benchmark.ProjectHistoryQueryBenchmark
+ *   -Dbench.jdbc.url=jdbc:mysql://localhost:3306/bench?rewriteBatchedStatements=true -Dbench.jdbc.user=root -Dbench.jdbc.password=...
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProjectHistoryQueryBenchmark {
+
+    private static final String BEFORE_RECENT =
+            "SELECT th.* FROM task_history th JOIN task t ON t.id = th.task_id " +
+            "WHERE t.project_id = ? ORDER BY th.timestamp DESC LIMIT 50";
+    private static final String AFTER_RECENT =
+            "SELECT * FROM task_history WHERE project_id = ? ORDER BY timestamp DESC, id LIMIT 50";
+    private static final String BEFORE_COUNT =
+            "SELECT COUNT(*) FROM task_history th JOIN task t ON t.id = th.task_id WHERE t.project_id = ?";
+    private static final String AFTER_COUNT =
+            "SELECT COUNT(*) FROM task_history WHERE project_id = ?";
+
+    private static final int TASKS_PER_PROJECT = 200;
+
+    private Connection connection;
+    private long[] projectIds;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection(
+                System.getProperty("bench.jdbc.url", "jdbc:mysql://localhost:3306/bench?rewriteBatchedStatements=true"),
+                System.getProperty("bench.jdbc.user", "root"),
+                System.getProperty("bench.jdbc.password", ""));
+        long rows = Long.getLong("bench.rows", 5_000_000L);
+        int projects = Integer.getInteger("bench.projects", 100);
+        seed(rows, projects);
+
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT DISTINCT project_id FROM task")) {
+            projectIds = readIds(rs);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Benchmark
+    public int recentActivityBefore() throws SQLException {
+        return run(BEFORE_RECENT);
+    }
+
+    @Benchmark
+    public int recentActivityAfter() throws SQLException {
+        return run(AFTER_RECENT);
+    }
+
+    @Benchmark
+    public int historyCountBefore() throws SQLException {
+        return run(BEFORE_COUNT);
+    }
+
+    @Benchmark
+    public int historyCountAfter() throws SQLException {
+        return run(AFTER_COUNT);
+    }
+
+    private int run(String sql) throws SQLException {
+        long projectId = projectIds[ThreadLocalRandom.current().nextInt(projectIds.length)];
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setLong(1, projectId);
+            int count = 0;
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    count++;
+                }
+            }
+            return count;
+        }
+    }
+
+    private void seed(long targetRows, int projects) throws SQLException {
+        long existing = scalar("SELECT COUNT(*) FROM task_history");
+        if (existing >= targetRows) {
+            return;
+        }
+        System.out.printf("Generating %d task history rows...%n", targetRows - existing);
+
+        connection.setAutoCommit(false);
+        try (Statement statement = connection.createStatement()) {
+            statement.executeUpdate("INSERT INTO users (username, email, password) " +
+                    "SELECT 'bench', 'bench@example.com', 'x' FROM (SELECT 1) one " +
+                    "WHERE NOT EXISTS (SELECT 1 FROM users WHERE email = 'bench@example.com')");
+        }
+        long userId = scalar("SELECT id FROM users WHERE email = 'bench@example.com'");
+
+        long[] taskIds = new long[projects * TASKS_PER_PROJECT];
+        long[] taskProjects = new long[taskIds.length];
+        try (PreparedStatement project = connection.prepareStatement(
+                     "INSERT INTO project (name, description, start_date) VALUES (?, 'benchmark', CURRENT_DATE)",
+                     Statement.RETURN_GENERATED_KEYS);
+             PreparedStatement task = connection.prepareStatement(
+                     "INSERT INTO task (name, project_id) VALUES (?, ?)", Statement.RETURN_GENERATED_KEYS)) {
+            for (int p = 0; p < projects; p++) {
+                project.setString(1, "bench-" + System.nanoTime() + "-" + p);
+                project.executeUpdate();
+                long projectId = generatedKey(project);
+                for (int t = 0; t < TASKS_PER_PROJECT; t++) {
+                    task.setString(1, "task " + t);
+                    task.setLong(2, projectId);
+                    task.executeUpdate();
+                    int index = p * TASKS_PER_PROJECT + t;
+                    taskIds[index] = generatedKey(task);
+                    taskProjects[index] = projectId;
+                }
+            }
+        }
+        connection.commit();
+
+        long nextId = scalar("SELECT COALESCE(MAX(id), 0) FROM task_history") + 1;
+        LocalDateTime start = LocalDateTime.now().minusYears(1);
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        try (PreparedStatement history = connection.prepareStatement(
+                "INSERT INTO task_history (id, task_id, project_id, modified_by, action, field_name, old_value, new_value, timestamp) " +
+                "VALUES (?, ?, ?, ?, 'UPDATE', 'name', 'old', 'new', ?)")) {
+            for (long i = existing; i < targetRows; i++) {
+                int task = random.nextInt(taskIds.length);
+                history.setLong(1, nextId++);
+                history.setLong(2, taskIds[task]);
+                history.setLong(3, taskProjects[task]);
+                history.setLong(4, userId);
+                history.setTimestamp(5, Timestamp.valueOf(start.plusSeconds(i * 6)));
+                history.addBatch();
+                if (i % 10_000 == 0) {
+                    history.executeBatch();
+                    connection.commit();
+                }
+            }
+            history.executeBatch();
+        }
+        // Keep the application's pooled ids clear of the generated rows
+        try (PreparedStatement generator = connection.prepareStatement(
+                "UPDATE id_generator SET next_val = ? WHERE sequence_name = 'task_history'")) {
+            generator.setLong(1, nextId + 100);
+            generator.executeUpdate();
+        }
+        connection.commit();
+        connection.setAutoCommit(true);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("ANALYZE TABLE task_history, task");
+        }
+    }
+
+    private long scalar(String sql) throws SQLException {
+        try (Statement statement = connection.createStatement(); ResultSet rs = statement.executeQuery(sql)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    private static long generatedKey(PreparedStatement statement) throws SQLException {
+        try (ResultSet keys = statement.getGeneratedKeys()) {
+            keys.next();
+            return keys.getLong(1);
+        }
+    }
+
+    private static long[] readIds(ResultSet rs) throws SQLException {
+        List<Long> ids = new ArrayList<>();
+        while (rs.next()) {
+            ids.add(rs.getLong(1));
+        }
+        return ids.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(ProjectHistoryQueryBenchmark.class.getSimpleName())
+                .jvmArgsAppend(
+                        "-Dbench.jdbc.url=" + System.getProperty("bench.jdbc.url", "jdbc:mysql://localhost:3306/bench?rewriteBatchedStatements=true"),
+                        "-Dbench.jdbc.user=" + System.getProperty("bench.jdbc.user", "root"),
+                        "-Dbench.jdbc.password=" + System.getProperty("bench.jdbc.password", ""),
+                        "-Dbench.rows=" + Long.getLong("bench.rows", 5_000_000L),
+                        "-Dbench.projects=" + Integer.getInteger("bench.projects", 100))
+                .build();
+        new Runner(options).run();
+    }
+}
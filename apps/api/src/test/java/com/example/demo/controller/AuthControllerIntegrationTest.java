@@ -2,16 +2,30 @@ package com.example.demo.controller;
 
 import com.example.demo.model.User;
 import com.example.demo.repository.UserRepository;
+import com.example.demo.security.UserPrincipal;
+import com.example.demo.service.JwtService;
+import com.jayway.jsonpath.JsonPath;
+import jakarta.persistence.EntityManager;
+import jakarta.servlet.http.Cookie;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @SpringBootTest
@@ -22,6 +36,10 @@ class AuthControllerIntegrationTest {
     private MockMvc mockMvc;
     @Autowired
     private UserRepository userRepository;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private JwtService jwtService;
 
     @BeforeEach
     void setUp() {
@@ -90,4 +108,128 @@ class AuthControllerIntegrationTest {
                 .andExpect(status().isUnauthorized())
                 .andExpect(jsonPath("$.error").value("Invalid credentials"));
     }
+
+    @Test
+    void login_shouldRehashPasswordStoredWithoutEncoderPrefix() throws Exception {
+        User user = new User();
+        user.setUsername("john");
+        user.setEmail("john@example.com");
+        user.setPassword(new BCryptPasswordEncoder(4).encode("password123"));
+        userRepository.save(user);
+        String loginJson = "{" +
+                "\"email\": \"john@example.com\"," +
+                "\"password\": \"password123\"}";
+        mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(loginJson))
+                .andExpect(status().isOk());
+
+        entityManager.flush();
+        entityManager.clear();
+        String stored = userRepository.findByEmail("john@example.com").orElseThrow().getPassword();
+        assertTrue(stored.startsWith("{bcrypt}$2a$10$"), stored);
+
+        mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(loginJson))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void refreshToken_shouldRotateUntilLogout() throws Exception {
+        User user = new User();
+        user.setUsername("john");
+        user.setEmail("john@example.com");
+        user.setPassword(new BCryptPasswordEncoder(4).encode("password123"));
+        userRepository.save(user);
+        String login = mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"email\": \"john@example.com\", \"password\": \"password123\"}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        String first = JsonPath.read(login, "$.refreshToken");
+
+        MvcResult refreshed = mockMvc.perform(post("/api/auth/refresh-token").cookie(new Cookie("refreshToken", first)))
+                .andExpect(status().isOk())
+                .andExpect(cookie().exists("accessToken"))
+                .andExpect(cookie().exists("refreshToken"))
+                .andReturn();
+        String second = refreshed.getResponse().getCookie("refreshToken").getValue();
+        assertNotEquals(first, second);
+
+        // A concurrent refresh with the token just replaced gets no successor
+        mockMvc.perform(post("/api/auth/refresh-token").cookie(new Cookie("refreshToken", first)))
+                .andExpect(status().isOk())
+                .andExpect(cookie().doesNotExist("refreshToken"));
+
+        mockMvc.perform(post("/api/auth/logout").cookie(new Cookie("refreshToken", second)))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/api/auth/refresh-token").cookie(new Cookie("refreshToken", second)))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void refreshToken_shouldBeRejectedAfterPasswordChange() throws Exception {
+        User user = new User();
+        user.setUsername("john");
+        user.setEmail("john@example.com");
+        user.setPassword(new BCryptPasswordEncoder(4).encode("password123"));
+        user = userRepository.save(user);
+        String login = mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"email\": \"john@example.com\", \"password\": \"password123\"}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        String refreshToken = JsonPath.read(login, "$.refreshToken");
+
+        mockMvc.perform(put("/api/users/me/password")
+                .with(user(new UserPrincipal(user)))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"currentPassword\": \"password123\", \"newPassword\": \"newPassword456\"}"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(post("/api/auth/refresh-token").cookie(new Cookie("refreshToken", refreshToken)))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void currentUser_shouldBeReadFromTheDatabase() throws Exception {
+        User user = new User();
+        user.setUsername("john");
+        user.setEmail("john@example.com");
+        user.setPassword(new BCryptPasswordEncoder(4).encode("password123"));
+        user = userRepository.save(user);
+        // The principal built from the token only carries what the user cache keeps
+        User snapshot = new User();
+        snapshot.setId(user.getId());
+        snapshot.setUsername("stale");
+        snapshot.setEmail("john@example.com");
+
+        mockMvc.perform(get("/api/users/me").with(user(new UserPrincipal(snapshot))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(user.getId()))
+                .andExpect(jsonPath("$.username").value("john"))
+                .andExpect(jsonPath("$.email").value("john@example.com"))
+                .andExpect(jsonPath("$.password").doesNotExist());
+    }
+
+    @Test
+    void accessTokenWithoutVersionClaim_shouldBeRejectedAfterPasswordChange() throws Exception {
+        User user = new User();
+        user.setUsername("john");
+        user.setEmail("john@example.com");
+        user.setPassword(new BCryptPasswordEncoder(4).encode("password123"));
+        user = userRepository.save(user);
+        // Issued before tokens carried the user id and version claims
+        String legacyToken = jwtService.generateToken(Map.of(), new UserPrincipal(user));
+
+        mockMvc.perform(get("/api/users/me").header("Authorization", "Bearer " + legacyToken))
+                .andExpect(status().isOk());
+
+        user.setTokenVersion(user.getTokenVersion() + 1);
+        userRepository.saveAndFlush(user);
+
+        mockMvc.perform(get("/api/users/me").header("Authorization", "Bearer " + legacyToken))
+                .andExpect(status().is4xxClientError());
+    }
 }
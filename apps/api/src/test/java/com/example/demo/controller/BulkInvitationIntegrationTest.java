@@ -0,0 +1,162 @@
+package com.example.demo.controller;
+
+import com.example.demo.model.EmailOutbox;
+import com.example.demo.model.Project;
+import com.example.demo.model.ProjectInvitation;
+import com.example.demo.model.ProjectMember;
+import com.example.demo.model.User;
+import com.example.demo.repository.EmailOutboxRepository;
+import com.example.demo.repository.ProjectInvitationRepository;
+import com.example.demo.repository.UserRepository;
+import com.example.demo.security.UserPrincipal;
+import com.example.demo.service.InvitationService;
+import com.example.demo.service.ProjectService;
+import com.example.demo.support.QueryCounter;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * A bulk invite reports every email, skips members and pending invitations, and runs a
+ * fixed number of statements whatever the number of emails.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+class BulkInvitationIntegrationTest {
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private ProjectService projectService;
+    @Autowired
+    private InvitationService invitationService;
+    @Autowired
+    private ProjectInvitationRepository invitationRepository;
+    @Autowired
+    private EmailOutboxRepository emailOutboxRepository;
+    @Autowired
+    private UserRepository userRepository;
+
+    private User admin;
+    private Project project;
+
+    @BeforeEach
+    void setUp() {
+        admin = newUser();
+        project = projectService.createProject("bulk-invite-" + UUID.randomUUID(), "desc", LocalDate.now(), admin);
+    }
+
+    @Test
+    void bulkInvite_shouldReportEveryEmail() throws Exception {
+        User member = newUser();
+        projectService.addMember(project, member, ProjectMember.ProjectRole.MEMBER);
+        User registered = newUser();
+        ProjectInvitation pending = invitationService.createInvitation(project, "pending@example.com",
+                ProjectMember.ProjectRole.MEMBER, admin);
+        long queued = emailOutboxRepository.countByStatus(EmailOutbox.Status.PENDING);
+
+        mockMvc.perform(post("/api/invitations/project/" + project.getId() + "/bulk")
+                        .with(user(new UserPrincipal(admin)))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"role\": \"MEMBER\", \"emails\": [\"new@example.com\", \" " + registered.getEmail() + "\", "
+                                + "\"" + member.getEmail() + "\", \"pending@example.com\", \"not an email\", \"New@Example.com\"]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(5))
+                .andExpect(jsonPath("$[0].email").value("new@example.com"))
+                .andExpect(jsonPath("$[0].outcome").value("INVITED"))
+                .andExpect(jsonPath("$[0].userExists").value(false))
+                .andExpect(jsonPath("$[1].email").value(registered.getEmail()))
+                .andExpect(jsonPath("$[1].outcome").value("INVITED"))
+                .andExpect(jsonPath("$[1].userExists").value(true))
+                .andExpect(jsonPath("$[2].outcome").value("ALREADY_MEMBER"))
+                .andExpect(jsonPath("$[3].outcome").value("ALREADY_INVITED"))
+                .andExpect(jsonPath("$[3].invitationId").value(pending.getId()))
+                .andExpect(jsonPath("$[4].outcome").value("INVALID_EMAIL"));
+
+        assertTrue(invitationRepository.findActiveInvitation(project.getId(), "new@example.com", LocalDateTime.now()).isPresent());
+        assertEquals(queued + 2, emailOutboxRepository.countByStatus(EmailOutbox.Status.PENDING));
+    }
+
+    @Test
+    void bulkInvite_shouldReplaceAnExpiredInvitationNotSweptYet() throws Exception {
+        ProjectInvitation expired = invitationService.createInvitation(project, "late@example.com",
+                ProjectMember.ProjectRole.MEMBER, admin);
+        expired.setExpiresAt(LocalDateTime.now().minusDays(1));
+        invitationRepository.save(expired);
+
+        mockMvc.perform(post("/api/invitations/project/" + project.getId() + "/bulk")
+                        .with(user(new UserPrincipal(admin)))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"role\": \"OBSERVER\", \"emails\": [\"late@example.com\"]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].outcome").value("INVITED"));
+
+        entityManager.flush();
+        entityManager.clear();
+        assertEquals(ProjectInvitation.InvitationStatus.EXPIRED,
+                invitationRepository.findById(expired.getId()).orElseThrow().getStatus());
+    }
+
+    @Test
+    void bulkInvite_shouldRunAFixedNumberOfStatements() throws Exception {
+        int statements = statementsFor(40);
+        assertTrue(statements < 20, "statements for 40 emails: " + statements);
+    }
+
+    @Test
+    void bulkInvite_shouldBeForbiddenToNonAdmins() throws Exception {
+        User member = newUser();
+        projectService.addMember(project, member, ProjectMember.ProjectRole.MEMBER);
+
+        mockMvc.perform(post("/api/invitations/project/" + project.getId() + "/bulk")
+                        .with(user(new UserPrincipal(member)))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"role\": \"MEMBER\", \"emails\": [\"someone@example.com\"]}"))
+                .andExpect(status().isForbidden());
+    }
+
+    private int statementsFor(int count) throws Exception {
+        String emails = IntStream.range(0, count)
+                .mapToObj(i -> "\"bulk-" + i + "-" + UUID.randomUUID().toString().substring(0, 8) + "@example.com\"")
+                .collect(Collectors.joining(", "));
+        entityManager.flush();
+        entityManager.clear();
+        QueryCounter.reset();
+        mockMvc.perform(post("/api/invitations/project/" + project.getId() + "/bulk")
+                        .with(user(new UserPrincipal(admin)))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"role\": \"MEMBER\", \"emails\": [" + emails + "]}"))
+                .andExpect(status().isOk());
+        entityManager.flush();
+        return QueryCounter.count();
+    }
+
+    private User newUser() {
+        User user = new User();
+        String name = UUID.randomUUID().toString().substring(0, 8);
+        user.setUsername("user-" + name);
+        user.setEmail(name + "@example.com");
+        user.setPassword("password123");
+        return userRepository.save(user);
+    }
+}
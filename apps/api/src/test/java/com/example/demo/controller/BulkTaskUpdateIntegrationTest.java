@@ -0,0 +1,124 @@
+package com.example.demo.controller;
+
+import com.example.demo.model.Project;
+import com.example.demo.model.Task;
+import com.example.demo.model.TaskHistory;
+import com.example.demo.model.TaskStatus;
+import com.example.demo.model.User;
+import com.example.demo.repository.TaskHistoryRepository;
+import com.example.demo.repository.TaskRepository;
+import com.example.demo.repository.TaskStatusRepository;
+import com.example.demo.repository.UserRepository;
+import com.example.demo.security.UserPrincipal;
+import com.example.demo.service.ProjectService;
+import com.example.demo.service.ProjectTaskStatsService;
+import com.example.demo.service.TaskService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * A bulk update changes the rows, bumps their versions, writes their history and moves
+ * the project counters, all in the request's transaction against the real schema.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+class BulkTaskUpdateIntegrationTest {
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private ProjectService projectService;
+    @Autowired
+    private TaskService taskService;
+    @Autowired
+    private ProjectTaskStatsService projectTaskStatsService;
+    @Autowired
+    private TaskRepository taskRepository;
+    @Autowired
+    private TaskStatusRepository taskStatusRepository;
+    @Autowired
+    private TaskHistoryRepository taskHistoryRepository;
+    @Autowired
+    private UserRepository userRepository;
+
+    private User admin;
+    private Project project;
+    private List<TaskStatus> statuses;
+
+    @BeforeEach
+    void setUp() {
+        admin = new User();
+        String name = UUID.randomUUID().toString().substring(0, 8);
+        admin.setUsername("user-" + name);
+        admin.setEmail(name + "@example.com");
+        admin.setPassword("password123");
+        admin = userRepository.save(admin);
+        project = projectService.createProject("bulk-" + UUID.randomUUID(), "desc", LocalDate.now(), admin);
+        statuses = taskStatusRepository.findByProjectIdOrderByOrderIndexAsc(project.getId());
+    }
+
+    @Test
+    void bulkUpdate_shouldChangeTasksHistoryAndCounters() throws Exception {
+        Long from = statuses.get(0).getId();
+        Long to = statuses.get(1).getId();
+        Task first = taskService.createTask(project.getId(), "a", null, null, null, from, null, admin);
+        Task second = taskService.createTask(project.getId(), "b", null, null, null, from, null, admin);
+        Task unchanged = taskService.createTask(project.getId(), "c", null, null, null, to, null, admin);
+        entityManager.flush();
+        entityManager.clear();
+        long firstVersion = taskRepository.findById(first.getId()).orElseThrow().getVersion();
+        long historyBefore = taskHistoryRepository.countByTaskId(first.getId());
+        long unchangedHistoryBefore = taskHistoryRepository.countByTaskId(unchanged.getId());
+
+        mockMvc.perform(patch("/api/tasks/bulk")
+                        .with(user(new UserPrincipal(admin)))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"taskIds\": [" + first.getId() + ", " + second.getId() + ", " + unchanged.getId() + "], "
+                                + "\"statusId\": " + to + "}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.updated.length()").value(2))
+                .andExpect(jsonPath("$.unchanged[0]").value(unchanged.getId()));
+
+        entityManager.flush();
+        entityManager.clear();
+        Task updated = taskRepository.findById(first.getId()).orElseThrow();
+        assertEquals(to, updated.getStatus().getId());
+        assertEquals(firstVersion + 1, updated.getVersion());
+        assertEquals(to, taskRepository.findById(second.getId()).orElseThrow().getStatus().getId());
+
+        List<TaskHistory> history = taskHistoryRepository.findByTaskIdAndActionOrderByTimestampDesc(
+                first.getId(), TaskHistory.HistoryAction.STATUS_CHANGE);
+        assertEquals(historyBefore + 1, taskHistoryRepository.countByTaskId(first.getId()));
+        assertEquals(1, history.size());
+        assertEquals(statuses.get(0).getName(), history.get(0).getOldValue());
+        assertEquals(statuses.get(1).getName(), history.get(0).getNewValue());
+        assertEquals(project.getId(), history.get(0).getProjectId());
+        assertEquals(unchangedHistoryBefore, taskHistoryRepository.countByTaskId(unchanged.getId()));
+
+        mockMvc.perform(get("/api/tasks/project/" + project.getId() + "/stats").with(user(new UserPrincipal(admin))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(3))
+                .andExpect(jsonPath("$.byStatus['" + from + "']").doesNotExist())
+                .andExpect(jsonPath("$.byStatus['" + to + "']").value(3));
+        assertEquals(0, projectTaskStatsService.reconcile(project.getId()));
+    }
+}
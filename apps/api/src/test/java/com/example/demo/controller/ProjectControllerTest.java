@@ -54,7 +54,7 @@ class ProjectControllerTest {
     void createProject_shouldReturnProject() {
         Project project = new Project();
         project.setName("Test");
-        when(projectService.createProject(any(), any(), any(), any())).thenReturn(project);
+        when(projectService.createProject(any(), any(), any(), any(), any())).thenReturn(project);
         ResponseEntity<?> response = projectController.createProject(Map.of("name", "Test", "description", "desc", "startDate", LocalDate.now().toString()), authentication);
         assertEquals(200, response.getStatusCodeValue());
     }
@@ -0,0 +1,147 @@
+package com.example.demo.controller;
+
+import com.example.demo.model.Project;
+import com.example.demo.model.ProjectMember;
+import com.example.demo.model.TaskStatus;
+import com.example.demo.model.User;
+import com.example.demo.repository.TaskStatusRepository;
+import com.example.demo.repository.UserRepository;
+import com.example.demo.security.UserPrincipal;
+import com.example.demo.service.ProjectService;
+import com.example.demo.service.TaskService;
+import com.example.demo.support.QueryCounter;
+import com.jayway.jsonpath.JsonPath;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * The caller's project listing only holds their projects, and reads a page with its
+ * counts in one statement.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+class ProjectListingIntegrationTest {
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private ProjectService projectService;
+    @Autowired
+    private TaskService taskService;
+    @Autowired
+    private TaskStatusRepository taskStatusRepository;
+    @Autowired
+    private UserRepository userRepository;
+
+    private User admin;
+    private User member;
+    private Project first;
+    private Project second;
+
+    @BeforeEach
+    void setUp() {
+        admin = newUser();
+        member = newUser();
+        first = projectService.createProject("listing-" + UUID.randomUUID(), "desc", LocalDate.now(), admin);
+        second = projectService.createProject("listing-" + UUID.randomUUID(), "desc", LocalDate.now(), admin);
+        projectService.createProject("listing-" + UUID.randomUUID(), "desc", LocalDate.now(), newUser());
+        projectService.addMember(first, member, ProjectMember.ProjectRole.MEMBER);
+        projectService.addMember(second, member, ProjectMember.ProjectRole.MEMBER);
+    }
+
+    @Test
+    void myProjects_shouldListTheCallersProjectsWithCounts() throws Exception {
+        List<TaskStatus> statuses = taskStatusRepository.findByProjectIdOrderByOrderIndexAsc(first.getId());
+        Long lastStatusId = statuses.get(statuses.size() - 1).getId();
+        taskService.createTask(first.getId(), "a", null, null, null, null, null, admin);
+        taskService.createTask(first.getId(), "b", null, null, null, statuses.get(0).getId(), null, admin);
+        taskService.createTask(first.getId(), "c", null, null, null, lastStatusId, null, admin);
+
+        mockMvc.perform(get("/api/projects/mine").with(user(new UserPrincipal(member))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(2))
+                .andExpect(jsonPath("$.items[0].id").value(first.getId()))
+                .andExpect(jsonPath("$.items[0].role").value("MEMBER"))
+                .andExpect(jsonPath("$.items[0].memberCount").value(2))
+                .andExpect(jsonPath("$.items[0].taskCount").value(3))
+                .andExpect(jsonPath("$.items[0].openTaskCount").value(2))
+                .andExpect(jsonPath("$.items[1].id").value(second.getId()))
+                .andExpect(jsonPath("$.items[1].taskCount").value(0))
+                .andExpect(jsonPath("$.items[1].openTaskCount").value(0))
+                .andExpect(jsonPath("$.hasMore").value(false));
+    }
+
+    @Test
+    void myProjects_shouldPaginateAndSkipDeletedProjects() throws Exception {
+        Project third = projectService.createProject("listing-" + UUID.randomUUID(), "desc", LocalDate.now(), admin);
+        Project deleted = projectService.createProject("listing-" + UUID.randomUUID(), "desc", LocalDate.now(), admin);
+        projectService.deleteProject(deleted.getId(), admin);
+
+        String page = mockMvc.perform(get("/api/projects/mine?limit=2").with(user(new UserPrincipal(admin))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(2))
+                .andExpect(jsonPath("$.items[0].role").value("ADMIN"))
+                .andExpect(jsonPath("$.hasMore").value(true))
+                .andReturn().getResponse().getContentAsString();
+        String cursor = JsonPath.read(page, "$.nextCursor");
+
+        mockMvc.perform(get("/api/projects/mine?limit=2").param("cursor", cursor).with(user(new UserPrincipal(admin))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.items[0].id").value(third.getId()))
+                .andExpect(jsonPath("$.hasMore").value(false));
+    }
+
+    @Test
+    void myProjects_shouldRunOneStatementWhateverTheNumberOfProjects() throws Exception {
+        int few = statementsFor(member);
+        for (int i = 0; i < 5; i++) {
+            Project project = projectService.createProject("listing-" + UUID.randomUUID(), "desc", LocalDate.now(), admin);
+            projectService.addMember(project, member, ProjectMember.ProjectRole.MEMBER);
+            taskService.createTask(project.getId(), "task", null, null, null, null, null, admin);
+        }
+        assertEquals(few, statementsFor(member));
+        assertEquals(1, few);
+    }
+
+    @Test
+    void myProjects_shouldRejectAnInvalidCursor() throws Exception {
+        mockMvc.perform(get("/api/projects/mine").param("cursor", "not a cursor").with(user(new UserPrincipal(member))))
+                .andExpect(status().isBadRequest());
+    }
+
+    private int statementsFor(User caller) throws Exception {
+        entityManager.flush();
+        entityManager.clear();
+        QueryCounter.reset();
+        mockMvc.perform(get("/api/projects/mine").with(user(new UserPrincipal(caller))))
+                .andExpect(status().isOk());
+        return QueryCounter.count();
+    }
+
+    private User newUser() {
+        User user = new User();
+        String name = UUID.randomUUID().toString().substring(0, 8);
+        user.setUsername("user-" + name);
+        user.setEmail(name + "@example.com");
+        user.setPassword("password123");
+        return userRepository.save(user);
+    }
+}
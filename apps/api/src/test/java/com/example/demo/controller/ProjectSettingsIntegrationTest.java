@@ -0,0 +1,122 @@
+package com.example.demo.controller;
+
+import com.example.demo.model.Project;
+import com.example.demo.model.TaskPriority;
+import com.example.demo.model.TaskStatus;
+import com.example.demo.model.User;
+import com.example.demo.repository.TaskPriorityRepository;
+import com.example.demo.repository.TaskStatusRepository;
+import com.example.demo.repository.UserRepository;
+import com.example.demo.security.UserPrincipal;
+import com.example.demo.service.ProjectService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Statuses and priorities are returned with their whole project, whether the project was
+ * loaded by the request or is still a lazy reference.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+class ProjectSettingsIntegrationTest {
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private ProjectService projectService;
+    @Autowired
+    private TaskStatusRepository taskStatusRepository;
+    @Autowired
+    private TaskPriorityRepository taskPriorityRepository;
+    @Autowired
+    private UserRepository userRepository;
+
+    private User admin;
+    private Project project;
+
+    @BeforeEach
+    void setUp() {
+        admin = new User();
+        String name = UUID.randomUUID().toString().substring(0, 8);
+        admin.setUsername("user-" + name);
+        admin.setEmail(name + "@example.com");
+        admin.setPassword("password123");
+        admin = userRepository.save(admin);
+        project = projectService.createProject("settings-" + UUID.randomUUID(), "desc", LocalDate.now(), admin);
+    }
+
+    @Test
+    void statusEndpoints_shouldInlineTheProject() throws Exception {
+        String base = "/api/projects/" + project.getId() + "/settings/statuses";
+        mockMvc.perform(post(base)
+                        .with(user(new UserPrincipal(admin)))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\": \"Review\", \"color\": \"#000000\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Review"))
+                .andExpect(jsonPath("$.project.id").value(project.getId()))
+                .andExpect(jsonPath("$.project.name").value(project.getName()));
+
+        TaskStatus status = taskStatusRepository.findByProjectIdOrderByOrderIndexAsc(project.getId()).get(0);
+        entityManager.flush();
+        entityManager.clear();
+
+        mockMvc.perform(put(base + "/" + status.getId())
+                        .with(user(new UserPrincipal(admin)))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"description\": \"changed\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.description").value("changed"))
+                .andExpect(jsonPath("$.isDefault").exists())
+                .andExpect(jsonPath("$.project.name").value(project.getName()))
+                .andExpect(jsonPath("$.project.description").value("desc"));
+
+        entityManager.flush();
+        entityManager.clear();
+
+        mockMvc.perform(get(base).with(user(new UserPrincipal(admin))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(status.getId()))
+                .andExpect(jsonPath("$[0].project.name").value(project.getName()));
+    }
+
+    @Test
+    void priorityEndpoints_shouldInlineTheProject() throws Exception {
+        TaskPriority priority = taskPriorityRepository.findByProjectIdOrderByLevelDesc(project.getId()).get(0);
+        entityManager.flush();
+        entityManager.clear();
+        String base = "/api/projects/" + project.getId() + "/settings/priorities";
+
+        mockMvc.perform(post(base + "/" + priority.getId() + "/default").with(user(new UserPrincipal(admin))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.isDefault").value(true))
+                .andExpect(jsonPath("$.todoState").value("TODO"))
+                .andExpect(jsonPath("$.project.name").value(project.getName()));
+
+        entityManager.flush();
+        entityManager.clear();
+
+        mockMvc.perform(get(base).with(user(new UserPrincipal(admin))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].project.id").value(project.getId()))
+                .andExpect(jsonPath("$[0].project.name").value(project.getName()));
+    }
+}
@@ -0,0 +1,243 @@
+package com.example.demo.controller;
+
+import com.example.demo.model.Project;
+import com.example.demo.model.ProjectInvitation;
+import com.example.demo.model.ProjectMember;
+import com.example.demo.model.Task;
+import com.example.demo.model.TaskHistory;
+import com.example.demo.model.TaskPriority;
+import com.example.demo.model.TaskStatus;
+import com.example.demo.model.User;
+import com.example.demo.repository.ProjectInvitationRepository;
+import com.example.demo.repository.ProjectMemberRepository;
+import com.example.demo.repository.TaskHistoryRepository;
+import com.example.demo.repository.TaskPriorityRepository;
+import com.example.demo.repository.TaskRepository;
+import com.example.demo.repository.TaskStatusRepository;
+import com.example.demo.repository.UserRepository;
+import com.example.demo.security.UserPrincipal;
+import com.example.demo.service.ProjectService;
+import com.example.demo.support.QueryCounter;
+import com.jayway.jsonpath.JsonPath;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Read endpoints must run the same number of statements whatever the number of rows they
+ * return: associations come with the rows, nothing is loaded while writing the response.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+class ReadQueryCountIntegrationTest {
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private ProjectService projectService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ProjectMemberRepository projectMemberRepository;
+    @Autowired
+    private TaskRepository taskRepository;
+    @Autowired
+    private TaskStatusRepository taskStatusRepository;
+    @Autowired
+    private TaskPriorityRepository taskPriorityRepository;
+    @Autowired
+    private TaskHistoryRepository taskHistoryRepository;
+    @Autowired
+    private ProjectInvitationRepository invitationRepository;
+
+    private User admin;
+    private Project project;
+    private Task firstTask;
+
+    @BeforeEach
+    void setUp() {
+        admin = newUser();
+        project = projectService.createProject("query-count-" + UUID.randomUUID(), "desc", LocalDate.now(), admin);
+        grow(1);
+    }
+
+    @Test
+    void taskListing_shouldRunConstantStatements() throws Exception {
+        assertConstantStatements("/api/tasks/project/" + project.getId());
+    }
+
+    @Test
+    void taskPage_shouldRunConstantStatements() throws Exception {
+        assertConstantStatements("/api/tasks/project/" + project.getId() + "/page?limit=100");
+    }
+
+    @Test
+    void board_shouldRunConstantStatements() throws Exception {
+        assertConstantStatements("/api/tasks/project/" + project.getId() + "/board?perColumn=5");
+    }
+
+    @Test
+    void boardColumn_shouldContinueAfterTheFirstTasks() throws Exception {
+        grow(7);
+        TaskStatus status = taskStatusRepository.findByProjectAndIsDefaultTrue(project).orElseThrow();
+        String board = mockMvc.perform(get("/api/tasks/project/" + project.getId() + "/board?perColumn=5")
+                        .with(user(new UserPrincipal(admin))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.columns.length()").value(3))
+                .andExpect(jsonPath("$.columns[0].status.id").value(status.getId()))
+                .andExpect(jsonPath("$.columns[0].count").value(8))
+                .andExpect(jsonPath("$.columns[0].tasks.length()").value(5))
+                .andExpect(jsonPath("$.columns[0].hasMore").value(true))
+                .andExpect(jsonPath("$.columns[1].count").value(0))
+                .andReturn().getResponse().getContentAsString();
+        String cursor = JsonPath.read(board, "$.columns[0].nextCursor");
+
+        mockMvc.perform(get("/api/tasks/project/" + project.getId() + "/board/column")
+                        .param("statusId", status.getId().toString())
+                        .param("cursor", cursor)
+                        .with(user(new UserPrincipal(admin))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(3))
+                .andExpect(jsonPath("$.hasMore").value(false));
+    }
+
+    @Test
+    void members_shouldRunConstantStatements() throws Exception {
+        assertConstantStatements("/api/projects/" + project.getId() + "/members");
+    }
+
+    @Test
+    void taskHistory_shouldRunConstantStatements() throws Exception {
+        assertConstantStatements("/api/tasks/" + firstTask.getId() + "/history?size=0");
+        assertConstantStatements("/api/tasks/" + firstTask.getId() + "/history?size=100");
+    }
+
+    @Test
+    void projectHistory_shouldRunConstantStatements() throws Exception {
+        assertConstantStatements("/api/projects/" + project.getId() + "/tasks/history?size=0");
+        assertConstantStatements("/api/projects/" + project.getId() + "/tasks/history?size=100");
+    }
+
+    @Test
+    void projectHistory_shouldCountOnTheHistoryTableAlone() throws Exception {
+        grow(20);
+        statementsFor("/api/projects/" + project.getId() + "/tasks/history?size=5");
+
+        // A full first page makes Spring Data run the count query too
+        List<String> counts = QueryCounter.statements().stream()
+                .map(sql -> sql.toLowerCase(Locale.ROOT))
+                .filter(sql -> sql.contains("count(") && sql.contains("task_history"))
+                .toList();
+        assertEquals(1, counts.size(), "count statements: " + counts);
+        assertFalse(counts.get(0).contains(" join "), counts.get(0));
+        assertTrue(counts.get(0).contains("project_id"), counts.get(0));
+    }
+
+    @Test
+    void recentActivity_shouldRunConstantStatements() throws Exception {
+        assertConstantStatements("/api/projects/" + project.getId() + "/activity");
+    }
+
+    @Test
+    void invitations_shouldRunConstantStatements() throws Exception {
+        assertConstantStatements("/api/invitations/project/" + project.getId());
+    }
+
+    @Test
+    void taskListing_shouldInlineAssociations() throws Exception {
+        mockMvc.perform(get("/api/tasks/project/" + project.getId()).with(user(new UserPrincipal(admin))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(firstTask.getId()))
+                .andExpect(jsonPath("$[0].status.name").exists())
+                .andExpect(jsonPath("$[0].priority.level").exists())
+                .andExpect(jsonPath("$[0].project.id").value(project.getId()))
+                .andExpect(jsonPath("$[0].assignee.username").exists())
+                .andExpect(jsonPath("$[0].assignee.password").doesNotExist());
+    }
+
+    private void assertConstantStatements(String url) throws Exception {
+        statementsFor(url); // warm the role cache
+        int small = statementsFor(url);
+        grow(20);
+        assertEquals(small, statementsFor(url), "statements for " + url);
+    }
+
+    private int statementsFor(String url) throws Exception {
+        entityManager.flush();
+        entityManager.clear();
+        QueryCounter.reset();
+        mockMvc.perform(get(url).with(user(new UserPrincipal(admin))))
+                .andExpect(status().isOk());
+        return QueryCounter.count();
+    }
+
+    /**
+     * Add tasks, each with its own assignee (also a member), a history entry and an invitation.
+     */
+    private void grow(int count) {
+        TaskStatus status = taskStatusRepository.findByProjectAndIsDefaultTrue(project).orElseThrow();
+        TaskPriority priority = taskPriorityRepository.findByProjectAndIsDefaultTrue(project).orElseThrow();
+        for (int i = 0; i < count; i++) {
+            User assignee = newUser();
+            ProjectMember member = new ProjectMember();
+            member.setProject(project);
+            member.setUser(assignee);
+            member.setRole(ProjectMember.ProjectRole.MEMBER);
+            projectMemberRepository.save(member);
+
+            Task task = new Task();
+            task.setName("task " + i);
+            task.setProject(project);
+            task.setStatus(status);
+            task.setPriority(priority);
+            task.setAssignee(assignee);
+            task = taskRepository.save(task);
+            if (firstTask == null) {
+                firstTask = task;
+            }
+
+            TaskHistory history = new TaskHistory(firstTask, assignee, TaskHistory.HistoryAction.UPDATE,
+                    "name", "old", "new", null);
+            history.setProjectId(project.getId());
+            taskHistoryRepository.save(history);
+
+            ProjectInvitation invitation = new ProjectInvitation();
+            invitation.setProject(project);
+            invitation.setInviter(assignee);
+            invitation.setEmail(UUID.randomUUID() + "@example.com");
+            invitation.setRole(ProjectMember.ProjectRole.MEMBER);
+            invitation.setToken(UUID.randomUUID().toString());
+            invitation.setExpiresAt(LocalDateTime.now().plusDays(7));
+            invitationRepository.save(invitation);
+        }
+    }
+
+    private User newUser() {
+        User user = new User();
+        String name = UUID.randomUUID().toString().substring(0, 8);
+        user.setUsername("user-" + name);
+        user.setEmail(name + "@example.com");
+        user.setPassword("password123");
+        return userRepository.save(user);
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.demo.controller;
+
+import com.example.demo.model.Project;
+import com.example.demo.model.Task;
+import com.example.demo.model.User;
+import com.example.demo.repository.UserRepository;
+import com.example.demo.security.UserPrincipal;
+import com.example.demo.service.ProjectService;
+import com.example.demo.service.TaskService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * ETag / If-None-Match / If-Match handling of the task endpoints.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+class TaskConditionalRequestIntegrationTest {
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ProjectService projectService;
+    @Autowired
+    private TaskService taskService;
+    @Autowired
+    private UserRepository userRepository;
+
+    private User admin;
+    private Task task;
+
+    @BeforeEach
+    void setUp() {
+        admin = new User();
+        String name = UUID.randomUUID().toString().substring(0, 8);
+        admin.setUsername("user-" + name);
+        admin.setEmail(name + "@example.com");
+        admin.setPassword("password123");
+        admin = userRepository.save(admin);
+        Project project = projectService.createProject("etag-" + UUID.randomUUID(), "desc", LocalDate.now(), admin);
+        task = taskService.createTask(project.getId(), "first", null, null, null, null, null, admin);
+    }
+
+    @Test
+    void getTask_shouldAnswerNotModifiedToCurrentETag() throws Exception {
+        String etag = mockMvc.perform(get("/api/tasks/" + task.getId()).with(user(new UserPrincipal(admin))))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/tasks/" + task.getId()).with(user(new UserPrincipal(admin)))
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void updateTask_shouldApplyOnlyWithCurrentETag() throws Exception {
+        String etag = mockMvc.perform(get("/api/tasks/" + task.getId()).with(user(new UserPrincipal(admin))))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        String newEtag = mockMvc.perform(put("/api/tasks/" + task.getId()).with(user(new UserPrincipal(admin)))
+                        .header(HttpHeaders.IF_MATCH, etag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"second\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("second"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotEquals(etag, newEtag);
+
+        // A client still holding the first ETag would overwrite "second"
+        mockMvc.perform(put("/api/tasks/" + task.getId()).with(user(new UserPrincipal(admin)))
+                        .header(HttpHeaders.IF_MATCH, etag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"third\"}"))
+                .andExpect(status().isPreconditionFailed());
+
+        mockMvc.perform(get("/api/tasks/" + task.getId()).with(user(new UserPrincipal(admin)))
+                        .header(HttpHeaders.IF_NONE_MATCH, newEtag))
+                .andExpect(status().isNotModified());
+    }
+}
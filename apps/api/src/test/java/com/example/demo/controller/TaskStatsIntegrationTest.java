@@ -0,0 +1,88 @@
+package com.example.demo.controller;
+
+import com.example.demo.model.Project;
+import com.example.demo.model.Task;
+import com.example.demo.model.TaskStatus;
+import com.example.demo.model.User;
+import com.example.demo.repository.TaskStatusRepository;
+import com.example.demo.repository.UserRepository;
+import com.example.demo.security.UserPrincipal;
+import com.example.demo.service.ProjectService;
+import com.example.demo.service.ProjectTaskStatsService;
+import com.example.demo.service.TaskService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Task writes keep the project's counters equal to a full recount.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+class TaskStatsIntegrationTest {
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ProjectService projectService;
+    @Autowired
+    private TaskService taskService;
+    @Autowired
+    private ProjectTaskStatsService projectTaskStatsService;
+    @Autowired
+    private TaskStatusRepository taskStatusRepository;
+    @Autowired
+    private UserRepository userRepository;
+
+    private User admin;
+    private Project project;
+
+    @BeforeEach
+    void setUp() {
+        admin = new User();
+        String name = UUID.randomUUID().toString().substring(0, 8);
+        admin.setUsername("user-" + name);
+        admin.setEmail(name + "@example.com");
+        admin.setPassword("password123");
+        admin = userRepository.save(admin);
+        project = projectService.createProject("stats-" + UUID.randomUUID(), "desc", LocalDate.now(), admin);
+    }
+
+    @Test
+    void taskWrites_shouldKeepCountersInSyncWithTasks() throws Exception {
+        List<TaskStatus> statuses = taskStatusRepository.findByProjectIdOrderByOrderIndexAsc(project.getId());
+        String yesterday = LocalDate.now().minusDays(1).toString();
+        Task first = taskService.createTask(project.getId(), "a", null, yesterday, null, null, admin.getId(), admin);
+        Task second = taskService.createTask(project.getId(), "b", null, null, null, null, null, admin);
+        Task third = taskService.createTask(project.getId(), "c", null, LocalDate.now().toString(), null, null, null, admin);
+
+        taskService.updateTask(second.getId(), null, null, null, null, statuses.get(1).getId(), admin.getId(), admin);
+        taskService.deleteTask(third.getId(), admin);
+
+        mockMvc.perform(get("/api/tasks/project/" + project.getId() + "/stats").with(user(new UserPrincipal(admin))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(2))
+                .andExpect(jsonPath("$.byStatus['" + statuses.get(0).getId() + "']").value(1))
+                .andExpect(jsonPath("$.byStatus['" + statuses.get(1).getId() + "']").value(1))
+                .andExpect(jsonPath("$.byAssignee['" + admin.getId() + "']").value(2))
+                .andExpect(jsonPath("$.unassigned").value(0))
+                .andExpect(jsonPath("$.overdue").value(1))
+                .andExpect(jsonPath("$.dueToday").value(0))
+                .andExpect(jsonPath("$.withoutDueDate").value(1));
+
+        assertEquals(0, projectTaskStatsService.reconcile(project.getId()), "counters drifted for task " + first.getId());
+    }
+}
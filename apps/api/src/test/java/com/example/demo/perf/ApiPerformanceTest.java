@@ -0,0 +1,227 @@
+package com.example.demo.perf;
+
+import com.example.demo.model.User;
+import com.example.demo.repository.TaskHistoryRepository;
+import com.example.demo.repository.TaskPriorityRepository;
+import com.example.demo.repository.TaskRepository;
+import com.example.demo.repository.TaskStatusRepository;
+import com.example.demo.repository.UserRepository;
+import com.example.demo.search.TaskSearchService;
+import com.example.demo.security.UserPrincipal;
+import com.example.demo.service.JwtService;
+import com.example.demo.service.ProjectService;
+import com.example.demo.service.ProjectTaskStatsService;
+import com.example.demo.support.QueryCounter;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+
+/**
+ * Drives a weighted mix of task, project and history requests against a seeded dataset
+ * (see PerfDataset) from concurrent clients, and reports per endpoint the throughput,
+ * p50/p99 latency and SQL statements per request. The run fails when an endpoint has
+ * errors, a p99 above its limit or a request running more statements than its limit.
+ *
+ * Requests go through MockMvc with a real JWT, so the security filters run; the servlet
+ * container and the network do not. Statements are counted on the client thread by
+ * QueryCounter, which is also the thread serving the request.
+ *
+ * Not part of the default test run: {@code mvn test -Pperf}. Each perf test class has a
+ * context of its own, with its own search index and history spool (both are locked by
+ * the context that opens them), closed after the class. Knobs, as system properties:
+ * {@code perf.clients}, {@code perf.requests}, {@code perf.warmup}, the dataset sizes of
+ * PerfDataset, and per-endpoint limits {@code perf.p99-ms.<endpoint>} and
+ * {@code perf.statements.<endpoint>}.
+ */
+@SpringBootTest(properties = {
+        "app.search.index-dir=target/task-index-perf",
+        "app.history.spool-file=target/task-history-perf.spool"
+})
+@AutoConfigureMockMvc
+@DirtiesContext
+@Tag("perf")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ApiPerformanceTest {
+    static final int CLIENTS = Integer.getInteger("perf.clients", 16);
+    static final int REQUESTS = Integer.getInteger("perf.requests", 5000);
+    static final int WARMUP = Integer.getInteger("perf.warmup", 1000);
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private JwtService jwtService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ProjectService projectService;
+    @Autowired
+    private TaskRepository taskRepository;
+    @Autowired
+    private TaskStatusRepository taskStatusRepository;
+    @Autowired
+    private TaskPriorityRepository taskPriorityRepository;
+    @Autowired
+    private TaskHistoryRepository taskHistoryRepository;
+    @Autowired
+    private ProjectTaskStatsService projectTaskStatsService;
+    @Autowired
+    private TaskSearchService taskSearchService;
+
+    private PerfDataset.Seeded dataset;
+    private List<String> tokens;
+
+    /**
+     * One entry of the mix: how often it is picked, its limits and how to build a request.
+     */
+    private record Endpoint(EndpointStats stats, int weight, Function<Target, MockHttpServletRequestBuilder> request) {
+    }
+
+    /**
+     * A random project of the dataset, one of its tasks and a user allowed to read both.
+     */
+    private record Target(Long projectId, Long taskId, String token) {
+    }
+
+    @BeforeAll
+    void seed() {
+        long start = System.nanoTime();
+        dataset = new PerfDataset(userRepository, projectService, taskRepository, taskStatusRepository,
+                taskPriorityRepository, taskHistoryRepository, projectTaskStatsService, taskSearchService).seed();
+        tokens = new ArrayList<>();
+        tokens.add(jwtService.generateToken(new UserPrincipal(dataset.admin())));
+        for (User member : dataset.members()) {
+            tokens.add(jwtService.generateToken(new UserPrincipal(member)));
+        }
+        System.out.printf("Seeded %d projects x %d tasks x %d history entries, %d members in %.1f s%n",
+                PerfDataset.PROJECTS, PerfDataset.TASKS, PerfDataset.HISTORY, PerfDataset.MEMBERS,
+                (System.nanoTime() - start) / 1e9);
+    }
+
+    @Test
+    void endpointMix_shouldStayWithinThresholds() throws Exception {
+        run(mix(), WARMUP); // JIT, connection pool and caches
+
+        List<Endpoint> mix = mix();
+        long start = System.nanoTime();
+        run(mix, REQUESTS);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("%d requests from %d clients in %.1f s: %.0f req/s%n",
+                REQUESTS, CLIENTS, seconds, REQUESTS / seconds));
+        report.append(EndpointStats.header()).append('\n');
+        for (Endpoint endpoint : mix) {
+            report.append(endpoint.stats().report(seconds)).append('\n');
+        }
+        System.out.print(report);
+        writeReport(report.toString());
+
+        List<String> violations = mix.stream()
+                .map(endpoint -> endpoint.stats().violation())
+                .filter(Objects::nonNull)
+                .toList();
+        assertTrue(violations.isEmpty(), String.join("\n", violations));
+    }
+
+    private List<Endpoint> mix() {
+        return List.of(
+                endpoint("task.get", 25, 50, 3, t -> get("/api/tasks/" + t.taskId())),
+                endpoint("task.page", 15, 100, 4, t -> get("/api/tasks/project/" + t.projectId() + "/page?limit=20")),
+                endpoint("task.board", 8, 150, 4, t -> get("/api/tasks/project/" + t.projectId() + "/board")),
+                endpoint("task.stats", 5, 50, 3, t -> get("/api/tasks/project/" + t.projectId() + "/stats")),
+                endpoint("task.search", 5, 100, 3, t -> get("/api/tasks/project/" + t.projectId() + "/search?q=release")),
+                endpoint("task.update", 5, 150, 20, t -> put("/api/tasks/" + t.taskId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"description\":\"Updated by the performance test\"}")),
+                endpoint("project.get", 10, 50, 3, t -> get("/api/projects/" + t.projectId())),
+                endpoint("project.members", 7, 50, 4, t -> get("/api/projects/" + t.projectId() + "/members")),
+                endpoint("history.task", 10, 50, 4, t -> get("/api/tasks/" + t.taskId() + "/history")),
+                endpoint("history.project", 10, 100, 4, t -> get("/api/projects/" + t.projectId() + "/tasks/history")));
+    }
+
+    private static Endpoint endpoint(String name, int weight, double maxP99Ms, int maxStatements,
+            Function<Target, MockHttpServletRequestBuilder> request) {
+        return new Endpoint(new EndpointStats(name, maxP99Ms, maxStatements), weight, request);
+    }
+
+    private void run(List<Endpoint> mix, int requests) throws InterruptedException {
+        int totalWeight = mix.stream().mapToInt(Endpoint::weight).sum();
+        AtomicInteger remaining = new AtomicInteger(requests);
+        try (ExecutorService executor = Executors.newFixedThreadPool(CLIENTS)) {
+            for (int c = 0; c < CLIENTS; c++) {
+                executor.submit(() -> {
+                    while (remaining.getAndDecrement() > 0) {
+                        Endpoint endpoint = pick(mix, totalWeight);
+                        Target target = target();
+                        MockHttpServletRequestBuilder request = endpoint.request().apply(target)
+                                .header(HttpHeaders.AUTHORIZATION, "Bearer " + target.token());
+                        QueryCounter.reset();
+                        long sent = System.nanoTime();
+                        try {
+                            int status = mockMvc.perform(request).andReturn().getResponse().getStatus();
+                            // Two clients updating the same task: 409 is the expected answer
+                            if (status >= 300 && status != 409) {
+                                endpoint.stats().error();
+                                continue;
+                            }
+                        } catch (Exception e) {
+                            endpoint.stats().error();
+                            continue;
+                        }
+                        endpoint.stats().record((System.nanoTime() - sent) / 1000, QueryCounter.count());
+                    }
+                });
+            }
+        }
+    }
+
+    private static Endpoint pick(List<Endpoint> mix, int totalWeight) {
+        int roll = ThreadLocalRandom.current().nextInt(totalWeight);
+        for (Endpoint endpoint : mix) {
+            roll -= endpoint.weight();
+            if (roll < 0) {
+                return endpoint;
+            }
+        }
+        return mix.get(mix.size() - 1);
+    }
+
+    private Target target() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int project = random.nextInt(dataset.projectIds().size());
+        List<Long> taskIds = dataset.taskIds().get(project);
+        Long taskId = taskIds.isEmpty() ? 0L : taskIds.get(random.nextInt(taskIds.size()));
+        return new Target(dataset.projectIds().get(project), taskId, tokens.get(random.nextInt(tokens.size())));
+    }
+
+    private static void writeReport(String report) throws IOException {
+        Path file = Path.of("target", "perf", "api-report.txt");
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, report);
+    }
+}
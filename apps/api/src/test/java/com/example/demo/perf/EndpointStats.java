@@ -0,0 +1,92 @@
+package com.example.demo.perf;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Latencies and SQL statement counts recorded for one endpoint of the mix.
+ */
+class EndpointStats {
+    private final String name;
+    private final double maxP99Ms;
+    private final int maxStatements;
+    private long[] latenciesMicros = new long[1024];
+    private int[] statements = new int[1024];
+    private int count;
+    private final AtomicInteger errors = new AtomicInteger();
+
+    EndpointStats(String name, double maxP99Ms, int maxStatements) {
+        this.name = name;
+        this.maxP99Ms = maxP99Ms;
+        this.maxStatements = maxStatements;
+    }
+
+    String name() {
+        return name;
+    }
+
+    synchronized void record(long latencyMicros, int statementCount) {
+        if (count == latenciesMicros.length) {
+            latenciesMicros = Arrays.copyOf(latenciesMicros, count * 2);
+            statements = Arrays.copyOf(statements, count * 2);
+        }
+        latenciesMicros[count] = latencyMicros;
+        statements[count] = statementCount;
+        count++;
+    }
+
+    void error() {
+        errors.incrementAndGet();
+    }
+
+    synchronized int count() {
+        return count;
+    }
+
+    synchronized double percentileMs(double p) {
+        if (count == 0) {
+            return 0;
+        }
+        long[] sorted = Arrays.copyOf(latenciesMicros, count);
+        Arrays.sort(sorted);
+        return sorted[(int) Math.min(count - 1, Math.ceil(p * count) - 1)] / 1000.0;
+    }
+
+    synchronized double meanStatements() {
+        return count == 0 ? 0 : Arrays.stream(statements, 0, count).average().orElse(0);
+    }
+
+    synchronized int maxStatements() {
+        return count == 0 ? 0 : Arrays.stream(statements, 0, count).max().orElse(0);
+    }
+
+    String report(double seconds) {
+        return String.format("%-22s %7d %9.1f %9.1f %9.1f %8.1f %6d %6d",
+                name, count(), count() / seconds, percentileMs(0.50), percentileMs(0.99),
+                meanStatements(), maxStatements(), errors.get());
+    }
+
+    static String header() {
+        return String.format("%-22s %7s %9s %9s %9s %8s %6s %6s",
+                "endpoint", "count", "req/s", "p50 ms", "p99 ms", "stmts", "max", "errors");
+    }
+
+    /**
+     * @return why this endpoint misses its thresholds, or null when it meets them
+     */
+    String violation() {
+        double limitMs = Double.parseDouble(System.getProperty("perf.p99-ms." + name, String.valueOf(maxP99Ms)));
+        int limitStatements = Integer.getInteger("perf.statements." + name, maxStatements);
+        StringBuilder problems = new StringBuilder();
+        if (errors.get() > 0) {
+            problems.append(errors.get()).append(" errors; ");
+        }
+        if (percentileMs(0.99) > limitMs) {
+            problems.append(String.format("p99 %.1f ms > %.1f ms; ", percentileMs(0.99), limitMs));
+        }
+        if (maxStatements() > limitStatements) {
+            problems.append(maxStatements()).append(" statements > ").append(limitStatements).append("; ");
+        }
+        return problems.isEmpty() ? null : name + ": " + problems;
+    }
+}
@@ -0,0 +1,151 @@
+package com.example.demo.perf;
+
+import com.example.demo.model.Project;
+import com.example.demo.model.ProjectMember;
+import com.example.demo.model.Task;
+import com.example.demo.model.TaskHistory;
+import com.example.demo.model.TaskHistory.HistoryAction;
+import com.example.demo.model.TaskPriority;
+import com.example.demo.model.TaskStatus;
+import com.example.demo.model.User;
+import com.example.demo.repository.TaskHistoryRepository;
+import com.example.demo.repository.TaskPriorityRepository;
+import com.example.demo.repository.TaskRepository;
+import com.example.demo.repository.TaskStatusRepository;
+import com.example.demo.repository.UserRepository;
+import com.example.demo.search.TaskSearchService;
+import com.example.demo.service.ProjectService;
+import com.example.demo.service.ProjectTaskStatsService;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Seeds projects with members, tasks and history through the JPA repositories, so the
+ * same data loads into H2 or into a MySQL database given with {@code spring.datasource.url}.
+ * Sizes come from system properties:
+ * {@code perf.projects}, {@code perf.members}, {@code perf.tasks} (per project) and
+ * {@code perf.history} (entries per task).
+ *
+ * Tasks and history are inserted directly, then the task counters are reconciled and
+ * the search index rebuilt, as after a restore.
+ */
+class PerfDataset {
+    static final int PROJECTS = Integer.getInteger("perf.projects", 5);
+    static final int MEMBERS = Integer.getInteger("perf.members", 10);
+    static final int TASKS = Integer.getInteger("perf.tasks", 500);
+    static final int HISTORY = Integer.getInteger("perf.history", 4);
+
+    private static final int CHUNK_SIZE = 500;
+    private static final String[] WORDS = {
+            "login", "release", "invoice", "dashboard", "migration", "report", "export", "search",
+            "billing", "onboarding", "notification", "permissions", "backup", "latency", "calendar"
+    };
+
+    /**
+     * What the scenario needs to build its requests.
+     */
+    record Seeded(User admin, List<User> members, List<Long> projectIds, List<List<Long>> taskIds) {
+    }
+
+    private final UserRepository userRepository;
+    private final ProjectService projectService;
+    private final TaskRepository taskRepository;
+    private final TaskStatusRepository taskStatusRepository;
+    private final TaskPriorityRepository taskPriorityRepository;
+    private final TaskHistoryRepository taskHistoryRepository;
+    private final ProjectTaskStatsService projectTaskStatsService;
+    private final TaskSearchService taskSearchService;
+    private final Random random = new Random(42);
+
+    PerfDataset(UserRepository userRepository, ProjectService projectService, TaskRepository taskRepository,
+            TaskStatusRepository taskStatusRepository, TaskPriorityRepository taskPriorityRepository,
+            TaskHistoryRepository taskHistoryRepository, ProjectTaskStatsService projectTaskStatsService,
+            TaskSearchService taskSearchService) {
+        this.userRepository = userRepository;
+        this.projectService = projectService;
+        this.taskRepository = taskRepository;
+        this.taskStatusRepository = taskStatusRepository;
+        this.taskPriorityRepository = taskPriorityRepository;
+        this.taskHistoryRepository = taskHistoryRepository;
+        this.projectTaskStatsService = projectTaskStatsService;
+        this.taskSearchService = taskSearchService;
+    }
+
+    Seeded seed() {
+        String run = UUID.randomUUID().toString().substring(0, 8);
+        User admin = user(run, "admin");
+        List<User> members = new ArrayList<>();
+        for (int i = 0; i < MEMBERS; i++) {
+            members.add(user(run, "member" + i));
+        }
+
+        List<Long> projectIds = new ArrayList<>();
+        List<List<Long>> taskIds = new ArrayList<>();
+        for (int p = 0; p < PROJECTS; p++) {
+            Project project = projectService.createProject("perf-" + run + "-" + p, "Seeded for performance tests",
+                    LocalDate.now(), admin);
+            for (User member : members) {
+                projectService.addMember(project, member, ProjectMember.ProjectRole.MEMBER);
+            }
+            projectIds.add(project.getId());
+            taskIds.add(seedTasks(project, admin, members));
+            projectTaskStatsService.reconcile(project.getId());
+        }
+        taskSearchService.rebuild();
+        return new Seeded(admin, members, projectIds, taskIds);
+    }
+
+    private List<Long> seedTasks(Project project, User admin, List<User> members) {
+        List<TaskStatus> statuses = taskStatusRepository.findByProjectIdOrderByOrderIndexAsc(project.getId());
+        List<TaskPriority> priorities = taskPriorityRepository.findByProjectIdOrderByLevelDesc(project.getId());
+        List<Long> ids = new ArrayList<>(TASKS);
+        for (int start = 0; start < TASKS; start += CHUNK_SIZE) {
+            List<Task> tasks = new ArrayList<>();
+            for (int i = start; i < Math.min(TASKS, start + CHUNK_SIZE); i++) {
+                Task task = new Task();
+                task.setName("Task " + i + " " + WORDS[random.nextInt(WORDS.length)]);
+                task.setDescription("Seeded task about " + WORDS[random.nextInt(WORDS.length)] + " and "
+                        + WORDS[random.nextInt(WORDS.length)]);
+                task.setProject(project);
+                task.setStatus(statuses.isEmpty() ? null : statuses.get(random.nextInt(statuses.size())));
+                task.setPriority(priorities.isEmpty() ? null : priorities.get(random.nextInt(priorities.size())));
+                task.setAssignee(members.isEmpty() || random.nextInt(4) == 0 ? null : pick(members));
+                task.setDueDate(random.nextInt(3) == 0 ? null : LocalDate.now().plusDays(random.nextInt(60) - 20));
+                tasks.add(task);
+            }
+            List<Task> saved = taskRepository.saveAll(tasks);
+
+            List<TaskHistory> history = new ArrayList<>();
+            for (Task task : saved) {
+                ids.add(task.getId());
+                for (int h = 0; h < HISTORY; h++) {
+                    TaskHistory entry = new TaskHistory(task, h == 0 || members.isEmpty() ? admin : pick(members),
+                            h == 0 ? HistoryAction.CREATE : HistoryAction.UPDATE, h == 0 ? "task" : "name",
+                            null, task.getName(), null);
+                    entry.setProjectId(project.getId());
+                    entry.setTimestamp(LocalDateTime.now().minusHours(HISTORY - h));
+                    history.add(entry);
+                }
+            }
+            taskHistoryRepository.saveAll(history);
+        }
+        return ids;
+    }
+
+    private User pick(List<User> users) {
+        return users.get(random.nextInt(users.size()));
+    }
+
+    private User user(String run, String name) {
+        User user = new User();
+        user.setUsername(name + "-" + run);
+        user.setEmail(name + "-" + run + "@perf.example.com");
+        user.setPassword("password123");
+        return userRepository.save(user);
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.demo.perf;
+
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+
+// A context of its own: the search index and history spool of other contexts are locked
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "spring.threads.virtual.enabled=false",
+                "app.search.index-dir=target/task-index-platform",
+                "app.history.spool-file=target/task-history-platform.spool"
+        })
+@DirtiesContext
+class PlatformThreadLoadTest extends ThreadModeLoadTest {
+
+    @Override
+    String mode() {
+        return "platform threads";
+    }
+}
@@ -0,0 +1,145 @@
+package com.example.demo.perf;
+
+import com.example.demo.model.Project;
+import com.example.demo.model.Task;
+import com.example.demo.model.User;
+import com.example.demo.repository.UserRepository;
+import com.example.demo.security.UserPrincipal;
+import com.example.demo.service.JwtService;
+import com.example.demo.service.ProjectService;
+import com.example.demo.service.TaskService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Throughput of the task endpoints with 2k concurrent clients, on the Tomcat pool
+ * (PlatformThreadLoadTest) and on virtual threads (VirtualThreadLoadTest).
+ * Each client sends its requests back to back; the results are printed for comparison.
+ *
+ * Tagged "perf", so not part of the default test run: {@code mvn test -Pperf}
+ */
+@Tag("perf")
+abstract class ThreadModeLoadTest {
+    static final int CLIENTS = Integer.getInteger("perf.clients", 2000);
+    static final int REQUESTS_PER_CLIENT = Integer.getInteger("perf.requests-per-client", 10);
+
+    @LocalServerPort
+    private int port;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ProjectService projectService;
+    @Autowired
+    private TaskService taskService;
+    @Autowired
+    private JwtService jwtService;
+
+    private String token;
+    private List<URI> uris;
+
+    abstract String mode();
+
+    @BeforeEach
+    void seed() {
+        User user = new User();
+        String name = UUID.randomUUID().toString().substring(0, 8);
+        user.setUsername("load-" + name);
+        user.setEmail(name + "@example.com");
+        user.setPassword("password123");
+        user = userRepository.save(user);
+        token = jwtService.generateToken(new UserPrincipal(user));
+
+        Project project = projectService.createProject("load-" + UUID.randomUUID(), "desc", LocalDate.now(), user);
+        uris = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            Task task = taskService.createTask(project.getId(), "task " + i, "load test", null, null, null, null, user);
+            uris.add(URI.create("http://localhost:" + port + "/api/tasks/" + task.getId()));
+        }
+        uris.add(URI.create("http://localhost:" + port + "/api/tasks/project/" + project.getId() + "/page?limit=20"));
+        uris.add(URI.create("http://localhost:" + port + "/api/tasks/project/" + project.getId() + "/board"));
+    }
+
+    @Test
+    void concurrentClients_shouldAllBeServed() throws Exception {
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(30))
+                .build();
+        run(client, Math.min(CLIENTS, 200)); // warm-up: JIT, connection pool, caches
+
+        long start = System.nanoTime();
+        Result result = run(client, CLIENTS);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        long[] latencies = result.latenciesMicros();
+        Arrays.sort(latencies);
+        System.out.printf("[%s] %d clients x %d requests: %.0f req/s, p50 %.1f ms, p99 %.1f ms, max %.1f ms, %d errors%n",
+                mode(), CLIENTS, REQUESTS_PER_CLIENT, latencies.length / seconds,
+                percentile(latencies, 0.50) / 1000.0, percentile(latencies, 0.99) / 1000.0,
+                latencies[latencies.length - 1] / 1000.0, result.errors());
+        assertEquals(0, result.errors());
+    }
+
+    private Result run(HttpClient client, int clients) throws Exception {
+        AtomicInteger errors = new AtomicInteger();
+        List<Future<long[]>> futures = new ArrayList<>(clients);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < clients; c++) {
+                int offset = c;
+                futures.add(executor.submit(() -> {
+                    long[] latencies = new long[REQUESTS_PER_CLIENT];
+                    for (int r = 0; r < REQUESTS_PER_CLIENT; r++) {
+                        HttpRequest request = HttpRequest.newBuilder(uris.get((offset + r) % uris.size()))
+                                .header("Authorization", "Bearer " + token)
+                                .timeout(Duration.ofSeconds(60))
+                                .GET()
+                                .build();
+                        long sent = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() != 200) {
+                                errors.incrementAndGet();
+                            }
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                        }
+                        latencies[r] = (System.nanoTime() - sent) / 1000;
+                    }
+                    return latencies;
+                }));
+            }
+        }
+        long[] all = new long[clients * REQUESTS_PER_CLIENT];
+        for (int c = 0; c < clients; c++) {
+            System.arraycopy(futures.get(c).get(), 0, all, c * REQUESTS_PER_CLIENT, REQUESTS_PER_CLIENT);
+        }
+        return new Result(all, errors.get());
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        return sorted[(int) Math.min(sorted.length - 1, Math.ceil(p * sorted.length) - 1)];
+    }
+
+    private record Result(long[] latenciesMicros, int errors) {
+    }
+}
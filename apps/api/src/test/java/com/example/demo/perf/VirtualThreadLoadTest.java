@@ -0,0 +1,20 @@
+package com.example.demo.perf;
+
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+
+// A context of its own: the search index and history spool of other contexts are locked
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "spring.threads.virtual.enabled=true",
+                "app.search.index-dir=target/task-index-virtual",
+                "app.history.spool-file=target/task-history-virtual.spool"
+        })
+@DirtiesContext
+class VirtualThreadLoadTest extends ThreadModeLoadTest {
+
+    @Override
+    String mode() {
+        return "virtual threads";
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.demo.search;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskSearchIndexTest {
+    @TempDir
+    Path indexDir;
+
+    private TaskSearchIndex index;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        index = new TaskSearchIndex(indexDir);
+        index.index(new TaskDocument(1L, 10L, "Fix login redirect", "Users land on a blank page after login", 100L, 1L, 7L));
+        index.index(new TaskDocument(2L, 10L, "Write release notes", "Mention the new login page", 101L, 2L, null));
+        index.index(new TaskDocument(3L, 10L, "Préparer la réunion", null, 100L, 1L, 8L));
+        index.index(new TaskDocument(4L, 20L, "Fix login timeout", null, 100L, 1L, 7L));
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        index.close();
+    }
+
+    @Test
+    void search_shouldOnlyReturnTasksOfTheProject() {
+        TaskSearchIndex.Hits hits = index.search(10L, "login", null, null, null, 20);
+
+        assertEquals(2, hits.total());
+        assertEquals(List.of(1L, 2L), ids(hits));
+    }
+
+    @Test
+    void search_shouldMatchPrefixesTyposAndAccents() {
+        assertEquals(List.of(2L), ids(index.search(10L, "relea", null, null, null, 20)));
+        assertEquals(List.of(1L), ids(index.search(10L, "redirct", null, null, null, 20)));
+        assertEquals(List.of(3L), ids(index.search(10L, "reunion", null, null, null, 20)));
+    }
+
+    @Test
+    void search_shouldRequireEveryWordAndApplyFilters() {
+        assertEquals(List.of(1L), ids(index.search(10L, "login blank", null, null, null, 20)));
+        assertEquals(List.of(2L), ids(index.search(10L, "login", 101L, null, null, 20)));
+        assertEquals(List.of(1L), ids(index.search(10L, "login", null, 1L, 7L, 20)));
+        assertTrue(index.search(10L, "   ", null, null, null, 20).hits().isEmpty());
+    }
+
+    @Test
+    void search_shouldHighlightMatchedTermsInNameAndDescription() {
+        TaskSearchIndex.Hit hit = index.search(10L, "blank", null, null, null, 20).hits().get(0);
+
+        assertNull(hit.name());
+        assertTrue(hit.snippet().contains("<mark>blank</mark>"));
+
+        hit = index.search(10L, "release", null, null, null, 20).hits().get(0);
+        assertEquals("Write <mark>release</mark> notes", hit.name());
+    }
+
+    @Test
+    void indexAndDelete_shouldReplaceOrRemoveTheDocument() {
+        index.index(new TaskDocument(1L, 10L, "Fix signup redirect", null, 100L, 1L, 7L));
+        assertEquals(List.of(2L), ids(index.search(10L, "login", null, null, null, 20)));
+        assertEquals(4, index.size());
+
+        index.delete(2L);
+        index.deleteProject(20L);
+        assertTrue(index.search(10L, "login", null, null, null, 20).hits().isEmpty());
+        assertEquals(2, index.size());
+    }
+
+    private static List<Long> ids(TaskSearchIndex.Hits hits) {
+        return hits.hits().stream().map(TaskSearchIndex.Hit::taskId).toList();
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.demo.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OffloadedPasswordEncoderTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CountDownLatch started = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private OffloadedPasswordEncoder encoder;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        encoder.close();
+    }
+
+    @Test
+    void encodeAndMatches_shouldRunOnTheHashingThreads() {
+        encoder = new OffloadedPasswordEncoder(new ThreadNameEncoder(), 1, 10, meterRegistry);
+
+        assertTrue(encoder.encode("secret").startsWith("password-hash-"));
+        assertTrue(encoder.matches("secret", "password-hash-1"));
+        assertFalse(encoder.matches("secret", "other"));
+    }
+
+    @Test
+    void hashes_shouldBeRejectedOnceTheQueueIsFull() throws Exception {
+        encoder = new OffloadedPasswordEncoder(new BlockingEncoder(), 1, 1, meterRegistry);
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> encoder.encode("first"));
+        awaitQueued(0);
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> encoder.encode("second"));
+        awaitQueued(1);
+
+        assertThrows(PasswordHashingBusyException.class, () -> encoder.matches("third", "hash"));
+        assertEquals(1.0, meterRegistry.counter("auth.password.hash.rejected").count());
+
+        release.countDown();
+        assertEquals("first", running.get(5, TimeUnit.SECONDS));
+        assertEquals("second", queued.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void hashes_shouldRethrowTheEncoderFailures() {
+        encoder = new OffloadedPasswordEncoder(new ThreadNameEncoder(), 1, 1, meterRegistry);
+
+        assertThrows(IllegalArgumentException.class, () -> encoder.encode(null));
+    }
+
+    /**
+     * Waits until the single hashing thread is busy and {@code size} hashes are queued.
+     */
+    private void awaitQueued(int size) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (started.getCount() > 0 || meterRegistry.get("auth.password.hash.queue").gauge().value() < size) {
+            assertTrue(System.currentTimeMillis() < deadline, "hash not queued in time");
+            Thread.sleep(5);
+        }
+    }
+
+    private class BlockingEncoder implements PasswordEncoder {
+        @Override
+        public String encode(CharSequence rawPassword) {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return rawPassword.toString();
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return encode(rawPassword).equals(encodedPassword);
+        }
+    }
+
+    private static class ThreadNameEncoder implements PasswordEncoder {
+        @Override
+        public String encode(CharSequence rawPassword) {
+            if (rawPassword == null) {
+                throw new IllegalArgumentException("rawPassword cannot be null");
+            }
+            return Thread.currentThread().getName();
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return encodedPassword.equals(Thread.currentThread().getName());
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.demo.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Stored hashes that no longer match the configured encoder are flagged for a rehash.
+ */
+class PasswordHashUpgradeTest {
+    // Low costs keep the test fast
+    private static final int ARGON2_MEMORY_KB = 1024;
+
+    @Test
+    void legacyBcryptHash_shouldMatchAndBeUpgraded() {
+        PasswordEncoder encoder = SecurityConfig.hashingEncoder("bcrypt", 4, ARGON2_MEMORY_KB, 1);
+        String legacy = new BCryptPasswordEncoder(4).encode("password123");
+
+        assertTrue(encoder.matches("password123", legacy));
+        assertTrue(encoder.upgradeEncoding(legacy));
+    }
+
+    @Test
+    void currentHash_shouldBePrefixedAndKept() {
+        PasswordEncoder encoder = SecurityConfig.hashingEncoder("bcrypt", 4, ARGON2_MEMORY_KB, 1);
+        String hash = encoder.encode("password123");
+
+        assertTrue(hash.startsWith("{bcrypt}"));
+        assertTrue(encoder.matches("password123", hash));
+        assertFalse(encoder.upgradeEncoding(hash));
+    }
+
+    @Test
+    void hashBelowTheConfiguredCost_shouldBeUpgraded() {
+        String hash = SecurityConfig.hashingEncoder("bcrypt", 4, ARGON2_MEMORY_KB, 1).encode("password123");
+        PasswordEncoder stronger = SecurityConfig.hashingEncoder("bcrypt", 5, ARGON2_MEMORY_KB, 1);
+
+        assertTrue(stronger.matches("password123", hash));
+        assertTrue(stronger.upgradeEncoding(hash));
+    }
+
+    @Test
+    void switchingToArgon2_shouldUpgradeBcryptHashes() {
+        String bcrypt = SecurityConfig.hashingEncoder("bcrypt", 4, ARGON2_MEMORY_KB, 1).encode("password123");
+        PasswordEncoder encoder = SecurityConfig.hashingEncoder("argon2", 4, ARGON2_MEMORY_KB, 1);
+        String argon2 = encoder.encode("password123");
+
+        assertTrue(encoder.matches("password123", bcrypt));
+        assertTrue(encoder.upgradeEncoding(bcrypt));
+        assertTrue(argon2.startsWith("{argon2}"));
+        assertTrue(encoder.matches("password123", argon2));
+        assertFalse(encoder.matches("wrong", argon2));
+        assertFalse(encoder.upgradeEncoding(argon2));
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.demo.security;
+
+import com.example.demo.model.ProjectMember.ProjectRole;
+import com.example.demo.repository.ProjectMemberRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+class ProjectAuthorizationTest {
+    @Mock
+    private ProjectMemberRepository projectMemberRepository;
+
+    private ProjectAuthorization projectAuthorization;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        projectAuthorization = new ProjectAuthorization(projectMemberRepository, new SimpleMeterRegistry(), 100, 60);
+    }
+
+    @Test
+    void roleChecks_shouldHitDatabaseOnlyOnce() {
+        when(projectMemberRepository.findRoleByProjectIdAndUserId(1L, 2L)).thenReturn(Optional.of(ProjectRole.MEMBER));
+
+        assertTrue(projectAuthorization.isMember(1L, 2L));
+        assertTrue(projectAuthorization.canEditTasks(1L, 2L));
+        assertFalse(projectAuthorization.isAdmin(1L, 2L));
+
+        verify(projectMemberRepository, times(1)).findRoleByProjectIdAndUserId(1L, 2L);
+    }
+
+    @Test
+    void nonMembers_shouldBeCachedUntilEvicted() {
+        when(projectMemberRepository.findRoleByProjectIdAndUserId(1L, 2L)).thenReturn(Optional.empty());
+        assertFalse(projectAuthorization.isMember(1L, 2L));
+        assertFalse(projectAuthorization.isMember(1L, 2L));
+        verify(projectMemberRepository, times(1)).findRoleByProjectIdAndUserId(1L, 2L);
+
+        when(projectMemberRepository.findRoleByProjectIdAndUserId(1L, 2L)).thenReturn(Optional.of(ProjectRole.OBSERVER));
+        projectAuthorization.evict(1L, 2L);
+
+        assertTrue(projectAuthorization.isMember(1L, 2L));
+        assertFalse(projectAuthorization.canEditTasks(1L, 2L));
+    }
+
+    @Test
+    void evictProject_shouldDropEveryMemberOfThatProjectOnly() {
+        when(projectMemberRepository.findRoleByProjectIdAndUserId(anyLong(), anyLong())).thenReturn(Optional.of(ProjectRole.ADMIN));
+        projectAuthorization.isAdmin(1L, 2L);
+        projectAuthorization.isAdmin(1L, 3L);
+        projectAuthorization.isAdmin(4L, 2L);
+
+        projectAuthorization.evictProject(1L);
+        projectAuthorization.isAdmin(1L, 2L);
+        projectAuthorization.isAdmin(4L, 2L);
+
+        verify(projectMemberRepository, times(2)).findRoleByProjectIdAndUserId(1L, 2L);
+        verify(projectMemberRepository, times(1)).findRoleByProjectIdAndUserId(4L, 2L);
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.demo.security;
+
+import com.example.demo.model.User;
+import com.example.demo.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class UserCacheTest {
+    @Mock
+    private UserRepository userRepository;
+
+    private UserCache userCache;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        userCache = new UserCache(userRepository, 100, 300);
+    }
+
+    @Test
+    void get_shouldServeRepeatedReadsFromTheCacheUntilEvicted() {
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user(0)), Optional.of(user(1)));
+
+        assertEquals(0, userCache.get(1L).orElseThrow().getTokenVersion());
+        assertEquals(0, userCache.get(1L).orElseThrow().getTokenVersion());
+        verify(userRepository, times(1)).findById(1L);
+
+        userCache.evict(1L);
+
+        assertEquals(1, userCache.get(1L).orElseThrow().getTokenVersion());
+    }
+
+    @Test
+    void get_shouldNotCacheALoadThatRacedAPasswordChange() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch evicted = new CountDownLatch(1);
+        when(userRepository.findById(1L))
+                .thenAnswer(invocation -> {
+                    // Read the row before the password change commits...
+                    loading.countDown();
+                    assertTrue(evicted.await(5, TimeUnit.SECONDS));
+                    return Optional.of(user(0));
+                })
+                .thenReturn(Optional.of(user(1)));
+
+        CompletableFuture<Optional<User>> reader = CompletableFuture.supplyAsync(() -> userCache.get(1L));
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+        // ...and store it only after the change evicted the user
+        userCache.evict(1L);
+        evicted.countDown();
+
+        assertEquals(0, reader.get(5, TimeUnit.SECONDS).orElseThrow().getTokenVersion());
+        assertEquals(1, userCache.get(1L).orElseThrow().getTokenVersion());
+        verify(userRepository, times(2)).findById(1L);
+    }
+
+    private static User user(int tokenVersion) {
+        User user = new User();
+        user.setId(1L);
+        user.setUsername("user");
+        user.setEmail("user@example.com");
+        user.setTokenVersion(tokenVersion);
+        return user;
+    }
+}
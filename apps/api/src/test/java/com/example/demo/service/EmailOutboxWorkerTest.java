@@ -0,0 +1,114 @@
+package com.example.demo.service;
+
+import com.example.demo.model.EmailOutbox;
+import com.example.demo.repository.EmailOutboxRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class EmailOutboxWorkerTest {
+    @Mock
+    private EmailOutboxRepository emailOutboxRepository;
+    @Mock
+    private EmailService emailService;
+    @Mock
+    private JavaMailSender mailSender;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+    private EmailOutboxWorker worker;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        MockitoAnnotations.openMocks(this);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(emailService.createHtmlMessage(anyString(), anyString(), anyString()))
+                .thenAnswer(i -> mock(MimeMessage.class));
+        meterRegistry = new SimpleMeterRegistry();
+        worker = new EmailOutboxWorker(emailOutboxRepository, emailService, mailSender, transactionManager,
+                meterRegistry, 10, 1, 3, 30, 300);
+    }
+
+    private EmailOutbox email(long id, int attempts) {
+        return EmailOutbox.builder()
+                .id(id)
+                .recipient("user" + id + "@example.com")
+                .subject("Subject")
+                .htmlBody("<p>Hello</p>")
+                .attempts(attempts)
+                .build();
+    }
+
+    private void claim(EmailOutbox... emails) {
+        List<Long> ids = java.util.Arrays.stream(emails).map(EmailOutbox::getId).toList();
+        when(emailOutboxRepository.findDueIds(any(), any())).thenReturn(ids);
+        when(emailOutboxRepository.findByClaimToken(anyString())).thenReturn(List.of(emails));
+    }
+
+    @Test
+    void processBatch_shouldSendClaimedEmailsOverOneConnection() {
+        claim(email(1L, 0), email(2L, 0));
+
+        assertEquals(2, worker.processBatch());
+
+        verify(mailSender, times(1)).send(any(MimeMessage[].class));
+        verify(emailOutboxRepository).markSent(eq(List.of(1L, 2L)), any());
+        verify(emailOutboxRepository, never()).markFailed(anyLong(), any(), anyInt(), any(), any());
+        assertEquals(2.0, meterRegistry.counter("email.outbox.sent").count());
+    }
+
+    @Test
+    void processBatch_shouldRetryOnlyFailedMessagesAndDeadLetterExhaustedOnes() {
+        EmailOutbox first = email(1L, 0);
+        EmailOutbox last = email(2L, 2);
+        claim(first, last);
+        doAnswer(invocation -> {
+            // The varargs expanded: one argument per message
+            Object[] messages = invocation.getArguments();
+            assertEquals(2, messages.length);
+            throw new MailSendException(Map.of(messages[0], new RuntimeException("mailbox unavailable"),
+                    messages[1], new RuntimeException("mailbox unavailable")));
+        }).when(mailSender).send(any(MimeMessage[].class));
+
+        worker.processBatch();
+
+        verify(emailOutboxRepository, never()).markSent(any(), any());
+        verify(emailOutboxRepository).markFailed(eq(1L), eq(EmailOutbox.Status.PENDING), eq(1), any(), eq("mailbox unavailable"));
+        verify(emailOutboxRepository).markFailed(eq(2L), eq(EmailOutbox.Status.DEAD), eq(3), any(), eq("mailbox unavailable"));
+        assertEquals(1.0, meterRegistry.counter("email.outbox.retried").count());
+        assertEquals(1.0, meterRegistry.counter("email.outbox.dead").count());
+    }
+
+    @Test
+    void processBatch_shouldDoNothingWhenNothingIsDue() {
+        when(emailOutboxRepository.findDueIds(any(), any())).thenReturn(List.of());
+
+        assertEquals(0, worker.processBatch());
+
+        verify(emailOutboxRepository, never()).claim(any(), any(), any(), any());
+        verifyNoInteractions(mailSender);
+    }
+
+    @Test
+    void backoff_shouldGrowExponentiallyUpToOneHour() {
+        assertEquals(Duration.ofSeconds(30), worker.backoff(1));
+        assertEquals(Duration.ofSeconds(120), worker.backoff(3));
+        assertEquals(Duration.ofHours(1), worker.backoff(12));
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.demo.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmailTemplateEngineTest {
+    private EmailTemplateEngine engine;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        engine = new EmailTemplateEngine();
+        engine.loadTemplates();
+    }
+
+    @Test
+    void parse_shouldSplitLiteralsAndPlaceholders() {
+        var template = EmailTemplateEngine.parse("<p>Hi {{name}}, {{#if x}}welcome{{/if}} to {{ project }}</p>", null, 0);
+
+        assertArrayEquals(new String[] {"<p>Hi ", "name", ", {{#if x}}welcome{{/if}} to ", "project", "</p>"},
+                template.segments());
+        assertEquals("<p>Hi Ann, {{#if x}}welcome{{/if}} to {{project}}</p>", template.render(Map.of("name", "Ann")));
+    }
+
+    @Test
+    void render_shouldEscapeValues() {
+        String html = engine.render("task-assignment", Map.of(
+                "taskName", "<script>alert('x')</script>",
+                "taskLink", "http://localhost/tasks?a=1&b=2"));
+
+        assertTrue(html.contains("&lt;script&gt;alert(&#39;x&#39;)&lt;/script&gt;"));
+        assertTrue(html.contains("http://localhost/tasks?a=1&amp;b=2"));
+        assertFalse(html.contains("<script>"));
+        assertTrue(html.contains("{{assigneeName}}"));
+    }
+
+    @Test
+    void render_shouldRejectUnknownTemplate() {
+        assertThrows(IllegalArgumentException.class, () -> engine.render("missing", Map.of()));
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.demo.service;
+
+import com.example.demo.repository.ProjectInvitationRepository;
+import com.example.demo.repository.RefreshTokenRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ExpirySweeperTest {
+    @Mock
+    private ProjectInvitationRepository invitationRepository;
+    @Mock
+    private RefreshTokenRepository refreshTokenRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ExpirySweeper sweeper;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        meterRegistry = new SimpleMeterRegistry();
+        sweeper = new ExpirySweeper(invitationRepository, refreshTokenRepository, transactionManager,
+                meterRegistry, 2, 0);
+    }
+
+    @Test
+    void expireInvitations_shouldExpireInChunksUntilAShortOne() {
+        when(invitationRepository.findExpiredPendingIds(any(), any()))
+                .thenReturn(List.of(1L, 2L), List.of(3L));
+        when(invitationRepository.findExpiredDuplicateIds(anyList())).thenReturn(List.of());
+
+        int expired = sweeper.expireInvitations();
+
+        assertEquals(3, expired);
+        verify(invitationRepository).expireByIdIn(List.of(1L, 2L));
+        verify(invitationRepository).expireByIdIn(List.of(3L));
+        verify(invitationRepository, times(2)).findExpiredPendingIds(any(), any());
+        verify(invitationRepository, never()).deleteByIdIn(anyList());
+        verify(transactionManager, times(2)).commit(any());
+        assertEquals(3.0, meterRegistry.counter("maintenance.sweep.rows", "table", ExpirySweeper.INVITATIONS).count());
+    }
+
+    @Test
+    void expireInvitations_shouldDeleteOlderExpiredDuplicatesFirst() {
+        when(invitationRepository.findExpiredPendingIds(any(), any())).thenReturn(List.of(7L));
+        when(invitationRepository.findExpiredDuplicateIds(List.of(7L))).thenReturn(List.of(4L));
+
+        sweeper.expireInvitations();
+
+        InOrder inOrder = inOrder(invitationRepository);
+        inOrder.verify(invitationRepository).deleteByIdIn(List.of(4L));
+        inOrder.verify(invitationRepository).expireByIdIn(List.of(7L));
+    }
+
+    @Test
+    void expireInvitations_shouldStopWhenNothingIsLeft() {
+        when(invitationRepository.findExpiredPendingIds(any(), any()))
+                .thenReturn(List.of(1L, 2L), List.of());
+        when(invitationRepository.findExpiredDuplicateIds(anyList())).thenReturn(List.of());
+
+        assertEquals(2, sweeper.expireInvitations());
+        verify(invitationRepository, times(1)).expireByIdIn(anyList());
+    }
+
+    @Test
+    void deleteExpiredRefreshTokens_shouldDeleteInChunks() {
+        when(refreshTokenRepository.findExpiredIds(any(), any()))
+                .thenReturn(List.of(1L, 2L), List.of(3L, 4L), List.of());
+        when(refreshTokenRepository.deleteByIdIn(anyList())).thenAnswer(i -> ((List<?>) i.getArgument(0)).size());
+
+        int deleted = sweeper.deleteExpiredRefreshTokens();
+
+        assertEquals(4, deleted);
+        verify(refreshTokenRepository).deleteByIdIn(List.of(1L, 2L));
+        verify(refreshTokenRepository).deleteByIdIn(List.of(3L, 4L));
+        verify(refreshTokenRepository, times(2)).deleteByIdIn(anyList());
+    }
+
+    @Test
+    void run_shouldSweepBothTables() {
+        when(invitationRepository.findExpiredPendingIds(any(), any())).thenReturn(List.of());
+        when(refreshTokenRepository.findExpiredIds(any(), any())).thenReturn(List.of());
+
+        sweeper.run();
+
+        verify(invitationRepository).findExpiredPendingIds(any(), any());
+        verify(refreshTokenRepository).findExpiredIds(any(), any());
+        assertEquals(1, meterRegistry.timer("maintenance.sweep.duration", "table", ExpirySweeper.REFRESH_TOKENS).count());
+    }
+}
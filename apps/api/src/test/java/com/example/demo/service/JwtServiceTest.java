@@ -0,0 +1,69 @@
+package com.example.demo.service;
+
+import com.example.demo.model.User;
+import com.example.demo.security.UserPrincipal;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtServiceTest {
+    private JwtService jwtService;
+    private SimpleMeterRegistry meterRegistry;
+    private UserPrincipal principal;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        jwtService = new JwtService();
+        ReflectionTestUtils.setField(jwtService, "secretKey", "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970");
+        ReflectionTestUtils.setField(jwtService, "jwtExpiration", 60_000L);
+        ReflectionTestUtils.setField(jwtService, "refreshExpiration", 120_000L);
+        ReflectionTestUtils.setField(jwtService, "claimsCacheSize", 100L);
+        ReflectionTestUtils.setField(jwtService, "meterRegistry", meterRegistry);
+        jwtService.init();
+
+        User user = new User();
+        user.setId(1L);
+        user.setEmail("test@example.com");
+        user.setUsername("tester");
+        user.setTokenVersion(3);
+        principal = new UserPrincipal(user);
+    }
+
+    @Test
+    void parseToken_shouldVerifyOnceAndServeRepeatsFromCache() {
+        String token = jwtService.generateToken(principal);
+
+        Claims claims = jwtService.parseToken(token);
+        assertEquals("test@example.com", claims.getSubject());
+        assertTrue(jwtService.isTokenValid(token, principal));
+        assertEquals("test@example.com", jwtService.extractUsername(token));
+
+        assertEquals(1.0, meterRegistry.counter("jwt.claims.cache", "result", "miss").count());
+        assertEquals(2.0, meterRegistry.counter("jwt.claims.cache", "result", "hit").count());
+    }
+
+    @Test
+    void parseToken_shouldRejectTamperedTokenWithoutCachingIt() {
+        String token = jwtService.generateToken(principal);
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+        assertThrows(JwtException.class, () -> jwtService.parseToken(tampered));
+        assertThrows(JwtException.class, () -> jwtService.parseToken(tampered));
+        assertEquals(2.0, meterRegistry.counter("jwt.claims.cache", "result", "miss").count());
+    }
+
+    @Test
+    void generateToken_shouldCarryUserIdNameAndTokenVersion() {
+        Claims claims = jwtService.parseToken(jwtService.generateToken(principal));
+
+        assertEquals(1L, claims.get(JwtService.CLAIM_USER_ID, Long.class));
+        assertEquals("tester", claims.get(JwtService.CLAIM_USERNAME, String.class));
+        assertEquals(3, claims.get(JwtService.CLAIM_TOKEN_VERSION, Integer.class));
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.task.TaskActivity;
+import com.example.demo.model.Project;
+import com.example.demo.model.Task;
+import com.example.demo.model.TaskHistory;
+import com.example.demo.model.TaskHistory.HistoryAction;
+import com.example.demo.model.User;
+import com.example.demo.repository.TaskHistoryRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class ProjectActivityFeedTest {
+    @Mock
+    private TaskHistoryRepository taskHistoryRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ProjectActivityFeed feed;
+    private Task task;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        feed = new ProjectActivityFeed(taskHistoryRepository, meterRegistry, 3, 500, 1000, 60000, 60000);
+
+        Project project = new Project();
+        project.setId(1L);
+        task = new Task();
+        task.setId(10L);
+        task.setName("Task");
+        task.setProject(project);
+        user = new User();
+        user.setId(2L);
+    }
+
+    private TaskHistory row(long id) {
+        TaskHistory history = new TaskHistory(task, user, HistoryAction.UPDATE, "name", "old", "new", null);
+        history.setId(id);
+        history.setProjectId(1L);
+        return history;
+    }
+
+    private static List<Long> ids(List<TaskActivity> activities) {
+        return activities.stream().map(TaskActivity::id).toList();
+    }
+
+    @Test
+    void subscribe_shouldSeedBufferOnceAndReplayFromMemory() {
+        when(taskHistoryRepository.findActivityAfter(eq(1L), eq(Long.MIN_VALUE), any()))
+                .thenReturn(new ArrayList<>(List.of(row(101), row(100))));
+
+        feed.subscribe(1L, 100L);
+        feed.publish(List.of(row(102)));
+        feed.subscribe(1L, 101L);
+
+        verify(taskHistoryRepository, times(1)).findActivityAfter(anyLong(), anyLong(), any());
+        assertEquals(2.0, meterRegistry.counter("activity.stream.replay", "source", "buffer").count());
+    }
+
+    @Test
+    void subscribe_shouldReplayFromTheDatabaseOnlyBeforeTheSeededEntries() {
+        when(taskHistoryRepository.findActivityAfter(eq(1L), eq(Long.MIN_VALUE), any()))
+                .thenReturn(new ArrayList<>(List.of(row(104), row(103), row(102))));
+
+        // The buffer is full, so rows up to 101 may only be in the database
+        feed.subscribe(1L, 101L);
+        verify(taskHistoryRepository, never()).findActivityAfter(eq(1L), eq(101L), any());
+
+        feed.subscribe(1L, 100L);
+        verify(taskHistoryRepository).findActivityAfter(eq(1L), eq(100L), any());
+    }
+
+    @Test
+    void publish_shouldIgnoreProjectsNobodyFollows() {
+        feed.publish(List.of(row(100)));
+
+        verifyNoInteractions(taskHistoryRepository);
+    }
+
+    @Test
+    void channel_shouldReportWhetherItCanReplayAfterAnId() {
+        ProjectActivityFeed.Channel channel = new ProjectActivityFeed.Channel(3);
+        channel.complete = true;
+        for (long id = 100; id <= 102; id++) {
+            assertTrue(channel.add(TaskActivity.of(row(id))));
+        }
+        assertFalse(channel.add(TaskActivity.of(row(101))));
+
+        // Whole history buffered: any id can be replayed
+        assertTrue(channel.covers(1));
+        assertEquals(List.of(102L), ids(channel.entriesAfter(101)));
+
+        // 100 falls out of the ring: a client that only saw 99 must go to the database
+        channel.add(TaskActivity.of(row(103)));
+        assertFalse(channel.covers(99));
+        assertTrue(channel.covers(100));
+        assertEquals(List.of(101L, 102L, 103L), ids(channel.entriesAfter(100)));
+    }
+
+    @Test
+    void channel_shouldDropTheEntriesOfARemovedTask() {
+        Task other = new Task();
+        other.setId(11L);
+        other.setName("Other");
+        TaskHistory otherRow = new TaskHistory(other, user, HistoryAction.UPDATE, "name", "old", "new", null);
+        otherRow.setId(101L);
+        ProjectActivityFeed.Channel channel = new ProjectActivityFeed.Channel(3);
+        channel.add(TaskActivity.of(row(100)));
+        channel.add(TaskActivity.of(otherRow));
+
+        channel.removeTask(10L);
+
+        assertEquals(List.of(101L), ids(channel.entriesAfter(Long.MIN_VALUE)));
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.demo.service;
+
+import com.example.demo.model.ProjectDeletionJob;
+import com.example.demo.repository.ProjectDeletionJobRepository;
+import com.example.demo.repository.ProjectMemberRepository;
+import com.example.demo.repository.ProjectRepository;
+import com.example.demo.repository.ProjectTaskStatRepository;
+import com.example.demo.repository.TaskHistoryRepository;
+import com.example.demo.repository.TaskRepository;
+import com.example.demo.security.ProjectAuthorization;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ProjectPurgeWorkerTest {
+    @Mock
+    private ProjectDeletionJobRepository projectDeletionJobRepository;
+    @Mock
+    private ProjectRepository projectRepository;
+    @Mock
+    private ProjectMemberRepository projectMemberRepository;
+    @Mock
+    private TaskRepository taskRepository;
+    @Mock
+    private TaskHistoryRepository taskHistoryRepository;
+    @Mock
+    private ProjectTaskStatRepository projectTaskStatRepository;
+    @Mock
+    private ProjectSettingsService projectSettingsService;
+    @Mock
+    private ProjectAuthorization projectAuthorization;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ProjectPurgeWorker worker;
+    private ProjectDeletionJob job;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        worker = new ProjectPurgeWorker(projectDeletionJobRepository, projectRepository, projectMemberRepository,
+                taskRepository, taskHistoryRepository, projectTaskStatRepository, projectSettingsService, projectAuthorization,
+                transactionManager, new SimpleMeterRegistry(), 2, 3);
+
+        job = ProjectDeletionJob.builder().id(10L).projectId(1L).projectName("Test Project").build();
+        when(projectDeletionJobRepository.findByStatusInOrderByIdAsc(any())).thenReturn(List.of(job));
+    }
+
+    @Test
+    void run_shouldDeleteHistoryThenTasksThenMembersInChunks() {
+        when(taskRepository.findIdsByProjectId(eq(1L), any()))
+                .thenReturn(List.of(1L, 2L), List.of(3L), List.of());
+        when(taskHistoryRepository.findIdsByProjectId(eq(1L), any()))
+                .thenReturn(List.of(11L, 12L, 13L), List.of(14L), List.of());
+        when(taskHistoryRepository.deleteByIdIn(anyList())).thenAnswer(i -> ((List<?>) i.getArgument(0)).size());
+        when(taskRepository.deleteByIdIn(anyList())).thenAnswer(i -> ((List<?>) i.getArgument(0)).size());
+        when(projectMemberRepository.findIdsByProjectId(eq(1L), any())).thenReturn(List.of(5L), List.of());
+        when(projectMemberRepository.deleteByIdIn(anyList())).thenReturn(1);
+
+        worker.run();
+
+        InOrder inOrder = inOrder(projectDeletionJobRepository, taskHistoryRepository, taskRepository,
+                projectMemberRepository, projectRepository);
+        inOrder.verify(projectDeletionJobRepository).markRunning(eq(10L), anyLong(), anyLong(), anyLong(), any());
+        inOrder.verify(taskHistoryRepository).deleteByIdIn(List.of(11L, 12L, 13L));
+        inOrder.verify(taskHistoryRepository).deleteByIdIn(List.of(14L));
+        inOrder.verify(taskRepository).deleteByIdIn(List.of(1L, 2L));
+        inOrder.verify(taskRepository).deleteByIdIn(List.of(3L));
+        inOrder.verify(projectMemberRepository).deleteByIdIn(List.of(5L));
+        inOrder.verify(projectRepository).deleteProjectById(1L);
+        inOrder.verify(projectDeletionJobRepository).markDone(eq(10L), any());
+
+        verify(projectDeletionJobRepository).addProgress(10L, 0, 3, 0);
+        verify(projectDeletionJobRepository).addProgress(10L, 2, 0, 0);
+        verify(projectSettingsService).deleteByProjectId(1L);
+        verify(projectTaskStatRepository).deleteByProjectId(1L);
+        verify(projectAuthorization).evictProject(1L);
+    }
+
+    @Test
+    void run_shouldKeepJobForNextRunWhenAChunkFails() {
+        when(taskRepository.findIdsByProjectId(eq(1L), any())).thenReturn(List.of(1L));
+        when(taskHistoryRepository.findIdsByProjectId(eq(1L), any())).thenReturn(List.of());
+        when(taskRepository.deleteByIdIn(anyList())).thenThrow(new DataAccessResourceFailureException("down"));
+
+        worker.run();
+
+        verify(projectDeletionJobRepository).recordError(10L, "down");
+        verify(projectDeletionJobRepository, never()).markDone(any(), any());
+        verify(projectRepository, never()).deleteProjectById(any());
+    }
+}
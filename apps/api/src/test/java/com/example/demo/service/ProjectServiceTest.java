@@ -1,32 +1,42 @@
 package com.example.demo.service;
 
 import java.time.LocalDate;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
-import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import org.mockito.MockitoAnnotations;
 
+import com.example.demo.dto.CursorPage;
+import com.example.demo.dto.project.ProjectSummary;
 import com.example.demo.model.Project;
+import com.example.demo.model.ProjectDeletionJob;
 import com.example.demo.model.ProjectMember;
 import com.example.demo.model.User;
+import com.example.demo.repository.ProjectDeletionJobRepository;
 import com.example.demo.repository.ProjectMemberRepository;
 import com.example.demo.repository.ProjectRepository;
-import com.example.demo.repository.TaskHistoryRepository;
-import com.example.demo.repository.TaskRepository;
 import com.example.demo.repository.UserRepository;
+import com.example.demo.search.TaskSearchService;
+import com.example.demo.security.ProjectAuthorization;
 
 class ProjectServiceTest {
     @Mock
@@ -38,9 +48,13 @@ class ProjectServiceTest {
     @Mock
     private ProjectSettingsService projectSettingsService;
     @Mock
-    private TaskHistoryRepository taskHistoryRepository;
+    private ProjectDeletionJobRepository projectDeletionJobRepository;
     @Mock
-    private TaskRepository taskRepository;
+    private ProjectAuthorization projectAuthorization;
+    @Mock
+    private ProjectActivityFeed activityFeed;
+    @Mock
+    private TaskSearchService taskSearchService;
     @InjectMocks
     private ProjectService projectService;
 
@@ -62,6 +76,15 @@ class ProjectServiceTest {
         verify(projectMemberRepository, times(1)).save(any(ProjectMember.class));
     }
 
+    @Test
+    void createProject_shouldCopyTheChosenTemplate() {
+        when(projectRepository.existsByName(any())).thenReturn(false);
+        when(projectRepository.save(any())).thenAnswer(i -> i.getArgument(0));
+
+        Project project = projectService.createProject("Test Project", "desc", LocalDate.now(), new User(), 7L);
+        verify(projectSettingsService).initializeProjectSettings(project, 7L);
+    }
+
     @Test
     void createProject_shouldThrowIfNameExists() {
         when(projectRepository.existsByName(any())).thenReturn(true);
@@ -69,86 +92,116 @@ class ProjectServiceTest {
                 projectService.createProject("Test Project", "desc", LocalDate.now(), new User()));
     }
 
+    @Test
+    void getUserProjects_shouldReturnACursorWhenMoreProjectsFollow() {
+        when(projectMemberRepository.findSummariesByUserId(eq(2L), isNull(), any())).thenReturn(List.of(
+                summary(3L), summary(5L), summary(8L)));
+
+        CursorPage<ProjectSummary> page = projectService.getUserProjects(2L, null, 2);
+
+        assertEquals(List.of(3L, 5L), page.getItems().stream().map(ProjectSummary::id).toList());
+        assertTrue(page.isHasMore());
+
+        when(projectMemberRepository.findSummariesByUserId(eq(2L), eq(5L), any())).thenReturn(List.of(summary(8L)));
+        page = projectService.getUserProjects(2L, page.getNextCursor(), 2);
+
+        assertEquals(List.of(8L), page.getItems().stream().map(ProjectSummary::id).toList());
+        assertFalse(page.isHasMore());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void getUserProjects_shouldRejectAnInvalidCursor() {
+        assertThrows(IllegalArgumentException.class, () -> projectService.getUserProjects(2L, "%%%", 20));
+        verify(projectMemberRepository, never()).findSummariesByUserId(any(), any(), any());
+    }
+
     @Test
     void isAdmin_shouldReturnTrueIfAdmin() {
         Project project = new Project();
+        project.setId(1L);
         User user = new User();
-        ProjectMember member = new ProjectMember();
-        member.setRole(ProjectMember.ProjectRole.ADMIN);
-        when(projectMemberRepository.findByProjectAndUser(project, user)).thenReturn(Optional.of(member));
+        user.setId(2L);
+        when(projectAuthorization.isAdmin(1L, 2L)).thenReturn(true);
         assertTrue(projectService.isAdmin(project, user));
     }
 
     @Test
     void isAdmin_shouldReturnFalseIfNotAdmin() {
         Project project = new Project();
+        project.setId(1L);
         User user = new User();
+        user.setId(2L);
+        when(projectAuthorization.isAdmin(1L, 2L)).thenReturn(false);
+        assertFalse(projectService.isAdmin(project, user));
+    }
+
+    @Test
+    void changeMemberRole_shouldEvictCachedRole() {
+        Project project = new Project();
+        project.setId(1L);
+        User user = new User();
+        user.setId(2L);
         ProjectMember member = new ProjectMember();
         member.setRole(ProjectMember.ProjectRole.MEMBER);
         when(projectMemberRepository.findByProjectAndUser(project, user)).thenReturn(Optional.of(member));
-        assertFalse(projectService.isAdmin(project, user));
+        when(projectMemberRepository.save(member)).thenReturn(member);
+
+        projectService.changeMemberRole(project, user, ProjectMember.ProjectRole.ADMIN);
+
+        assertEquals(ProjectMember.ProjectRole.ADMIN, member.getRole());
+        verify(projectAuthorization).evict(1L, 2L);
     }
     
     @Test
-    void deleteProject_shouldDeleteTaskHistoriesAndProject() {
-        // Mock existsById to return true (project exists)
-        when(projectRepository.existsById(1L)).thenReturn(true);
-        
-        // Mock the deletion operations
-        doNothing().when(taskHistoryRepository).deleteByProjectId(1L);
-        doNothing().when(taskRepository).clearAssigneesByProjectId(1L);
-        doNothing().when(taskRepository).deleteByProjectId(1L);
-        doNothing().when(projectMemberRepository).deleteByProjectId(1L);
-        doNothing().when(projectSettingsService).deleteByProjectId(1L);
-        doNothing().when(projectRepository).deleteProjectById(1L);
-        
-        // Execute the deletion with project ID
-        projectService.deleteProject(1L);
-        
-        // Verify that we check if the project exists first
-        verify(projectRepository, times(1)).existsById(1L);
-        
-        // Verify that task histories are deleted first
-        verify(taskHistoryRepository, times(1)).deleteByProjectId(1L);
-        
-        // Verify that task assignees are cleared
-        verify(taskRepository, times(1)).clearAssigneesByProjectId(1L);
-        
-        // Verify that tasks are deleted
-        verify(taskRepository, times(1)).deleteByProjectId(1L);
-        
-        // Verify that project members are deleted
-        verify(projectMemberRepository, times(1)).deleteByProjectId(1L);
-        
-        // Verify that project settings are deleted
-        verify(projectSettingsService, times(1)).deleteByProjectId(1L);
-        
-        // Verify that the project itself is deleted with native query
-        verify(projectRepository, times(1)).deleteProjectById(1L);
+    void deleteProject_shouldSoftDeleteProjectAndQueuePurgeJob() {
+        Project project = new Project();
+        project.setId(1L);
+        project.setName("Test Project");
+        User user = new User();
+        user.setId(2L);
+        when(projectRepository.findById(1L)).thenReturn(Optional.of(project));
+        when(projectRepository.softDelete(eq(1L), anyString(), any())).thenReturn(1);
+        when(projectDeletionJobRepository.save(any())).thenAnswer(i -> i.getArgument(0));
+
+        ProjectDeletionJob job = projectService.deleteProject(1L, user);
+
+        assertEquals(1L, job.getProjectId());
+        assertEquals("Test Project", job.getProjectName());
+        assertEquals(2L, job.getRequestedBy());
+        assertEquals(ProjectDeletionJob.Status.PENDING, job.getStatus());
+
+        // The name is released for new projects
+        ArgumentCaptor<String> tombstoneName = ArgumentCaptor.forClass(String.class);
+        verify(projectRepository).softDelete(eq(1L), tombstoneName.capture(), any());
+        assertNotEquals("Test Project", tombstoneName.getValue());
+
+        // Nothing is removed synchronously
+        verify(projectRepository, never()).deleteProjectById(1L);
+        verify(projectSettingsService, never()).deleteByProjectId(1L);
+        verify(projectAuthorization).evictProject(1L);
+        verify(activityFeed).closeProject(1L);
+        verify(taskSearchService).removeProject(1L);
     }
     
     @Test
     void deleteProject_shouldThrowExceptionIfProjectNotExists() {
-        // Mock existsById to return false (project doesn't exist)
-        when(projectRepository.existsById(1L)).thenReturn(false);
+        when(projectRepository.findById(1L)).thenReturn(Optional.empty());
         
         // Execute the deletion and expect an exception
         RuntimeException exception = assertThrows(RuntimeException.class, () -> {
-            projectService.deleteProject(1L);
+            projectService.deleteProject(1L, new User());
         });
         
         // Verify the exception message
         assertTrue(exception.getMessage().contains("Failed to delete project"));
         assertTrue(exception.getCause().getMessage().contains("Project with ID 1 does not exist"));
         
-        // Verify that existsById is called
-        verify(projectRepository, times(1)).existsById(1L);
-        
-        // Verify that other repository methods are never called since project doesn't exist
-        verify(taskHistoryRepository, never()).deleteByProjectId(1L);
-        verify(taskRepository, never()).clearAssigneesByProjectId(1L);
-        verify(taskRepository, never()).deleteByProjectId(1L);
-        verify(projectMemberRepository, never()).deleteByProjectId(1L);
-        verify(projectRepository, never()).deleteProjectById(1L);
+        verify(projectRepository, never()).softDelete(any(), any(), any());
+        verify(projectDeletionJobRepository, never()).save(any());
+    }
+
+    private static ProjectSummary summary(Long id) {
+        return new ProjectSummary(id, "Project " + id, null, null, ProjectMember.ProjectRole.MEMBER, 1L, 0L, 0L);
     }
 }
@@ -0,0 +1,110 @@
+package com.example.demo.service;
+
+import com.example.demo.model.TaskStatus;
+import com.example.demo.repository.ProjectRepository;
+import com.example.demo.repository.TaskPriorityRepository;
+import com.example.demo.repository.TaskStatusRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class ProjectSettingsCacheTest {
+    @Mock
+    private ProjectRepository projectRepository;
+    @Mock
+    private TaskStatusRepository taskStatusRepository;
+    @Mock
+    private TaskPriorityRepository taskPriorityRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ProjectSettingsCache cache;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new ProjectSettingsCache(projectRepository, taskStatusRepository, taskPriorityRepository,
+                new ObjectMapper(), transactionManager, meterRegistry, 100, 300);
+    }
+
+    @Test
+    void statuses_shouldServeRepeatedReadsFromTheCache() {
+        when(projectRepository.findSettingsVersion(1L)).thenReturn(Optional.of(3L));
+        when(taskStatusRepository.findByProjectIdOrderByOrderIndexAsc(1L)).thenReturn(List.of(status(10L, "Todo")));
+
+        ProjectSettingsCache.SettingsJson first = cache.statuses(1L);
+        ProjectSettingsCache.SettingsJson second = cache.statuses(1L);
+
+        assertSame(first, second);
+        assertEquals("\"3\"", first.etag());
+        assertTrue(new String(first.json(), StandardCharsets.UTF_8).contains("\"name\":\"Todo\""));
+        verify(taskStatusRepository, times(1)).findByProjectIdOrderByOrderIndexAsc(1L);
+        verifyNoInteractions(taskPriorityRepository);
+        assertEquals(1.0, meterRegistry.counter("project.settings.cache", "result", "hit").count());
+    }
+
+    @Test
+    void evictProject_shouldReloadAtTheNewVersion() {
+        when(projectRepository.findSettingsVersion(1L)).thenReturn(Optional.of(3L), Optional.of(4L));
+        when(taskStatusRepository.findByProjectIdOrderByOrderIndexAsc(1L))
+                .thenReturn(List.of(status(10L, "Todo")), List.of(status(10L, "Backlog")));
+        cache.statuses(1L);
+
+        cache.evictProject(1L);
+        ProjectSettingsCache.SettingsJson reloaded = cache.statuses(1L);
+
+        assertEquals("\"4\"", reloaded.etag());
+        assertTrue(new String(reloaded.json(), StandardCharsets.UTF_8).contains("\"name\":\"Backlog\""));
+    }
+
+    @Test
+    void statuses_shouldNotCacheALoadThatRacedAnEviction() {
+        when(projectRepository.findSettingsVersion(1L)).thenReturn(Optional.of(3L), Optional.of(4L));
+        when(taskStatusRepository.findByProjectIdOrderByOrderIndexAsc(1L))
+                .thenAnswer(invocation -> {
+                    // A settings change commits while this reader is loading
+                    cache.evictProject(1L);
+                    return List.of(status(10L, "Todo"));
+                })
+                .thenReturn(List.of(status(10L, "Backlog")));
+
+        ProjectSettingsCache.SettingsJson stale = cache.statuses(1L);
+        ProjectSettingsCache.SettingsJson reloaded = cache.statuses(1L);
+
+        assertEquals("\"3\"", stale.etag());
+        assertEquals("\"4\"", reloaded.etag());
+        assertTrue(new String(reloaded.json(), StandardCharsets.UTF_8).contains("\"name\":\"Backlog\""));
+        verify(taskStatusRepository, times(2)).findByProjectIdOrderByOrderIndexAsc(1L);
+    }
+
+    @Test
+    void priorities_shouldRejectUnknownProject() {
+        when(projectRepository.findSettingsVersion(2L)).thenReturn(Optional.empty());
+
+        assertThrows(IllegalArgumentException.class, () -> cache.priorities(2L));
+        verifyNoInteractions(taskPriorityRepository);
+    }
+
+    private static TaskStatus status(Long id, String name) {
+        TaskStatus status = new TaskStatus();
+        status.setId(id);
+        status.setName(name);
+        return status;
+    }
+}
@@ -0,0 +1,151 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.task.TaskStats;
+import com.example.demo.model.Project;
+import com.example.demo.model.ProjectTaskStat;
+import com.example.demo.model.ProjectTaskStat.Dimension;
+import com.example.demo.model.Task;
+import com.example.demo.model.TaskStatus;
+import com.example.demo.model.User;
+import com.example.demo.repository.ProjectRepository;
+import com.example.demo.repository.ProjectTaskStatRepository;
+import com.example.demo.repository.TaskRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ProjectTaskStatsServiceTest {
+    @Mock
+    private ProjectTaskStatRepository statRepository;
+    @Mock
+    private TaskRepository taskRepository;
+    @Mock
+    private ProjectRepository projectRepository;
+
+    private ProjectTaskStatsService service;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        service = new ProjectTaskStatsService(statRepository, taskRepository, projectRepository, false);
+    }
+
+    @Test
+    void taskCreated_shouldIncrementEveryDimensionOfTheTask() {
+        Task task = task(5L, 7L, LocalDate.of(2025, 3, 14));
+        when(statRepository.findKeys(eq(1L), any())).thenReturn(List.of(
+                key(Dimension.TOTAL, 0L), key(Dimension.STATUS, 5L), key(Dimension.ASSIGNEE, 7L),
+                key(Dimension.DUE_DATE, 20250314L)));
+        when(statRepository.increment(anyLong(), any(), anyLong(), anyLong())).thenReturn(1);
+
+        service.taskCreated(task);
+
+        verify(statRepository).increment(1L, Dimension.TOTAL, 0L, 1L);
+        verify(statRepository).increment(1L, Dimension.STATUS, 5L, 1L);
+        verify(statRepository).increment(1L, Dimension.ASSIGNEE, 7L, 1L);
+        verify(statRepository).increment(1L, Dimension.DUE_DATE, 20250314L, 1L);
+        verify(statRepository, never()).save(any());
+    }
+
+    @Test
+    void taskUpdated_shouldOnlyMoveTheChangedDimensions() {
+        Task before = task(5L, 7L, null);
+        Task after = task(6L, 7L, null);
+        when(statRepository.findKeys(eq(1L), any())).thenReturn(List.of(key(Dimension.STATUS, 5L)));
+        when(statRepository.increment(anyLong(), any(), anyLong(), anyLong())).thenReturn(1);
+
+        service.taskUpdated(before, after);
+
+        // The missing row is created at zero in the same transaction, then incremented
+        InOrder inOrder = inOrder(statRepository);
+        inOrder.verify(statRepository).createIfAbsentH2(1L, "STATUS", 6L);
+        inOrder.verify(statRepository).increment(1L, Dimension.STATUS, 6L, 1L);
+        verify(statRepository).increment(1L, Dimension.STATUS, 5L, -1L);
+        verify(statRepository).increment(1L, Dimension.STATUS, 6L, 1L);
+        verifyNoMoreInteractions(ignoreStubs(statRepository));
+    }
+
+    @Test
+    void apply_shouldCreateMissingRowsWithTheMySqlUpsert() {
+        service = new ProjectTaskStatsService(statRepository, taskRepository, projectRepository, true);
+        when(statRepository.findKeys(eq(1L), any())).thenReturn(List.of());
+        when(statRepository.increment(anyLong(), any(), anyLong(), anyLong())).thenReturn(1);
+
+        service.apply(new ProjectTaskStatsService.Delta(1L).move(Dimension.PRIORITY, null, 3L));
+
+        verify(statRepository).createIfAbsentMySql(1L, "PRIORITY", 3L);
+        verify(statRepository, never()).createIfAbsentH2(anyLong(), anyString(), anyLong());
+        verify(statRepository).increment(1L, Dimension.PRIORITY, 3L, 1L);
+        verify(statRepository, never()).save(any());
+    }
+
+    @Test
+    void getStats_shouldDeriveUnassignedAndDueCounts() {
+        when(projectRepository.existsById(1L)).thenReturn(true);
+        when(statRepository.findByProjectIdExcept(1L, Dimension.DUE_DATE)).thenReturn(List.of(
+                new ProjectTaskStat(key(Dimension.TOTAL, 0L), 10),
+                new ProjectTaskStat(key(Dimension.STATUS, 5L), 10),
+                new ProjectTaskStat(key(Dimension.ASSIGNEE, 7L), 4),
+                new ProjectTaskStat(key(Dimension.ASSIGNEE, 8L), 0)));
+        List<Object[]> due = new ArrayList<>();
+        due.add(new Object[] {3L, 1L, 6L});
+        when(statRepository.sumAroundDay(eq(1L), eq(Dimension.DUE_DATE), anyLong())).thenReturn(due);
+
+        TaskStats stats = service.getStats(1L);
+
+        assertEquals(10, stats.total());
+        assertEquals(10L, stats.byStatus().get(5L));
+        assertFalse(stats.byAssignee().containsKey(8L));
+        assertEquals(6, stats.unassigned());
+        assertEquals(4, stats.withoutDueDate());
+        assertEquals(3, stats.overdue());
+        assertEquals(1, stats.dueToday());
+    }
+
+    @Test
+    void reconcile_shouldFixDriftedCountersAndAddMissingOnes() {
+        ProjectTaskStat total = new ProjectTaskStat(key(Dimension.TOTAL, 0L), 3);
+        ProjectTaskStat stale = new ProjectTaskStat(key(Dimension.STATUS, 5L), 3);
+        when(statRepository.lockByProjectId(1L)).thenReturn(List.of(total, stale));
+        when(taskRepository.countByProjectId(1L)).thenReturn(2L);
+        List<Object[]> byStatus = new ArrayList<>();
+        byStatus.add(new Object[] {6L, 2L});
+        when(taskRepository.countByStatus(1L)).thenReturn(byStatus);
+
+        int corrected = service.reconcile(1L);
+
+        assertEquals(3, corrected);
+        assertEquals(2, total.getTaskCount());
+        assertEquals(0, stale.getTaskCount());
+        verify(statRepository).save(new ProjectTaskStat(key(Dimension.STATUS, 6L), 2));
+    }
+
+    private static ProjectTaskStat.Key key(Dimension dimension, Long key) {
+        return new ProjectTaskStat.Key(1L, dimension, key);
+    }
+
+    private static Task task(Long statusId, Long assigneeId, LocalDate dueDate) {
+        Project project = new Project();
+        project.setId(1L);
+        TaskStatus status = new TaskStatus();
+        status.setId(statusId);
+        User assignee = new User();
+        assignee.setId(assigneeId);
+        Task task = new Task();
+        task.setProject(project);
+        task.setStatus(status);
+        task.setAssignee(assignee);
+        task.setDueDate(dueDate);
+        return task;
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.demo.service;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.mockito.ArgumentMatchers.any;
+import org.mockito.Mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.MockitoAnnotations;
+
+import com.example.demo.model.ProjectTemplate;
+import com.example.demo.model.TaskPriority;
+import com.example.demo.model.TaskStatus;
+import com.example.demo.repository.ProjectTemplateRepository;
+import com.example.demo.repository.TaskPriorityRepository;
+import com.example.demo.repository.TaskStatusRepository;
+
+class ProjectTemplateServiceTest {
+    @Mock
+    private ProjectTemplateRepository templateRepository;
+    @Mock
+    private TaskStatusRepository taskStatusRepository;
+    @Mock
+    private TaskPriorityRepository taskPriorityRepository;
+
+    private ProjectTemplateService service;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        service = new ProjectTemplateService(templateRepository, taskStatusRepository, taskPriorityRepository);
+    }
+
+    @Test
+    void getTemplate_shouldLoadTheDefaultOnceAndServeItFromMemory() {
+        ProjectTemplate template = new ProjectTemplate();
+        template.setId(1L);
+        when(templateRepository.findDefaultIds()).thenReturn(List.of(1L));
+        when(templateRepository.findById(1L)).thenReturn(Optional.of(template));
+
+        assertSame(template, service.getTemplate(null).orElseThrow());
+        assertSame(template, service.getTemplate(null).orElseThrow());
+        assertSame(template, service.getTemplate(1L).orElseThrow());
+
+        verify(templateRepository, times(1)).findDefaultIds();
+        verify(templateRepository, times(1)).findById(1L);
+    }
+
+    @Test
+    void getTemplate_shouldBeEmptyWithoutDefault() {
+        when(templateRepository.findDefaultIds()).thenReturn(List.of());
+        assertTrue(service.getTemplate(null).isEmpty());
+    }
+
+    @Test
+    void getTemplate_shouldRejectUnknownId() {
+        when(templateRepository.findById(9L)).thenReturn(Optional.empty());
+        assertThrows(IllegalArgumentException.class, () -> service.getTemplate(9L));
+    }
+
+    @Test
+    void createFromProject_shouldCopyStatusesAndPriorities() {
+        TaskStatus status = new TaskStatus();
+        status.setName("Review");
+        status.setOrderIndex(4);
+        status.setIsDefault(false);
+        TaskPriority priority = new TaskPriority();
+        priority.setName("Urgent");
+        priority.setLevel(5);
+        when(taskStatusRepository.findByProjectIdOrderByOrderIndexAsc(3L)).thenReturn(List.of(status));
+        when(taskPriorityRepository.findByProjectIdOrderByLevelDesc(3L)).thenReturn(List.of(priority));
+        when(templateRepository.save(any())).thenAnswer(i -> i.getArgument(0));
+
+        ProjectTemplate template = service.createFromProject(3L, "Kanban", null);
+
+        assertEquals("Review", template.getStatuses().get(0).getName());
+        assertEquals(4, template.getStatuses().get(0).getOrderIndex());
+        assertEquals("Urgent", template.getPriorities().get(0).getName());
+        assertEquals(TaskPriority.State.DOING, template.getPriorities().get(0).getDoingState());
+    }
+
+    @Test
+    void createFromProject_shouldRejectDuplicateName() {
+        when(templateRepository.existsByName("Kanban")).thenReturn(true);
+        assertThrows(IllegalArgumentException.class, () -> service.createFromProject(3L, "Kanban", null));
+        verify(templateRepository, never()).save(any());
+    }
+}
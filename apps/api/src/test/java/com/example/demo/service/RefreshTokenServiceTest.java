@@ -0,0 +1,135 @@
+package com.example.demo.service;
+
+import com.example.demo.model.RefreshToken;
+import com.example.demo.model.User;
+import com.example.demo.repository.RefreshTokenRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class RefreshTokenServiceTest {
+    @Mock
+    private RefreshTokenRepository refreshTokenRepository;
+
+    private RefreshTokenService refreshTokenService;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        refreshTokenService = new RefreshTokenService(refreshTokenRepository, new SimpleMeterRegistry(),
+                604800000L, 10, 100, 600);
+        user = new User();
+        user.setId(1L);
+        when(refreshTokenRepository.save(any())).thenAnswer(i -> i.getArgument(0));
+    }
+
+    @Test
+    void createRefreshToken_shouldStoreOnlyTheDigest() {
+        RefreshToken created = refreshTokenService.createRefreshToken(user);
+
+        assertNotNull(created.getToken());
+        assertArrayEquals(RefreshTokenService.hash(created.getToken()), created.getTokenHash());
+        assertEquals(32, created.getTokenHash().length);
+        assertNotNull(created.getFamilyId());
+        assertTrue(created.getExpiryDate().isAfter(Instant.now()));
+    }
+
+    @Test
+    void createRefreshToken_shouldStartANewFamilyPerLogin() {
+        RefreshToken first = refreshTokenService.createRefreshToken(user);
+        RefreshToken second = refreshTokenService.createRefreshToken(user);
+
+        assertNotEquals(first.getFamilyId(), second.getFamilyId());
+        verify(refreshTokenRepository, never()).deleteByUser(any());
+    }
+
+    @Test
+    void rotate_shouldReplaceTheTokenWithinItsFamily() {
+        RefreshToken current = stored("current", null);
+        when(refreshTokenRepository.markUsed(eq(5L), any())).thenReturn(1);
+
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate("current");
+
+        assertSame(user, rotation.user());
+        assertNotNull(rotation.token());
+        assertEquals(current.getExpiryDate(), rotation.expiryDate());
+        ArgumentCaptor<RefreshToken> saved = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepository).save(saved.capture());
+        assertEquals(42L, saved.getValue().getFamilyId());
+        assertArrayEquals(RefreshTokenService.hash(rotation.token()), saved.getValue().getTokenHash());
+    }
+
+    @Test
+    void rotate_shouldNotIssueASuccessorForAConcurrentRefresh() {
+        stored("current", Instant.now().minusSeconds(2));
+
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate("current");
+
+        assertSame(user, rotation.user());
+        assertNull(rotation.token());
+        verify(refreshTokenRepository, never()).save(any());
+        verify(refreshTokenRepository, never()).deleteByFamilyId(any());
+    }
+
+    @Test
+    void rotate_shouldRevokeTheFamilyOfAReusedToken() {
+        stored("stolen", Instant.now().minusSeconds(60));
+
+        assertThrows(InvalidRefreshTokenException.class, () -> refreshTokenService.rotate("stolen"));
+        verify(refreshTokenRepository).deleteByFamilyId(42L);
+        verify(refreshTokenRepository, never()).save(any());
+    }
+
+    @Test
+    void rotate_shouldRememberInvalidTokens() {
+        when(refreshTokenRepository.findByTokenHash(any())).thenReturn(Optional.empty());
+
+        assertThrows(InvalidRefreshTokenException.class, () -> refreshTokenService.rotate("unknown"));
+        assertThrows(InvalidRefreshTokenException.class, () -> refreshTokenService.rotate("unknown"));
+        verify(refreshTokenRepository, times(1)).findByTokenHash(any());
+    }
+
+    @Test
+    void rotate_shouldRejectAndDeleteAnExpiredFamily() {
+        RefreshToken current = stored("old", null);
+        current.setExpiryDate(Instant.now().minusSeconds(1));
+
+        assertThrows(InvalidRefreshTokenException.class, () -> refreshTokenService.rotate("old"));
+        verify(refreshTokenRepository).deleteByFamilyId(42L);
+    }
+
+    @Test
+    void revoke_shouldDeleteTheWholeFamily() {
+        stored("current", null);
+
+        refreshTokenService.revoke("current");
+
+        verify(refreshTokenRepository).deleteByFamilyId(42L);
+    }
+
+    private RefreshToken stored(String rawToken, Instant usedAt) {
+        RefreshToken token = RefreshToken.builder()
+                .id(5L)
+                .tokenHash(RefreshTokenService.hash(rawToken))
+                .familyId(42L)
+                .user(user)
+                .createdAt(Instant.now().minusSeconds(3600))
+                .expiryDate(Instant.now().plusSeconds(3600))
+                .usedAt(usedAt)
+                .build();
+        when(refreshTokenRepository.findByTokenHash(token.getTokenHash())).thenReturn(Optional.of(token));
+        return token;
+    }
+}
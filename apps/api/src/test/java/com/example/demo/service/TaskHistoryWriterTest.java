@@ -0,0 +1,129 @@
+package com.example.demo.service;
+
+import com.example.demo.model.Task;
+import com.example.demo.model.TaskHistory;
+import com.example.demo.model.TaskHistory.HistoryAction;
+import com.example.demo.model.User;
+import com.example.demo.repository.TaskHistoryRepository;
+import com.example.demo.repository.TaskRepository;
+import com.example.demo.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class TaskHistoryWriterTest {
+    @Mock
+    private TaskHistoryRepository taskHistoryRepository;
+    @Mock
+    private TaskRepository taskRepository;
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    @Mock
+    private ProjectActivityFeed activityFeed;
+
+    @TempDir
+    Path tempDir;
+
+    private SimpleMeterRegistry meterRegistry;
+    private Task task;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        meterRegistry = new SimpleMeterRegistry();
+
+        task = new Task();
+        task.setId(1L);
+        user = new User();
+        user.setId(2L);
+    }
+
+    private TaskHistoryWriter writer(int capacity, int batchSize) {
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        return new TaskHistoryWriter(taskHistoryRepository, taskRepository, userRepository, transactionManager,
+                objectMapper, activityFeed, meterRegistry, capacity, batchSize, tempDir.resolve("history.spool").toString());
+    }
+
+    private TaskHistory row(String field) {
+        return new TaskHistory(task, user, HistoryAction.UPDATE, field, "old", "new", null);
+    }
+
+    @Test
+    void flush_shouldWriteQueuedRowsInBatches() {
+        TaskHistoryWriter writer = writer(100, 2);
+        writer.enqueue(List.of(row("name"), row("description"), row("dueDate")));
+
+        assertEquals(3, writer.getQueueDepth());
+        verify(taskHistoryRepository, never()).saveAll(anyList());
+
+        writer.flush();
+
+        verify(taskHistoryRepository, times(2)).saveAll(anyList());
+        assertEquals(0, writer.getQueueDepth());
+        assertEquals(3.0, meterRegistry.counter("task.history.written").count());
+        verify(activityFeed, times(2)).publish(anyList());
+    }
+
+    @Test
+    void enqueue_shouldWriteSynchronouslyWhenQueueIsFull() {
+        TaskHistoryWriter writer = writer(1, 50);
+        writer.enqueue(List.of(row("name"), row("status")));
+
+        verify(taskHistoryRepository, times(1)).saveAll(anyList());
+        assertEquals(1, writer.getQueueDepth());
+    }
+
+    @Test
+    void discardPending_shouldDropRowsOfDeletedTask() {
+        TaskHistoryWriter writer = writer(100, 50);
+        writer.enqueue(List.of(row("name")));
+
+        writer.discardPending(1L);
+
+        assertEquals(0, writer.getQueueDepth());
+    }
+
+    @Test
+    void flush_shouldSpoolRowsWhenDatabaseIsDownAndReplayThemLater() throws Exception {
+        TaskHistoryWriter writer = writer(100, 50);
+        when(taskHistoryRepository.saveAll(anyList())).thenThrow(new DataAccessResourceFailureException("down"));
+        writer.enqueue(List.of(row("name"), row("priority")));
+
+        writer.flush();
+
+        verify(activityFeed, never()).publish(anyList());
+        Path spool = tempDir.resolve("history.spool");
+        assertEquals(2, Files.readAllLines(spool).size());
+        assertEquals(2.0, meterRegistry.counter("task.history.spooled").count());
+
+        reset(taskHistoryRepository);
+        when(taskRepository.getReferenceById(1L)).thenReturn(task);
+        when(userRepository.getReferenceById(2L)).thenReturn(user);
+
+        writer.replaySpool();
+
+        verify(taskHistoryRepository, times(1)).saveAll(anyList());
+        assertFalse(Files.exists(spool));
+    }
+}
@@ -1,7 +1,18 @@
 package com.example.demo.service;
 
+import com.example.demo.dto.CursorPage;
+import com.example.demo.dto.UserRef;
+import com.example.demo.dto.task.BoardCursor;
+import com.example.demo.dto.task.BulkTaskResult;
+import com.example.demo.dto.task.TaskCursor;
+import com.example.demo.dto.task.TaskBoard;
+import com.example.demo.dto.task.TaskFilter;
+import com.example.demo.dto.task.TaskPatch;
+import com.example.demo.dto.task.TaskSort;
+import com.example.demo.dto.task.TaskView;
 import com.example.demo.model.Project;
 import com.example.demo.model.Task;
+import com.example.demo.model.TaskHistory;
 import com.example.demo.model.TaskPriority;
 import com.example.demo.model.TaskStatus;
 import com.example.demo.model.User;
@@ -10,16 +21,25 @@ import com.example.demo.repository.TaskRepository;
 import com.example.demo.repository.TaskPriorityRepository;
 import com.example.demo.repository.TaskStatusRepository;
 import com.example.demo.repository.UserRepository;
+import com.example.demo.search.TaskSearchService;
+import com.example.demo.security.ProjectAuthorization;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 class TaskServiceTest {
@@ -35,6 +55,12 @@ class TaskServiceTest {
     private UserRepository userRepository;
     @Mock
     private TaskHistoryService taskHistoryService;
+    @Mock
+    private ProjectAuthorization projectAuthorization;
+    @Mock
+    private ProjectTaskStatsService projectTaskStatsService;
+    @Mock
+    private TaskSearchService taskSearchService;
     @InjectMocks
     private TaskService taskService;
     
@@ -83,8 +109,10 @@ class TaskServiceTest {
         assertEquals(status, task.getStatus());
         assertEquals(project, task.getProject());
         
-        // Verify history recording
+        // Verify history recording and counters
         verify(taskHistoryService).recordTaskCreation(task, testUser);
+        verify(projectTaskStatsService).taskCreated(task);
+        verify(taskSearchService).indexAfterCommit(task);
     }
 
     @Test
@@ -97,6 +125,37 @@ class TaskServiceTest {
         assertEquals(1L, found.get().getId());
     }
 
+    @Test
+    void updateTask_shouldRejectTaskChangedSinceItWasRead() {
+        Task task = new Task();
+        task.setId(1L);
+        task.setName("old");
+        task.setVersion(5L);
+        when(taskRepository.findByIdWithRelationships(1L)).thenReturn(Optional.of(task));
+
+        assertThrows(ObjectOptimisticLockingFailureException.class, () ->
+                taskService.updateTask(1L, "new", null, null, null, null, null, testUser, 4L));
+        assertEquals("old", task.getName());
+        verify(taskRepository, never()).saveAndFlush(any());
+        verifyNoInteractions(taskHistoryService, projectTaskStatsService);
+    }
+
+    @Test
+    void updateTask_shouldFlushAndRecordHistoryWhenVersionMatches() {
+        Task task = new Task();
+        task.setId(1L);
+        task.setName("old");
+        task.setVersion(5L);
+        when(taskRepository.findByIdWithRelationships(1L)).thenReturn(Optional.of(task));
+        when(taskRepository.saveAndFlush(task)).thenReturn(task);
+
+        taskService.updateTask(1L, "new", null, null, null, null, null, testUser, 5L);
+
+        assertEquals("new", task.getName());
+        verify(taskRepository).saveAndFlush(task);
+        verify(taskHistoryService).recordTaskUpdate(argThat(before -> "old".equals(before.getName())), eq(task), eq(testUser));
+    }
+
     @Test
     void createTask_shouldThrowExceptionWhenProjectNotFound() {
         when(projectRepository.findById(1L)).thenReturn(Optional.empty());
@@ -139,4 +198,165 @@ class TaskServiceTest {
         
         assertNotNull(exception);
     }
+
+    @Test
+    void getTasksPage_shouldReturnNextCursorWhenMoreRowsExist() {
+        Task first = new Task();
+        first.setId(10L);
+        Task second = new Task();
+        second.setId(11L);
+        Task extra = new Task();
+        extra.setId(12L);
+
+        when(projectRepository.existsById(1L)).thenReturn(true);
+        when(taskRepository.findPageOrderById(eq(1L), isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), any()))
+                .thenReturn(List.of(first, second, extra));
+
+        CursorPage<TaskView> page = taskService.getTasksPage(1L, new TaskFilter(), TaskSort.ID, null, 2);
+
+        assertEquals(List.of(10L, 11L), page.getItems().stream().map(TaskView::id).toList());
+        assertTrue(page.isHasMore());
+        TaskCursor cursor = TaskCursor.decode(page.getNextCursor(), TaskSort.ID);
+        assertEquals(11L, cursor.getId());
+    }
+
+    @Test
+    void getTasksPage_shouldRejectCursorFromAnotherSort() {
+        when(projectRepository.existsById(1L)).thenReturn(true);
+        String idCursor = new TaskCursor(TaskSort.ID, null, 5L).encode();
+
+        assertThrows(IllegalArgumentException.class, () ->
+            taskService.getTasksPage(1L, new TaskFilter(), TaskSort.UPDATED_AT, idCursor, 20)
+        );
+    }
+
+    @Test
+    void bulkUpdate_shouldUpdateChangedTasksAndReportEveryId() {
+        Project project = new Project();
+        project.setId(1L);
+        TaskStatus done = new TaskStatus();
+        done.setId(3L);
+        done.setName("Done");
+        done.setProject(project);
+        when(taskStatusRepository.findById(3L)).thenReturn(Optional.of(done));
+        when(taskRepository.findViewsByIdIn(any())).thenReturn(List.of(
+                view(10L, 1L, 2L, "Doing"),
+                view(11L, 1L, 3L, "Done"),
+                view(12L, 2L, 2L, "Doing")));
+        when(projectAuthorization.canEditTasks(1L, 1L)).thenReturn(true);
+        when(projectAuthorization.canEditTasks(2L, 1L)).thenReturn(false);
+
+        BulkTaskResult result = taskService.bulkUpdate(List.of(10L, 11L, 12L, 13L),
+                TaskPatch.builder().statusId(3L).build(), testUser);
+
+        assertEquals(List.of(10L), result.updated());
+        assertEquals(List.of(11L), result.unchanged());
+        assertEquals(List.of(12L), result.forbidden());
+        assertEquals(List.of(13L), result.notFound());
+        verify(taskRepository).updateStatus(eq(List.of(10L)), eq(done), any());
+        verify(projectTaskStatsService).apply(any());
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<TaskHistory>> history = ArgumentCaptor.forClass(List.class);
+        verify(taskHistoryService).recordBulkChanges(history.capture(), eq(Map.of(10L, "task 10", 11L, "task 11")));
+        assertEquals(1, history.getValue().size());
+        assertEquals("Doing", history.getValue().get(0).getOldValue());
+        assertEquals("Done", history.getValue().get(0).getNewValue());
+        assertEquals(1L, history.getValue().get(0).getProjectId());
+    }
+
+    @Test
+    void bulkUpdate_shouldRejectStatusOfAnotherProject() {
+        Project other = new Project();
+        other.setId(2L);
+        TaskStatus status = new TaskStatus();
+        status.setId(5L);
+        status.setProject(other);
+        when(taskStatusRepository.findById(5L)).thenReturn(Optional.of(status));
+        when(taskRepository.findViewsByIdIn(any())).thenReturn(List.of(view(10L, 1L, 2L, "Doing")));
+        when(projectAuthorization.canEditTasks(1L, 1L)).thenReturn(true);
+
+        BulkTaskResult result = taskService.bulkUpdate(List.of(10L), TaskPatch.builder().statusId(5L).build(), testUser);
+
+        assertEquals(List.of(10L), result.invalid());
+        verify(taskRepository, never()).updateStatus(any(), any(), any());
+    }
+
+    @Test
+    void bulkUpdate_shouldClearDueDatesThatAreSet() {
+        when(taskRepository.findViewsByIdIn(any())).thenReturn(List.of(
+                new TaskView(10L, "a", null, LocalDate.of(2025, 1, 1), null, null, null, null, 0L,
+                        new TaskView.ProjectRef(1L, "p", null, null), new UserRef(1L, "u", "u@example.com")),
+                new TaskView(11L, "b", null, null, null, null, null, null, 0L,
+                        new TaskView.ProjectRef(1L, "p", null, null), null)));
+        when(projectAuthorization.canEditTasks(1L, 1L)).thenReturn(true);
+
+        BulkTaskResult result = taskService.bulkUpdate(List.of(10L, 11L),
+                TaskPatch.builder().clearDueDate(true).build(), testUser);
+
+        assertEquals(List.of(10L), result.updated());
+        assertEquals(List.of(11L), result.unchanged());
+        verify(taskRepository).clearDueDate(eq(List.of(10L)), any());
+    }
+
+    @Test
+    void bulkUpdate_shouldRejectTooManyIdsOrEmptyPatch() {
+        List<Long> tooMany = java.util.stream.LongStream.rangeClosed(1, TaskService.MAX_BULK_SIZE + 1).boxed().toList();
+        assertThrows(IllegalArgumentException.class, () ->
+            taskService.bulkUpdate(tooMany, TaskPatch.builder().statusId(1L).build(), testUser));
+        assertThrows(IllegalArgumentException.class, () ->
+            taskService.bulkUpdate(List.of(1L), new TaskPatch(), testUser));
+    }
+
+    @Test
+    void getBoard_shouldGroupRankedTasksByStatusColumn() {
+        Project project = new Project();
+        project.setId(1L);
+        TaskStatus todo = new TaskStatus();
+        todo.setId(2L);
+        todo.setName("Todo");
+        todo.setProject(project);
+        TaskStatus done = new TaskStatus();
+        done.setId(3L);
+        done.setName("Done");
+        done.setProject(project);
+        when(projectRepository.existsById(1L)).thenReturn(true);
+        when(taskStatusRepository.findByProjectIdOrderByOrderIndexAsc(1L)).thenReturn(List.of(todo, done));
+        when(taskRepository.findBoardSlots(1L, 2, TaskBoard.UNDATED)).thenReturn(List.of(
+                new Object[] {11L, 2L, 7L},
+                new Object[] {10L, 2L, 7L},
+                new Object[] {12L, null, 1L}));
+        when(taskRepository.findViewsByIdIn(List.of(11L, 10L, 12L))).thenReturn(List.of(
+                view(10L, 1L, 2L, "Todo"), view(11L, 1L, 2L, "Todo"),
+                new TaskView(12L, "task 12", null, null, null, null, null, null, 0L,
+                        new TaskView.ProjectRef(1L, "p1", null, null), null)));
+
+        TaskBoard board = taskService.getBoard(1L, 2);
+
+        assertEquals(3, board.columns().size());
+        TaskBoard.Column first = board.columns().get(0);
+        assertEquals(2L, first.status().id());
+        assertEquals(7, first.count());
+        assertEquals(List.of(11L, 10L), first.tasks().stream().map(TaskView::id).toList());
+        assertTrue(first.hasMore());
+        assertEquals(10L, BoardCursor.decode(first.nextCursor(), 2L).getId());
+        assertEquals(0, board.columns().get(1).count());
+        assertFalse(board.columns().get(1).hasMore());
+        assertNull(board.columns().get(2).status());
+        assertEquals(1, board.columns().get(2).count());
+    }
+
+    @Test
+    void getBoardColumn_shouldRejectCursorOfAnotherColumn() {
+        when(projectRepository.existsById(1L)).thenReturn(true);
+        String cursor = new BoardCursor(2L, 3, TaskBoard.UNDATED, 10L).encode();
+
+        assertThrows(IllegalArgumentException.class, () -> taskService.getBoardColumn(1L, 3L, cursor, 20));
+    }
+
+    private static TaskView view(Long id, Long projectId, Long statusId, String statusName) {
+        return new TaskView(id, "task " + id, null, null, null,
+                new TaskView.StatusRef(statusId, statusName, null, null, 0, false, 0L), null, null, 0L,
+                new TaskView.ProjectRef(projectId, "p" + projectId, null, null), null);
+    }
 }
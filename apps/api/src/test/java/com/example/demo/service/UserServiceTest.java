@@ -4,12 +4,14 @@ import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import static org.mockito.ArgumentMatchers.any;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import org.mockito.MockitoAnnotations;
@@ -17,6 +19,7 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 
 import com.example.demo.model.User;
 import com.example.demo.repository.UserRepository;
+import com.example.demo.security.UserCache;
 
 class UserServiceTest {
     @Mock
@@ -25,6 +28,12 @@ class UserServiceTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private UserCache userCache;
+
+    @Mock
+    private RefreshTokenService refreshTokenService;
+
     @InjectMocks
     private UserService userService;
 
@@ -71,4 +80,36 @@ class UserServiceTest {
         assertTrue(userService.checkPassword("password", "hashedPassword"));
         verify(passwordEncoder).matches("password", "hashedPassword");
     }
+
+    @Test
+    void changePassword_shouldRevokeTokensAndEvictCache() {
+        User user = new User();
+        user.setId(1L);
+        user.setPassword("oldHash");
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(passwordEncoder.matches("oldPassword", "oldHash")).thenReturn(true);
+        when(passwordEncoder.encode("newPassword")).thenReturn("newHash");
+        when(userRepository.save(any(User.class))).thenAnswer(i -> i.getArgument(0));
+
+        User saved = userService.changePassword(1L, "oldPassword", "newPassword");
+
+        assertEquals("newHash", saved.getPassword());
+        assertEquals(1, saved.getTokenVersion());
+        verify(refreshTokenService).deleteByUser(user);
+        verify(userCache).evict(1L);
+    }
+
+    @Test
+    void changePassword_shouldRejectWrongCurrentPassword() {
+        User user = new User();
+        user.setId(1L);
+        user.setPassword("oldHash");
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(passwordEncoder.matches("wrong", "oldHash")).thenReturn(false);
+
+        assertThrows(IllegalArgumentException.class, () -> userService.changePassword(1L, "wrong", "newPassword"));
+        verify(userRepository, never()).save(any(User.class));
+        verify(refreshTokenService, never()).deleteByUser(any());
+        verify(userCache, never()).evict(1L);
+    }
 }
@@ -0,0 +1,37 @@
+package com.example.demo.support;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread. Registered for the
+ * tests through {@code hibernate.session_factory.statement_inspector}; background workers
+ * run on their own threads and do not disturb the count.
+ */
+public class QueryCounter implements StatementInspector {
+
+    private static final ThreadLocal<List<String>> STATEMENTS = ThreadLocal.withInitial(ArrayList::new);
+
+    @Override
+    public String inspect(String sql) {
+        STATEMENTS.get().add(sql);
+        return sql;
+    }
+
+    public static void reset() {
+        STATEMENTS.get().clear();
+    }
+
+    public static int count() {
+        return STATEMENTS.get().size();
+    }
+
+    /**
+     * The statements prepared since the last reset, in order.
+     */
+    public static List<String> statements() {
+        return List.copyOf(STATEMENTS.get());
+    }
+}